@@ -0,0 +1,63 @@
+package com.communalizer.inject.benchmarks;
+
+import com.communalizer.inject.Container;
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.benchmarks.components.*;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.TypeToken;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+
+/**
+ * Resolves from a single, frozen container shared by every benchmark thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ConcurrentResolveBenchmark {
+  private final TypeToken<Root> rootToken = new TypeToken<Root>() {};
+
+  private Container container;
+
+  @Setup
+  public void setUp() {
+    container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Leaf, LeafImpl>() {}),
+      registration()
+        .component(new Component<Node, NodeImpl>() {}),
+      registration()
+        .component(new Component<Root, RootImpl>() {})
+    );
+
+    container.freeze();
+  }
+
+  @Benchmark
+  @Threads(1)
+  public Root resolve1Thread() {
+    return container.resolve(rootToken);
+  }
+
+  @Benchmark
+  @Threads(8)
+  public Root resolve8Threads() {
+    return container.resolve(rootToken);
+  }
+
+  @Benchmark
+  @Threads(32)
+  public Root resolve32Threads() {
+    return container.resolve(rootToken);
+  }
+
+  @Benchmark
+  @Threads(64)
+  public Root resolve64Threads() {
+    return container.resolve(rootToken);
+  }
+}
@@ -0,0 +1,71 @@
+package com.communalizer.inject.benchmarks;
+
+import com.communalizer.inject.Container;
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.benchmarks.components.*;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.TypeToken;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+
+/**
+ * Resolves synthetic object graphs. The deep graph is a chain of named links, each depending on the next one
+ * through an explicit dependency; the wide graph is a component with eight dependencies of two leaves each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GraphBenchmark {
+  private final TypeToken<Chain> chainToken = new TypeToken<Chain>() {};
+  private final TypeToken<Wide> wideToken = new TypeToken<Wide>() {};
+
+  @Param({"10", "100", "1000"})
+  public int depth;
+
+  private Container container;
+
+  @Setup
+  public void setUp() {
+    container = new InjectContainer();
+
+    for (int i = 0; i < depth - 1; i++) {
+      container.register(
+        registration()
+          .component(new Component<Chain, ChainLink>() {})
+          .named(linkName(i))
+          .dependsOn("next", chainToken, linkName(i + 1))
+      );
+    }
+
+    container.register(
+      registration()
+        .component(new Component<Chain, ChainEnd>() {})
+        .named(linkName(depth - 1)),
+      registration()
+        .component(new Component<Leaf, LeafImpl>() {}),
+      registration()
+        .component(new Component<Node, NodeImpl>() {}),
+      registration()
+        .component(new Component<Wide, WideImpl>() {})
+    );
+
+    container.freeze();
+  }
+
+  private static String linkName(int i) {
+    return "link" + i;
+  }
+
+  @Benchmark
+  public Chain resolveDeep() {
+    return container.resolve(chainToken, linkName(0));
+  }
+
+  @Benchmark
+  public Wide resolveWide() {
+    return container.resolve(wideToken);
+  }
+}
@@ -0,0 +1,68 @@
+package com.communalizer.inject.benchmarks;
+
+import com.communalizer.inject.Container;
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.benchmarks.components.*;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.TypeToken;
+import com.communalizer.inject.kernel.instantiation.HiddenClassInstantiationStrategy;
+import com.communalizer.inject.kernel.instantiation.InstantiationStrategy;
+import com.communalizer.inject.kernel.instantiation.MethodHandleInstantiationStrategy;
+import com.communalizer.inject.kernel.instantiation.ReflectionInstantiationStrategy;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+
+/**
+ * Compares the instantiation strategies on the same REFLECTION graph.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class InstantiationBenchmark {
+  private final TypeToken<Leaf> leafToken = new TypeToken<Leaf>() {};
+  private final TypeToken<Root> rootToken = new TypeToken<Root>() {};
+
+  @Param({"REFLECTION", "METHOD_HANDLE", "HIDDEN_CLASS"})
+  public String strategy;
+
+  private Container container;
+
+  @Setup
+  public void setUp() {
+    container = new InjectContainer(createStrategy());
+    container.register(
+      registration()
+        .component(new Component<Leaf, LeafImpl>() {}),
+      registration()
+        .component(new Component<Node, NodeImpl>() {}),
+      registration()
+        .component(new Component<Root, RootImpl>() {})
+    );
+  }
+
+  private InstantiationStrategy createStrategy() {
+    switch (strategy) {
+      case "REFLECTION":
+        return new ReflectionInstantiationStrategy();
+
+      case "METHOD_HANDLE":
+        return new MethodHandleInstantiationStrategy();
+
+      default:
+        return new HiddenClassInstantiationStrategy();
+    }
+  }
+
+  @Benchmark
+  public Leaf resolveLeaf() {
+    return container.resolve(leafToken);
+  }
+
+  @Benchmark
+  public Root resolveGraph() {
+    return container.resolve(rootToken);
+  }
+}
@@ -0,0 +1,89 @@
+package com.communalizer.inject.benchmarks;
+
+import com.communalizer.inject.Container;
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.benchmarks.components.Leaf;
+import com.communalizer.inject.benchmarks.components.LeafImpl;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.Registration;
+import com.communalizer.inject.kernel.TypeToken;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+
+/**
+ * Registers N components into a fresh container, either before it is frozen or one by one after it (which
+ * publishes a new registry snapshot per registration), and then resolves the first of them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RegisterBenchmark {
+  private final TypeToken<Leaf> leafToken = new TypeToken<Leaf>() {};
+
+  @Param({"10", "100", "1000"})
+  public int components;
+
+  private String[] names;
+
+  @Setup
+  public void setUp() {
+    names = new String[components];
+
+    for (int i = 0; i < components; i++) {
+      names[i] = "leaf" + i;
+    }
+  }
+
+  @Benchmark
+  public Leaf registerThenResolve() {
+    Container container = new InjectContainer();
+
+    for (String name : names) {
+      container.register(
+        registration()
+          .component(new Component<Leaf, LeafImpl>() {})
+          .named(name)
+      );
+    }
+
+    return container.resolve(leafToken, names[0]);
+  }
+
+  @Benchmark
+  @SuppressWarnings("unchecked")
+  public Leaf registerBatchThenResolve() {
+    Registration[] registrations = new Registration[names.length];
+
+    for (int i = 0; i < names.length; i++) {
+      registrations[i] =
+        registration()
+          .component(new Component<Leaf, LeafImpl>() {})
+          .named(names[i])
+          .build();
+    }
+
+    Container container = new InjectContainer();
+    container.register(registrations);
+
+    return container.resolve(leafToken, names[0]);
+  }
+
+  @Benchmark
+  public Leaf registerAfterFreezeThenResolve() {
+    Container container = new InjectContainer();
+    container.freeze();
+
+    for (String name : names) {
+      container.register(
+        registration()
+          .component(new Component<Leaf, LeafImpl>() {})
+          .named(name)
+      );
+    }
+
+    return container.resolve(leafToken, names[0]);
+  }
+}
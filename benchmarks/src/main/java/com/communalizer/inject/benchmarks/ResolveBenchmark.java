@@ -0,0 +1,144 @@
+package com.communalizer.inject.benchmarks;
+
+import com.communalizer.inject.Container;
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.benchmarks.components.*;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.Factory;
+import com.communalizer.inject.kernel.TypeToken;
+import com.communalizer.inject.kernel.metrics.ResolutionMetrics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+
+/**
+ * Resolves a single component per operation, once for every way a component can be registered.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ResolveBenchmark {
+  private final TypeToken<Leaf> leafToken = new TypeToken<Leaf>() {};
+  private final TypeToken<Node> nodeToken = new TypeToken<Node>() {};
+  private final TypeToken<Root> rootToken = new TypeToken<Root>() {};
+  private final TypeToken<Pair> pairToken = new TypeToken<Pair>() {};
+  private final TypeToken<Repository<String>> repositoryToken = new TypeToken<Repository<String>>() {};
+  private final TypeToken<Repository<Integer>> openRepositoryToken = new TypeToken<Repository<Integer>>() {};
+
+  private Container container;
+  private Container meteredContainer;
+
+  @Setup
+  public void setUp() {
+    final Leaf instance = new LeafImpl();
+
+    container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Leaf, LeafImpl>() {}),
+      registration()
+        .component(new Component<Leaf, LeafImpl>() {})
+        .instance(instance)
+        .named("instance"),
+      registration()
+        .component(new Component<Leaf, LeafImpl>() {})
+        .factory(new Factory<Leaf>() {
+          @Override
+          public Leaf create() {
+            return new LeafImpl();
+          }
+        })
+        .named("factory"),
+      registration()
+        .component(new Component<Leaf, LeafImpl>() {})
+        .named("pooled")
+        .pooled(16),
+      registration()
+        .component(new Component<Node, NodeImpl>() {}),
+      registration()
+        .component(new Component<Root, RootImpl>() {}),
+      registration()
+        .component(new Component<Pair, PairImpl>() {})
+        .dependsOn("first", new TypeToken<Leaf>() {}, "factory")
+        .dependsOn("second", instance),
+      registration()
+        .component(new Component<Repository<String>, RepositoryImpl<String>>() {}),
+      registration()
+        .openGeneric(Repository.class, RepositoryImpl.class)
+    );
+
+    container.freeze();
+
+    meteredContainer = new InjectContainer(new ResolutionMetrics());
+    meteredContainer.register(
+      registration()
+        .component(new Component<Leaf, LeafImpl>() {}),
+      registration()
+        .component(new Component<Node, NodeImpl>() {}),
+      registration()
+        .component(new Component<Root, RootImpl>() {})
+    );
+
+    meteredContainer.freeze();
+  }
+
+  @Benchmark
+  public Leaf resolveInstance() {
+    return container.resolve(leafToken, "instance");
+  }
+
+  @Benchmark
+  public Leaf resolveFactory() {
+    return container.resolve(leafToken, "factory");
+  }
+
+  @Benchmark
+  public Leaf resolveAndReleasePooled() {
+    Leaf leaf = container.resolve(leafToken, "pooled");
+    container.release(leafToken, "pooled", leaf);
+
+    return leaf;
+  }
+
+  @Benchmark
+  public Leaf resolveReflectionLeaf() {
+    return container.resolve(leafToken);
+  }
+
+  @Benchmark
+  public Node resolveReflectionNode() {
+    return container.resolve(nodeToken);
+  }
+
+  @Benchmark
+  public Root resolveReflectionGraph() {
+    return container.resolve(rootToken);
+  }
+
+  @Benchmark
+  public Root resolveReflectionGraphWithMetrics() {
+    return meteredContainer.resolve(rootToken);
+  }
+
+  @Benchmark
+  public Pair resolveExplicitDependencies() {
+    return container.resolve(pairToken);
+  }
+
+  @Benchmark
+  public Repository<String> resolveGeneric() {
+    return container.resolve(repositoryToken);
+  }
+
+  @Benchmark
+  public Repository<Integer> resolveOpenGeneric() {
+    return container.resolve(openRepositoryToken);
+  }
+
+  @Benchmark
+  public Leaf resolveWithDynamicToken() {
+    return container.resolve(new TypeToken<Leaf>() {});
+  }
+}
@@ -0,0 +1,57 @@
+package com.communalizer.inject.benchmarks;
+
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.ScopedContainer;
+import com.communalizer.inject.benchmarks.components.*;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.TypeToken;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+
+/**
+ * Measures the cost of a per-request scope. Run with "-prof gc" to report the bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ScopeBenchmark {
+  private final TypeToken<Root> rootToken = new TypeToken<Root>() {};
+
+  private InjectContainer container;
+
+  @Setup
+  public void setUp() {
+    container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Leaf, LeafImpl>() {})
+        .lifestyle(Lifestyle.SINGLETON),
+      registration()
+        .component(new Component<Node, NodeImpl>() {})
+        .lifestyle(Lifestyle.SCOPED),
+      registration()
+        .component(new Component<Root, RootImpl>() {})
+    );
+
+    container.freeze();
+  }
+
+  @Benchmark
+  public ScopedContainer createAndCloseScope() {
+    ScopedContainer scope = container.createScope();
+    scope.close();
+
+    return scope;
+  }
+
+  @Benchmark
+  public Root createScopeAndResolve() {
+    try (ScopedContainer scope = container.createScope()) {
+      return scope.resolve(rootToken);
+    }
+  }
+}
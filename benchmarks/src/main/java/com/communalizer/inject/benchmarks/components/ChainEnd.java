@@ -0,0 +1,8 @@
+package com.communalizer.inject.benchmarks.components;
+
+public class ChainEnd implements Chain {
+  @Override
+  public Chain getNext() {
+    return null;
+  }
+}
@@ -0,0 +1,14 @@
+package com.communalizer.inject.benchmarks.components;
+
+public class ChainLink implements Chain {
+  private final Chain next;
+
+  public ChainLink(Chain next) {
+    this.next = next;
+  }
+
+  @Override
+  public Chain getNext() {
+    return next;
+  }
+}
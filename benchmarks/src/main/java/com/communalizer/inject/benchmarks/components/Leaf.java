@@ -0,0 +1,4 @@
+package com.communalizer.inject.benchmarks.components;
+
+public interface Leaf {
+}
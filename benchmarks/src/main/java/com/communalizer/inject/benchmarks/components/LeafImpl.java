@@ -0,0 +1,5 @@
+package com.communalizer.inject.benchmarks.components;
+
+public class LeafImpl implements Leaf {
+
+}
@@ -0,0 +1,21 @@
+package com.communalizer.inject.benchmarks.components;
+
+public class NodeImpl implements Node {
+  private final Leaf left;
+  private final Leaf right;
+
+  public NodeImpl(Leaf left, Leaf right) {
+    this.left = left;
+    this.right = right;
+  }
+
+  @Override
+  public Leaf getLeft() {
+    return left;
+  }
+
+  @Override
+  public Leaf getRight() {
+    return right;
+  }
+}
@@ -0,0 +1,6 @@
+package com.communalizer.inject.benchmarks.components;
+
+public interface Pair {
+  Leaf getFirst();
+  Leaf getSecond();
+}
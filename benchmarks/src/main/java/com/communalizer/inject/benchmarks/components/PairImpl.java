@@ -0,0 +1,21 @@
+package com.communalizer.inject.benchmarks.components;
+
+public class PairImpl implements Pair {
+  private final Leaf first;
+  private final Leaf second;
+
+  public PairImpl(Leaf first, Leaf second) {
+    this.first = first;
+    this.second = second;
+  }
+
+  @Override
+  public Leaf getFirst() {
+    return first;
+  }
+
+  @Override
+  public Leaf getSecond() {
+    return second;
+  }
+}
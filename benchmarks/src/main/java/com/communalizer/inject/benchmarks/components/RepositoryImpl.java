@@ -0,0 +1,14 @@
+package com.communalizer.inject.benchmarks.components;
+
+public class RepositoryImpl<T> implements Repository<T> {
+  private final Leaf leaf;
+
+  public RepositoryImpl(Leaf leaf) {
+    this.leaf = leaf;
+  }
+
+  @Override
+  public Leaf getLeaf() {
+    return leaf;
+  }
+}
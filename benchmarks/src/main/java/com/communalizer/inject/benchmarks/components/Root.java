@@ -0,0 +1,6 @@
+package com.communalizer.inject.benchmarks.components;
+
+public interface Root {
+  Node getNode();
+  Leaf getLeaf();
+}
@@ -0,0 +1,21 @@
+package com.communalizer.inject.benchmarks.components;
+
+public class RootImpl implements Root {
+  private final Node node;
+  private final Leaf leaf;
+
+  public RootImpl(Node node, Leaf leaf) {
+    this.node = node;
+    this.leaf = leaf;
+  }
+
+  @Override
+  public Node getNode() {
+    return node;
+  }
+
+  @Override
+  public Leaf getLeaf() {
+    return leaf;
+  }
+}
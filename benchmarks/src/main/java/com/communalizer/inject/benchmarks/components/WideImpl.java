@@ -0,0 +1,14 @@
+package com.communalizer.inject.benchmarks.components;
+
+public class WideImpl implements Wide {
+  private final Node[] nodes;
+
+  public WideImpl(Node n1, Node n2, Node n3, Node n4, Node n5, Node n6, Node n7, Node n8) {
+    this.nodes = new Node[] { n1, n2, n3, n4, n5, n6, n7, n8 };
+  }
+
+  @Override
+  public Node[] getNodes() {
+    return nodes;
+  }
+}
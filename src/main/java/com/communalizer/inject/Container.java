@@ -5,7 +5,10 @@ import com.communalizer.inject.kernel.RegistrationBuilder;
 import com.communalizer.inject.kernel.TypeProvider;
 import com.communalizer.inject.kernel.TypeToken;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 public interface Container {
   <T> void register(Registration<T, ?> registration);
@@ -14,9 +17,41 @@ public interface Container {
   void register(RegistrationBuilder builder);
   void register(RegistrationBuilder... builders);
 
+  /**
+   * Publishes the registrations made so far as an immutable snapshot that can be resolved from concurrently.
+   * Resolving freezes the container implicitly, and registering afterwards is still allowed.
+   */
+  void freeze();
+
+  /**
+   * Freezes the container and checks that every registered component can be resolved. All components with
+   * missing dependencies or constructor cycles are reported together in a single exception.
+   */
+  void verify();
+
   <T> T resolve(TypeToken<T> token);
   <T> T resolve(TypeToken<T> token, String name);
 
+  /**
+   * Resolves a component on the executor. The dependencies of TRANSIENT components are constructed concurrently,
+   * and a component fails with the failure of its first failed dependency in declaration order.
+   */
+  <T> CompletableFuture<T> resolveAsync(TypeToken<T> token, Executor executor);
+  <T> CompletableFuture<T> resolveAsync(TypeToken<T> token, String name, Executor executor);
+
+  /**
+   * Resolves every registration of a type, named or not, in the order they were registered. Returns an empty list
+   * if the type is not registered.
+   */
+  <T> List<T> resolveAll(TypeToken<T> token);
+
+  /**
+   * Returns an instance of a POOLED component to its pool, so that a later resolution can reuse it. Throws if the
+   * registration is not pooled.
+   */
+  <T> void release(TypeToken<T> token, T instance);
+  <T> void release(TypeToken<T> token, String name, T instance);
+
   Map<String, TypeProvider<?>> getRegistry();
 
 }
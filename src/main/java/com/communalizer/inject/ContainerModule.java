@@ -0,0 +1,10 @@
+package com.communalizer.inject;
+
+/**
+ * A unit of registrations. Modules are how a container's configuration is handed to the
+ * {@link com.communalizer.inject.compiler.ContainerCompiler}, which runs them at build time, but they can just as
+ * well be applied to an {@link InjectContainer} at runtime.
+ */
+public interface ContainerModule {
+  void configure(Container container);
+}
@@ -1,57 +1,236 @@
 package com.communalizer.inject;
 
 import com.communalizer.inject.kernel.*;
-import com.communalizer.inject.kernel.dependencies.ExplicitDependency;
-import com.thoughtworks.paranamer.BytecodeReadingParanamer;
-import com.thoughtworks.paranamer.Paranamer;
-import org.core4j.Enumerable;
-import org.core4j.Func1;
-
-import java.lang.reflect.Constructor;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
+import com.communalizer.inject.kernel.events.ResolveEvent;
+import com.communalizer.inject.kernel.instantiation.HiddenClassInstantiationStrategy;
+import com.communalizer.inject.kernel.instantiation.InstantiationStrategy;
+import com.communalizer.inject.kernel.instantiation.ReflectionInstantiationStrategy;
+import com.communalizer.inject.kernel.lifestyle.ComponentPool;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+import com.communalizer.inject.kernel.lifestyle.PoolStatistics;
+import com.communalizer.inject.kernel.lifestyle.Scope;
+import com.communalizer.inject.kernel.metrics.ResolutionMetrics;
+
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Registrations accumulate in a private builder registry until the container is frozen, either explicitly through
+ * {@link #freeze()} or implicitly by the first resolve. Freezing publishes an immutable {@link RegistrySnapshot}
+ * that resolvers read without taking any locks. Registering after that point publishes a fresh snapshot
+ * (copy-on-write), so threads that are already resolving keep a consistent view.
+ */
 public class InjectContainer implements Container {
-  private final Map<String, TypeProvider<?>> registry = new HashMap<>();
+  private final Object lock = new Object();
+  private final Map<TypeKey, TypeProvider<?>> registry = new HashMap<>();
+  private final Map<TypeKey, TypeProvider<?>> openGenerics = new HashMap<>();
+  private final ParameterNameCache parameterNames;
+  private final InstantiationStrategy instantiationStrategy;
+  private final ResolutionMetrics metrics;
+  private final Scope rootScope = new Scope();
+  private final TypeIndex typeIndex = new TypeIndex();
+
+  private volatile RegistrySnapshot snapshot;
+
+  public InjectContainer() {
+    this(new HiddenClassInstantiationStrategy());
+  }
+
+  /**
+   * Creates a container that binds the constructors of REFLECTION components through the given
+   * {@link InstantiationStrategy}. Pass a {@link ReflectionInstantiationStrategy} to fall back to plain reflection.
+   */
+  public InjectContainer(InstantiationStrategy instantiationStrategy) {
+    this(instantiationStrategy, ResolutionMetrics.disabled());
+  }
+
+  /**
+   * Creates a container that records per-component resolution metrics into the given {@link ResolutionMetrics}.
+   */
+  public InjectContainer(ResolutionMetrics metrics) {
+    this(new HiddenClassInstantiationStrategy(), metrics);
+  }
+
+  /**
+   * Creates a container that looks constructor parameter names up in, and records them to, the given
+   * {@link StartupIndex}. Call {@link StartupIndex#save()} once the container is verified or warmed up.
+   */
+  public InjectContainer(StartupIndex startupIndex) {
+    this(new HiddenClassInstantiationStrategy(), ResolutionMetrics.disabled(), startupIndex);
+  }
+
+  public InjectContainer(InstantiationStrategy instantiationStrategy, ResolutionMetrics metrics) {
+    this(instantiationStrategy, metrics, StartupIndex.disabled());
+  }
+
+  public InjectContainer(
+    InstantiationStrategy instantiationStrategy,
+    ResolutionMetrics metrics,
+    StartupIndex startupIndex) {
+
+    if (instantiationStrategy == null) {
+      throw new IllegalArgumentException("Parameter: instantiationStrategy cannot be null.");
+    }
+
+    if (metrics == null) {
+      throw new IllegalArgumentException("Parameter: metrics cannot be null.");
+    }
+
+    if (startupIndex == null) {
+      throw new IllegalArgumentException("Parameter: startupIndex cannot be null.");
+    }
+
+    this.instantiationStrategy = instantiationStrategy;
+    this.metrics = metrics;
+    this.parameterNames = new ParameterNameCache(startupIndex);
+  }
 
   @Override
-  @SuppressWarnings("unchecked")
   public <T> void register(Registration<T, ?> registration) {
-    TypeToken<T> baseTypeToken = registration.getComponent().getBaseTypeToken();
+    synchronized (lock) {
+      try {
+        addRegistration(registration);
+      } finally {
+        republish();
+      }
+    }
+  }
+
+  @Override
+  public <T> void register(Registration<T, ?>... registrations) {
+    synchronized (lock) {
+      try {
+        for (Registration<T, ?> registration : registrations) {
+          addRegistration(registration);
+        }
+      } finally {
+        republish();
+      }
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void register(RegistrationBuilder builder) {
+    register(builder.build());
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public void register(RegistrationBuilder... builders) {
+    Registration[] registrations = new Registration[builders.length];
+
+    for (int i = 0; i < builders.length; i++) {
+      registrations[i] = builders[i].build();
+    }
+
+    register(registrations);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> void addRegistration(Registration<T, ?> registration) {
+    TypeKey baseTypeKey = registration.getTypeKey();
+    Map<TypeKey, TypeProvider<?>> providers =
+      registration.getComponent().isOpenGeneric() ? openGenerics : registry;
 
     TypeProvider<T> provider =
-      (TypeProvider<T>) registry.get(baseTypeToken.getKey());
+      (TypeProvider<T>) providers.get(baseTypeKey);
 
     if (provider != null) {
       provider.addRegistration(registration);
     } else {
-      TypeProvider<T> typeProvider = new TypeProvider<>(baseTypeToken);
+      TypeProvider<T> typeProvider = new TypeProvider<>(registration.getComponent().getBaseTypeToken());
       typeProvider.addRegistration(registration);
 
-      registry.put(baseTypeToken.getKey(), typeProvider);
+      providers.put(baseTypeKey, typeProvider);
     }
   }
 
-  @Override
-  public <T> void register(Registration<T, ?>... registrations) {
-    for (Registration<T, ?> registration : registrations) {
-      register(registration);
+  /**
+   * Once frozen, every change to the builder registry is published as a new snapshot. Constructor selection
+   * depends on what is registered, so the new snapshot starts without any compiled plans.
+   */
+  private void republish() {
+    if (snapshot != null) {
+      snapshot = new RegistrySnapshot(
+        registry, openGenerics, parameterNames, instantiationStrategy, rootScope, metrics, typeIndex
+      );
     }
   }
 
   @Override
-  @SuppressWarnings("unchecked")
-  public void register(RegistrationBuilder builder) {
-    register(builder.build());
+  public void freeze() {
+    getSnapshot();
   }
 
   @Override
-  public void register(RegistrationBuilder... builders) {
-    for (RegistrationBuilder builder : builders) {
-      register(builder);
+  public void verify() {
+    verify(getSnapshot());
+  }
+
+  /**
+   * Verifies the container and then constructs every SINGLETON component ahead of its first resolution.
+   * Singletons that don't depend on each other are constructed concurrently on the executor, and each one only
+   * after all the singletons it depends on. Blocks until all of them have been constructed.
+   */
+  public WarmUpReport warmUp(Executor executor) {
+    if (executor == null) {
+      throw new IllegalArgumentException("Parameter: executor cannot be null.");
+    }
+
+    RegistrySnapshot current = getSnapshot();
+    verify(current);
+
+    return new WarmUp(current).run(executor);
+  }
+
+  private static void verify(RegistrySnapshot snapshot) {
+    DependencyGraph graph = snapshot.getGraph();
+
+    if (!graph.isValid()) {
+      StringBuilder message = new StringBuilder("The container has components that cannot be resolved:");
+
+      for (String problem : graph.getProblems()) {
+        message.append("\n  - ").append(problem);
+      }
+
+      throw new RuntimeException(message.toString());
+    }
+  }
+
+  /**
+   * Returns the metrics this container records into, which are {@link ResolutionMetrics#disabled()} unless others
+   * were passed in when creating it.
+   */
+  public ResolutionMetrics getMetrics() {
+    return metrics;
+  }
+
+  /**
+   * Returns the current {@link RegistrySnapshot}, freezing the container if that has not happened yet.
+   */
+  public RegistrySnapshot getSnapshot() {
+    RegistrySnapshot current = snapshot;
+
+    if (current == null) {
+      synchronized (lock) {
+        current = snapshot;
+
+        if (current == null) {
+          current = new RegistrySnapshot(
+            registry, openGenerics, parameterNames, instantiationStrategy, rootScope, metrics, typeIndex
+          );
+          snapshot = current;
+        }
+      }
     }
+
+    return current;
   }
 
   @Override
@@ -76,171 +255,143 @@ public class InjectContainer implements Container {
     return resolveImpl(token, name);
   }
 
-  private <T> T resolveImpl(TypeToken<T> token, String name) {
-    TypeProvider typeProvider = registry.get(token.getKey());
+  @Override
+  public <T> CompletableFuture<T> resolveAsync(TypeToken<T> token, Executor executor) {
+    if (token == null) {
+      throw new IllegalArgumentException("Parameter: token cannot be null.");
+    }
+
+    return resolveAsyncImpl(token, null, executor);
+  }
+
+  @Override
+  public <T> CompletableFuture<T> resolveAsync(TypeToken<T> token, String name, Executor executor) {
+    if (token == null) {
+      throw new IllegalArgumentException("Parameter: token cannot be null.");
+    }
 
-    if (typeProvider == null) {
-      throw new RuntimeException(
-        String.format(
-          "Could not find a registration matching type token: %s.",
-          token.getKey()
-        )
-      );
+    if (name == null) {
+      throw new IllegalArgumentException("Parameter: name cannot be null.");
     }
 
-    @SuppressWarnings("unchecked")
-    Registration registration = typeProvider.getRegistration(token, name);
+    return resolveAsyncImpl(token, name, executor);
+  }
 
-    switch (registration.getComponent().getComponentType()) {
-      case REFLECTION:
-        return reflectInstance(registration);
+  @Override
+  public <T> List<T> resolveAll(TypeToken<T> token) {
+    if (token == null) {
+      throw new IllegalArgumentException("Parameter: token cannot be null.");
+    }
 
-      default:
-        @SuppressWarnings({"unchecked", "UnnecessaryLocalVariable"})
-        T instance = (T) registration.getComponent().getOrCreateInstance();
+    return resolveAllImpl(token);
+  }
 
-        return instance;
+  @Override
+  public <T> void release(TypeToken<T> token, T instance) {
+    if (token == null) {
+      throw new IllegalArgumentException("Parameter: token cannot be null.");
     }
+
+    releaseImpl(token, null, instance);
   }
 
-  @SuppressWarnings("unchecked")
-  /**
-   * Attempts to create an instance of the requested {@link Registration} by reflection.
-   */
-  private <T> T reflectInstance(Registration registration) {
-    Class<T> clazz;
-    Type referencedType = registration.getComponent().getReferencedType();
+  @Override
+  public <T> void release(TypeToken<T> token, String name, T instance) {
+    if (token == null) {
+      throw new IllegalArgumentException("Parameter: token cannot be null.");
+    }
 
-    if (referencedType instanceof ParameterizedType) {
-      clazz = ((Class<T>) ((ParameterizedType) referencedType).getRawType());
-    } else {
-      clazz =  (Class<T>) referencedType;
+    if (name == null) {
+      throw new IllegalArgumentException("Parameter: name cannot be null.");
     }
 
-    Paranamer paranamer = new BytecodeReadingParanamer();
+    releaseImpl(token, name, instance);
+  }
 
-    try {
-      Constructor<T> constructor =
-        selectGreediestMatchingConstructor(
-          clazz,
-          registration.getComponent().generateKey()
-        );
-
-      Type[] dependencies = constructor.getGenericParameterTypes();
-
-      if (dependencies != null && dependencies.length > 0) {
-        Object[] initArgs = new Object[dependencies.length];
-
-        for (int i = 0; i < dependencies.length; i++) {
-          if (registration.hasExplicitDependencies()) {
-            String parameterName = paranamer.lookupParameterNames(constructor)[i];
-            ExplicitDependency dep = registration.getDependency(parameterName);
-
-            if (dep != null) {
-              switch (dep.getProviderType()) {
-                case INSTANCE:
-                  initArgs[i] = dep.getInstance();
-                  break;
-
-                case FACTORY:
-                  initArgs[i] = dep.getFactoryArtifact();
-                  break;
-
-                case TYPE_TOKEN:
-                  String depComName = dep.getDependencyComponentName();
-
-                  if (depComName == null || depComName.equals("")) {
-                    initArgs[i] = resolve(dep.getTypeToken());
-                  } else {
-                    initArgs[i] = resolve(dep.getTypeToken(), depComName);
-                  }
-                  break;
-              }
-            } else {
-              TypeToken token = TypeToken.getToken(dependencies[i]);
-              initArgs[i] = resolve(token);
-            }
-          } else {
-            TypeToken token = TypeToken.getToken(dependencies[i]);
-            initArgs[i] = resolve(token);
-          }
-        }
+  private <T> void releaseImpl(TypeToken<T> token, String name, T instance) {
+    if (instance == null) {
+      throw new IllegalArgumentException("Parameter: instance cannot be null.");
+    }
 
-        return constructor.newInstance(initArgs);
-      }
+    Registration<T, ?> registration = getSnapshot().findRegistration(token, name);
 
-      return constructor.newInstance();
-    } catch (Exception e) {
-      throw new RuntimeException(e);
+    if (registration.getLifestyle() != Lifestyle.POOLED) {
+      throw new IllegalArgumentException(
+        String.format("Component '%s' is not pooled.", registration.getKey())
+      );
     }
+
+    rootScope.getPool(registration).release(instance);
   }
 
-  @SuppressWarnings("unchecked")
   /**
-   * Evaluates all available constructors and selects the largest satisfiable constructor
+   * Returns the hits, misses and returns of every pool of a POOLED component that has been used so far, keyed and
+   * sorted by registration key.
    */
-  private <T> Constructor<T> selectGreediestMatchingConstructor(Class<T> type, String componentKey) {
-    Enumerable<Constructor<T>> constructors =
-      Enumerable.create((Constructor<T>[]) type.getConstructors())
-        .orderBy(new Func1<Constructor<T>, Comparable>() {
-          @Override
-          public Comparable apply(Constructor<T> tConstructor) {
-            return tConstructor.getTypeParameters().length;
-          }
-        })
-        .reverse();
-
-    for (Constructor<T> constructor : constructors) {
-      if (isSatisfiable(constructor)) {
-        return constructor;
-      }
+  public Map<String, PoolStatistics> getPoolStatistics() {
+    Map<String, PoolStatistics> statistics = new TreeMap<>();
+
+    for (Map.Entry<Registration<?, ?>, ComponentPool<?>> entry : rootScope.getPools().entrySet()) {
+      statistics.put(entry.getKey().getKey(), entry.getValue().getStatistics());
     }
 
-    // If we get here, no constructor has been deemed satisfiable.
-    // The component cannot be resolved.
-    StringBuilder builder = new StringBuilder();
-    builder.append("Component '");
-    builder.append(componentKey);
-    builder.append("' has unregistered dependencies [");
+    return statistics;
+  }
 
-    Constructor<T> ctor = constructors.first();
-    Type[] dependencies = ctor.getGenericParameterTypes();
+  /**
+   * Creates a child scope that shares this container's registrations and compiled plans. SCOPED components
+   * resolved through the scope live until it is closed.
+   */
+  public ScopedContainer createScope() {
+    return new ScopedContainer(this);
+  }
 
-    for (Type dependency : dependencies) {
-      TypeToken token = TypeToken.getToken(dependency);
-      if (!registry.containsKey(token.getKey())) {
-        builder.append("'").append(token.getKey()).append("'").append(", ");
-      }
+  <T> T resolveImpl(TypeToken<T> token, String name) {
+    RegistrySnapshot current = getSnapshot();
+    ResolveEvent event = new ResolveEvent();
+
+    if (!event.isEnabled()) {
+      return current.getPlan(token, name).create();
     }
 
-    builder.append("]. Cannot resolve.");
+    event.typeKey = token.getTypeKey().toString();
+    event.name = name;
+    event.begin();
 
-    throw new RuntimeException(builder.toString().replace(", ]", "]"));
+    try {
+      return current.getPlan(token, name).create();
+    } finally {
+      event.commit();
+    }
   }
 
   /**
-   * Evaluates a {@link Constructor} to see whether or not all necessary dependencies are registered with the
-   * container.
-   * @param constructor           The {@link Constructor} to inspect.
-   * @param <T>                   Type of the {@link Constructor}.
-   * @return                      A boolean indicating whether all dependencies can be satisfied.
+   * Looks the plan up on the calling thread, so a type that isn't registered throws rather than failing the future.
    */
-  private <T> boolean isSatisfiable(Constructor<T> constructor) {
-    Type[] dependencies = constructor.getGenericParameterTypes();
+  <T> CompletableFuture<T> resolveAsyncImpl(TypeToken<T> token, String name, Executor executor) {
+    if (executor == null) {
+      throw new IllegalArgumentException("Parameter: executor cannot be null.");
+    }
 
-    for (Type dependency : dependencies) {
-      TypeToken token = TypeToken.getToken(dependency);
+    RegistrySnapshot current = getSnapshot();
 
-      if (!registry.containsKey(token.getKey())) {
-        return false;
-      }
+    return new AsyncResolution(current, executor).resolve(current.getPlan(token, name));
+  }
+
+  @SuppressWarnings("unchecked")
+  <T> List<T> resolveAllImpl(TypeToken<T> token) {
+    ResolutionPlan<?>[] plans = getSnapshot().getPlans(token.getTypeKey());
+    List<T> all = new ArrayList<>(plans.length);
+
+    for (ResolutionPlan<?> plan : plans) {
+      all.add((T) plan.create());
     }
 
-    return true;
+    return all;
   }
 
   @Override
   public Map<String, TypeProvider<?>> getRegistry() {
-    return this.registry;
+    return getSnapshot().getRegistry();
   }
 }
@@ -0,0 +1,182 @@
+package com.communalizer.inject;
+
+import com.communalizer.inject.kernel.Registration;
+import com.communalizer.inject.kernel.RegistrationBuilder;
+import com.communalizer.inject.kernel.TypeProvider;
+import com.communalizer.inject.kernel.TypeToken;
+import com.communalizer.inject.kernel.lifestyle.Scope;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * A child {@link Container} created by {@link InjectContainer#createScope()}. It resolves through the parent's
+ * registry snapshot and compiled plans, and only owns the storage for SCOPED instances, which are disposed when the
+ * scope is closed. Everything else (transient, singleton and per-thread components) behaves exactly as it does in
+ * the parent.
+ */
+public class ScopedContainer implements Container, AutoCloseable {
+  private final InjectContainer parent;
+  private final Scope scope = new Scope();
+
+  ScopedContainer(InjectContainer parent) {
+    this.parent = parent;
+  }
+
+  @Override
+  public <T> void register(Registration<T, ?> registration) {
+    throw registrationNotSupported();
+  }
+
+  @Override
+  public <T> void register(Registration<T, ?>... registrations) {
+    throw registrationNotSupported();
+  }
+
+  @Override
+  public void register(RegistrationBuilder builder) {
+    throw registrationNotSupported();
+  }
+
+  @Override
+  public void register(RegistrationBuilder... builders) {
+    throw registrationNotSupported();
+  }
+
+  @Override
+  public void freeze() {
+    parent.freeze();
+  }
+
+  @Override
+  public void verify() {
+    parent.verify();
+  }
+
+  @Override
+  public <T> T resolve(TypeToken<T> token) {
+    if (token == null) {
+      throw new IllegalArgumentException("Parameter: token cannot be null.");
+    }
+
+    return resolveImpl(token, null);
+  }
+
+  @Override
+  public <T> T resolve(TypeToken<T> token, String name) {
+    if (token == null) {
+      throw new IllegalArgumentException("Parameter: token cannot be null.");
+    }
+
+    if (name == null) {
+      throw new IllegalArgumentException("Parameter: name cannot be null.");
+    }
+
+    return resolveImpl(token, name);
+  }
+
+  private <T> T resolveImpl(TypeToken<T> token, String name) {
+    if (scope.isClosed()) {
+      throw new IllegalStateException("The scope has been closed.");
+    }
+
+    Scope previous = Scope.enter(scope);
+
+    try {
+      return parent.resolveImpl(token, name);
+    } finally {
+      Scope.exit(previous);
+    }
+  }
+
+  @Override
+  public <T> CompletableFuture<T> resolveAsync(TypeToken<T> token, Executor executor) {
+    if (token == null) {
+      throw new IllegalArgumentException("Parameter: token cannot be null.");
+    }
+
+    return resolveAsyncImpl(token, null, executor);
+  }
+
+  @Override
+  public <T> CompletableFuture<T> resolveAsync(TypeToken<T> token, String name, Executor executor) {
+    if (token == null) {
+      throw new IllegalArgumentException("Parameter: token cannot be null.");
+    }
+
+    if (name == null) {
+      throw new IllegalArgumentException("Parameter: name cannot be null.");
+    }
+
+    return resolveAsyncImpl(token, name, executor);
+  }
+
+  /**
+   * The scope is entered while the resolution is started, so that the components resolved on the executor are too.
+   */
+  private <T> CompletableFuture<T> resolveAsyncImpl(TypeToken<T> token, String name, Executor executor) {
+    if (scope.isClosed()) {
+      throw new IllegalStateException("The scope has been closed.");
+    }
+
+    Scope previous = Scope.enter(scope);
+
+    try {
+      return parent.resolveAsyncImpl(token, name, executor);
+    } finally {
+      Scope.exit(previous);
+    }
+  }
+
+  @Override
+  public <T> List<T> resolveAll(TypeToken<T> token) {
+    if (token == null) {
+      throw new IllegalArgumentException("Parameter: token cannot be null.");
+    }
+
+    if (scope.isClosed()) {
+      throw new IllegalStateException("The scope has been closed.");
+    }
+
+    Scope previous = Scope.enter(scope);
+
+    try {
+      return parent.resolveAllImpl(token);
+    } finally {
+      Scope.exit(previous);
+    }
+  }
+
+  /**
+   * Pools are shared with the parent container, so releasing through a scope is the same as releasing through
+   * the parent.
+   */
+  @Override
+  public <T> void release(TypeToken<T> token, T instance) {
+    parent.release(token, instance);
+  }
+
+  @Override
+  public <T> void release(TypeToken<T> token, String name, T instance) {
+    parent.release(token, name, instance);
+  }
+
+  @Override
+  public Map<String, TypeProvider<?>> getRegistry() {
+    return parent.getRegistry();
+  }
+
+  /**
+   * Disposes every SCOPED instance created by this scope that implements {@link AutoCloseable}.
+   */
+  @Override
+  public void close() {
+    scope.close();
+  }
+
+  private static UnsupportedOperationException registrationNotSupported() {
+    return new UnsupportedOperationException("Components must be registered with the parent container.");
+  }
+}
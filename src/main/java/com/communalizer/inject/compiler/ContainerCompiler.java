@@ -0,0 +1,78 @@
+package com.communalizer.inject.compiler;
+
+import com.communalizer.inject.ContainerModule;
+import com.communalizer.inject.InjectContainer;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+/**
+ * Runs {@link ContainerModule}s at build time and writes a generated container that wires their registrations
+ * with plain constructor calls. Injector has no build plugin of its own; this entry point is meant to be invoked by
+ * the build, e.g. from an sbt source generator as shown in the README:
+ *
+ * <pre>
+ * ContainerCompiler &lt;output directory&gt; &lt;generated class name&gt; &lt;module class&gt;...
+ * </pre>
+ */
+public class ContainerCompiler {
+  private ContainerCompiler() {
+  }
+
+  /**
+   * Applies the modules to a fresh {@link InjectContainer} and returns the source of a generated container with the
+   * given fully qualified class name.
+   */
+  public static String compile(String className, ContainerModule... modules) {
+    if (modules == null) {
+      throw new IllegalArgumentException("Parameter: modules cannot be null.");
+    }
+
+    InjectContainer container = new InjectContainer();
+
+    for (ContainerModule module : modules) {
+      module.configure(container);
+    }
+
+    return new ContainerSourceGenerator(container.getSnapshot()).generate(className);
+  }
+
+  /**
+   * Compiles the modules and writes the generated source below the output directory, in the directory matching
+   * the generated class' package. Returns the written file.
+   */
+  public static File compile(File outputDirectory, String className, ContainerModule... modules)
+    throws IOException {
+
+    if (outputDirectory == null) {
+      throw new IllegalArgumentException("Parameter: outputDirectory cannot be null.");
+    }
+
+    String source = compile(className, modules);
+    File file = new File(outputDirectory, className.replace('.', File.separatorChar) + ".java");
+
+    Files.createDirectories(file.getParentFile().toPath());
+    Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+
+    return file;
+  }
+
+  public static void main(String[] args) throws Exception {
+    if (args.length < 3) {
+      System.err.println(
+        "Usage: ContainerCompiler <output directory> <generated class name> <module class> [<module class> ...]"
+      );
+      System.exit(1);
+    }
+
+    ContainerModule[] modules = new ContainerModule[args.length - 2];
+
+    for (int i = 2; i < args.length; i++) {
+      modules[i - 2] = (ContainerModule) Class.forName(args[i]).getConstructor().newInstance();
+    }
+
+    System.out.println(compile(new File(args[0]), args[1], modules).getPath());
+  }
+}
@@ -0,0 +1,637 @@
+package com.communalizer.inject.compiler;
+
+import com.communalizer.inject.kernel.*;
+import com.communalizer.inject.kernel.lifestyle.ComponentPool;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.*;
+
+/**
+ * Generates the Java source of a {@link com.communalizer.inject.Container} that wires the registrations of a
+ * {@link RegistrySnapshot} with plain constructor calls. Constructors are selected exactly as the snapshot's
+ * {@link ResolutionPlan}s select them, so the generated container resolves the same graph as the container it was
+ * generated from, without reflection, Paranamer or core4j at runtime.
+ *
+ * Only what can be written down as source can be compiled: REFLECTION components and FACTORY components whose
+ * factory is a public class with a public no-arg constructor, depending on each other through constructor
+ * parameters (including {@link Factory} and {@link Lazy} providers) or explicit type token dependencies. INSTANCE
+ * components and explicit instance or factory dependencies only exist at runtime, and are reported as problems, as
+ * are open generic components, which are closed at runtime, and SCOPED components, since the generated container
+ * has no scopes to keep their instances in. Resolving asynchronously constructs the whole component in a single task.
+ */
+public class ContainerSourceGenerator {
+  private final RegistrySnapshot snapshot;
+
+  public ContainerSourceGenerator(RegistrySnapshot snapshot) {
+    if (snapshot == null) {
+      throw new IllegalArgumentException("Parameter: snapshot cannot be null.");
+    }
+
+    this.snapshot = snapshot;
+  }
+
+  /**
+   * Generates the source of a container class with the given fully qualified name. Every problem that prevents
+   * the registry from being compiled is collected and reported in a single exception.
+   */
+  public String generate(String className) {
+    if (className == null || className.equals("")) {
+      throw new IllegalArgumentException("Parameter: className cannot be null or empty.");
+    }
+
+    List<Registration<?, ?>> registrations = getRegistrations();
+    Map<Registration<?, ?>, Integer> indices = new HashMap<>();
+
+    for (int i = 0; i < registrations.size(); i++) {
+      indices.put(registrations.get(i), i);
+    }
+
+    List<String> problems = new ArrayList<>();
+    StringBuilder members = new StringBuilder();
+
+    for (TypeProvider<?> provider : snapshot.getOpenGenerics().values()) {
+      for (Registration<?, ?> registration : provider.getRegistrations()) {
+        problems.add(
+          String.format("Component '%s' is an open generic, which is closed at runtime.", registration.getKey())
+        );
+      }
+    }
+
+    for (int i = 0; i < registrations.size(); i++) {
+      appendRegistration(members, i, registrations.get(i), indices, problems);
+    }
+
+    if (!problems.isEmpty()) {
+      StringBuilder message = new StringBuilder("The container cannot be compiled:");
+
+      for (String problem : problems) {
+        message.append("\n  - ").append(problem);
+      }
+
+      throw new RuntimeException(message.toString());
+    }
+
+    int separator = className.lastIndexOf('.');
+    String packageName = (separator >= 0) ? className.substring(0, separator) : null;
+    String simpleName = className.substring(separator + 1);
+
+    StringBuilder source = new StringBuilder();
+
+    if (packageName != null) {
+      source.append("package ").append(packageName).append(";\n\n");
+    }
+
+    source.append("import com.communalizer.inject.Container;\n");
+    source.append("import com.communalizer.inject.kernel.Factory;\n");
+    source.append("import com.communalizer.inject.kernel.Lazy;\n");
+    source.append("import com.communalizer.inject.kernel.Registration;\n");
+    source.append("import com.communalizer.inject.kernel.RegistrationBuilder;\n");
+    source.append("import com.communalizer.inject.kernel.TypeProvider;\n");
+    source.append("import com.communalizer.inject.kernel.TypeToken;\n");
+    source.append("import com.communalizer.inject.kernel.lifestyle.ComponentPool;\n");
+    source.append("\n");
+    source.append("import java.util.ArrayList;\n");
+    source.append("import java.util.Arrays;\n");
+    source.append("import java.util.LinkedHashMap;\n");
+    source.append("import java.util.List;\n");
+    source.append("import java.util.Map;\n");
+    source.append("import java.util.concurrent.CompletableFuture;\n");
+    source.append("import java.util.concurrent.Executor;\n");
+    source.append("import java.util.function.Supplier;\n");
+    source.append("\n");
+    source.append("/**\n");
+    source.append(" * Generated by ").append(ContainerCompiler.class.getName()).append(". Do not edit.\n");
+    source.append(" */\n");
+    source.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+    source.append("public final class ").append(simpleName).append(" implements Container {\n");
+    source.append(members);
+    appendContainerMethods(source, registrations, indices);
+    source.append("}\n");
+
+    return source.toString();
+  }
+
+  private List<Registration<?, ?>> getRegistrations() {
+    List<Registration<?, ?>> registrations = new ArrayList<>();
+
+    for (TypeProvider<?> provider : snapshot.getProviders().values()) {
+      registrations.addAll(provider.getRegistrations());
+    }
+
+    // Sorted, so that generating twice from the same registrations yields the same source.
+    Collections.sort(registrations, new Comparator<Registration<?, ?>>() {
+      @Override
+      public int compare(Registration<?, ?> left, Registration<?, ?> right) {
+        return left.getResolutionKey().compareTo(right.getResolutionKey());
+      }
+    });
+
+    return registrations;
+  }
+
+  private void appendRegistration(
+    StringBuilder source,
+    int index,
+    Registration<?, ?> registration,
+    Map<Registration<?, ?>, Integer> indices,
+    List<String> problems) {
+
+    String key = registration.getKey();
+    String creation;
+
+    if (registration.getLifestyle() == Lifestyle.SCOPED) {
+      problems.add(String.format("Component '%s' is SCOPED, but compiled containers have no scopes.", key));
+      return;
+    }
+
+    switch (registration.getComponent().getComponentType()) {
+      case INSTANCE:
+        problems.add(String.format("Component '%s' is an INSTANCE component, which only exists at runtime.", key));
+        return;
+
+      case TYPED_FACTORY:
+        problems.add(String.format("Component '%s' is a typed factory, which is implemented at runtime.", key));
+        return;
+
+      case FACTORY:
+        Class<?> factoryClass = registration.getFactory().getClass();
+
+        if (!isAccessible(factoryClass) || !hasPublicNoArgConstructor(factoryClass)) {
+          problems.add(
+            String.format(
+              "Component '%s' is provided by factory '%s', which is not a public class with a public no-arg " +
+                "constructor.",
+              key,
+              factoryClass.getName()
+            )
+          );
+          return;
+        }
+
+        source.append(
+          String.format(
+            "  private final %1$s factory%2$d = new %1$s();\n\n",
+            factoryClass.getCanonicalName(),
+            index
+          )
+        );
+
+        creation = String.format("factory%d.create()", index);
+        break;
+
+      default:
+        creation = constructorCall(registration, indices, problems);
+
+        if (creation == null) {
+          return;
+        }
+    }
+
+    source.append(String.format("  private Object create%d() {\n", index));
+    source.append(String.format("    return %s;\n", creation));
+    source.append("  }\n\n");
+
+    appendLifestyle(source, index, registration);
+  }
+
+  private String constructorCall(
+    Registration<?, ?> registration,
+    Map<Registration<?, ?>, Integer> indices,
+    List<String> problems) {
+
+    String key = registration.getKey();
+    ResolutionPlan<?> plan;
+
+    try {
+      plan = snapshot.getPlan(registration);
+    } catch (RuntimeException e) {
+      problems.add(String.format("Component '%s' cannot be resolved: %s", key, e.getMessage()));
+      return null;
+    }
+
+    Constructor<?> constructor = plan.getConstructor();
+    Class<?> type = constructor.getDeclaringClass();
+
+    if (!isAccessible(type) || !Modifier.isPublic(constructor.getModifiers())) {
+      problems.add(
+        String.format("Component '%s' is implemented by '%s', which is not accessible.", key, type.getName())
+      );
+      return null;
+    }
+
+    Class<?>[] parameterTypes = constructor.getParameterTypes();
+    DependencyGraph.Node node = snapshot.getGraph().getNode(registration);
+    StringBuilder call = new StringBuilder("new ").append(type.getCanonicalName()).append("(");
+    boolean valid = true;
+
+    for (int i = 0; i < node.getParameterCount(); i++) {
+      if (node.getExplicitDependency(i) != null) {
+        problems.add(
+          String.format(
+            "Component '%s' has an explicit instance or factory dependency for parameter %d, which only exists " +
+              "at runtime.",
+            key,
+            i
+          )
+        );
+        valid = false;
+        continue;
+      }
+
+      if (!isAccessible(parameterTypes[i])) {
+        problems.add(
+          String.format(
+            "Component '%s' depends on '%s', which is not accessible.",
+            key,
+            parameterTypes[i].getName()
+          )
+        );
+        valid = false;
+        continue;
+      }
+
+      List<Registration<?, ?>> dependencies = node.getDependencies(i);
+      String get = (dependencies.size() == 1) ? getter(dependencies.get(0), indices) : null;
+
+      if (i > 0) {
+        call.append(", ");
+      }
+
+      switch (node.getBinding(i)) {
+        case FACTORY:
+          call.append(provider(get));
+          break;
+
+        case LAZY:
+          call.append("new Lazy(").append(provider(get)).append(")");
+          break;
+
+        case LIST:
+          call.append("list(").append(getters(dependencies, indices, false)).append(")");
+          break;
+
+        case MAP:
+          call.append("map(").append(getters(dependencies, indices, true)).append(")");
+          break;
+
+        case ARRAY:
+          call.append("(").append(parameterTypes[i].getCanonicalName()).append(") list(")
+            .append(getters(dependencies, indices, false)).append(").toArray(new ")
+            .append(parameterTypes[i].getComponentType().getCanonicalName()).append("[0])");
+          break;
+
+        default:
+          call.append("(").append(parameterTypes[i].getCanonicalName()).append(") ").append(get);
+      }
+    }
+
+    return valid ? call.append(")").toString() : null;
+  }
+
+  private static String getter(Registration<?, ?> registration, Map<Registration<?, ?>, Integer> indices) {
+    return String.format("get%d()", indices.get(registration));
+  }
+
+  /**
+   * Comma separated getters of the registrations, each preceded by its name if requested.
+   */
+  private static String getters(
+    List<? extends Registration<?, ?>> registrations,
+    Map<Registration<?, ?>, Integer> indices,
+    boolean named) {
+
+    StringBuilder getters = new StringBuilder();
+
+    for (Registration<?, ?> registration : registrations) {
+      if (getters.length() > 0) {
+        getters.append(", ");
+      }
+
+      if (named) {
+        getters.append(literal((registration.getName() != null) ? registration.getName() : "")).append(", ");
+      }
+
+      getters.append(getter(registration, indices));
+    }
+
+    return getters.toString();
+  }
+
+  private static String provider(String get) {
+    return String.format("new Factory() {\n      public Object create() {\n        return %s;\n      }\n    }", get);
+  }
+
+  private static void appendLifestyle(StringBuilder source, int index, Registration<?, ?> registration) {
+    switch (registration.getLifestyle()) {
+      case SINGLETON:
+        source.append(String.format("  private volatile Object instance%d;\n\n", index));
+        source.append(String.format("  private Object get%d() {\n", index));
+        source.append(String.format("    Object instance = instance%d;\n\n", index));
+        source.append("    if (instance == null) {\n");
+        source.append("      synchronized (this) {\n");
+        source.append(String.format("        instance = instance%d;\n\n", index));
+        source.append("        if (instance == null) {\n");
+        source.append(String.format("          instance = create%d();\n", index));
+        source.append(String.format("          instance%d = instance;\n", index));
+        source.append("        }\n");
+        source.append("      }\n");
+        source.append("    }\n\n");
+        source.append("    return instance;\n");
+        source.append("  }\n\n");
+        break;
+
+      case PER_THREAD:
+        source.append(String.format("  private final ThreadLocal<Object> local%d = new ThreadLocal<>();\n\n", index));
+        source.append(String.format("  private Object get%d() {\n", index));
+        source.append(String.format("    Object instance = local%d.get();\n\n", index));
+        source.append("    if (instance == null) {\n");
+        source.append(String.format("      instance = create%d();\n", index));
+        source.append(String.format("      local%d.set(instance);\n", index));
+        source.append("    }\n\n");
+        source.append("    return instance;\n");
+        source.append("  }\n\n");
+        break;
+
+      case POOLED:
+        int size = (registration.getPoolSize() > 0) ? registration.getPoolSize() : ComponentPool.DEFAULT_SIZE;
+
+        source.append(String.format("  private final ComponentPool pool%d = new ComponentPool(%d);\n\n", index, size));
+        source.append(String.format("  private Object get%d() {\n", index));
+        source.append(String.format("    Object instance = pool%d.poll();\n\n", index));
+        source.append(String.format("    return (instance != null) ? instance : create%d();\n", index));
+        source.append("  }\n\n");
+        break;
+
+      default:
+        source.append(String.format("  private Object get%d() {\n", index));
+        source.append(String.format("    return create%d();\n", index));
+        source.append("  }\n\n");
+    }
+  }
+
+  private void appendContainerMethods(
+    StringBuilder source,
+    List<Registration<?, ?>> registrations,
+    Map<Registration<?, ?>, Integer> indices) {
+
+    Map<String, TypeProvider<?>> providers = new TreeMap<>(snapshot.getRegistry());
+
+    String unsupported =
+      "    throw new UnsupportedOperationException(\"Compiled containers cannot register components.\");\n";
+
+    source.append("  @Override\n");
+    source.append("  public <T> void register(Registration<T, ?> registration) {\n").append(unsupported);
+    source.append("  }\n\n");
+    source.append("  @Override\n");
+    source.append("  public <T> void register(Registration<T, ?>... registrations) {\n").append(unsupported);
+    source.append("  }\n\n");
+    source.append("  @Override\n");
+    source.append("  public void register(RegistrationBuilder builder) {\n").append(unsupported);
+    source.append("  }\n\n");
+    source.append("  @Override\n");
+    source.append("  public void register(RegistrationBuilder... builders) {\n").append(unsupported);
+    source.append("  }\n\n");
+    source.append("  @Override\n");
+    source.append("  public void freeze() {\n");
+    source.append("  }\n\n");
+    source.append("  @Override\n");
+    source.append("  public void verify() {\n");
+    source.append("  }\n\n");
+    source.append("  @Override\n");
+    source.append("  public <T> T resolve(TypeToken<T> token) {\n");
+    source.append("    if (token == null) {\n");
+    source.append("      throw new IllegalArgumentException(\"Parameter: token cannot be null.\");\n");
+    source.append("    }\n\n");
+    source.append("    return (T) resolve(token.getKey(), \"\");\n");
+    source.append("  }\n\n");
+    source.append("  @Override\n");
+    source.append("  public <T> T resolve(TypeToken<T> token, String name) {\n");
+    source.append("    if (token == null) {\n");
+    source.append("      throw new IllegalArgumentException(\"Parameter: token cannot be null.\");\n");
+    source.append("    }\n\n");
+    source.append("    if (name == null) {\n");
+    source.append("      throw new IllegalArgumentException(\"Parameter: name cannot be null.\");\n");
+    source.append("    }\n\n");
+    source.append("    return (T) resolve(token.getKey(), name);\n");
+    source.append("  }\n\n");
+    source.append("  @Override\n");
+    source.append("  public <T> CompletableFuture<T> resolveAsync(TypeToken<T> token, Executor executor) {\n");
+    source.append("    if (token == null) {\n");
+    source.append("      throw new IllegalArgumentException(\"Parameter: token cannot be null.\");\n");
+    source.append("    }\n\n");
+    source.append("    return resolveAsync(token.getKey(), \"\", executor);\n");
+    source.append("  }\n\n");
+    source.append("  @Override\n");
+    source.append("  public <T> CompletableFuture<T> resolveAsync(\n");
+    source.append("    TypeToken<T> token,\n");
+    source.append("    String name,\n");
+    source.append("    Executor executor) {\n\n");
+    source.append("    if (token == null) {\n");
+    source.append("      throw new IllegalArgumentException(\"Parameter: token cannot be null.\");\n");
+    source.append("    }\n\n");
+    source.append("    if (name == null) {\n");
+    source.append("      throw new IllegalArgumentException(\"Parameter: name cannot be null.\");\n");
+    source.append("    }\n\n");
+    source.append("    return resolveAsync(token.getKey(), name, executor);\n");
+    source.append("  }\n\n");
+    source.append("  private CompletableFuture resolveAsync(\n");
+    source.append("    final String key,\n");
+    source.append("    final String name,\n");
+    source.append("    Executor executor) {\n\n");
+    source.append("    if (executor == null) {\n");
+    source.append("      throw new IllegalArgumentException(\"Parameter: executor cannot be null.\");\n");
+    source.append("    }\n\n");
+    source.append("    return CompletableFuture.supplyAsync(new Supplier<Object>() {\n");
+    source.append("      @Override\n");
+    source.append("      public Object get() {\n");
+    source.append("        return resolve(key, name);\n");
+    source.append("      }\n");
+    source.append("    }, executor);\n");
+    source.append("  }\n\n");
+    source.append("  private Object resolve(String key, String name) {\n");
+    source.append("    switch (key) {\n");
+
+    Map<String, List<Registration<?, ?>>> byType = new TreeMap<>();
+
+    for (Registration<?, ?> registration : registrations) {
+      String type = registration.getTypeKey().toString();
+
+      if (!byType.containsKey(type)) {
+        byType.put(type, new ArrayList<Registration<?, ?>>());
+      }
+
+      byType.get(type).add(registration);
+    }
+
+    for (Map.Entry<String, List<Registration<?, ?>>> entry : byType.entrySet()) {
+      source.append("      case ").append(literal(entry.getKey())).append(":\n");
+      source.append("        switch (name) {\n");
+
+      for (Registration<?, ?> registration : entry.getValue()) {
+        String name = (registration.getName() != null) ? registration.getName() : "";
+
+        source.append("          case ").append(literal(name)).append(":\n");
+        source.append("            return get").append(indices.get(registration)).append("();\n");
+      }
+
+      source.append("        }\n");
+      source.append("        break;\n");
+    }
+
+    source.append("    }\n\n");
+    source.append("    throw new RuntimeException(\n");
+    source.append("      String.format(\"Could not find a registration matching type token: %s.\", key)\n");
+    source.append("    );\n");
+    source.append("  }\n\n");
+    source.append("  @Override\n");
+    source.append("  public <T> List<T> resolveAll(TypeToken<T> token) {\n");
+    source.append("    if (token == null) {\n");
+    source.append("      throw new IllegalArgumentException(\"Parameter: token cannot be null.\");\n");
+    source.append("    }\n\n");
+    source.append("    switch (token.getKey()) {\n");
+
+    for (TypeProvider<?> provider : providers.values()) {
+      source.append("      case ").append(literal(provider.getProvidedTypeKey().toString())).append(":\n");
+      source.append("        return list(").append(getters(provider.getRegistrations(), indices, false))
+        .append(");\n");
+    }
+
+    source.append("    }\n\n");
+    source.append("    return new ArrayList();\n");
+    source.append("  }\n\n");
+    source.append("  @Override\n");
+    source.append("  public <T> void release(TypeToken<T> token, T instance) {\n");
+    source.append("    if (token == null) {\n");
+    source.append("      throw new IllegalArgumentException(\"Parameter: token cannot be null.\");\n");
+    source.append("    }\n\n");
+    source.append("    release(token.getKey(), \"\", instance);\n");
+    source.append("  }\n\n");
+    source.append("  @Override\n");
+    source.append("  public <T> void release(TypeToken<T> token, String name, T instance) {\n");
+    source.append("    if (token == null) {\n");
+    source.append("      throw new IllegalArgumentException(\"Parameter: token cannot be null.\");\n");
+    source.append("    }\n\n");
+    source.append("    if (name == null) {\n");
+    source.append("      throw new IllegalArgumentException(\"Parameter: name cannot be null.\");\n");
+    source.append("    }\n\n");
+    source.append("    release(token.getKey(), name, instance);\n");
+    source.append("  }\n\n");
+    source.append("  private void release(String key, String name, Object instance) {\n");
+    source.append("    if (instance == null) {\n");
+    source.append("      throw new IllegalArgumentException(\"Parameter: instance cannot be null.\");\n");
+    source.append("    }\n\n");
+    source.append("    switch (key) {\n");
+
+    for (Map.Entry<String, List<Registration<?, ?>>> entry : byType.entrySet()) {
+      StringBuilder cases = new StringBuilder();
+
+      for (Registration<?, ?> registration : entry.getValue()) {
+        if (registration.getLifestyle() == Lifestyle.POOLED) {
+          String name = (registration.getName() != null) ? registration.getName() : "";
+
+          cases.append("          case ").append(literal(name)).append(":\n");
+          cases.append("            pool").append(indices.get(registration)).append(".release(instance);\n");
+          cases.append("            return;\n");
+        }
+      }
+
+      if (cases.length() > 0) {
+        source.append("      case ").append(literal(entry.getKey())).append(":\n");
+        source.append("        switch (name) {\n").append(cases).append("        }\n");
+        source.append("        break;\n");
+      }
+    }
+
+    source.append("    }\n\n");
+    source.append("    throw new IllegalArgumentException(\n");
+    source.append("      String.format(\"Component '%s' is not pooled.\", name.isEmpty() ? key : key + \"-\" + name)");
+    source.append("\n");
+    source.append("    );\n");
+    source.append("  }\n\n");
+    source.append("  private static List list(Object... elements) {\n");
+    source.append("    return new ArrayList(Arrays.asList(elements));\n");
+    source.append("  }\n\n");
+    source.append("  private static Map map(Object... entries) {\n");
+    source.append("    Map map = new LinkedHashMap();\n\n");
+    source.append("    for (int i = 0; i < entries.length; i += 2) {\n");
+    source.append("      map.put(entries[i], entries[i + 1]);\n");
+    source.append("    }\n\n");
+    source.append("    return map;\n");
+    source.append("  }\n\n");
+    source.append("  @Override\n");
+    source.append("  public Map<String, TypeProvider<?>> getRegistry() {\n");
+    source.append("    throw new UnsupportedOperationException(\"Compiled containers do not keep a registry.\");\n");
+    source.append("  }\n");
+  }
+
+  /**
+   * Whether generated code in any package can refer to the class by its canonical name.
+   */
+  private static boolean isAccessible(Class<?> type) {
+    while (type.isArray()) {
+      type = type.getComponentType();
+    }
+
+    if (type.isPrimitive()) {
+      return true;
+    }
+
+    if (type.getCanonicalName() == null) {
+      return false;
+    }
+
+    for (Class<?> c = type; c != null; c = c.getEnclosingClass()) {
+      if (!Modifier.isPublic(c.getModifiers())) {
+        return false;
+      }
+
+      if (c.getEnclosingClass() != null && !Modifier.isStatic(c.getModifiers())) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private static boolean hasPublicNoArgConstructor(Class<?> type) {
+    try {
+      return Modifier.isPublic(type.getConstructor().getModifiers());
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  private static String literal(String value) {
+    StringBuilder builder = new StringBuilder("\"");
+
+    for (char c : value.toCharArray()) {
+      switch (c) {
+        case '"':
+          builder.append("\\\"");
+          break;
+        case '\\':
+          builder.append("\\\\");
+          break;
+        case '\n':
+          builder.append("\\n");
+          break;
+        case '\r':
+          builder.append("\\r");
+          break;
+        case '\t':
+          builder.append("\\t");
+          break;
+        default:
+          if (c < 0x20 || c > 0x7e) {
+            builder.append(String.format("\\u%04x", (int) c));
+          } else {
+            builder.append(c);
+          }
+      }
+    }
+
+    return builder.append("\"").toString();
+  }
+}
@@ -0,0 +1,8 @@
+package com.communalizer.inject.kernel;
+
+/**
+ * Creates instances from arguments supplied by the caller, such as the arguments of a call to a typed factory.
+ */
+public interface ArgumentFactory<T> {
+  T create(Object[] arguments);
+}
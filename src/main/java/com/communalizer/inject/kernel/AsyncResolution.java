@@ -0,0 +1,123 @@
+package com.communalizer.inject.kernel;
+
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+import com.communalizer.inject.kernel.lifestyle.Scope;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+
+/**
+ * Resolves components of a {@link RegistrySnapshot} on an {@link Executor}, constructing the dependencies of
+ * TRANSIENT REFLECTION components concurrently. Every argument of such a component is started as soon as the
+ * component is reached, and its constructor runs once all of them are done, so the time it takes is that of its
+ * slowest dependency rather than the sum of them all. Components that are shared, provided by an instance or a
+ * factory, or deep enough to be compiled into a program are resolved through their plans, in a task each.
+ *
+ * When arguments fail, the component still waits for all of them, and then fails with the failure of its first
+ * failed parameter in declaration order, with the failures of the others suppressed. Which error is reported
+ * doesn't depend on which branch happened to fail first.
+ */
+public class AsyncResolution {
+  private final RegistrySnapshot snapshot;
+  private final Executor executor;
+
+  public AsyncResolution(RegistrySnapshot snapshot, Executor executor) {
+    if (snapshot == null) {
+      throw new IllegalArgumentException("Parameter: snapshot cannot be null.");
+    }
+
+    if (executor == null) {
+      throw new IllegalArgumentException("Parameter: executor cannot be null.");
+    }
+
+    this.snapshot = snapshot;
+    this.executor = executor;
+  }
+
+  /**
+   * Starts resolving the component of a plan, within the scope that is current on the calling thread.
+   */
+  public <T> CompletableFuture<T> resolve(final ResolutionPlan<T> plan) {
+    if (plan == null) {
+      throw new IllegalArgumentException("Parameter: plan cannot be null.");
+    }
+
+    if (!isConstructedConcurrently(plan)) {
+      return supply(plan.getFactory());
+    }
+
+    Factory<?>[] arguments = plan.getArguments();
+    final CompletableFuture<?>[] values = new CompletableFuture<?>[arguments.length];
+
+    for (int i = 0; i < arguments.length; i++) {
+      values[i] = (arguments[i] instanceof ResolutionPlan)
+        ? resolve((ResolutionPlan<?>) arguments[i])
+        : supply(arguments[i]);
+    }
+
+    return CompletableFuture.allOf(values).handleAsync(new BiFunction<Void, Throwable, T>() {
+      @Override
+      public T apply(Void ignored, Throwable failure) {
+        return snapshot.construct(plan, join(plan, values));
+      }
+    }, executor);
+  }
+
+  /**
+   * Whether a component is constructed anew, from arguments compiled into its plan, every time it is resolved.
+   */
+  private static boolean isConstructedConcurrently(ResolutionPlan<?> plan) {
+    return plan.getComponentType() == ComponentType.REFLECTION &&
+      plan.getRegistration().getLifestyle() == Lifestyle.TRANSIENT &&
+      plan.getArguments().length == plan.getConstructor().getParameterTypes().length;
+  }
+
+  private <T> CompletableFuture<T> supply(Factory<T> factory) {
+    final Factory<T> scoped = Scope.bindCurrent(factory);
+
+    return CompletableFuture.supplyAsync(new Supplier<T>() {
+      @Override
+      public T get() {
+        return scoped.create();
+      }
+    }, executor);
+  }
+
+  /**
+   * The values of completed arguments, or the failure of the first failed one.
+   */
+  private static Object[] join(ResolutionPlan<?> plan, CompletableFuture<?>[] values) {
+    Object[] arguments = new Object[values.length];
+    List<Throwable> failures = new ArrayList<>();
+
+    for (int i = 0; i < values.length; i++) {
+      try {
+        arguments[i] = values[i].join();
+      } catch (CompletionException e) {
+        failures.add((e.getCause() != null) ? e.getCause() : e);
+      } catch (RuntimeException e) {
+        failures.add(e);
+      }
+    }
+
+    if (failures.isEmpty()) {
+      return arguments;
+    }
+
+    RuntimeException failure = new RuntimeException(
+      String.format("Failed to resolve the dependencies of component '%s'.", plan.getRegistration().getKey()),
+      failures.get(0)
+    );
+
+    for (int i = 1; i < failures.size(); i++) {
+      failure.addSuppressed(failures.get(i));
+    }
+
+    throw failure;
+  }
+}
@@ -1,5 +1,7 @@
 package com.communalizer.inject.kernel;
 
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -7,10 +9,22 @@ import java.util.List;
 
 @SuppressWarnings("UnusedDeclaration")
 public abstract class Component<TBase, TImpl> {
+  // The type arguments of a Component subclass are fixed by its declaration, so they are extracted and checked for
+  // compatibility once per subclass rather than once per instance. Checks that fail are not cached.
+  private static final ClassValue<Metadata> METADATA = new ClassValue<Metadata>() {
+    @Override
+    protected Metadata computeValue(Class<?> type) {
+      return new Metadata(type);
+    }
+  };
+
   private Type baseType;
   private Type referencedType;
+  private TypeKey baseTypeKey;
   private Factory<TBase> factory;
   private TBase explicitInstance;
+  private boolean openGeneric;
+  private boolean typedFactory;
 
   private final List<Class> wrappedReferencedTypes = new ArrayList<Class>();
 
@@ -22,6 +36,10 @@ public abstract class Component<TBase, TImpl> {
     return referencedType;
   }
 
+  public TypeKey getBaseTypeKey() {
+    return baseTypeKey;
+  }
+
   public Factory<TBase> getFactory() {
     return this.factory;
   }
@@ -47,6 +65,10 @@ public abstract class Component<TBase, TImpl> {
   }
 
   public ComponentType getComponentType() {
+    if (this.typedFactory) {
+      return ComponentType.TYPED_FACTORY;
+    }
+
     if (this.explicitInstance != null) {
       return ComponentType.INSTANCE;
     }
@@ -73,15 +95,144 @@ public abstract class Component<TBase, TImpl> {
     setExplicitInstance(instance);
   }
 
-  private void extractTypes() {
-    this.baseType = extractType(0);
-    this.referencedType = extractType(1);
+  /**
+   * Creates a component whose types are given rather than declared by an anonymous subclass.
+   */
+  private Component(Type baseType, Type referencedType, boolean openGeneric) {
+    this.baseType = baseType;
+    this.referencedType = referencedType;
+    this.baseTypeKey = TypeKey.of(baseType);
+    this.openGeneric = openGeneric;
+  }
 
-    if (this.baseType instanceof ParameterizedType) {
-      checkGenericTypes();
-    } else {
-      TypeHelper.checkClassCompatibility((Class) this.baseType, (Class) this.referencedType);
+  /**
+   * Creates a component for an open generic type, such as Repository implemented by JdbcRepository, which the
+   * container closes over the type arguments of every parameterization it is asked to resolve, e.g.
+   * Repository<String> as JdbcRepository<String>. Open generic components are always constructed by reflection.
+   */
+  public static Component<?, ?> openGeneric(Class<?> baseType, Class<?> implementation) {
+    if (baseType == null) {
+      throw new IllegalArgumentException("Parameter: baseType cannot be null.");
     }
+
+    if (implementation == null) {
+      throw new IllegalArgumentException("Parameter: implementation cannot be null.");
+    }
+
+    if (baseType.getTypeParameters().length == 0) {
+      throw new IllegalArgumentException(String.format("Type: %s is not generic.", baseType.getName()));
+    }
+
+    if (implementation.getTypeParameters().length == 0) {
+      throw new IllegalArgumentException(String.format("Type: %s is not generic.", implementation.getName()));
+    }
+
+    TypeHelper.checkClassCompatibility(baseType, implementation);
+
+    return new Component<Object, Object>(baseType, implementation, true) {};
+  }
+
+  /**
+   * Creates a component from types that are only known at runtime, such as implementations found by scanning the
+   * classpath. The base type is either a class or a parameterization of one that the implementation extends.
+   */
+  public static Component<?, ?> of(Type baseType, Class<?> implementation) {
+    if (baseType == null) {
+      throw new IllegalArgumentException("Parameter: baseType cannot be null.");
+    }
+
+    if (implementation == null) {
+      throw new IllegalArgumentException("Parameter: implementation cannot be null.");
+    }
+
+    if (!(baseType instanceof Class) && !(baseType instanceof ParameterizedType)) {
+      throw new IllegalArgumentException(
+        String.format("Type: %s is neither a class nor a parameterized type.", baseType)
+      );
+    }
+
+    Class<?> rawType = (baseType instanceof ParameterizedType)
+      ? (Class<?>) ((ParameterizedType) baseType).getRawType()
+      : (Class<?>) baseType;
+
+    TypeHelper.checkClassCompatibility(rawType, implementation);
+
+    return new Component<Object, Object>(baseType, implementation, false) {};
+  }
+
+  /**
+   * Creates a component for an interface whose methods the container implements by constructing the product, e.g.
+   * TenantServiceFactory, whose create(String tenant) returns a new TenantServiceImpl. The arguments of a method are
+   * passed to the product's constructor parameters of the same type, or of the same name where several parameters
+   * share a type, and the remaining parameters are resolved from the container. Every abstract method must return a
+   * type that the product is assignable to.
+   */
+  public static Component<?, ?> typedFactory(Class<?> factoryInterface, Class<?> product) {
+    if (factoryInterface == null) {
+      throw new IllegalArgumentException("Parameter: factoryInterface cannot be null.");
+    }
+
+    if (product == null) {
+      throw new IllegalArgumentException("Parameter: product cannot be null.");
+    }
+
+    if (!factoryInterface.isInterface()) {
+      throw new IllegalArgumentException(String.format("Type: %s is not an interface.", factoryInterface.getName()));
+    }
+
+    if (product.isInterface() || Modifier.isAbstract(product.getModifiers())) {
+      throw new IllegalArgumentException(String.format("Type: %s cannot be constructed.", product.getName()));
+    }
+
+    int methods = 0;
+
+    for (Method method : factoryInterface.getMethods()) {
+      if (!Modifier.isAbstract(method.getModifiers())) {
+        continue;
+      }
+
+      if (!method.getReturnType().isAssignableFrom(product)) {
+        throw new IllegalArgumentException(
+          String.format("Method: %s does not return %s.", method.toGenericString(), product.getName())
+        );
+      }
+
+      methods++;
+    }
+
+    if (methods == 0) {
+      throw new IllegalArgumentException(
+        String.format("Type: %s has no abstract methods.", factoryInterface.getName())
+      );
+    }
+
+    Component<?, ?> component = new Component<Object, Object>(factoryInterface, product, false) {};
+    component.typedFactory = true;
+
+    return component;
+  }
+
+  /**
+   * Creates the component of an open generic component closed over the given types.
+   */
+  static Component<?, ?> closed(ParameterizedType baseType, ParameterizedType referencedType) {
+    return new Component<Object, Object>(baseType, referencedType, false) {};
+  }
+
+  /**
+   * Whether the component was created by {@link #openGeneric(Class, Class)}, and so only serves as a definition
+   * of the closed components the container creates from it.
+   */
+  public boolean isOpenGeneric() {
+    return openGeneric;
+  }
+
+  private void extractTypes() {
+    Metadata metadata = METADATA.get(getClass());
+
+    this.baseType = metadata.baseType;
+    this.referencedType = metadata.referencedType;
+    this.baseTypeKey = metadata.baseTypeKey;
   }
 
   private void analyzeFactory(Factory<TBase> factory) {
@@ -130,23 +281,6 @@ public abstract class Component<TBase, TImpl> {
     return null;
   }
 
-  private Type extractType(int pos) {
-    Type t = getClass().getGenericSuperclass();
-    if (!(t instanceof ParameterizedType)) {
-      throw new IllegalArgumentException("Type parameters: TBase and TImpl must be specified.");
-    }
-
-    ParameterizedType pt = (ParameterizedType) t;
-
-    return pt.getActualTypeArguments()[pos];
-  }
-
-  private void checkGenericTypes() {
-    ParameterizedType baseGenericTypes = (ParameterizedType) this.baseType;
-    ParameterizedType referencedGenericTypes = (ParameterizedType) this.referencedType;
-
-    TypeHelper.checkGenericTypeCompatibility(baseGenericTypes, referencedGenericTypes);
-  }
 
   public String generateKey() {
     String baseKey = this.baseType.toString().replace("class ", "").replace("interface ", "");
@@ -162,4 +296,32 @@ public abstract class Component<TBase, TImpl> {
   public TypeToken<TImpl> getReferencedTypeToken() {
     return TypeToken.getToken(this.referencedType);
   }
+
+  private static final class Metadata {
+    private final Type baseType;
+    private final Type referencedType;
+    private final TypeKey baseTypeKey;
+
+    private Metadata(Class<?> componentClass) {
+      Type t = componentClass.getGenericSuperclass();
+      if (!(t instanceof ParameterizedType)) {
+        throw new IllegalArgumentException("Type parameters: TBase and TImpl must be specified.");
+      }
+
+      Type[] arguments = ((ParameterizedType) t).getActualTypeArguments();
+
+      this.baseType = arguments[0];
+      this.referencedType = arguments[1];
+      this.baseTypeKey = TypeKey.of(this.baseType);
+
+      if (this.baseType instanceof ParameterizedType) {
+        TypeHelper.checkGenericTypeCompatibility(
+          (ParameterizedType) this.baseType,
+          (ParameterizedType) this.referencedType
+        );
+      } else {
+        TypeHelper.checkClassCompatibility((Class) this.baseType, (Class) this.referencedType);
+      }
+    }
+  }
 }
@@ -3,5 +3,6 @@ package com.communalizer.inject.kernel;
 public enum ComponentType {
   REFLECTION,
   INSTANCE,
-  FACTORY
+  FACTORY,
+  TYPED_FACTORY
 }
@@ -0,0 +1,933 @@
+package com.communalizer.inject.kernel;
+
+import com.communalizer.inject.kernel.dependencies.DependencyProviderType;
+import com.communalizer.inject.kernel.dependencies.ExplicitDependency;
+import com.communalizer.inject.kernel.events.ConstructorSelectionEvent;
+import com.communalizer.inject.kernel.events.DependencyBindingEvent;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+import org.core4j.Enumerable;
+import org.core4j.Func1;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.*;
+
+/**
+ * The dependency graph of every {@link Registration} in a {@link RegistrySnapshot}. Building the graph selects the
+ * constructor of each REFLECTION component once and binds every constructor parameter to either an explicit
+ * instance or factory dependency or the registration that satisfies it. Components that cannot be resolved, either
+ * because a dependency is missing, because they are part of a constructor cycle, or because they depend on such a
+ * component, are recorded as problems instead of failing the whole graph. The methods of TYPED_FACTORY components
+ * are bound to constructors of their product the same way.
+ *
+ * Plans are compiled from the graph, so once it has been built resolving never has to check whether a constructor
+ * is satisfiable, and a cycle is reported instead of recursing until the stack overflows.
+ */
+public class DependencyGraph {
+  private final RegistrySnapshot snapshot;
+  private final ParameterNameCache parameterNames;
+  private final Map<Registration<?, ?>, Node> nodes = new LinkedHashMap<>();
+  private final List<Registration<?, ?>> order = new ArrayList<>();
+  private final List<String> problems = new ArrayList<>();
+
+  public DependencyGraph(RegistrySnapshot snapshot, ParameterNameCache parameterNames) {
+    if (snapshot == null) {
+      throw new IllegalArgumentException("Parameter: snapshot cannot be null.");
+    }
+
+    if (parameterNames == null) {
+      throw new IllegalArgumentException("Parameter: parameterNames cannot be null.");
+    }
+
+    this.snapshot = snapshot;
+    this.parameterNames = parameterNames;
+
+    for (TypeProvider<?> provider : snapshot.getProviders().values()) {
+      for (Registration<?, ?> registration : provider.getRegistrations()) {
+        nodes.put(registration, createNode(registration));
+      }
+    }
+
+    findCaptiveDependencies();
+    sort();
+
+    for (Registration<?, ?> registration : order) {
+      Node node = nodes.get(registration);
+
+      if (node.problem != null) {
+        problems.add(node.problem);
+        continue;
+      }
+
+      if (isInlinable(node)) {
+        node.depth = 1 + getInlinedDepth(node);
+      }
+
+      node.nesting = 1 + getNestedDepth(node);
+    }
+  }
+
+  /**
+   * Whether a component is constructed anew, by its constructor, every time it is resolved. Such components can be
+   * constructed inline by their dependents, without going through their own plan.
+   */
+  static boolean isInlinable(Node node) {
+    return node != null &&
+      node.problem == null &&
+      node.registration.getComponent().getComponentType() == ComponentType.REFLECTION &&
+      node.registration.getLifestyle() == Lifestyle.TRANSIENT;
+  }
+
+  private int getInlinedDepth(Node node) {
+    int depth = 0;
+
+    for (int i = 0; i < node.dependencies.length; i++) {
+      if (node.bindings[i] == Binding.DIRECT) {
+        Node child = nodes.get(node.dependencies[i][0]);
+
+        // Closed generic dependencies have no node, and are constructed through their own plans.
+        if (isInlinable(child)) {
+          depth = Math.max(depth, child.depth);
+        }
+      }
+    }
+
+    return depth;
+  }
+
+  private int getNestedDepth(Node node) {
+    int nesting = 0;
+
+    for (Registration<?, ?> dependency : node.edges) {
+      Node child = nodes.get(dependency);
+
+      if (child != null && child.problem == null) {
+        nesting = Math.max(nesting, child.nesting);
+      }
+    }
+
+    return nesting;
+  }
+
+  /**
+   * Returns the node of a registration, or null if the registration is not part of the graph.
+   */
+  public Node getNode(Registration<?, ?> registration) {
+    return nodes.get(registration);
+  }
+
+  /**
+   * Creates the node of a registration closed from an open generic one. Closed registrations are created on demand,
+   * after the graph has been built, so their nodes are not part of it.
+   */
+  public Node createClosedNode(Registration<?, ?> registration) {
+    if (registration == null) {
+      throw new IllegalArgumentException("Parameter: registration cannot be null.");
+    }
+
+    return createNode(registration);
+  }
+
+  /**
+   * Every registration in the graph, ordered so that each component comes after all of its dependencies.
+   */
+  public List<Registration<?, ?>> getOrder() {
+    return Collections.unmodifiableList(order);
+  }
+
+  /**
+   * The problems of every component that cannot be resolved, in the same order as {@link #getOrder()}.
+   */
+  public List<String> getProblems() {
+    return Collections.unmodifiableList(problems);
+  }
+
+  public boolean isValid() {
+    return problems.isEmpty();
+  }
+
+  private Node createNode(Registration<?, ?> registration) {
+    Node node = new Node(registration);
+    ComponentType componentType = registration.getComponent().getComponentType();
+
+    if (componentType != ComponentType.REFLECTION && componentType != ComponentType.TYPED_FACTORY) {
+      return node;
+    }
+
+    ConstructorSelectionEvent event = new ConstructorSelectionEvent();
+    event.begin();
+
+    try {
+      if (componentType == ComponentType.TYPED_FACTORY) {
+        bindFactoryMethods(node);
+      } else {
+        // The type arguments of a generic implementation, which its constructor's parameter types may refer to.
+        Map<TypeVariable<?>, Type> typeArguments =
+          TypeHelper.getTypeArguments(registration.getComponent().getReferencedType());
+
+        Constructor<?> constructor =
+          selectGreediestMatchingConstructor(
+            getReferencedClass(registration),
+            registration.getComponent().generateKey(),
+            typeArguments
+          );
+
+        bindParameters(node, constructor, typeArguments, null);
+        node.setEdges();
+      }
+    } catch (Exception e) {
+      node.problem = (e.getMessage() != null) ? e.getMessage() : e.toString();
+    }
+
+    if (event.shouldCommit()) {
+      event.typeKey = registration.getTypeKey().toString();
+      event.name = registration.getName();
+      event.constructor = (node.constructor != null) ? node.constructor.toString() : null;
+      event.problem = node.problem;
+      event.commit();
+    }
+
+    return node;
+  }
+
+  /**
+   * Binds the parameters of a constructor to explicit dependencies or the registrations that satisfy them. The
+   * parameters of a factory method's product that receive an argument of the method are left unbound.
+   */
+  private void bindParameters(
+    Node node,
+    Constructor<?> constructor,
+    Map<TypeVariable<?>, Type> typeArguments,
+    int[] methodArguments) {
+
+    Registration<?, ?> registration = node.registration;
+    Type[] dependencies = constructor.getGenericParameterTypes();
+
+    String[] names = registration.hasExplicitDependencies()
+      ? parameterNames.getParameterNames(constructor)
+      : null;
+
+    Registration<?, ?>[][] bound = new Registration<?, ?>[dependencies.length][];
+    Binding[] bindings = new Binding[dependencies.length];
+    ExplicitDependency<?>[] explicit = new ExplicitDependency<?>[dependencies.length];
+
+    for (int i = 0; i < dependencies.length; i++) {
+      if (methodArguments != null && methodArguments[i] >= 0) {
+        continue;
+      }
+
+      ExplicitDependency<?> dep = (names != null) ? registration.getDependency(names[i]) : null;
+
+      if (dep != null) {
+        recordBinding(registration, dep);
+      }
+
+      if (dep != null && (dep.getProviderType() == DependencyProviderType.INSTANCE ||
+        dep.getProviderType() == DependencyProviderType.FACTORY)) {
+        explicit[i] = dep;
+        continue;
+      }
+
+      TypeKey key = (dep != null)
+        ? dep.getTypeToken().getTypeKey()
+        : TypeKey.of(TypeHelper.substitute(dependencies[i], typeArguments));
+      String name = (dep != null) ? dep.getDependencyComponentName() : null;
+
+      bindings[i] = getBinding(key);
+
+      switch (bindings[i]) {
+        case DIRECT:
+          bound[i] = new Registration<?, ?>[] { findDependency(registration, key, name) };
+          break;
+
+        case FACTORY:
+        case LAZY:
+          bound[i] = new Registration<?, ?>[] { findDependency(registration, getElementKey(key), name) };
+          break;
+
+        default:
+          bound[i] = snapshot.getProviders().get(getElementKey(key)).getRegistrations()
+            .toArray(new Registration<?, ?>[0]);
+      }
+    }
+
+    node.constructor = constructor;
+    node.dependencies = bound;
+    node.bindings = bindings;
+    node.explicitDependencies = explicit;
+    node.methodArguments = methodArguments;
+  }
+
+  /**
+   * Binds every abstract method of a typed factory to the greediest constructor of its product that takes all of
+   * the method's arguments and whose other parameters are registered. Each method gets a node of its own, and the
+   * factory depends on everything they do. None of it is constructed together with the factory, so a product may
+   * depend on the factory that creates it.
+   */
+  private void bindFactoryMethods(Node node) {
+    Component<?, ?> component = node.registration.getComponent();
+    Class<?> factoryInterface = (Class<?>) component.getBaseType();
+    Class<?> product = (Class<?>) component.getReferencedType();
+
+    List<Node> methods = new ArrayList<>();
+    List<Registration<?, ?>> all = new ArrayList<>();
+
+    for (Method method : factoryInterface.getMethods()) {
+      if (!Modifier.isAbstract(method.getModifiers())) {
+        continue;
+      }
+
+      Node methodNode = new Node(node.registration);
+      methodNode.method = method;
+
+      bindFactoryMethod(methodNode, product);
+      methodNode.setEdges();
+
+      methods.add(methodNode);
+      all.addAll(Arrays.asList(methodNode.allEdges));
+    }
+
+    node.factoryMethods = methods.toArray(new Node[0]);
+    node.allEdges = all.toArray(new Registration<?, ?>[0]);
+  }
+
+  /**
+   * Binds a factory method to the greediest public constructor of the product that it can be bound to.
+   */
+  private void bindFactoryMethod(Node node, Class<?> product) {
+    Constructor<?>[] constructors = product.getConstructors();
+
+    Arrays.sort(constructors, new Comparator<Constructor<?>>() {
+      @Override
+      public int compare(Constructor<?> left, Constructor<?> right) {
+        return right.getParameterTypes().length - left.getParameterTypes().length;
+      }
+    });
+
+    String reason = "it has no public constructor";
+
+    for (int i = 0; i < constructors.length; i++) {
+      int[] arguments = new int[constructors[i].getParameterTypes().length];
+      String problem = matchArguments(node.method, constructors[i], arguments);
+
+      if (problem == null) {
+        bindParameters(node, constructors[i], Collections.<TypeVariable<?>, Type>emptyMap(), arguments);
+        return;
+      }
+
+      if (i == 0) {
+        reason = problem;
+      }
+    }
+
+    throw new RuntimeException(
+      String.format(
+        "Component '%s' cannot bind %s to a constructor of '%s': %s.",
+        node.registration.getComponent().generateKey(),
+        node.method.toGenericString(),
+        product.getName(),
+        reason
+      )
+    );
+  }
+
+  /**
+   * Matches every argument of a factory method to the one constructor parameter of a compatible type, or of a
+   * compatible type and the same name if there are several, and records the argument each parameter receives, or
+   * -1 if it is resolved from the container. Returns why the constructor cannot be bound, or null if it can.
+   */
+  private String matchArguments(Method method, Constructor<?> constructor, int[] bound) {
+    Class<?>[] parameterTypes = constructor.getParameterTypes();
+    Parameter[] arguments = method.getParameters();
+    String[] names = null;
+
+    Arrays.fill(bound, -1);
+
+    for (int j = 0; j < arguments.length; j++) {
+      int match = -1;
+      int matches = 0;
+
+      for (int i = 0; i < parameterTypes.length; i++) {
+        if (bound[i] < 0 && parameterTypes[i].isAssignableFrom(arguments[j].getType())) {
+          match = i;
+          matches++;
+        }
+      }
+
+      if (matches > 1 && arguments[j].isNamePresent()) {
+        if (names == null) {
+          names = parameterNames.getParameterNames(constructor);
+        }
+
+        match = -1;
+        matches = 0;
+
+        for (int i = 0; i < parameterTypes.length; i++) {
+          if (bound[i] < 0 &&
+            names[i].equals(arguments[j].getName()) &&
+            parameterTypes[i].isAssignableFrom(arguments[j].getType())) {
+            match = i;
+            matches++;
+          }
+        }
+      }
+
+      if (matches == 0) {
+        return String.format("argument %d (%s) matches no parameter", j, arguments[j].getType().getName());
+      }
+
+      if (matches > 1) {
+        return String.format("argument %d (%s) matches several parameters", j, arguments[j].getType().getName());
+      }
+
+      bound[match] = j;
+    }
+
+    Type[] dependencies = constructor.getGenericParameterTypes();
+
+    for (int i = 0; i < dependencies.length; i++) {
+      if (bound[i] < 0 && !isRegistered(TypeKey.of(dependencies[i]))) {
+        return String.format("'%s' is not registered", TypeKey.of(dependencies[i]));
+      }
+    }
+
+    return null;
+  }
+
+  private static void recordBinding(Registration<?, ?> registration, ExplicitDependency<?> dep) {
+    DependencyBindingEvent event = new DependencyBindingEvent();
+
+    if (event.isEnabled()) {
+      event.typeKey = registration.getTypeKey().toString();
+      event.name = registration.getName();
+      event.parameter = dep.getIdentifier();
+      event.providerType = dep.getProviderType().name();
+      event.commit();
+    }
+  }
+
+  /**
+   * How a parameter of the given type is bound. A registered type is always injected directly, even if it happens
+   * to be a {@link Factory}, {@link Lazy}, {@link List}, {@link Map} or array. Otherwise a {@link Factory} or
+   * {@link Lazy} of a registered type is injected as a provider of that type, and a {@code List<T>},
+   * {@code Map<String, T>} or {@code T[]} of a registered type receives every registration of T.
+   */
+  private Binding getBinding(TypeKey key) {
+    if (snapshot.isRegistered(key)) {
+      return Binding.DIRECT;
+    }
+
+    Binding binding = getCollectionBinding(key);
+    TypeKey element = (binding != null) ? getElementKey(key) : null;
+
+    // Collections only receive registered components, while providers may also close an open generic.
+    if (element != null && (binding.isDeferred()
+      ? snapshot.isRegistered(element)
+      : snapshot.getProviders().containsKey(element))) {
+      return binding;
+    }
+
+    return Binding.DIRECT;
+  }
+
+  private static Binding getCollectionBinding(TypeKey key) {
+    Class<?> rawType = key.getRawType();
+
+    if (rawType == Factory.class) {
+      return Binding.FACTORY;
+    }
+
+    if (rawType == Lazy.class) {
+      return Binding.LAZY;
+    }
+
+    if (rawType == List.class) {
+      return Binding.LIST;
+    }
+
+    if (rawType == Map.class) {
+      return Binding.MAP;
+    }
+
+    if (rawType != null && rawType.isArray()) {
+      return Binding.ARRAY;
+    }
+
+    return null;
+  }
+
+  /**
+   * The type that a provider, collection or array parameter is made of, or null if the parameter's type is not
+   * one of them.
+   */
+  private static TypeKey getElementKey(TypeKey key) {
+    Binding binding = getCollectionBinding(key);
+
+    if (binding == null) {
+      return null;
+    }
+
+    if (binding == Binding.ARRAY) {
+      return TypeKey.of(key.getRawType().getComponentType());
+    }
+
+    TypeKey[] arguments = key.getTypeArguments();
+
+    if (binding == Binding.MAP) {
+      return (arguments.length == 2 && arguments[0].getRawType() == String.class) ? arguments[1] : null;
+    }
+
+    return (arguments.length == 1) ? arguments[0] : null;
+  }
+
+  private Registration<?, ?> findDependency(Registration<?, ?> registration, TypeKey key, String name) {
+    Registration<?, ?> dependency = snapshot.findRegistration(key, name);
+
+    if (dependency == null) {
+      throw new RuntimeException(
+        String.format(
+          "Component '%s' depends on '%s'%s, which is not registered.",
+          registration.getComponent().generateKey(),
+          key,
+          (name == null || name.equals("")) ? "" : String.format(" named '%s'", name)
+        )
+      );
+    }
+
+    return dependency;
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> Class<T> getReferencedClass(Registration<T, ?> registration) {
+    Type referencedType = registration.getComponent().getReferencedType();
+
+    if (referencedType instanceof ParameterizedType) {
+      return (Class<T>) ((ParameterizedType) referencedType).getRawType();
+    }
+
+    return (Class<T>) referencedType;
+  }
+
+  /**
+   * Reports SINGLETON components that would capture a SCOPED or PER_THREAD instance, directly or through the
+   * TRANSIENT and POOLED components they are constructed with: the singleton would keep using the instance of the
+   * first scope or thread it was resolved in. A {@link Lazy} provider captures its instance as well, while a
+   * {@link Factory} provider resolves anew on every call, and so is the way for a singleton to use such a component.
+   */
+  private void findCaptiveDependencies() {
+    for (Node node : nodes.values()) {
+      if (node.problem != null || node.registration.getLifestyle() != Lifestyle.SINGLETON) {
+        continue;
+      }
+
+      Registration<?, ?> captive = findCaptiveDependency(node);
+
+      if (captive != null) {
+        node.problem = String.format(
+          "Component '%s' is a SINGLETON, but depends on '%s', which is %s and would be captured by it.",
+          node.registration.getComponent().generateKey(),
+          captive.getComponent().generateKey(),
+          captive.getLifestyle()
+        );
+      }
+    }
+  }
+
+  private Registration<?, ?> findCaptiveDependency(Node root) {
+    Set<Node> visited = new HashSet<>();
+    Deque<Node> pending = new ArrayDeque<>();
+    pending.push(root);
+
+    while (!pending.isEmpty()) {
+      Node node = pending.pop();
+
+      for (int i = 0; i < node.dependencies.length; i++) {
+        if (node.dependencies[i] == null || node.bindings[i] == Binding.FACTORY) {
+          continue;
+        }
+
+        for (Registration<?, ?> dependency : node.dependencies[i]) {
+          Lifestyle lifestyle = dependency.getLifestyle();
+
+          if (lifestyle == Lifestyle.SCOPED || lifestyle == Lifestyle.PER_THREAD) {
+            return dependency;
+          }
+
+          Node child = nodes.get(dependency);
+
+          boolean constructedPerResolve = lifestyle == Lifestyle.TRANSIENT || lifestyle == Lifestyle.POOLED;
+
+          if (constructedPerResolve && child != null && visited.add(child)) {
+            pending.push(child);
+          }
+        }
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Orders the registrations by an iterative depth-first search, which neither recurses on deep graphs nor loops on
+   * cyclic ones. A dependency that is still on the search path closes a cycle, and every component on it is marked.
+   * Dependencies bound through a {@link Factory} or {@link Lazy} provider are not followed: the provider defers
+   * construction, so a cycle through a provider is not a cycle at construction time.
+   */
+  private void sort() {
+    Map<Node, Integer> state = new HashMap<>();
+    Deque<Node> path = new ArrayDeque<>();
+    Deque<Integer> next = new ArrayDeque<>();
+
+    for (Node root : nodes.values()) {
+      if (state.containsKey(root)) {
+        continue;
+      }
+
+      state.put(root, 0);
+      path.push(root);
+      next.push(0);
+
+      while (!path.isEmpty()) {
+        Node node = path.peek();
+        int i = next.pop();
+
+        if (i >= node.edges.length) {
+          state.put(node, 1);
+          path.pop();
+          order.add(node.registration);
+          continue;
+        }
+
+        next.push(i + 1);
+
+        Node child = nodes.get(node.edges[i]);
+
+        // Closed generic dependencies are not part of the graph.
+        if (child == null) {
+          continue;
+        }
+
+        Integer childState = state.get(child);
+
+        if (childState == null) {
+          state.put(child, 0);
+          path.push(child);
+          next.push(0);
+        } else if (childState == 0) {
+          markCycle(path, child);
+        }
+      }
+    }
+
+    // Providers are not constructed with their dependents, so they may close a cycle. Following them as well
+    // therefore takes as many passes as it takes for no more problems to spread.
+    boolean changed = true;
+
+    while (changed) {
+      changed = false;
+
+      for (Registration<?, ?> registration : order) {
+        Node node = nodes.get(registration);
+
+        if (node.problem != null) {
+          continue;
+        }
+
+        for (Registration<?, ?> dependency : node.allEdges) {
+          Node child = nodes.get(dependency);
+
+          if (child != null && child.problem != null) {
+            node.problem = String.format(
+              "Component '%s' depends on '%s', which cannot be resolved.",
+              registration.getComponent().generateKey(),
+              dependency.getComponent().generateKey()
+            );
+            changed = true;
+            break;
+          }
+        }
+      }
+    }
+  }
+
+  private static void markCycle(Deque<Node> path, Node start) {
+    List<Node> cycle = new ArrayList<>();
+
+    for (Node node : path) {
+      cycle.add(0, node);
+
+      if (node == start) {
+        break;
+      }
+    }
+
+    StringBuilder description = new StringBuilder();
+
+    for (Node node : cycle) {
+      description.append(node.registration.getComponent().generateKey()).append(" -> ");
+    }
+
+    description.append(start.registration.getComponent().generateKey());
+
+    for (Node node : cycle) {
+      if (node.problem == null) {
+        node.problem = String.format(
+          "Component '%s' is part of a dependency cycle: %s.",
+          node.registration.getComponent().generateKey(),
+          description
+        );
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  /**
+   * Evaluates all available constructors and selects the satisfiable constructor with the most parameters
+   */
+  private <T> Constructor<T> selectGreediestMatchingConstructor(
+    Class<T> type,
+    String componentKey,
+    Map<TypeVariable<?>, Type> typeArguments) {
+
+    Enumerable<Constructor<T>> constructors =
+      Enumerable.create((Constructor<T>[]) type.getConstructors())
+        .orderBy(new Func1<Constructor<T>, Comparable>() {
+          @Override
+          public Comparable apply(Constructor<T> tConstructor) {
+            return tConstructor.getParameterTypes().length;
+          }
+        })
+        .reverse();
+
+    for (Constructor<T> constructor : constructors) {
+      if (isSatisfiable(constructor, typeArguments)) {
+        return constructor;
+      }
+    }
+
+    // If we get here, no constructor has been deemed satisfiable.
+    // The component cannot be resolved.
+    StringBuilder builder = new StringBuilder();
+    builder.append("Component '");
+    builder.append(componentKey);
+    builder.append("' has unregistered dependencies [");
+
+    Constructor<T> ctor = constructors.first();
+    Type[] dependencies = ctor.getGenericParameterTypes();
+
+    for (Type dependency : dependencies) {
+      TypeKey key = TypeKey.of(TypeHelper.substitute(dependency, typeArguments));
+      if (!isRegistered(key)) {
+        builder.append("'").append(key).append("'").append(", ");
+      }
+    }
+
+    builder.append("]. Cannot resolve.");
+
+    throw new RuntimeException(builder.toString().replace(", ]", "]"));
+  }
+
+  /**
+   * Evaluates a {@link Constructor} to see whether or not all necessary dependencies are registered with the
+   * container.
+   * @param constructor           The {@link Constructor} to inspect.
+   * @param typeArguments         The type arguments of the component, if it is generic.
+   * @param <T>                   Type of the {@link Constructor}.
+   * @return                      A boolean indicating whether all dependencies can be satisfied.
+   */
+  private <T> boolean isSatisfiable(Constructor<T> constructor, Map<TypeVariable<?>, Type> typeArguments) {
+    Type[] dependencies = constructor.getGenericParameterTypes();
+
+    for (Type dependency : dependencies) {
+      if (!isRegistered(TypeKey.of(TypeHelper.substitute(dependency, typeArguments)))) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  private boolean isRegistered(TypeKey key) {
+    return snapshot.isRegistered(key) || getBinding(key) != Binding.DIRECT;
+  }
+
+  /**
+   * How a constructor parameter receives its dependency: the instance itself, a {@link Factory} that resolves a new
+   * one on every call, a {@link Lazy} that resolves it on first use, or every registration of the dependency's type
+   * as a {@link List}, a {@link Map} keyed by registration name (empty for the unnamed one) or an array.
+   */
+  public enum Binding {
+    DIRECT,
+    FACTORY,
+    LAZY,
+    LIST,
+    MAP,
+    ARRAY;
+
+    /**
+     * Whether the dependency is constructed later by a provider rather than together with its dependent.
+     */
+    public boolean isDeferred() {
+      return this == FACTORY || this == LAZY;
+    }
+  }
+
+  /**
+   * A registration together with its selected constructor and the binding of every constructor parameter. Each
+   * parameter is bound to either dependency registrations or an explicit instance or factory dependency.
+   */
+  public static class Node {
+    private static final Registration<?, ?>[] NO_DEPENDENCIES = new Registration<?, ?>[0];
+
+    private final Registration<?, ?> registration;
+    private Constructor<?> constructor;
+    private Registration<?, ?>[][] dependencies = new Registration<?, ?>[0][];
+    private Binding[] bindings = new Binding[0];
+
+    // The dependencies constructed together with this component, and those together with the deferred ones.
+    private Registration<?, ?>[] edges = NO_DEPENDENCIES;
+    private Registration<?, ?>[] allEdges = NO_DEPENDENCIES;
+    private ExplicitDependency<?>[] explicitDependencies = new ExplicitDependency<?>[0];
+    private String problem;
+    private int depth;
+    private int nesting;
+
+    // The methods of a typed factory, or the method and the argument each parameter receives of one of them.
+    private Node[] factoryMethods = new Node[0];
+    private Method method;
+    private int[] methodArguments;
+
+    private Node(Registration<?, ?> registration) {
+      this.registration = registration;
+    }
+
+    public Registration<?, ?> getRegistration() {
+      return registration;
+    }
+
+    /**
+     * The selected constructor of a REFLECTION component, or null for other components and unresolvable ones.
+     */
+    public Constructor<?> getConstructor() {
+      return constructor;
+    }
+
+    /**
+     * The registration a parameter is bound to, or null if it is bound to an explicit instance or factory
+     * dependency. For collection and array parameters, use {@link #getDependencies(int)}.
+     */
+    public Registration<?, ?> getDependency(int parameter) {
+      Registration<?, ?>[] bound = dependencies[parameter];
+
+      return (bound != null && bound.length == 1) ? bound[0] : null;
+    }
+
+    /**
+     * Every registration a parameter is bound to, in registration order. Empty if the parameter is bound to an
+     * explicit instance or factory dependency.
+     */
+    public List<Registration<?, ?>> getDependencies(int parameter) {
+      Registration<?, ?>[] bound = dependencies[parameter];
+
+      return (bound != null)
+        ? Collections.unmodifiableList(Arrays.asList(bound))
+        : Collections.<Registration<?, ?>>emptyList();
+    }
+
+    private void setEdges() {
+      List<Registration<?, ?>> direct = new ArrayList<>();
+      List<Registration<?, ?>> all = new ArrayList<>();
+
+      for (int i = 0; i < dependencies.length; i++) {
+        if (dependencies[i] == null) {
+          continue;
+        }
+
+        if (!bindings[i].isDeferred()) {
+          direct.addAll(Arrays.asList(dependencies[i]));
+        }
+
+        all.addAll(Arrays.asList(dependencies[i]));
+      }
+
+      edges = direct.toArray(NO_DEPENDENCIES);
+      allEdges = all.toArray(NO_DEPENDENCIES);
+    }
+
+    /**
+     * How the parameter is bound to its dependency registration, or null if it is bound to an explicit instance or
+     * factory dependency.
+     */
+    public Binding getBinding(int parameter) {
+      return bindings[parameter];
+    }
+
+    public ExplicitDependency<?> getExplicitDependency(int parameter) {
+      return explicitDependencies[parameter];
+    }
+
+    public int getParameterCount() {
+      return dependencies.length;
+    }
+
+    /**
+     * The nodes of every method of a TYPED_FACTORY component, each with the product constructor it is bound to.
+     * Empty for other components.
+     */
+    public List<Node> getFactoryMethods() {
+      return Collections.unmodifiableList(Arrays.asList(factoryMethods));
+    }
+
+    /**
+     * The factory method of a node returned by {@link #getFactoryMethods()}, or null.
+     */
+    public Method getMethod() {
+      return method;
+    }
+
+    /**
+     * The index of the factory method argument that a parameter receives, or -1 if the parameter is bound like the
+     * parameters of any other constructor.
+     */
+    public int getMethodArgument(int parameter) {
+      return (methodArguments != null) ? methodArguments[parameter] : -1;
+    }
+
+    /**
+     * The length of the longest chain of TRANSIENT REFLECTION components, this one included, that resolving this
+     * component constructs one inside the other. Zero for every other component.
+     */
+    public int getDepth() {
+      return depth;
+    }
+
+    /**
+     * The length of the longest chain of components, this one included, that resolving this component constructs
+     * one inside the other, whatever their lifestyles. Zero for components that cannot be resolved and for closed
+     * generic components.
+     */
+    public int getNesting() {
+      return nesting;
+    }
+
+    /**
+     * The registrations constructed together with this component, i.e. its dependencies that are neither explicit
+     * nor bound through a provider.
+     */
+    public List<Registration<?, ?>> getEdges() {
+      return Collections.unmodifiableList(Arrays.asList(edges));
+    }
+
+    /**
+     * Why the component cannot be resolved, or null if it can.
+     */
+    public String getProblem() {
+      return problem;
+    }
+  }
+}
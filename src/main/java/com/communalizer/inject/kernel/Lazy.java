@@ -0,0 +1,36 @@
+package com.communalizer.inject.kernel;
+
+/**
+ * A value that is created on first use. Components that only need a dependency on some code paths can take a
+ * {@code Lazy<Bar>} constructor parameter instead of {@code Bar}, so that the container defers building Bar's
+ * subgraph until {@link #get()} is first called. Later calls return the same instance.
+ */
+public final class Lazy<T> {
+  private final Factory<T> factory;
+  private volatile T value;
+
+  public Lazy(Factory<T> factory) {
+    if (factory == null) {
+      throw new IllegalArgumentException("Parameter: factory cannot be null.");
+    }
+
+    this.factory = factory;
+  }
+
+  public T get() {
+    T current = value;
+
+    if (current == null) {
+      synchronized (this) {
+        current = value;
+
+        if (current == null) {
+          current = factory.create();
+          value = current;
+        }
+      }
+    }
+
+    return current;
+  }
+}
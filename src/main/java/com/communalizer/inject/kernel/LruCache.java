@@ -0,0 +1,123 @@
+package com.communalizer.inject.kernel;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A concurrent cache of bounded size that evicts its least recently used entry when it is full. Lookups don't lock;
+ * they only stamp the entry with a logical clock, and don't even advance the clock when the entry is already the
+ * most recently used one. Inserting past the capacity scans every entry for the oldest stamp, so it suits values
+ * that are much more expensive to compute than a scan, such as compiled plans.
+ *
+ * An {@link EvictionListener} is told about every evicted entry, so that state kept elsewhere for a value can be
+ * released along with it.
+ */
+public class LruCache<K, V> {
+  private final int capacity;
+  private final EvictionListener<K, V> listener;
+  private final ConcurrentMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+  private final AtomicLong clock = new AtomicLong();
+
+  public LruCache(int capacity) {
+    this(capacity, null);
+  }
+
+  public LruCache(int capacity, EvictionListener<K, V> listener) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Parameter: capacity must be at least 1.");
+    }
+
+    this.capacity = capacity;
+    this.listener = listener;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public int size() {
+    return entries.size();
+  }
+
+  /**
+   * Returns the value cached for a key, or null if there is none, and marks the entry as the most recently used.
+   */
+  public V get(K key) {
+    Entry<V> entry = entries.get(key);
+
+    if (entry == null) {
+      return null;
+    }
+
+    if (entry.used != clock.get()) {
+      entry.used = clock.incrementAndGet();
+    }
+
+    return entry.value;
+  }
+
+  /**
+   * Caches a value unless the key already has one, in which case that value is returned and the given one is not
+   * cached. Evicts the least recently used entries if the cache grows beyond its capacity.
+   */
+  public V putIfAbsent(K key, V value) {
+    if (key == null) {
+      throw new IllegalArgumentException("Parameter: key cannot be null.");
+    }
+
+    if (value == null) {
+      throw new IllegalArgumentException("Parameter: value cannot be null.");
+    }
+
+    Entry<V> existing = entries.putIfAbsent(key, new Entry<>(value, clock.incrementAndGet()));
+
+    if (existing != null) {
+      return existing.value;
+    }
+
+    if (entries.size() > capacity) {
+      evict();
+    }
+
+    return null;
+  }
+
+  private synchronized void evict() {
+    while (entries.size() > capacity) {
+      Map.Entry<K, Entry<V>> oldest = null;
+
+      for (Map.Entry<K, Entry<V>> entry : entries.entrySet()) {
+        if (oldest == null || entry.getValue().used < oldest.getValue().used) {
+          oldest = entry;
+        }
+      }
+
+      if (oldest == null) {
+        return;
+      }
+
+      if (entries.remove(oldest.getKey(), oldest.getValue()) && listener != null) {
+        listener.evicted(oldest.getKey(), oldest.getValue().value);
+      }
+    }
+  }
+
+  /**
+   * Called with each entry the cache evicts, on the thread whose insertion made the cache grow beyond its capacity.
+   */
+  public interface EvictionListener<K, V> {
+    void evicted(K key, V value);
+  }
+
+  private static final class Entry<V> {
+    private final V value;
+    private volatile long used;
+
+    private Entry(V value, long used) {
+      this.value = value;
+      this.used = used;
+    }
+  }
+}
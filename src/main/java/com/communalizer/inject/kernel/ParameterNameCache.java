@@ -0,0 +1,78 @@
+package com.communalizer.inject.kernel;
+
+import com.thoughtworks.paranamer.BytecodeReadingParanamer;
+import com.thoughtworks.paranamer.Paranamer;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Parameter;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Thread-safe cache of constructor parameter names. Names are read from {@link Parameter} metadata when the class
+ * was compiled with "-parameters", and otherwise from the class file's debug information by a
+ * {@link BytecodeReadingParanamer}. Either way the lookup happens once per {@link Constructor}, and callers must
+ * not modify the returned arrays. Names read from class files are also looked up in, and recorded to, a
+ * {@link StartupIndex}, so that they are only read once across restarts.
+ */
+public class ParameterNameCache {
+  private final Paranamer paranamer = new BytecodeReadingParanamer();
+  private final ConcurrentMap<Constructor<?>, String[]> names = new ConcurrentHashMap<>();
+  private final StartupIndex index;
+
+  public ParameterNameCache() {
+    this(StartupIndex.disabled());
+  }
+
+  public ParameterNameCache(StartupIndex index) {
+    if (index == null) {
+      throw new IllegalArgumentException("Parameter: index cannot be null.");
+    }
+
+    this.index = index;
+  }
+
+  public String[] getParameterNames(Constructor<?> constructor) {
+    if (constructor == null) {
+      throw new IllegalArgumentException("Parameter: constructor cannot be null.");
+    }
+
+    String[] cached = names.get(constructor);
+
+    if (cached == null) {
+      String[] lookedUp = lookupParameterNames(constructor);
+
+      cached = names.putIfAbsent(constructor, lookedUp);
+      if (cached == null) {
+        cached = lookedUp;
+      }
+    }
+
+    return cached;
+  }
+
+  private String[] lookupParameterNames(Constructor<?> constructor) {
+    Parameter[] parameters = constructor.getParameters();
+
+    if (parameters.length == 0 || parameters[0].isNamePresent()) {
+      String[] result = new String[parameters.length];
+
+      for (int i = 0; i < parameters.length; i++) {
+        result[i] = parameters[i].getName();
+      }
+
+      return result;
+    }
+
+    String[] indexed = index.getParameterNames(constructor);
+
+    if (indexed != null) {
+      return indexed;
+    }
+
+    String[] read = paranamer.lookupParameterNames(constructor);
+    index.putParameterNames(constructor, read);
+
+    return read;
+  }
+}
@@ -1,6 +1,7 @@
 package com.communalizer.inject.kernel;
 
 import com.communalizer.inject.kernel.dependencies.ExplicitDependency;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -8,8 +9,13 @@ import java.util.Map;
 public class Registration<TBase, TImpl> {
   private Component<TBase, TImpl> component;
   private String name;
+  private Lifestyle lifestyle = Lifestyle.TRANSIENT;
+  private int poolSize;
   private final Map<String, ExplicitDependency> dependencies = new HashMap<String, ExplicitDependency>();
 
+  // The open generic registration this one was closed from, or null.
+  private Registration<?, ?> genericDefinition;
+
   public String getName() {
     return name;
   }
@@ -18,6 +24,31 @@ public class Registration<TBase, TImpl> {
     this.name = name;
   }
 
+  public Lifestyle getLifestyle() {
+    return lifestyle;
+  }
+
+  public void setLifestyle(Lifestyle lifestyle) {
+    if (lifestyle != null) {
+      this.lifestyle = lifestyle;
+    }
+  }
+
+  /**
+   * The number of idle instances a POOLED component keeps, or 0 for the default size.
+   */
+  public int getPoolSize() {
+    return poolSize;
+  }
+
+  public void setPoolSize(int poolSize) {
+    if (poolSize < 0) {
+      throw new IllegalArgumentException("Parameter: poolSize cannot be negative.");
+    }
+
+    this.poolSize = poolSize;
+  }
+
   public Factory<TBase> getFactory() {
     return this.component.getFactory();
   }
@@ -56,6 +87,10 @@ public class Registration<TBase, TImpl> {
     }
   }
 
+  public TypeKey getTypeKey() {
+    return this.component.getBaseTypeKey();
+  }
+
   public String getResolutionKey() {
     if (this.name == null || this.name.equals("")) {
       return this.component.getBaseTypeToken().getKey();
@@ -68,6 +103,57 @@ public class Registration<TBase, TImpl> {
     }
   }
 
+  /**
+   * The open generic registration this registration was closed from, or null if it was registered as it is.
+   */
+  public Registration<?, ?> getGenericDefinition() {
+    return genericDefinition;
+  }
+
+  /**
+   * Creates the registration of this open generic registration closed over the given component, with the same
+   * name, lifestyle and explicit dependencies.
+   */
+  @SuppressWarnings("unchecked")
+  Registration<?, ?> close(Component<?, ?> closed) {
+    Registration registration = new Registration(closed);
+
+    registration.name = name;
+    registration.lifestyle = lifestyle;
+    registration.poolSize = poolSize;
+    registration.dependencies.putAll(dependencies);
+    registration.genericDefinition = this;
+
+    return registration;
+  }
+
+  /**
+   * Registrations are compared by identity, except that the registrations closed from the same definition over
+   * the same type are equal. The container may close a generic more than once, and its instances, such as the one
+   * of a SINGLETON, must still be shared.
+   */
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    if (genericDefinition == null || !(o instanceof Registration)) {
+      return false;
+    }
+
+    Registration<?, ?> other = (Registration<?, ?>) o;
+
+    return genericDefinition == other.genericDefinition && getTypeKey() == other.getTypeKey();
+  }
+
+  @Override
+  public int hashCode() {
+    return (genericDefinition != null)
+      ? 31 * genericDefinition.hashCode() + getTypeKey().hashCode()
+      : System.identityHashCode(this);
+  }
+
   public <T> void addDependency(ExplicitDependency<T> dependency) {
     this.dependencies.put(dependency.getIdentifier(), dependency);
   }
@@ -3,6 +3,7 @@ package com.communalizer.inject.kernel;
 import com.communalizer.inject.kernel.dependencies.ExplicitDependency;
 import com.communalizer.inject.kernel.dependencies.ParameterDependency;
 import com.communalizer.inject.kernel.dependencies.TypeDependency;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,6 +14,8 @@ public class RegistrationBuilder {
   private Factory factory;
   private Object instance;
   private String name;
+  private Lifestyle lifestyle;
+  private int poolSize;
 
   public static RegistrationBuilder registration() {
     return new RegistrationBuilder();
@@ -24,6 +27,24 @@ public class RegistrationBuilder {
     return this;
   }
 
+  /**
+   * Registers an open generic component, see {@link Component#openGeneric(Class, Class)}.
+   */
+  public RegistrationBuilder openGeneric(Class<?> baseType, Class<?> implementation) {
+    this.component = Component.openGeneric(baseType, implementation);
+
+    return this;
+  }
+
+  /**
+   * Registers a typed factory, see {@link Component#typedFactory(Class, Class)}.
+   */
+  public RegistrationBuilder typedFactory(Class<?> factoryInterface, Class<?> product) {
+    this.component = Component.typedFactory(factoryInterface, product);
+
+    return this;
+  }
+
   public RegistrationBuilder factory(Factory factory) {
     this.factory = factory;
 
@@ -42,6 +63,26 @@ public class RegistrationBuilder {
     return this;
   }
 
+  public RegistrationBuilder lifestyle(Lifestyle lifestyle) {
+    this.lifestyle = lifestyle;
+
+    return this;
+  }
+
+  /**
+   * Gives the component the POOLED lifestyle, keeping up to the given number of released instances for reuse.
+   */
+  public RegistrationBuilder pooled(int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Parameter: size must be at least 1.");
+    }
+
+    this.lifestyle = Lifestyle.POOLED;
+    this.poolSize = size;
+
+    return this;
+  }
+
   public <T> RegistrationBuilder dependsOn(String parameterName, T instance) {
     this.dependencies.add(new ParameterDependency<>(parameterName, instance));
 
@@ -80,11 +121,23 @@ public class RegistrationBuilder {
 
   @SuppressWarnings("unchecked")
   public Registration build() {
+    if (component != null && component.isOpenGeneric() && (factory != null || instance != null)) {
+      throw new IllegalArgumentException("Open generic components can only be constructed by reflection.");
+    }
+
+    if (component != null &&
+      component.getComponentType() == ComponentType.TYPED_FACTORY &&
+      (factory != null || instance != null)) {
+      throw new IllegalArgumentException("Typed factories are implemented by the container.");
+    }
+
     Registration registration = new Registration(component);
 
     registration.setName(name);
     registration.setFactory(factory);
     registration.setInstance(instance);
+    registration.setLifestyle(lifestyle);
+    registration.setPoolSize(poolSize);
 
     for (ExplicitDependency dependency : dependencies) {
       registration.addDependency(dependency);
@@ -0,0 +1,1130 @@
+package com.communalizer.inject.kernel;
+
+import com.communalizer.inject.kernel.dependencies.ExplicitDependency;
+import com.communalizer.inject.kernel.events.Events;
+import com.communalizer.inject.kernel.instantiation.InstantiationStrategy;
+import com.communalizer.inject.kernel.instantiation.Instantiator;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+import com.communalizer.inject.kernel.lifestyle.Lifestyles;
+import com.communalizer.inject.kernel.lifestyle.Scope;
+import com.communalizer.inject.kernel.metrics.ResolutionMetrics;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * An immutable copy of a container's registry, together with the {@link ResolutionPlan}s compiled against it.
+ * Snapshots are published by the container when it is frozen, and replaced wholesale (copy-on-write) when
+ * registrations are added afterwards, so they can be read from any number of threads without locking. Since a
+ * snapshot never changes, its plans never need to be invalidated.
+ *
+ * Providers are also indexed by the id their type has in the container's {@link TypeIndex}, and so is the plan of
+ * each unnamed registration, so resolving an unnamed component from a token takes two array loads rather than two
+ * hash lookups. Only registered types are numbered, so the arrays are sized by the container's own registry.
+ *
+ * Open generic registrations are kept apart, keyed by their raw type. A parameterization of such a type that isn't
+ * registered itself is closed on demand, and its plan cached in a bounded {@link LruCache}, so the number of plans
+ * kept stays flat however many type arguments a generic is resolved with. Evicting a plan also releases the root
+ * scope's state and the metrics of its closed registration, so that nothing keeps the closed type reachable. A
+ * closed SINGLETON is therefore shared for as long as its plan stays cached.
+ */
+public class RegistrySnapshot {
+  /**
+   * Components whose graph of transient dependencies is deeper than this are constructed by a
+   * {@link ResolutionProgram} rather than by nested compiled factories. Shared components whose graph is deeper
+   * than this compile and resolve their subgraph bottom-up.
+   */
+  static final int PROGRAM_DEPTH = 64;
+  static final int MAX_PROGRAM_STEPS = 1 << 16;
+
+  /**
+   * How many plans of closed generic components a snapshot keeps.
+   */
+  static final int CLOSED_PLAN_CAPACITY = 1024;
+
+  private static final ResolutionPlan<?>[] NO_PLANS = new ResolutionPlan<?>[0];
+
+  // Whether the current thread is compiling, or resolving, the subgraph of a deeply nested component bottom-up.
+  private static final ThreadLocal<boolean[]> COMPILING_SUBGRAPH = new ThreadLocal<boolean[]>() {
+    @Override
+    protected boolean[] initialValue() {
+      return new boolean[1];
+    }
+  };
+
+  private static final ThreadLocal<boolean[]> RESOLVING_SUBGRAPH = new ThreadLocal<boolean[]>() {
+    @Override
+    protected boolean[] initialValue() {
+      return new boolean[1];
+    }
+  };
+
+  // The closed generic plans being compiled by the current thread, to report cycles between them.
+  private static final ThreadLocal<Set<Object>> CLOSING = new ThreadLocal<Set<Object>>() {
+    @Override
+    protected Set<Object> initialValue() {
+      return new HashSet<>();
+    }
+  };
+
+  private final Map<TypeKey, TypeProvider<?>> providers;
+  private final Map<String, TypeProvider<?>> registry;
+  private final TypeIndex typeIndex;
+  private final TypeProvider<?>[] providersById;
+  private final Map<TypeKey, TypeProvider<?>> openGenerics;
+  private final LruCache<Object, ResolutionPlan<?>> closedPlans = new LruCache<>(
+    CLOSED_PLAN_CAPACITY,
+    new LruCache.EvictionListener<Object, ResolutionPlan<?>>() {
+      @Override
+      public void evicted(Object key, ResolutionPlan<?> plan) {
+        rootScope.release(plan.getRegistration());
+        metrics.release(plan.getRegistration());
+      }
+    }
+  );
+  private final AtomicReferenceArray<ResolutionPlan<?>> unnamedPlans;
+  private final ConcurrentMap<Registration<?, ?>, ResolutionPlan<?>> plans = new ConcurrentHashMap<>();
+  private final ConcurrentMap<TypeKey, ResolutionPlan<?>[]> allPlans = new ConcurrentHashMap<>();
+  private final ConcurrentMap<Constructor<?>, Instantiator<?>> instantiators = new ConcurrentHashMap<>();
+  private final ParameterNameCache parameterNames;
+  private final InstantiationStrategy instantiationStrategy;
+  private final Scope rootScope;
+  private final ResolutionMetrics metrics;
+
+  private volatile DependencyGraph graph;
+
+  public RegistrySnapshot(
+    Map<TypeKey, TypeProvider<?>> providers,
+    ParameterNameCache parameterNames,
+    InstantiationStrategy instantiationStrategy,
+    Scope rootScope) {
+
+    this(providers, parameterNames, instantiationStrategy, rootScope, ResolutionMetrics.disabled());
+  }
+
+  public RegistrySnapshot(
+    Map<TypeKey, TypeProvider<?>> providers,
+    ParameterNameCache parameterNames,
+    InstantiationStrategy instantiationStrategy,
+    Scope rootScope,
+    ResolutionMetrics metrics) {
+
+    this(
+      providers,
+      Collections.<TypeKey, TypeProvider<?>>emptyMap(),
+      parameterNames,
+      instantiationStrategy,
+      rootScope,
+      metrics
+    );
+  }
+
+  /**
+   * Creates a snapshot that also closes the given open generic registrations, which are keyed by their raw type.
+   */
+  public RegistrySnapshot(
+    Map<TypeKey, TypeProvider<?>> providers,
+    Map<TypeKey, TypeProvider<?>> openGenerics,
+    ParameterNameCache parameterNames,
+    InstantiationStrategy instantiationStrategy,
+    Scope rootScope,
+    ResolutionMetrics metrics) {
+
+    this(providers, openGenerics, parameterNames, instantiationStrategy, rootScope, metrics, new TypeIndex());
+  }
+
+  /**
+   * Creates a snapshot that numbers its types in the given index, which the snapshots of one container share.
+   */
+  public RegistrySnapshot(
+    Map<TypeKey, TypeProvider<?>> providers,
+    Map<TypeKey, TypeProvider<?>> openGenerics,
+    ParameterNameCache parameterNames,
+    InstantiationStrategy instantiationStrategy,
+    Scope rootScope,
+    ResolutionMetrics metrics,
+    TypeIndex typeIndex) {
+
+    if (providers == null) {
+      throw new IllegalArgumentException("Parameter: providers cannot be null.");
+    }
+
+    if (openGenerics == null) {
+      throw new IllegalArgumentException("Parameter: openGenerics cannot be null.");
+    }
+
+    if (parameterNames == null) {
+      throw new IllegalArgumentException("Parameter: parameterNames cannot be null.");
+    }
+
+    if (instantiationStrategy == null) {
+      throw new IllegalArgumentException("Parameter: instantiationStrategy cannot be null.");
+    }
+
+    if (rootScope == null) {
+      throw new IllegalArgumentException("Parameter: rootScope cannot be null.");
+    }
+
+    if (metrics == null) {
+      throw new IllegalArgumentException("Parameter: metrics cannot be null.");
+    }
+
+    if (typeIndex == null) {
+      throw new IllegalArgumentException("Parameter: typeIndex cannot be null.");
+    }
+
+    Map<TypeKey, TypeProvider<?>> copy = new HashMap<>();
+    Map<String, TypeProvider<?>> byName = new HashMap<>();
+    int maxId = -1;
+
+    for (Map.Entry<TypeKey, TypeProvider<?>> entry : providers.entrySet()) {
+      TypeProvider<?> provider = entry.getValue().snapshot();
+
+      copy.put(entry.getKey(), provider);
+      byName.put(entry.getKey().toString(), provider);
+      maxId = Math.max(maxId, typeIndex.register(entry.getKey()));
+    }
+
+    TypeProvider<?>[] byId = new TypeProvider<?>[maxId + 1];
+
+    for (Map.Entry<TypeKey, TypeProvider<?>> entry : copy.entrySet()) {
+      byId[typeIndex.getId(entry.getKey())] = entry.getValue();
+    }
+
+    Map<TypeKey, TypeProvider<?>> openCopy = new HashMap<>();
+
+    for (Map.Entry<TypeKey, TypeProvider<?>> entry : openGenerics.entrySet()) {
+      openCopy.put(entry.getKey(), entry.getValue().snapshot());
+    }
+
+    this.typeIndex = typeIndex;
+    this.providersById = byId;
+    this.openGenerics = Collections.unmodifiableMap(openCopy);
+    this.unnamedPlans = new AtomicReferenceArray<>(byId.length);
+
+    this.providers = Collections.unmodifiableMap(copy);
+    this.registry = Collections.unmodifiableMap(byName);
+    this.parameterNames = parameterNames;
+    this.instantiationStrategy = instantiationStrategy;
+    this.rootScope = rootScope;
+    this.metrics = metrics;
+  }
+
+  public Map<TypeKey, TypeProvider<?>> getProviders() {
+    return providers;
+  }
+
+  /**
+   * The same providers as {@link #getProviders()}, keyed by the printable name of their type.
+   */
+  public Map<String, TypeProvider<?>> getRegistry() {
+    return registry;
+  }
+
+  /**
+   * The open generic registrations, in providers keyed by their raw type.
+   */
+  public Map<TypeKey, TypeProvider<?>> getOpenGenerics() {
+    return openGenerics;
+  }
+
+  /**
+   * Whether a type is registered, or is a parameterization of an open generic registration.
+   */
+  public boolean isRegistered(TypeKey key) {
+    return getProvider(key) != null || getOpenGeneric(key) != null;
+  }
+
+  public <T> Registration<T, ?> findRegistration(TypeToken<T> token, String name) {
+    return findRegistration(token.getTypeKey(), name);
+  }
+
+  /**
+   * Returns the registration of a type with the given name, or null if the type is registered but not with that
+   * name. A parameterization of an open generic registration is closed. Throws if the type isn't registered.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Registration<T, ?> findRegistration(TypeKey key, String name) {
+    TypeProvider<T> typeProvider = (TypeProvider<T>) getProvider(key);
+
+    if (typeProvider == null && getOpenGeneric(key) != null) {
+      return (Registration<T, ?>) closeGeneric(key, name);
+    }
+
+    if (typeProvider == null) {
+      throw new RuntimeException(
+        String.format(
+          "Could not find a registration matching type token: %s.",
+          key
+        )
+      );
+    }
+
+    return typeProvider.getRegistration(name);
+  }
+
+  /**
+   * Returns the provider of a type, or null if the type isn't registered.
+   */
+  public TypeProvider<?> getProvider(TypeKey key) {
+    int id = typeIndex.getId(key);
+
+    return (id >= 0 && id < providersById.length) ? providersById[id] : null;
+  }
+
+  /**
+   * Returns the plan of the registration a token and name resolve to. The plan of the unnamed registration is kept
+   * in an array indexed by type id, so looking it up again doesn't hash anything.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> ResolutionPlan<T> getPlan(TypeToken<T> token, String name) {
+    TypeKey key = token.getTypeKey();
+
+    if (getProvider(key) == null && getOpenGeneric(key) != null) {
+      return getClosedPlan(key, name);
+    }
+
+    if (name != null && !name.equals("")) {
+      return getPlan(findExistingRegistration(token, name));
+    }
+
+    int id = typeIndex.getId(key);
+    ResolutionPlan<T> plan = (id >= 0 && id < providersById.length) ? (ResolutionPlan<T>) unnamedPlans.get(id) : null;
+
+    if (plan == null) {
+      plan = getPlan(findExistingRegistration(token, name));
+      unnamedPlans.set(id, plan);
+    }
+
+    return plan;
+  }
+
+  /**
+   * Returns the registration of a type with the given name, throwing rather than returning null if the type is
+   * registered but not with that name.
+   */
+  private <T> Registration<T, ?> findExistingRegistration(TypeToken<T> token, String name) {
+    Registration<T, ?> registration = findRegistration(token, name);
+
+    if (registration == null) {
+      throw new RuntimeException(
+        (name == null || name.equals(""))
+          ? String.format("Could not find an unnamed registration matching type token: %s.", token.getTypeKey())
+          : String.format("Could not find a registration matching type token: %s named '%s'.", token.getTypeKey(), name)
+      );
+    }
+
+    return registration;
+  }
+
+  /**
+   * Returns the cached {@link ResolutionPlan} for a {@link Registration}, compiling it on first use. Concurrent
+   * first uses may compile the same plan twice, in which case the first published plan wins.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> ResolutionPlan<T> getPlan(Registration<T, ?> registration) {
+    if (registration.getGenericDefinition() != null) {
+      return getClosedPlan(registration.getTypeKey(), registration.getName());
+    }
+
+    ResolutionPlan<T> plan = (ResolutionPlan<T>) plans.get(registration);
+
+    if (plan == null) {
+      ResolutionPlan<T> compiled = compilePlan(registration);
+
+      plan = (ResolutionPlan<T>) plans.putIfAbsent(registration, compiled);
+      if (plan == null) {
+        plan = compiled;
+      }
+    }
+
+    return plan;
+  }
+
+  /**
+   * Returns the plan of a parameterization of an open generic registration, closing the registration and compiling
+   * its plan if the plan isn't cached.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> ResolutionPlan<T> getClosedPlan(TypeKey key, String name) {
+    Object cacheKey = (name == null || name.equals("")) ? key : Arrays.asList(key, name);
+    ResolutionPlan<T> plan = (ResolutionPlan<T>) closedPlans.get(cacheKey);
+
+    if (plan != null) {
+      return plan;
+    }
+
+    Registration<T, ?> registration = (Registration<T, ?>) closeGeneric(key, name);
+
+    if (registration == null) {
+      throw new RuntimeException(
+        String.format("Could not find a registration matching type token: %s named '%s'.", key, name)
+      );
+    }
+
+    Set<Object> closing = CLOSING.get();
+
+    if (!closing.add(cacheKey)) {
+      throw new RuntimeException(
+        String.format(
+          "Component '%s' is part of a dependency cycle.",
+          registration.getComponent().generateKey()
+        )
+      );
+    }
+
+    try {
+      ResolutionPlan<T> compiled = compilePlan(registration);
+
+      plan = (ResolutionPlan<T>) closedPlans.putIfAbsent(cacheKey, compiled);
+      return (plan != null) ? plan : compiled;
+    } finally {
+      closing.remove(cacheKey);
+    }
+  }
+
+  /**
+   * The provider of the open generic registrations that a type is a parameterization of, or null if there are none
+   * or the type is registered itself.
+   */
+  private TypeProvider<?> getOpenGeneric(TypeKey key) {
+    if (openGenerics.isEmpty() || !(key.getType() instanceof ParameterizedType)) {
+      return null;
+    }
+
+    return openGenerics.get(key.getRawKey());
+  }
+
+  /**
+   * Closes the open generic registration with the given name over a parameterization of its type, or returns null
+   * if there is no such registration.
+   */
+  private Registration<?, ?> closeGeneric(TypeKey key, String name) {
+    Registration<?, ?> definition = getOpenGeneric(key).getRegistration(name);
+
+    if (definition == null) {
+      return null;
+    }
+
+    ParameterizedType baseType = (ParameterizedType) key.getType();
+    Class<?> implementation = (Class<?>) definition.getComponent().getReferencedType();
+    ParameterizedType referencedType = TypeHelper.closeImplementation(implementation, baseType);
+
+    if (referencedType == null) {
+      throw new RuntimeException(
+        String.format(
+          "Component '%s' cannot be closed over: %s.",
+          definition.getComponent().generateKey(),
+          key
+        )
+      );
+    }
+
+    return definition.close(Component.closed(baseType, referencedType));
+  }
+
+  /**
+   * Returns the {@link DependencyGraph} of this snapshot, building it on first use.
+   */
+  public DependencyGraph getGraph() {
+    DependencyGraph current = graph;
+
+    if (current == null) {
+      synchronized (plans) {
+        current = graph;
+
+        if (current == null) {
+          current = new DependencyGraph(this, parameterNames);
+          graph = current;
+        }
+      }
+    }
+
+    return current;
+  }
+
+  @SuppressWarnings("unchecked")
+  /**
+   * Compiles a {@link ResolutionPlan} for the requested {@link Registration}. For REFLECTION components the
+   * constructor selected by the {@link DependencyGraph} is used, and every argument is bound to either an explicit
+   * dependency or the plan of the registration that satisfies it. TYPED_FACTORY components are implemented from
+   * the methods bound in the graph. The resulting factory is wrapped according to the registration's lifestyle.
+   */
+  private <T> ResolutionPlan<T> compilePlan(Registration<T, ?> registration) {
+    ComponentType componentType = registration.getComponent().getComponentType();
+
+    if (componentType != ComponentType.REFLECTION && componentType != ComponentType.TYPED_FACTORY) {
+      Factory<T> provided = ResolutionPlan.providedFactory(registration);
+
+      if (componentType == ComponentType.FACTORY) {
+        provided = metrics.instrumentConstruction(registration, Events.instrumentConstruction(registration, provided));
+      }
+
+      return new ResolutionPlan<>(registration, null, null, lifestyle(registration, provided));
+    }
+
+    try {
+      DependencyGraph.Node node = (registration.getGenericDefinition() != null)
+        ? getGraph().createClosedNode(registration)
+        : getGraph().getNode(registration);
+
+      if (node == null) {
+        throw new RuntimeException(
+          String.format(
+            "Component '%s' is not registered with the container.",
+            registration.getComponent().generateKey()
+          )
+        );
+      }
+
+      if (node.getProblem() != null) {
+        throw new RuntimeException(node.getProblem());
+      }
+
+      if (componentType == ComponentType.TYPED_FACTORY) {
+        return new ResolutionPlan<>(registration, null, null, lifestyle(registration, compileTypedFactory(node)));
+      }
+
+      boolean nested = node.getNesting() > PROGRAM_DEPTH;
+
+      if (nested && !DependencyGraph.isInlinable(node)) {
+        compileSubgraph(node);
+      }
+
+      Constructor<T> constructor = (Constructor<T>) node.getConstructor();
+      Factory<?>[] arguments = null;
+      Factory<T> construction;
+
+      if (node.getDepth() > PROGRAM_DEPTH) {
+        construction = compileProgram(node);
+      } else {
+        arguments = new Factory<?>[node.getParameterCount()];
+
+        for (int i = 0; i < arguments.length; i++) {
+          arguments[i] = compileArgument(node, i);
+        }
+
+        construction = instantiationStrategy.compile(constructor, compiledFactories(arguments));
+      }
+
+      if (nested && isShared(registration)) {
+        construction = resolveSubgraphFirst(node, construction);
+      }
+
+      return new ResolutionPlan<>(registration, constructor, arguments, instrument(registration, construction));
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  /**
+   * Compiles the plans of the components in a deeply nested component's subgraph that are not inlined into
+   * programs, dependencies first. Each plan then finds the plans of its dependencies already compiled, so compiling
+   * doesn't recurse once per level of the graph.
+   */
+  private void compileSubgraph(DependencyGraph.Node node) {
+    boolean[] compiling = COMPILING_SUBGRAPH.get();
+
+    if (compiling[0]) {
+      return;
+    }
+
+    compiling[0] = true;
+
+    try {
+      for (Registration<?, ?> registration : getSubgraph(node)) {
+        if (!DependencyGraph.isInlinable(getGraph().getNode(registration))) {
+          getPlan(registration);
+        }
+      }
+    } finally {
+      compiling[0] = false;
+    }
+  }
+
+  /**
+   * Wraps the construction of a deeply nested SINGLETON, PER_THREAD or SCOPED component so that the shared
+   * components in its subgraph are resolved first, dependencies first. Each of them then finds its shared
+   * dependencies already created, and the component itself is constructed without nesting a call per level of the
+   * graph. Chains of TRANSIENT components are flattened into programs instead, while those of POOLED ones still
+   * nest.
+   */
+  private <T> Factory<T> resolveSubgraphFirst(final DependencyGraph.Node node, final Factory<T> construction) {
+    return new Factory<T>() {
+      private volatile Factory<?>[] shared;
+
+      @Override
+      public T create() {
+        boolean[] resolving = RESOLVING_SUBGRAPH.get();
+
+        if (!resolving[0]) {
+          resolving[0] = true;
+
+          try {
+            for (Factory<?> factory : getShared()) {
+              factory.create();
+            }
+          } finally {
+            resolving[0] = false;
+          }
+        }
+
+        return construction.create();
+      }
+
+      private Factory<?>[] getShared() {
+        Factory<?>[] current = shared;
+
+        if (current == null) {
+          List<Factory<?>> factories = new ArrayList<>();
+
+          for (Registration<?, ?> registration : getSubgraph(node)) {
+            if (isShared(registration)) {
+              factories.add(getPlan(registration).getFactory());
+            }
+          }
+
+          current = factories.toArray(new Factory<?>[0]);
+          shared = current;
+        }
+
+        return current;
+      }
+    };
+  }
+
+  /**
+   * The components constructed together with a component, not including itself, ordered so that each comes after
+   * its dependencies.
+   */
+  private List<Registration<?, ?>> getSubgraph(DependencyGraph.Node root) {
+    DependencyGraph graph = getGraph();
+    Set<Registration<?, ?>> reached = new HashSet<>();
+    Deque<DependencyGraph.Node> pending = new ArrayDeque<>();
+
+    pending.push(root);
+
+    while (!pending.isEmpty()) {
+      for (Registration<?, ?> dependency : pending.pop().getEdges()) {
+        DependencyGraph.Node child = graph.getNode(dependency);
+
+        // Closed generic dependencies are not part of the graph.
+        if (child != null && reached.add(dependency)) {
+          pending.push(child);
+        }
+      }
+    }
+
+    List<Registration<?, ?>> subgraph = new ArrayList<>();
+
+    for (Registration<?, ?> registration : graph.getOrder()) {
+      if (reached.contains(registration) && registration != root.getRegistration()) {
+        subgraph.add(registration);
+      }
+    }
+
+    return subgraph;
+  }
+
+  private static boolean isShared(Registration<?, ?> registration) {
+    Lifestyle lifestyle = registration.getLifestyle();
+
+    return lifestyle == Lifestyle.SINGLETON || lifestyle == Lifestyle.PER_THREAD || lifestyle == Lifestyle.SCOPED;
+  }
+
+  /**
+   * Implements the interface of a TYPED_FACTORY component with a {@link Proxy}, created once per plan. Every method
+   * was bound to a constructor of the product when the graph was built, so a call copies its arguments into the
+   * parameters they were bound to, resolves the others through factories that compile their plans on first use, and
+   * invokes the constructor directly. The products are recorded in the metrics and events as constructions of the
+   * typed factory's registration, since they have none of their own.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> Factory<T> compileTypedFactory(DependencyGraph.Node node) {
+    Registration<Object, ?> registration = (Registration<Object, ?>) node.getRegistration();
+    Map<Method, ArgumentFactory<?>> methods = new HashMap<>();
+
+    for (DependencyGraph.Node method : node.getFactoryMethods()) {
+      Factory<?>[] arguments = new Factory<?>[method.getParameterCount()];
+      int[] methodArguments = new int[arguments.length];
+
+      for (int i = 0; i < arguments.length; i++) {
+        methodArguments[i] = method.getMethodArgument(i);
+
+        if (methodArguments[i] < 0) {
+          arguments[i] = compileDeferredArgument(method, i);
+        }
+      }
+
+      ArgumentFactory<Object> construction =
+        new FactoryMethod(getInstantiator(method.getConstructor()), methodArguments, arguments);
+
+      methods.put(
+        method.getMethod(),
+        metrics.instrumentConstruction(registration, Events.instrumentConstruction(registration, construction))
+      );
+    }
+
+    Class<?> factoryInterface = (Class<?>) node.getRegistration().getComponent().getBaseType();
+
+    final T factory = (T) Proxy.newProxyInstance(
+      factoryInterface.getClassLoader(),
+      new Class<?>[] { factoryInterface },
+      new TypedFactoryHandler(node.getRegistration().getComponent().generateKey(), methods)
+    );
+
+    return new Factory<T>() {
+      @Override
+      public T create() {
+        return factory;
+      }
+    };
+  }
+
+  /**
+   * Compiles the argument for a parameter of a typed factory's product on its first use, so that a product may
+   * depend on the factory that creates it.
+   */
+  private Factory<?> compileDeferredArgument(final DependencyGraph.Node node, final int parameter) {
+    return new Factory<Object>() {
+      private volatile Factory<?> factory;
+
+      @Override
+      public Object create() {
+        Factory<?> current = factory;
+
+        if (current == null) {
+          current = compiled(compileArgument(node, parameter));
+          factory = current;
+        }
+
+        return current.create();
+      }
+    };
+  }
+
+  /**
+   * Compiles the argument for a constructor parameter: an explicit dependency, the plan of the registration the
+   * parameter is bound to, or a provider or collection of them.
+   */
+  private Factory<?> compileArgument(DependencyGraph.Node node, int parameter) {
+    ExplicitDependency dep = node.getExplicitDependency(parameter);
+
+    if (dep != null) {
+      return compileExplicitDependency(dep);
+    }
+
+    switch (node.getBinding(parameter)) {
+      case DIRECT:
+        return getPlan(node.getDependency(parameter));
+
+      case FACTORY:
+      case LAZY:
+        return compileProvider(node.getBinding(parameter), node.getDependency(parameter));
+
+      default:
+        return compileCollection(
+          node.getBinding(parameter),
+          node.getConstructor().getParameterTypes()[parameter],
+          node.getDependencies(parameter)
+        );
+    }
+  }
+
+  /**
+   * Flattens the construction of a component and every TRANSIENT REFLECTION component it depends on into a
+   * {@link ResolutionProgram}, so that resolving a deep graph doesn't take a stack frame per level. Components that
+   * are shared or not created by a constructor are evaluated through their own plans. Since a transient component
+   * used twice is also constructed twice, the program is as long as the number of constructions per resolve; past
+   * {@link #MAX_PROGRAM_STEPS} no more components are inlined.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> ResolutionProgram<T> compileProgram(DependencyGraph.Node root) {
+    DependencyGraph graph = getGraph();
+
+    List<Factory<?>> factories = new ArrayList<>();
+    List<Instantiator<?>> instantiators = new ArrayList<>();
+    List<Integer> arities = new ArrayList<>();
+
+    Deque<DependencyGraph.Node> path = new ArrayDeque<>();
+    Deque<Integer> next = new ArrayDeque<>();
+    int height = 0;
+    int stackSize = 0;
+
+    path.push(root);
+    next.push(0);
+
+    while (!path.isEmpty()) {
+      DependencyGraph.Node node = path.peek();
+      int i = next.pop();
+
+      if (i == node.getParameterCount()) {
+        path.pop();
+
+        factories.add(null);
+        instantiators.add(getInstantiator(node.getConstructor()));
+        arities.add(i);
+
+        height = height - i + 1;
+        stackSize = Math.max(stackSize, height);
+        continue;
+      }
+
+      next.push(i + 1);
+
+      if (node.getExplicitDependency(i) == null && node.getBinding(i) == DependencyGraph.Binding.DIRECT) {
+        DependencyGraph.Node child = graph.getNode(node.getDependency(i));
+
+        if (DependencyGraph.isInlinable(child) && arities.size() + path.size() < MAX_PROGRAM_STEPS) {
+          path.push(child);
+          next.push(0);
+          continue;
+        }
+      }
+
+      factories.add(compiled(compileArgument(node, i)));
+      instantiators.add(null);
+      arities.add(-1);
+
+      height++;
+      stackSize = Math.max(stackSize, height);
+    }
+
+    int[] steps = new int[arities.size()];
+
+    for (int i = 0; i < steps.length; i++) {
+      steps[i] = arities.get(i);
+    }
+
+    return new ResolutionProgram<>(
+      factories.toArray(new Factory<?>[0]),
+      instantiators.toArray(new Instantiator<?>[0]),
+      steps,
+      stackSize
+    );
+  }
+
+  /**
+   * Returns the {@link Instantiator} bound to a constructor, binding it on first use.
+   */
+  @SuppressWarnings("unchecked")
+  private <T> Instantiator<T> getInstantiator(Constructor<T> constructor) {
+    Instantiator<T> instantiator = (Instantiator<T>) instantiators.get(constructor);
+
+    if (instantiator == null) {
+      Instantiator<T> bound = instantiationStrategy.bind(constructor);
+
+      instantiator = (Instantiator<T>) instantiators.putIfAbsent(constructor, bound);
+      if (instantiator == null) {
+        instantiator = bound;
+      }
+    }
+
+    return instantiator;
+  }
+
+  /**
+   * Constructs the component of a REFLECTION plan from arguments that have already been resolved, such as the ones
+   * an {@link AsyncResolution} resolved concurrently. The construction is instrumented like the plan's own, and
+   * goes through the same lifestyle.
+   */
+  @SuppressWarnings("unchecked")
+  <T> T construct(ResolutionPlan<T> plan, final Object[] arguments) {
+    final Instantiator<T> instantiator = getInstantiator((Constructor<T>) plan.getConstructor());
+
+    Factory<T> construction = new Factory<T>() {
+      @Override
+      public T create() {
+        return instantiator.instantiate(arguments);
+      }
+    };
+
+    return instrument(plan.getRegistration(), construction).create();
+  }
+
+  /**
+   * Wraps the factory that constructs a component in the construction events and metrics, and applies its
+   * lifestyle.
+   */
+  private <T> Factory<T> instrument(Registration<T, ?> registration, Factory<T> construction) {
+    return lifestyle(
+      registration,
+      metrics.instrumentConstruction(registration, Events.instrumentConstruction(registration, construction))
+    );
+  }
+
+  /**
+   * Applies the registration's lifestyle to the factory that constructs it, and counts the resolutions if metrics
+   * are enabled.
+   */
+  private <T> Factory<T> lifestyle(Registration<T, ?> registration, Factory<T> construction) {
+    return metrics.instrumentResolution(registration, Lifestyles.apply(registration, construction, rootScope));
+  }
+
+  /**
+   * Replaces child plans with their compiled factories, so that compiled constructors call straight into the
+   * construction of their dependencies.
+   */
+  private static Factory<?>[] compiledFactories(Factory<?>[] arguments) {
+    Factory<?>[] factories = new Factory<?>[arguments.length];
+
+    for (int i = 0; i < arguments.length; i++) {
+      factories[i] = compiled(arguments[i]);
+    }
+
+    return factories;
+  }
+
+  private static Factory<?> compiled(Factory<?> argument) {
+    return (argument instanceof ResolutionPlan) ? ((ResolutionPlan<?>) argument).getFactory() : argument;
+  }
+
+  /**
+   * Returns the plans of every registration of a type, in registration order, or an empty array if the type is not
+   * registered. The array is built once per snapshot and must not be modified.
+   */
+  public ResolutionPlan<?>[] getPlans(TypeKey key) {
+    ResolutionPlan<?>[] all = allPlans.get(key);
+
+    if (all == null) {
+      TypeProvider<?> provider = getProvider(key);
+
+      // Types that aren't registered aren't cached, so looking up arbitrary types doesn't grow the map.
+      if (provider == null) {
+        return NO_PLANS;
+      }
+
+      List<? extends Registration<?, ?>> registrations = provider.getRegistrations();
+
+      all = new ResolutionPlan<?>[registrations.size()];
+
+      for (int i = 0; i < all.length; i++) {
+        all[i] = getPlan(registrations.get(i));
+      }
+
+      ResolutionPlan<?>[] existing = allPlans.putIfAbsent(key, all);
+      if (existing != null) {
+        all = existing;
+      }
+    }
+
+    return all;
+  }
+
+  /**
+   * Compiles the argument for a {@link List}, {@link Map} or array parameter that receives every registration of a
+   * type. The factories of the registrations are gathered once, so building the collection is a single loop.
+   */
+  private Factory<?> compileCollection(
+    DependencyGraph.Binding binding,
+    Class<?> parameterType,
+    List<Registration<?, ?>> registrations) {
+
+    final int size = registrations.size();
+    final Factory<?>[] factories = new Factory<?>[size];
+    final String[] names = new String[size];
+
+    for (int i = 0; i < size; i++) {
+      Registration<?, ?> registration = registrations.get(i);
+
+      factories[i] = getPlan(registration).getFactory();
+      names[i] = (registration.getName() != null) ? registration.getName() : "";
+    }
+
+    switch (binding) {
+      case LIST:
+        return new Factory<List<Object>>() {
+          @Override
+          public List<Object> create() {
+            List<Object> list = new ArrayList<>(size);
+
+            for (Factory<?> factory : factories) {
+              list.add(factory.create());
+            }
+
+            return list;
+          }
+        };
+
+      case MAP:
+        return new Factory<Map<String, Object>>() {
+          @Override
+          public Map<String, Object> create() {
+            Map<String, Object> map = new LinkedHashMap<>();
+
+            for (int i = 0; i < size; i++) {
+              map.put(names[i], factories[i].create());
+            }
+
+            return map;
+          }
+        };
+
+      default:
+        final Object[] empty = (Object[]) Array.newInstance(parameterType.getComponentType(), 0);
+
+        return new Factory<Object[]>() {
+          @Override
+          public Object[] create() {
+            Object[] array = Arrays.copyOf(empty, size);
+
+            for (int i = 0; i < size; i++) {
+              array[i] = factories[i].create();
+            }
+
+            return array;
+          }
+        };
+    }
+  }
+
+  /**
+   * Compiles the argument for a {@link Factory} or {@link Lazy} parameter. The provider looks up the dependency's
+   * plan on first use rather than now, so that the subgraph is neither built nor compiled until it is needed, and
+   * so that providers can break constructor cycles. Providers injected within a scope keep resolving in it.
+   */
+  private <T> Factory<?> compileProvider(DependencyGraph.Binding binding, final Registration<T, ?> dependency) {
+    final Factory<T> deferred = new Factory<T>() {
+      private volatile Factory<T> factory;
+
+      @Override
+      public T create() {
+        Factory<T> current = factory;
+
+        if (current == null) {
+          current = getPlan(dependency).getFactory();
+          factory = current;
+        }
+
+        return current.create();
+      }
+    };
+
+    if (binding == DependencyGraph.Binding.LAZY) {
+      return new Factory<Lazy<T>>() {
+        @Override
+        public Lazy<T> create() {
+          return new Lazy<>(Scope.bindCurrent(deferred));
+        }
+      };
+    }
+
+    return new Factory<Factory<T>>() {
+      @Override
+      public Factory<T> create() {
+        return Scope.bindCurrent(deferred);
+      }
+    };
+  }
+
+  @SuppressWarnings("unchecked")
+  private Factory<?> compileExplicitDependency(final ExplicitDependency dep) {
+    switch (dep.getProviderType()) {
+      case INSTANCE:
+        final Object instance = dep.getInstance();
+
+        return new Factory<Object>() {
+          @Override
+          public Object create() {
+            return instance;
+          }
+        };
+
+      case FACTORY:
+        return new Factory<Object>() {
+          @Override
+          public Object create() {
+            return dep.getFactoryArtifact();
+          }
+        };
+
+      default:
+        String depComName = dep.getDependencyComponentName();
+
+        if (depComName == null || depComName.equals("")) {
+          return getPlan(findRegistration(dep.getTypeToken(), null));
+        }
+
+        return getPlan(findRegistration(dep.getTypeToken(), depComName));
+    }
+  }
+
+  /**
+   * A method of a typed factory, bound to a constructor of its product.
+   */
+  private static final class FactoryMethod implements ArgumentFactory<Object> {
+    private final Instantiator<?> instantiator;
+    private final int[] methodArguments;
+    private final Factory<?>[] arguments;
+
+    private FactoryMethod(Instantiator<?> instantiator, int[] methodArguments, Factory<?>[] arguments) {
+      this.instantiator = instantiator;
+      this.methodArguments = methodArguments;
+      this.arguments = arguments;
+    }
+
+    @Override
+    public Object create(Object[] values) {
+      Object[] parameters = new Object[methodArguments.length];
+
+      for (int i = 0; i < parameters.length; i++) {
+        parameters[i] = (methodArguments[i] >= 0) ? values[methodArguments[i]] : arguments[i].create();
+      }
+
+      return instantiator.instantiate(parameters);
+    }
+  }
+
+  /**
+   * Dispatches the calls of a typed factory's {@link Proxy}. A factory with a single method, the common case, is
+   * dispatched without a lookup.
+   */
+  private static final class TypedFactoryHandler implements InvocationHandler {
+    private final String key;
+    private final Map<Method, ArgumentFactory<?>> methods;
+    private final Method single;
+    private final ArgumentFactory<?> singleMethod;
+
+    private TypedFactoryHandler(String key, Map<Method, ArgumentFactory<?>> methods) {
+      this.key = key;
+      this.methods = methods;
+
+      Map.Entry<Method, ArgumentFactory<?>> first = (methods.size() == 1) ? methods.entrySet().iterator().next() : null;
+
+      this.single = (first != null) ? first.getKey() : null;
+      this.singleMethod = (first != null) ? first.getValue() : null;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      ArgumentFactory<?> factoryMethod = method.equals(single) ? singleMethod : methods.get(method);
+
+      if (factoryMethod != null) {
+        return factoryMethod.create(args);
+      }
+
+      if (method.getDeclaringClass() == Object.class) {
+        switch (method.getName()) {
+          case "equals":
+            return proxy == args[0];
+
+          case "hashCode":
+            return System.identityHashCode(proxy);
+
+          default:
+            return String.format("TypedFactory[%s]", key);
+        }
+      }
+
+      return InvocationHandler.invokeDefault(proxy, method, args);
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package com.communalizer.inject.kernel;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * A compiled recipe for resolving a single {@link Registration}. For REFLECTION components the plan holds the
+ * selected {@link Constructor} and one {@link Factory} per constructor argument, each of which is either an explicit
+ * dependency or the plan of a child registration. Plans are built once by the container and reused until the
+ * registry changes.
+ *
+ * Whatever the {@link ComponentType}, the plan ends up with a single compiled {@link Factory} that produces the
+ * component, so resolving never has to branch on how the component was registered.
+ */
+public class ResolutionPlan<T> implements Factory<T> {
+  private final Registration<T, ?> registration;
+  private final ComponentType componentType;
+  private final Constructor<?> constructor;
+  private final Factory<?>[] arguments;
+  private final Factory<T> factory;
+
+  /**
+   * Creates a plan for an INSTANCE or FACTORY component.
+   */
+  public ResolutionPlan(Registration<T, ?> registration) {
+    this(registration, null, null, providedFactory(registration));
+  }
+
+  /**
+   * Creates a plan whose construction has already been compiled into a {@link Factory}. REFLECTION plans must also
+   * supply the selected constructor.
+   */
+  public ResolutionPlan(
+    Registration<T, ?> registration,
+    Constructor<?> constructor,
+    Factory<?>[] arguments,
+    Factory<T> factory) {
+
+    if (registration == null) {
+      throw new IllegalArgumentException("Parameter: registration cannot be null.");
+    }
+
+    this.registration = registration;
+    this.componentType = registration.getComponent().getComponentType();
+
+    if (factory == null) {
+      throw new IllegalArgumentException("Parameter: factory cannot be null.");
+    }
+
+    if (this.componentType == ComponentType.REFLECTION && constructor == null) {
+      throw new IllegalArgumentException("Parameter: constructor cannot be null for REFLECTION components.");
+    }
+
+    this.constructor = constructor;
+    this.arguments = (arguments != null) ? arguments : new Factory<?>[0];
+    this.factory = factory;
+  }
+
+  public Registration<T, ?> getRegistration() {
+    return registration;
+  }
+
+  public ComponentType getComponentType() {
+    return componentType;
+  }
+
+  public Constructor<?> getConstructor() {
+    return constructor;
+  }
+
+  public Factory<?>[] getArguments() {
+    return arguments;
+  }
+
+  /**
+   * Returns the compiled {@link Factory} that produces this plan's component.
+   */
+  public Factory<T> getFactory() {
+    return factory;
+  }
+
+  @Override
+  public T create() {
+    return factory.create();
+  }
+
+  /**
+   * Returns the {@link Factory} that provides an INSTANCE or FACTORY component, before any lifestyle is applied.
+   */
+  public static <T> Factory<T> providedFactory(Registration<T, ?> registration) {
+    if (registration == null) {
+      throw new IllegalArgumentException("Parameter: registration cannot be null.");
+    }
+
+    switch (registration.getComponent().getComponentType()) {
+      case INSTANCE:
+        final T instance = registration.getInstance();
+
+        return new Factory<T>() {
+          @Override
+          public T create() {
+            return instance;
+          }
+        };
+
+      case FACTORY:
+        return registration.getFactory();
+
+      default:
+        throw new IllegalArgumentException("REFLECTION components must be compiled with a constructor.");
+    }
+  }
+}
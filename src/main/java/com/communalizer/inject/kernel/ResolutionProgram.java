@@ -0,0 +1,84 @@
+package com.communalizer.inject.kernel;
+
+import com.communalizer.inject.kernel.instantiation.Instantiator;
+
+/**
+ * Constructs a component and the transient components it depends on without recursing. The subgraph is flattened
+ * into a sequence of steps in post-order, so that every dependency is constructed before its dependent. A step
+ * either pushes the result of a {@link Factory} onto a value stack, or pops the arguments of a constructor off the
+ * stack and pushes the instance it creates. After the last step the stack holds the component.
+ *
+ * However deep the subgraph, evaluating it takes a single stack frame. Besides the value stack, the only
+ * allocations are the argument arrays of the constructors and the instances themselves.
+ */
+public class ResolutionProgram<T> implements Factory<T> {
+  private static final Object[] NO_ARGUMENTS = new Object[0];
+
+  private final Factory<?>[] factories;
+  private final Instantiator<?>[] instantiators;
+  private final int[] arities;
+  private final int stackSize;
+
+  /**
+   * Creates a program from its steps. Step i either calls {@code factories[i]}, in which case its arity is -1, or
+   * calls {@code instantiators[i]} with the number of arguments given by its arity.
+   */
+  public ResolutionProgram(Factory<?>[] factories, Instantiator<?>[] instantiators, int[] arities, int stackSize) {
+    if (factories == null) {
+      throw new IllegalArgumentException("Parameter: factories cannot be null.");
+    }
+
+    if (instantiators == null) {
+      throw new IllegalArgumentException("Parameter: instantiators cannot be null.");
+    }
+
+    if (arities == null) {
+      throw new IllegalArgumentException("Parameter: arities cannot be null.");
+    }
+
+    if (factories.length != arities.length || instantiators.length != arities.length) {
+      throw new IllegalArgumentException("Every step must have a factory or instantiator and an arity.");
+    }
+
+    this.factories = factories;
+    this.instantiators = instantiators;
+    this.arities = arities;
+    this.stackSize = stackSize;
+  }
+
+  public int getStepCount() {
+    return arities.length;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T create() {
+    Object[] stack = new Object[stackSize];
+    int top = 0;
+
+    for (int i = 0; i < arities.length; i++) {
+      int arity = arities[i];
+
+      if (arity < 0) {
+        stack[top++] = factories[i].create();
+        continue;
+      }
+
+      Object[] args = NO_ARGUMENTS;
+
+      if (arity > 0) {
+        args = new Object[arity];
+        top -= arity;
+
+        for (int j = 0; j < arity; j++) {
+          args[j] = stack[top + j];
+          stack[top + j] = null;
+        }
+      }
+
+      stack[top++] = instantiators[i].instantiate(args);
+    }
+
+    return (T) stack[0];
+  }
+}
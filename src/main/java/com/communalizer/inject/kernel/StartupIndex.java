@@ -0,0 +1,420 @@
+package com.communalizer.inject.kernel;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Constructor;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.CodeSource;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An index of constructor parameter names that outlives the JVM, so that a restarted container doesn't have to read
+ * them from class files again. The index file is memory-mapped when it is opened, and each class is only decoded when
+ * it is first looked up.
+ *
+ * Every class is stored with the fingerprint of the file it was loaded from: the size and modification time of the
+ * class file, or of the jar it is in. Looking a class up checks the fingerprint, which is a single file system call,
+ * and ignores the stored names if the class has changed since. Hashing the contents would mean reading every class
+ * file, which is what the index saves in the first place. Classes that weren't loaded from a file are not indexed.
+ *
+ * Nothing is written until {@link #save()} is called. Saving keeps the classes of the previous file that weren't
+ * looked up, so an index can be shared by applications that use different parts of it.
+ */
+public class StartupIndex {
+  private static final int MAGIC = 0x494E4A58;
+  private static final int VERSION = 1;
+
+  private static final StartupIndex DISABLED = new StartupIndex(null, null, new HashMap<String, Integer>());
+
+  private final Path path;
+
+  // The file the index was opened from, and the offset of each class in it.
+  private final ByteBuffer file;
+  private final Map<String, Integer> offsets;
+
+  // The classes looked up or recorded since the index was opened, whose fingerprints have been checked.
+  private final ConcurrentMap<Class<?>, ClassEntry> classes = new ConcurrentHashMap<>();
+
+  private final AtomicLong hits = new AtomicLong();
+
+  private StartupIndex(Path path, ByteBuffer file, Map<String, Integer> offsets) {
+    this.path = path;
+    this.file = file;
+    this.offsets = offsets;
+  }
+
+  /**
+   * An index that never finds anything, and doesn't record or save anything either.
+   */
+  public static StartupIndex disabled() {
+    return DISABLED;
+  }
+
+  /**
+   * Opens the index stored in a file, or an empty one if the file doesn't exist yet. A file that is not an index,
+   * or that was written by another version, is treated like a missing one and replaced on {@link #save()}.
+   */
+  public static StartupIndex open(Path path) {
+    if (path == null) {
+      throw new IllegalArgumentException("Parameter: path cannot be null.");
+    }
+
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      ByteBuffer file = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+      return new StartupIndex(path, file, readOffsets(file));
+    } catch (NoSuchFileException | IllegalArgumentException | BufferUnderflowException | IndexOutOfBoundsException e) {
+      return new StartupIndex(path, null, new HashMap<String, Integer>());
+    } catch (IOException e) {
+      throw new RuntimeException(String.format("Failed to open startup index: %s.", path), e);
+    }
+  }
+
+  /**
+   * Reads the name of every class in the file, skipping over the rest of its entry.
+   */
+  private static Map<String, Integer> readOffsets(ByteBuffer file) {
+    if (file.getInt() != MAGIC || file.getInt() != VERSION) {
+      throw new IllegalArgumentException("Not a startup index.");
+    }
+
+    int count = file.getInt();
+    Map<String, Integer> offsets = new HashMap<>(count * 2);
+
+    for (int i = 0; i < count; i++) {
+      String name = readString(file);
+      int length = file.getInt();
+
+      offsets.put(name, file.position());
+      file.position(file.position() + length);
+    }
+
+    return offsets;
+  }
+
+  public boolean isEnabled() {
+    return this != DISABLED;
+  }
+
+  /**
+   * The number of classes in the index, both the ones read from the file and the ones recorded since.
+   */
+  public int size() {
+    int size = offsets.size();
+
+    for (Class<?> type : classes.keySet()) {
+      if (!offsets.containsKey(type.getName())) {
+        size++;
+      }
+    }
+
+    return size;
+  }
+
+  /**
+   * The number of lookups that found parameter names stored in the file.
+   */
+  public long getHits() {
+    return hits.get();
+  }
+
+  /**
+   * The stored parameter names of a constructor, or null if there are none or its class has changed since they
+   * were stored.
+   */
+  public String[] getParameterNames(Constructor<?> constructor) {
+    if (constructor == null) {
+      throw new IllegalArgumentException("Parameter: constructor cannot be null.");
+    }
+
+    ClassEntry entry = getClassEntry(constructor.getDeclaringClass());
+
+    if (entry == null) {
+      return null;
+    }
+
+    String[] names = entry.constructors.get(describe(constructor));
+
+    if (names != null && entry.stored) {
+      hits.incrementAndGet();
+    }
+
+    return names;
+  }
+
+  /**
+   * Records the parameter names of a constructor, to be written by the next {@link #save()}.
+   */
+  public void putParameterNames(Constructor<?> constructor, String[] names) {
+    if (constructor == null) {
+      throw new IllegalArgumentException("Parameter: constructor cannot be null.");
+    }
+
+    if (names == null || names.length != constructor.getParameterTypes().length) {
+      throw new IllegalArgumentException("Parameter: names must name every parameter of the constructor.");
+    }
+
+    ClassEntry entry = getClassEntry(constructor.getDeclaringClass());
+
+    if (entry != null) {
+      entry.constructors.put(describe(constructor), names.clone());
+    }
+  }
+
+  private ClassEntry getClassEntry(Class<?> type) {
+    if (!isEnabled()) {
+      return null;
+    }
+
+    ClassEntry entry = classes.get(type);
+
+    if (entry == null) {
+      Fingerprint fingerprint = Fingerprint.of(type);
+
+      if (fingerprint == null) {
+        return null;
+      }
+
+      ClassEntry read = readClassEntry(type.getName(), fingerprint);
+      entry = classes.putIfAbsent(type, (read != null) ? read : new ClassEntry(fingerprint, false));
+
+      if (entry == null) {
+        entry = classes.get(type);
+      }
+    }
+
+    return entry;
+  }
+
+  /**
+   * Decodes the entry of a class from the file, or returns null if it isn't there or has another fingerprint.
+   */
+  private ClassEntry readClassEntry(String name, Fingerprint fingerprint) {
+    Integer offset = offsets.get(name);
+
+    if (offset == null) {
+      return null;
+    }
+
+    // The buffer's position is shared, so decode through a view of it.
+    ByteBuffer entry = file.duplicate();
+    entry.position(offset);
+
+    if (!fingerprint.equals(new Fingerprint(entry.getLong(), entry.getLong()))) {
+      return null;
+    }
+
+    ClassEntry read = new ClassEntry(fingerprint, true);
+    int constructorCount = entry.getShort() & 0xFFFF;
+
+    for (int i = 0; i < constructorCount; i++) {
+      String descriptor = readString(entry);
+      String[] names = new String[entry.getShort() & 0xFFFF];
+
+      for (int j = 0; j < names.length; j++) {
+        names[j] = readString(entry);
+      }
+
+      read.constructors.put(descriptor, names);
+    }
+
+    return read;
+  }
+
+  /**
+   * Writes the index to its file, replacing the file at once so that a JVM starting meanwhile reads either the old
+   * index or the new one.
+   */
+  public void save() {
+    if (!isEnabled()) {
+      return;
+    }
+
+    Map<String, byte[]> entries = new HashMap<>();
+
+    // Classes that weren't looked up are kept as they are.
+    for (Map.Entry<String, Integer> offset : offsets.entrySet()) {
+      entries.put(offset.getKey(), copyStoredEntry(offset.getValue()));
+    }
+
+    for (Map.Entry<Class<?>, ClassEntry> entry : classes.entrySet()) {
+      entries.put(entry.getKey().getName(), entry.getValue().toBytes());
+    }
+
+    Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+
+    try {
+      OutputStream file = new BufferedOutputStream(Files.newOutputStream(temporary));
+
+      try (DataOutputStream output = new DataOutputStream(file)) {
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeInt(entries.size());
+
+        for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+          writeString(output, entry.getKey());
+          output.writeInt(entry.getValue().length);
+          output.write(entry.getValue());
+        }
+      }
+
+      try {
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } catch (AtomicMoveNotSupportedException e) {
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING);
+      }
+    } catch (IOException e) {
+      throw new RuntimeException(String.format("Failed to save startup index: %s.", path), e);
+    }
+  }
+
+  private byte[] copyStoredEntry(int offset) {
+    int length = file.getInt(offset - 4);
+    byte[] bytes = new byte[length];
+
+    ByteBuffer entry = file.duplicate();
+    entry.position(offset);
+    entry.get(bytes);
+
+    return bytes;
+  }
+
+  /**
+   * Identifies a constructor within its class by the names of its parameter types.
+   */
+  private static String describe(Constructor<?> constructor) {
+    StringBuilder descriptor = new StringBuilder();
+
+    for (Class<?> parameterType : constructor.getParameterTypes()) {
+      if (descriptor.length() > 0) {
+        descriptor.append(',');
+      }
+
+      descriptor.append(parameterType.getName());
+    }
+
+    return descriptor.toString();
+  }
+
+  private static String readString(ByteBuffer buffer) {
+    byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+    buffer.get(bytes);
+
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeString(DataOutputStream output, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+    output.writeShort(bytes.length);
+    output.write(bytes);
+  }
+
+  private static final class ClassEntry {
+    private final Fingerprint fingerprint;
+    private final ConcurrentMap<String, String[]> constructors = new ConcurrentHashMap<>();
+
+    // Whether the entry was read from the file, rather than created during this run.
+    private final boolean stored;
+
+    private ClassEntry(Fingerprint fingerprint, boolean stored) {
+      this.fingerprint = fingerprint;
+      this.stored = stored;
+    }
+
+    private byte[] toBytes() {
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+      try (DataOutputStream output = new DataOutputStream(bytes)) {
+        output.writeLong(fingerprint.size);
+        output.writeLong(fingerprint.modified);
+        output.writeShort(constructors.size());
+
+        for (Map.Entry<String, String[]> constructor : constructors.entrySet()) {
+          writeString(output, constructor.getKey());
+          output.writeShort(constructor.getValue().length);
+
+          for (String name : constructor.getValue()) {
+            writeString(output, name);
+          }
+        }
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+
+      return bytes.toByteArray();
+    }
+  }
+
+  private static final class Fingerprint {
+    private final long size;
+    private final long modified;
+
+    private Fingerprint(long size, long modified) {
+      this.size = size;
+      this.modified = modified;
+    }
+
+    /**
+     * The fingerprint of the file a class was loaded from, or null if it wasn't loaded from a local file.
+     */
+    private static Fingerprint of(Class<?> type) {
+      CodeSource source = type.getProtectionDomain().getCodeSource();
+      URL location = (source != null) ? source.getLocation() : null;
+
+      if (location == null || !"file".equals(location.getProtocol())) {
+        return null;
+      }
+
+      try {
+        Path file = Paths.get(location.toURI());
+
+        if (Files.isDirectory(file)) {
+          file = file.resolve(type.getName().replace('.', '/') + ".class");
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+
+        return new Fingerprint(attributes.size(), attributes.lastModifiedTime().toMillis());
+      } catch (URISyntaxException | IOException | IllegalArgumentException e) {
+        return null;
+      }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof Fingerprint)) {
+        return false;
+      }
+
+      Fingerprint other = (Fingerprint) o;
+
+      return size == other.size && modified == other.modified;
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * Long.hashCode(size) + Long.hashCode(modified);
+    }
+  }
+}
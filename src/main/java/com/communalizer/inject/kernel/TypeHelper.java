@@ -1,7 +1,15 @@
 package com.communalizer.inject.kernel;
 
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 
 public class TypeHelper {
   public static void checkGenericTypeCompatibility(ParameterizedType x, ParameterizedType y) {
@@ -60,4 +68,235 @@ public class TypeHelper {
       );
     }
   }
+
+  /**
+   * Binds the type parameters of a generic class to the type arguments of a parameterization of it, e.g. the E of
+   * ArrayList to String for ArrayList<String>. A plain class binds nothing.
+   */
+  public static Map<TypeVariable<?>, Type> getTypeArguments(Type type) {
+    if (!(type instanceof ParameterizedType)) {
+      return Collections.emptyMap();
+    }
+
+    ParameterizedType pt = (ParameterizedType) type;
+    TypeVariable<?>[] parameters = ((Class<?>) pt.getRawType()).getTypeParameters();
+    Type[] arguments = pt.getActualTypeArguments();
+    Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+
+    for (int i = 0; i < parameters.length && i < arguments.length; i++) {
+      bindings.put(parameters[i], arguments[i]);
+    }
+
+    return bindings;
+  }
+
+  /**
+   * Closes an open generic implementation over a parameterization of one of its supertypes, e.g. JdbcRepository
+   * declared as JdbcRepository<T> implements Repository<T> over Repository<String> gives JdbcRepository<String>.
+   * Returns null if the supertype arguments contradict the implementation, or don't determine all of its type
+   * parameters.
+   */
+  public static ParameterizedType closeImplementation(Class<?> implementation, ParameterizedType base) {
+    Type supertype = getGenericSupertype(implementation, (Class<?>) base.getRawType());
+
+    if (!(supertype instanceof ParameterizedType)) {
+      return null;
+    }
+
+    Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+
+    if (!unify(supertype, base, bindings)) {
+      return null;
+    }
+
+    TypeVariable<?>[] parameters = implementation.getTypeParameters();
+    Type[] arguments = new Type[parameters.length];
+
+    for (int i = 0; i < parameters.length; i++) {
+      arguments[i] = bindings.get(parameters[i]);
+
+      if (arguments[i] == null) {
+        return null;
+      }
+    }
+
+    return new ParameterizedTypeImpl(implementation, arguments);
+  }
+
+  /**
+   * Replaces the type variables in a type with the types they are bound to. Variables that aren't bound, and
+   * wildcards, are left as they are.
+   */
+  public static Type substitute(Type type, Map<TypeVariable<?>, Type> bindings) {
+    if (bindings.isEmpty()) {
+      return type;
+    }
+
+    if (type instanceof TypeVariable) {
+      Type bound = bindings.get(type);
+
+      return (bound != null) ? bound : type;
+    }
+
+    if (type instanceof ParameterizedType) {
+      ParameterizedType pt = (ParameterizedType) type;
+      Type[] arguments = pt.getActualTypeArguments();
+      boolean changed = false;
+
+      for (int i = 0; i < arguments.length; i++) {
+        Type argument = substitute(arguments[i], bindings);
+
+        changed |= argument != arguments[i];
+        arguments[i] = argument;
+      }
+
+      return changed ? new ParameterizedTypeImpl((Class<?>) pt.getRawType(), arguments) : type;
+    }
+
+    if (type instanceof GenericArrayType) {
+      Type component = substitute(((GenericArrayType) type).getGenericComponentType(), bindings);
+
+      if (component instanceof Class) {
+        return Array.newInstance((Class<?>) component, 0).getClass();
+      }
+    }
+
+    return type;
+  }
+
+  /**
+   * The parameterization of a supertype (or the type itself) that a type extends or implements, with the type's
+   * own arguments substituted, or null if it doesn't extend it.
+   */
+  public static Type getGenericSupertype(Type type, Class<?> supertype) {
+    Class<?> raw = (type instanceof ParameterizedType)
+      ? (Class<?>) ((ParameterizedType) type).getRawType()
+      : (Class<?>) type;
+
+    if (raw == supertype) {
+      return type;
+    }
+
+    Map<TypeVariable<?>, Type> bindings = getTypeArguments(type);
+    Type superclass = raw.getGenericSuperclass();
+
+    if (superclass != null) {
+      Type found = getGenericSupertype(substitute(superclass, bindings), supertype);
+
+      if (found != null) {
+        return found;
+      }
+    }
+
+    for (Type anInterface : raw.getGenericInterfaces()) {
+      Type found = getGenericSupertype(substitute(anInterface, bindings), supertype);
+
+      if (found != null) {
+        return found;
+      }
+    }
+
+    return null;
+  }
+
+  private static boolean unify(Type pattern, Type actual, Map<TypeVariable<?>, Type> bindings) {
+    if (pattern instanceof TypeVariable) {
+      Type bound = bindings.get(pattern);
+
+      if (bound == null) {
+        bindings.put((TypeVariable<?>) pattern, actual);
+        return true;
+      }
+
+      return TypeKey.of(bound) == TypeKey.of(actual);
+    }
+
+    if (pattern instanceof ParameterizedType) {
+      if (!(actual instanceof ParameterizedType)) {
+        return false;
+      }
+
+      ParameterizedType p = (ParameterizedType) pattern;
+      ParameterizedType a = (ParameterizedType) actual;
+      Type[] pArguments = p.getActualTypeArguments();
+      Type[] aArguments = a.getActualTypeArguments();
+
+      if (p.getRawType() != a.getRawType() || pArguments.length != aArguments.length) {
+        return false;
+      }
+
+      for (int i = 0; i < pArguments.length; i++) {
+        if (!unify(pArguments[i], aArguments[i], bindings)) {
+          return false;
+        }
+      }
+
+      return true;
+    }
+
+    return TypeKey.of(pattern) == TypeKey.of(actual);
+  }
+
+  /**
+   * A parameterized type built at runtime. It is equal to, and hashes like, the JDK's own parameterized types.
+   */
+  private static final class ParameterizedTypeImpl implements ParameterizedType {
+    private final Class<?> rawType;
+    private final Type[] arguments;
+    private final Type ownerType;
+
+    private ParameterizedTypeImpl(Class<?> rawType, Type[] arguments) {
+      this.rawType = rawType;
+      this.arguments = arguments;
+      this.ownerType = rawType.getDeclaringClass();
+    }
+
+    @Override
+    public Type[] getActualTypeArguments() {
+      return arguments.clone();
+    }
+
+    @Override
+    public Type getRawType() {
+      return rawType;
+    }
+
+    @Override
+    public Type getOwnerType() {
+      return ownerType;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (!(o instanceof ParameterizedType)) {
+        return false;
+      }
+
+      ParameterizedType other = (ParameterizedType) o;
+
+      return rawType.equals(other.getRawType()) &&
+        Objects.equals(ownerType, other.getOwnerType()) &&
+        Arrays.equals(arguments, other.getActualTypeArguments());
+    }
+
+    @Override
+    public int hashCode() {
+      return Arrays.hashCode(arguments) ^ Objects.hashCode(ownerType) ^ rawType.hashCode();
+    }
+
+    @Override
+    public String toString() {
+      StringBuilder name = new StringBuilder(rawType.getName()).append("<");
+
+      for (int i = 0; i < arguments.length; i++) {
+        if (i > 0) {
+          name.append(", ");
+        }
+
+        name.append(arguments[i].getTypeName());
+      }
+
+      return name.append(">").toString();
+    }
+  }
 }
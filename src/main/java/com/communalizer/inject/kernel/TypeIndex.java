@@ -0,0 +1,71 @@
+package com.communalizer.inject.kernel;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Numbers the {@link TypeKey}s registered with one container densely, starting at 0, so that the container's
+ * snapshots can keep their providers and plans in flat arrays sized by their own registry. Ids are never reused,
+ * and stay the same across the snapshots a container publishes.
+ *
+ * Each key remembers the id it was last looked up with, together with the index it came from, so looking up the
+ * same keys in the same index, as a container does on every resolve, doesn't hash anything. A key only remembers
+ * one index, and not the index itself, so keys shared by several containers fall back to a hash lookup and don't
+ * keep any container reachable.
+ */
+public final class TypeIndex {
+  private final ConcurrentMap<TypeKey, Integer> ids = new ConcurrentHashMap<>();
+  private final AtomicInteger nextId = new AtomicInteger();
+
+  // Identifies this index in the slots of its keys.
+  private final Object owner = new Object();
+
+  private final Function<TypeKey, Integer> number = new Function<TypeKey, Integer>() {
+    @Override
+    public Integer apply(TypeKey key) {
+      return nextId.getAndIncrement();
+    }
+  };
+
+  /**
+   * Returns the id of a key, numbering it if it has none yet.
+   */
+  public int register(TypeKey key) {
+    if (key == null) {
+      throw new IllegalArgumentException("Parameter: key cannot be null.");
+    }
+
+    // Numbering inside the map keeps the ids dense: a key that loses a race to be registered never takes an id.
+    return ids.computeIfAbsent(key, number);
+  }
+
+  /**
+   * Returns the id of a key, or -1 if it hasn't been registered with this index.
+   */
+  public int getId(TypeKey key) {
+    TypeKey.Slot slot = key.slot;
+
+    if (slot != null && slot.owner == owner) {
+      return slot.id;
+    }
+
+    Integer id = ids.get(key);
+
+    if (id == null) {
+      return -1;
+    }
+
+    key.slot = new TypeKey.Slot(owner, id);
+
+    return id;
+  }
+
+  /**
+   * The number of keys registered so far, which is one more than the highest id.
+   */
+  public int size() {
+    return nextId.get();
+  }
+}
@@ -0,0 +1,183 @@
+package com.communalizer.inject.kernel;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * Canonical, interned key for a {@link Type}. Classes and parameterized types are compared structurally over their
+ * raw class and type arguments; any other kind of type (wildcards, type variables, generic arrays) is compared by
+ * its name. The hash code and the printable name are computed once, so using a key in a map allocates nothing.
+ *
+ * Keys obtained through {@link #of(Type)} are interned, so two keys for the same type are always the same instance.
+ * Keys are cached by the {@link Type} they were looked up with, so looking up a type again only takes a hash lookup,
+ * and a key and its name are only built the first time. Both caches only reference their keys weakly, so a key is
+ * released together with the last component, token or container using it, and doesn't keep its type's class loader
+ * alive. Keys are not stored with their classes in a {@link ClassValue}, since the key of a JDK class would then
+ * keep this library's class loader alive. Containers number the keys they register in a {@link TypeIndex}.
+ */
+public final class TypeKey {
+  // The key of every type object a key was looked up with.
+  private static final WeakValueCache<Type, TypeKey> BY_TYPE = new WeakValueCache<>();
+
+  // The canonical key of every structurally distinct type, keyed by an equal copy so that it can be collected.
+  private static final WeakValueCache<TypeKey, TypeKey> CANONICAL = new WeakValueCache<>();
+
+  @SuppressWarnings("rawtypes")
+  private static final AtomicReferenceFieldUpdater<TypeKey, TypeToken> TOKEN =
+    AtomicReferenceFieldUpdater.newUpdater(TypeKey.class, TypeToken.class, "token");
+
+  private static final TypeKey[] NO_ARGUMENTS = new TypeKey[0];
+
+  private final Type type;
+  private final Class<?> rawType;
+  private final TypeKey[] typeArguments;
+  private final TypeKey rawKey;
+  private final String name;
+  private final int hash;
+
+  // The id of the key in the TypeIndex it was last looked up in, see TypeIndex#getId(TypeKey).
+  Slot slot;
+
+  private volatile TypeToken<?> token;
+
+  private TypeKey(Type type, Class<?> rawType, TypeKey[] typeArguments, TypeKey rawKey, String name) {
+    this.type = type;
+    this.rawType = rawType;
+    this.typeArguments = typeArguments;
+    this.rawKey = (rawKey != null) ? rawKey : this;
+    this.name = name;
+    this.hash = (rawType != null)
+      ? 31 * rawType.hashCode() + Arrays.hashCode(typeArguments)
+      : name.hashCode();
+  }
+
+  public static TypeKey of(Type type) {
+    if (type == null) {
+      throw new IllegalArgumentException("Parameter: type cannot be null.");
+    }
+
+    TypeKey key = BY_TYPE.get(type);
+
+    if (key != null) {
+      return key;
+    }
+
+    TypeKey created = create(type);
+    TypeKey canonical = CANONICAL.intern(created.copy(), created);
+
+    return BY_TYPE.intern(type, canonical);
+  }
+
+  private static TypeKey create(Type type) {
+    String name = type.toString().replace("class ", "").replace("interface ", "");
+
+    if (type instanceof Class) {
+      return new TypeKey(type, (Class<?>) type, NO_ARGUMENTS, null, name);
+    }
+
+    if (type instanceof ParameterizedType) {
+      ParameterizedType pt = (ParameterizedType) type;
+      Type[] arguments = pt.getActualTypeArguments();
+      TypeKey[] keys = new TypeKey[arguments.length];
+
+      for (int i = 0; i < arguments.length; i++) {
+        keys[i] = of(arguments[i]);
+      }
+
+      return new TypeKey(type, (Class<?>) pt.getRawType(), keys, of(pt.getRawType()), name);
+    }
+
+    return new TypeKey(type, null, NO_ARGUMENTS, null, name);
+  }
+
+  /**
+   * The canonical token of the type, or null if none has been created yet. See {@link TypeToken#getToken(Type)}.
+   */
+  TypeToken<?> getToken() {
+    return token;
+  }
+
+  /**
+   * Makes a token the canonical token of the type unless it already has one, and returns the canonical token.
+   */
+  TypeToken<?> internToken(TypeToken<?> created) {
+    return TOKEN.compareAndSet(this, null, created) ? created : token;
+  }
+
+  private TypeKey copy() {
+    return new TypeKey(type, rawType, typeArguments, (rawKey != this) ? rawKey : null, name);
+  }
+
+  /**
+   * The type the key was first created for. Other types with the same key are equal to it.
+   */
+  public Type getType() {
+    return type;
+  }
+
+  /**
+   * The erased class of the type, or null for wildcards, type variables and generic arrays.
+   */
+  public Class<?> getRawType() {
+    return rawType;
+  }
+
+  /**
+   * The key of the erased class of a parameterized type, or the key itself for any other type.
+   */
+  TypeKey getRawKey() {
+    return rawKey;
+  }
+
+  public TypeKey[] getTypeArguments() {
+    return typeArguments.clone();
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    if (!(o instanceof TypeKey)) {
+      return false;
+    }
+
+    TypeKey other = (TypeKey) o;
+
+    if (hash != other.hash) {
+      return false;
+    }
+
+    if (rawType == null || other.rawType == null) {
+      return rawType == other.rawType && name.equals(other.name);
+    }
+
+    return rawType == other.rawType && Arrays.equals(typeArguments, other.typeArguments);
+  }
+
+  @Override
+  public int hashCode() {
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+
+  /**
+   * An id together with the index it was handed out by. Slots are immutable, so they can be replaced racily.
+   */
+  static final class Slot {
+    final Object owner;
+    final int id;
+
+    Slot(Object owner, int id) {
+      this.owner = owner;
+      this.id = id;
+    }
+  }
+}
@@ -1,28 +1,83 @@
 package com.communalizer.inject.kernel;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class TypeProvider<T> {
   private final TypeToken<T> providedType;
-  private final Map<String, Registration<T, ?>> registry = new HashMap<String, Registration<T, ?>>();
+  private final Map<String, Registration<T, ?>> registry;
+
+  // Lookup structures used during resolution. The unnamed registration is kept in a field and named ones are
+  // keyed by their plain name, so resolving never has to build a resolution key string.
+  private final Map<String, Registration<T, ?>> named;
+  private Registration<T, ?> unnamed;
+
+  // Every registration in the order it was made, for resolving all of them at once.
+  private final List<Registration<T, ?>> registrations;
 
   public TypeProvider(TypeToken<T> providedType) {
+    this(
+      providedType,
+      new HashMap<String, Registration<T, ?>>(),
+      new HashMap<String, Registration<T, ?>>(),
+      null,
+      new ArrayList<Registration<T, ?>>()
+    );
+  }
+
+  private TypeProvider(
+    TypeToken<T> providedType,
+    Map<String, Registration<T, ?>> registry,
+    Map<String, Registration<T, ?>> named,
+    Registration<T, ?> unnamed,
+    List<Registration<T, ?>> registrations) {
+
     if (providedType == null) {
       throw new IllegalArgumentException("Parameter: providedType cannot be null.");
     }
 
     this.providedType = providedType;
+    this.registry = registry;
+    this.named = named;
+    this.unnamed = unnamed;
+    this.registrations = registrations;
+  }
+
+  /**
+   * Returns a read-only copy of this provider. Adding registrations to the copy throws.
+   */
+  public TypeProvider<T> snapshot() {
+    return new TypeProvider<>(
+      providedType,
+      Collections.unmodifiableMap(new HashMap<>(registry)),
+      Collections.unmodifiableMap(new HashMap<>(named)),
+      unnamed,
+      Collections.unmodifiableList(new ArrayList<>(registrations))
+    );
   }
 
   public TypeToken<T> getProvidedType() {
     return this.providedType;
   }
 
+  public TypeKey getProvidedTypeKey() {
+    return this.providedType.getTypeKey();
+  }
+
   public Map<String, Registration<T, ?>> getRegistry() {
     return registry;
   }
 
+  /**
+   * Every registration of the provided type, named or not, in the order they were registered.
+   */
+  public List<Registration<T, ?>> getRegistrations() {
+    return registrations;
+  }
+
   public <TImpl> void addRegistration(Registration<T, TImpl> registration) {
     String key = registration.getResolutionKey();
     if (registry.containsKey(key)) {
@@ -36,13 +91,24 @@ public class TypeProvider<T> {
     }
 
     registry.put(key, registration);
+    registrations.add(registration);
+
+    if (isUnnamed(registration.getName())) {
+      unnamed = registration;
+    } else {
+      named.put(registration.getName(), registration);
+    }
   }
 
   public Registration<T, ?> getRegistration(TypeToken<T> token, String name) {
-    String key = (name != null && !name.equals(""))
-      ? String.format("%s-%s", token.getKey(), name)
-      : token.getKey();
+    return getRegistration(name);
+  }
+
+  public Registration<T, ?> getRegistration(String name) {
+    return isUnnamed(name) ? unnamed : named.get(name);
+  }
 
-    return registry.get(key);
+  private static boolean isUnnamed(String name) {
+    return name == null || name.equals("");
   }
-}
\ No newline at end of file
+}
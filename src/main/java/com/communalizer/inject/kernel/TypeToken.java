@@ -4,36 +4,59 @@ import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 
 public abstract class TypeToken<T> {
+  // The type argument of a TypeToken subclass is fixed by its declaration, so it is extracted once per subclass.
+  private static final ClassValue<TypeToken<?>> DECLARED = new ClassValue<TypeToken<?>>() {
+    @Override
+    protected TypeToken<?> computeValue(Class<?> type) {
+      Type t = type.getGenericSuperclass();
+      if (!(t instanceof ParameterizedType)) {
+        throw new IllegalArgumentException("Type parameter: T must be specified.");
+      }
+
+      return getToken(((ParameterizedType) t).getActualTypeArguments()[0]);
+    }
+  };
+
   private final Type type;
+  private final TypeKey typeKey;
 
   public TypeToken() {
-    this.type = extractType(0);
+    TypeToken<?> declared = DECLARED.get(getClass());
+
+    this.type = declared.type;
+    this.typeKey = declared.typeKey;
   }
 
   private TypeToken(Type type) {
     this.type = type;
+    this.typeKey = TypeKey.of(type);
   }
 
-  private Type extractType(int pos) {
-    Type t = getClass().getGenericSuperclass();
-    if (!(t instanceof ParameterizedType)) {
-      throw new IllegalArgumentException("Type parameter: T must be specified.");
-    }
+  public static <T> TypeToken<T> getToken(Class<T> type) {
+    return getToken((Type) type);
+  }
 
-    ParameterizedType pt = (ParameterizedType) t;
+  /**
+   * Returns the canonical token for a type. Equal types, however they were obtained, get the same token instance.
+   */
+  @SuppressWarnings("unchecked")
+  public static <T> TypeToken<T> getToken(Type type) {
+    TypeKey key = TypeKey.of(type);
+    TypeToken<T> token = (TypeToken<T>) key.getToken();
 
-    return pt.getActualTypeArguments()[pos];
+    // The token is kept by its key, which it references in turn, so both are released together.
+    return (token != null) ? token : (TypeToken<T>) key.internToken(new TypeToken<T>(type) {});
   }
 
-  public static <T> TypeToken<T> getToken(Class<T> type) {
-    return new TypeToken<T>(type) {};
+  public Type getType() {
+    return this.type;
   }
 
-  public static <T> TypeToken<T> getToken(Type type) {
-    return new TypeToken<T>(type) {};
+  public TypeKey getTypeKey() {
+    return this.typeKey;
   }
 
   public String getKey() {
-    return this.type.toString().replace("class ", "").replace("interface ", "");
+    return this.typeKey.toString();
   }
 }
@@ -0,0 +1,172 @@
+package com.communalizer.inject.kernel;
+
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Eagerly constructs the SINGLETON components of a {@link RegistrySnapshot}, so that their cost is paid at startup
+ * rather than by the first request that needs them. The {@link DependencyGraph} decides the order: a singleton is
+ * only constructed once every singleton it depends on, directly or through transient components, has been, and
+ * singletons that don't depend on each other are constructed concurrently on the given {@link Executor}.
+ */
+public class WarmUp {
+  private final RegistrySnapshot snapshot;
+  private final List<Registration<?, ?>> singletons = new ArrayList<>();
+  private final Map<Registration<?, ?>, List<Registration<?, ?>>> dependents = new HashMap<>();
+  private final Map<Registration<?, ?>, Integer> dependencyCounts = new HashMap<>();
+
+  public WarmUp(RegistrySnapshot snapshot) {
+    if (snapshot == null) {
+      throw new IllegalArgumentException("Parameter: snapshot cannot be null.");
+    }
+
+    this.snapshot = snapshot;
+
+    DependencyGraph graph = snapshot.getGraph();
+
+    // The singletons each component reaches without passing through another singleton. Since the graph's order
+    // puts dependencies first, one pass over it is enough.
+    Map<Registration<?, ?>, Set<Registration<?, ?>>> reachable = new HashMap<>();
+
+    for (Registration<?, ?> registration : graph.getOrder()) {
+      DependencyGraph.Node node = graph.getNode(registration);
+      Set<Registration<?, ?>> nearest = new LinkedHashSet<>();
+
+      for (int i = 0; i < node.getParameterCount(); i++) {
+        // Providers construct their dependency later, if at all, so they don't order the warm-up.
+        if (node.getBinding(i) == null || node.getBinding(i).isDeferred()) {
+          continue;
+        }
+
+        for (Registration<?, ?> dependency : node.getDependencies(i)) {
+          // Closed generics are not part of the graph, and their singletons are constructed on first use.
+          if (dependency.getGenericDefinition() != null) {
+            continue;
+          }
+
+          if (dependency.getLifestyle() == Lifestyle.SINGLETON) {
+            nearest.add(dependency);
+          } else {
+            nearest.addAll(reachable.get(dependency));
+          }
+        }
+      }
+
+      reachable.put(registration, nearest);
+
+      if (registration.getLifestyle() == Lifestyle.SINGLETON) {
+        singletons.add(registration);
+        dependents.put(registration, new ArrayList<Registration<?, ?>>());
+        dependencyCounts.put(registration, nearest.size());
+
+        for (Registration<?, ?> dependency : nearest) {
+          dependents.get(dependency).add(registration);
+        }
+      }
+    }
+  }
+
+  /**
+   * Constructs every singleton and waits for all of them. If any construction fails, the singletons that have
+   * not been started yet are skipped, and the first failure is rethrown with the others suppressed.
+   */
+  public WarmUpReport run(Executor executor) {
+    if (executor == null) {
+      throw new IllegalArgumentException("Parameter: executor cannot be null.");
+    }
+
+    Execution execution = new Execution(executor);
+    long start = System.nanoTime();
+
+    for (Registration<?, ?> registration : singletons) {
+      if (dependencyCounts.get(registration) == 0) {
+        execution.schedule(registration);
+      }
+    }
+
+    try {
+      execution.done.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while warming up the container.", e);
+    }
+
+    long elapsed = System.nanoTime() - start;
+
+    if (!execution.failures.isEmpty()) {
+      RuntimeException failure = new RuntimeException("Failed to warm up the container.", execution.failures.get(0));
+
+      for (int i = 1; i < execution.failures.size(); i++) {
+        failure.addSuppressed(execution.failures.get(i));
+      }
+
+      throw failure;
+    }
+
+    return new WarmUpReport(execution.constructionTimes, elapsed);
+  }
+
+  /**
+   * The state of a single run. Each singleton is scheduled once the last of its singleton dependencies has
+   * finished, by whichever thread finished it.
+   */
+  private class Execution {
+    private final Executor executor;
+    private final Map<Registration<?, ?>, AtomicInteger> pending = new HashMap<>();
+    private final Map<String, Long> constructionTimes = Collections.synchronizedMap(new LinkedHashMap<String, Long>());
+    private final List<Throwable> failures = Collections.synchronizedList(new ArrayList<Throwable>());
+    private final CountDownLatch done = new CountDownLatch(singletons.size());
+
+    private Execution(Executor executor) {
+      this.executor = executor;
+
+      for (Map.Entry<Registration<?, ?>, Integer> entry : dependencyCounts.entrySet()) {
+        pending.put(entry.getKey(), new AtomicInteger(entry.getValue()));
+      }
+    }
+
+    private void schedule(final Registration<?, ?> registration) {
+      Runnable task = new Runnable() {
+        @Override
+        public void run() {
+          construct(registration);
+        }
+      };
+
+      try {
+        executor.execute(task);
+      } catch (RejectedExecutionException e) {
+        // Run on this thread instead, which skips the construction but still releases every dependent.
+        failures.add(e);
+        task.run();
+      }
+    }
+
+    private void construct(Registration<?, ?> registration) {
+      try {
+        if (failures.isEmpty()) {
+          long start = System.nanoTime();
+          snapshot.getPlan(registration).create();
+          constructionTimes.put(registration.getKey(), System.nanoTime() - start);
+        }
+      } catch (Throwable e) {
+        failures.add(
+          new RuntimeException(String.format("Failed to construct component '%s'.", registration.getKey()), e)
+        );
+      } finally {
+        for (Registration<?, ?> dependent : dependents.get(registration)) {
+          if (pending.get(dependent).decrementAndGet() == 0) {
+            schedule(dependent);
+          }
+        }
+
+        done.countDown();
+      }
+    }
+  }
+}
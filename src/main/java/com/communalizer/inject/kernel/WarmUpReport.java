@@ -0,0 +1,73 @@
+package com.communalizer.inject.kernel;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The outcome of warming up a container: how long each component took to construct, and how long the warm-up
+ * took as a whole. A component's construction time includes the transient dependencies it created, but not the
+ * singletons it depends on, since those were warmed up before it.
+ */
+public class WarmUpReport {
+  private final Map<String, Long> constructionTimes;
+  private final long elapsedTime;
+
+  public WarmUpReport(Map<String, Long> constructionTimes, long elapsedTime) {
+    if (constructionTimes == null) {
+      throw new IllegalArgumentException("Parameter: constructionTimes cannot be null.");
+    }
+
+    this.constructionTimes = Collections.unmodifiableMap(new LinkedHashMap<>(constructionTimes));
+    this.elapsedTime = elapsedTime;
+  }
+
+  /**
+   * Construction time in nanoseconds, keyed by registration key, in the order the components were constructed.
+   */
+  public Map<String, Long> getConstructionTimes() {
+    return constructionTimes;
+  }
+
+  /**
+   * Wall-clock time of the whole warm-up in nanoseconds.
+   */
+  public long getElapsedTime() {
+    return elapsedTime;
+  }
+
+  /**
+   * Lists the components from slowest to fastest.
+   */
+  @Override
+  public String toString() {
+    List<Map.Entry<String, Long>> entries = new ArrayList<>(constructionTimes.entrySet());
+
+    Collections.sort(entries, new Comparator<Map.Entry<String, Long>>() {
+      @Override
+      public int compare(Map.Entry<String, Long> left, Map.Entry<String, Long> right) {
+        return right.getValue().compareTo(left.getValue());
+      }
+    });
+
+    StringBuilder builder = new StringBuilder(
+      String.format(
+        "Warmed up %d components in %d ms:",
+        constructionTimes.size(),
+        TimeUnit.NANOSECONDS.toMillis(elapsedTime)
+      )
+    );
+
+    for (Map.Entry<String, Long> entry : entries) {
+      builder.append(
+        String.format("\n  %8.3f ms  %s", entry.getValue() / 1000000.0, entry.getKey())
+      );
+    }
+
+    return builder.toString();
+  }
+}
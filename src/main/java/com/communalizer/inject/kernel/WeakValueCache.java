@@ -0,0 +1,70 @@
+package com.communalizer.inject.kernel;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A concurrent map whose values are only weakly referenced, so that caching a value doesn't keep it reachable.
+ * Lookups don't lock or allocate. Entries whose value has been collected are removed on the next insertion, which
+ * also releases their keys, so a key must not reference its own value.
+ */
+final class WeakValueCache<K, V> {
+  private final ConcurrentMap<K, Value<K, V>> entries = new ConcurrentHashMap<>();
+  private final ReferenceQueue<V> collected = new ReferenceQueue<>();
+
+  /**
+   * Returns the value cached for a key, or null if there is none or it has been collected.
+   */
+  V get(K key) {
+    Value<K, V> value = entries.get(key);
+
+    return (value != null) ? value.get() : null;
+  }
+
+  /**
+   * Caches a value unless the key already has one that is still reachable, and returns the cached value.
+   */
+  V intern(K key, V value) {
+    expunge();
+
+    Value<K, V> created = new Value<>(key, value, collected);
+
+    while (true) {
+      Value<K, V> existing = entries.putIfAbsent(key, created);
+
+      if (existing == null) {
+        return value;
+      }
+
+      V current = existing.get();
+
+      if (current != null) {
+        return current;
+      }
+
+      if (entries.replace(key, existing, created)) {
+        return value;
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void expunge() {
+    Value<K, V> value;
+
+    while ((value = (Value<K, V>) collected.poll()) != null) {
+      entries.remove(value.key, value);
+    }
+  }
+
+  private static final class Value<K, V> extends WeakReference<V> {
+    private final K key;
+
+    private Value(K key, V value, ReferenceQueue<V> queue) {
+      super(value, queue);
+      this.key = key;
+    }
+  }
+}
@@ -0,0 +1,30 @@
+package com.communalizer.inject.kernel.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.communalizer.inject.Construction")
+@Label("Construction")
+@Category("Injector")
+@Description("A new instance of a component created by its constructor or factory, including its dependencies")
+@StackTrace(false)
+public class ConstructionEvent extends jdk.jfr.Event {
+  @Label("Type Key")
+  public String typeKey;
+
+  @Label("Registration Name")
+  public String name;
+
+  @Label("Component Type")
+  public String componentType;
+
+  @Label("Implementation")
+  public String implementation;
+
+  @Label("Depth")
+  @Description("Number of constructions the instance was created within, 0 for the component being resolved")
+  public int depth;
+}
@@ -0,0 +1,26 @@
+package com.communalizer.inject.kernel.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.communalizer.inject.ConstructorSelection")
+@Label("Constructor Selection")
+@Category("Injector")
+@Description("Selection of the constructor of a component and binding of its parameters, once per registry")
+@StackTrace(false)
+public class ConstructorSelectionEvent extends jdk.jfr.Event {
+  @Label("Type Key")
+  public String typeKey;
+
+  @Label("Registration Name")
+  public String name;
+
+  @Label("Constructor")
+  public String constructor;
+
+  @Label("Problem")
+  public String problem;
+}
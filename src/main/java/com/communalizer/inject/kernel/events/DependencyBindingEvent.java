@@ -0,0 +1,26 @@
+package com.communalizer.inject.kernel.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.communalizer.inject.DependencyBinding")
+@Label("Dependency Binding")
+@Category("Injector")
+@Description("Binding of an explicit dependency to a constructor parameter while compiling a component")
+@StackTrace(false)
+public class DependencyBindingEvent extends jdk.jfr.Event {
+  @Label("Type Key")
+  public String typeKey;
+
+  @Label("Registration Name")
+  public String name;
+
+  @Label("Parameter")
+  public String parameter;
+
+  @Label("Provider Type")
+  public String providerType;
+}
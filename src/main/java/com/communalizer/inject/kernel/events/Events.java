@@ -0,0 +1,139 @@
+package com.communalizer.inject.kernel.events;
+
+import com.communalizer.inject.kernel.ArgumentFactory;
+import com.communalizer.inject.kernel.Factory;
+import com.communalizer.inject.kernel.Registration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.FlightRecorderListener;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * Emits the container's Java Flight Recorder events. Each event checks whether it is enabled before doing any work,
+ * and the JIT removes the unused event objects, so instrumented code costs next to nothing while no recording
+ * is running.
+ *
+ * Construction events wrap the compiled factory of every component, whenever the plan was compiled, so a recording
+ * started on a running JVM (e.g. with {@code jcmd JFR.start}) records the components resolved from then on. While
+ * no recording is running, the wrapper only reads a flag that a {@link FlightRecorderListener} keeps up to date.
+ * Recordings already running when this class is loaded, such as one started with {@code -XX:StartFlightRecording},
+ * are picked up when the listener is added.
+ */
+public class Events {
+  private static volatile boolean recording;
+
+  static {
+    // Adding a listener doesn't initialize Flight Recorder, so this costs nothing when it is never used. If it is
+    // already initialized, recorderInitialized is called before addListener returns.
+    FlightRecorder.addListener(new FlightRecorderListener() {
+      @Override
+      public void recorderInitialized(FlightRecorder recorder) {
+        update(recorder);
+      }
+
+      @Override
+      public void recordingStateChanged(Recording changed) {
+        update(FlightRecorder.getFlightRecorder());
+      }
+    });
+  }
+
+  private static final ThreadLocal<int[]> DEPTH = new ThreadLocal<int[]>() {
+    @Override
+    protected int[] initialValue() {
+      return new int[1];
+    }
+  };
+
+  private Events() {
+  }
+
+  private static void update(FlightRecorder recorder) {
+    boolean running = false;
+
+    for (Recording current : recorder.getRecordings()) {
+      running |= current.getState() == RecordingState.RUNNING;
+    }
+
+    recording = running;
+  }
+
+  /**
+   * Wraps the factory that creates new instances of a registration so that each construction is recorded as a
+   * {@link ConstructionEvent} while a recording is running.
+   */
+  public static <T> Factory<T> instrumentConstruction(final Registration<T, ?> registration, final Factory<T> factory) {
+    return new RecordedConstruction<T>(registration) {
+      @Override
+      protected T construct(Object[] arguments) {
+        return factory.create();
+      }
+    };
+  }
+
+  /**
+   * Wraps a factory that creates new instances of a registration from the caller's arguments, such as a method of a
+   * typed factory, the same way.
+   */
+  public static <T> ArgumentFactory<T> instrumentConstruction(
+    final Registration<T, ?> registration,
+    final ArgumentFactory<T> factory) {
+
+    return new RecordedConstruction<T>(registration) {
+      @Override
+      protected T construct(Object[] arguments) {
+        return factory.create(arguments);
+      }
+    };
+  }
+
+  private abstract static class RecordedConstruction<T> implements Factory<T>, ArgumentFactory<T> {
+    private final Registration<T, ?> registration;
+    private final String typeKey;
+    private final String componentType;
+    private final String implementation;
+
+    private RecordedConstruction(Registration<T, ?> registration) {
+      this.registration = registration;
+      this.typeKey = registration.getTypeKey().toString();
+      this.componentType = registration.getComponent().getComponentType().name();
+      this.implementation = registration.getComponent().getReferencedType().getTypeName();
+    }
+
+    protected abstract T construct(Object[] arguments);
+
+    @Override
+    public T create() {
+      return create(null);
+    }
+
+    @Override
+    public T create(Object[] arguments) {
+      if (!recording) {
+        return construct(arguments);
+      }
+
+      ConstructionEvent event = new ConstructionEvent();
+
+      if (!event.isEnabled()) {
+        return construct(arguments);
+      }
+
+      int[] depth = DEPTH.get();
+
+      event.typeKey = typeKey;
+      event.name = registration.getName();
+      event.componentType = componentType;
+      event.implementation = implementation;
+      event.depth = depth[0]++;
+      event.begin();
+
+      try {
+        return construct(arguments);
+      } finally {
+        depth[0]--;
+        event.commit();
+      }
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package com.communalizer.inject.kernel.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("com.communalizer.inject.Resolve")
+@Label("Resolve")
+@Category("Injector")
+@Description("A component resolved through the container, including everything constructed for it")
+@StackTrace(false)
+public class ResolveEvent extends jdk.jfr.Event {
+  @Label("Type Key")
+  public String typeKey;
+
+  @Label("Registration Name")
+  public String name;
+}
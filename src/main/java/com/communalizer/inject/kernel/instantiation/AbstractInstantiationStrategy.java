@@ -0,0 +1,33 @@
+package com.communalizer.inject.kernel.instantiation;
+
+import com.communalizer.inject.kernel.Factory;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Compiles a constructor by evaluating every argument {@link Factory} into an array and handing it to the
+ * {@link Instantiator} returned by {@link #bind(Constructor)}.
+ */
+public abstract class AbstractInstantiationStrategy implements InstantiationStrategy {
+  @Override
+  public <T> Factory<T> compile(Constructor<T> constructor, final Factory<?>[] arguments) {
+    if (arguments == null) {
+      throw new IllegalArgumentException("Parameter: arguments cannot be null.");
+    }
+
+    final Instantiator<T> instantiator = bind(constructor);
+
+    return new Factory<T>() {
+      @Override
+      public T create() {
+        Object[] initArgs = new Object[arguments.length];
+
+        for (int i = 0; i < arguments.length; i++) {
+          initArgs[i] = arguments[i].create();
+        }
+
+        return instantiator.instantiate(initArgs);
+      }
+    };
+  }
+}
@@ -0,0 +1,419 @@
+package com.communalizer.inject.kernel.instantiation;
+
+import com.communalizer.inject.kernel.Factory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Writes the class file of a {@link Factory} implementation equivalent to:
+ *
+ * <pre>
+ * final class GeneratedFactory implements Factory {
+ *   private final Factory[] arguments;
+ *
+ *   public GeneratedFactory(Factory[] arguments) {
+ *     this.arguments = arguments;
+ *   }
+ *
+ *   public Object create() {
+ *     return new FooImpl((Dep1) arguments[0].create(), (Dep2) arguments[1].create());
+ *   }
+ * }
+ * </pre>
+ *
+ * or, for an {@link Instantiator}, to:
+ *
+ * <pre>
+ * final class GeneratedInstantiator implements Instantiator {
+ *   public Object instantiate(Object[] args) {
+ *     return new FooImpl((Dep1) args[0], (Dep2) args[1]);
+ *   }
+ * }
+ * </pre>
+ *
+ * The code has no branches, so no stack map frames are needed. Constructors with primitive parameters are not
+ * supported, since arguments are never unboxed.
+ */
+class FactoryClassWriter {
+  private static final int CLASS_VERSION = 52;
+
+  private static final int ACC_PUBLIC = 0x0001;
+  private static final int ACC_PRIVATE = 0x0002;
+  private static final int ACC_FINAL = 0x0010;
+  private static final int ACC_SUPER = 0x0020;
+
+  private static final int TAG_UTF8 = 1;
+  private static final int TAG_CLASS = 7;
+  private static final int TAG_FIELDREF = 9;
+  private static final int TAG_METHODREF = 10;
+  private static final int TAG_INTERFACE_METHODREF = 11;
+  private static final int TAG_NAME_AND_TYPE = 12;
+
+  private static final int ALOAD_0 = 0x2a;
+  private static final int ALOAD_1 = 0x2b;
+  private static final int ICONST_0 = 0x03;
+  private static final int BIPUSH = 0x10;
+  private static final int SIPUSH = 0x11;
+  private static final int AALOAD = 0x32;
+  private static final int DUP = 0x59;
+  private static final int ARETURN = 0xb0;
+  private static final int RETURN = 0xb1;
+  private static final int GETFIELD = 0xb4;
+  private static final int PUTFIELD = 0xb5;
+  private static final int INVOKESPECIAL = 0xb7;
+  private static final int INVOKEINTERFACE = 0xb9;
+  private static final int NEW = 0xbb;
+  private static final int CHECKCAST = 0xc0;
+
+  private static final String OBJECT = "java/lang/Object";
+  private static final String FACTORY = Factory.class.getName().replace('.', '/');
+  private static final String FACTORY_ARRAY = "[L" + FACTORY + ";";
+  private static final String INSTANTIATOR = Instantiator.class.getName().replace('.', '/');
+  private static final String OBJECT_ARRAY = "[L" + OBJECT + ";";
+
+  private final ByteArrayOutputStream pool = new ByteArrayOutputStream();
+  private final DataOutputStream poolOut = new DataOutputStream(pool);
+  private final Map<String, Integer> entries = new HashMap<>();
+  private int poolCount = 1;
+
+  private final String className;
+  private final Constructor<?> constructor;
+
+  FactoryClassWriter(String className, Constructor<?> constructor) {
+    this.className = className;
+    this.constructor = constructor;
+  }
+
+  byte[] write() {
+    try {
+      return writeClass();
+    } catch (IOException e) {
+      // Only thrown by the underlying stream, which is in-memory.
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Writes an {@link Instantiator} with a no-arg constructor instead of a {@link Factory}.
+   */
+  byte[] writeInstantiator() {
+    try {
+      return writeInstantiatorClass();
+    } catch (IOException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private byte[] writeInstantiatorClass() throws IOException {
+    int thisClass = classRef(className);
+    int superClass = classRef(OBJECT);
+    int instantiatorClass = classRef(INSTANTIATOR);
+    int code = utf8("Code");
+
+    byte[] init = writeInit(-1);
+    byte[] instantiate = writeInstantiate();
+
+    int initName = utf8("<init>");
+    int initDescriptor = utf8("()V");
+    int instantiateName = utf8("instantiate");
+    int instantiateDescriptor = utf8("(" + OBJECT_ARRAY + ")Ljava/lang/Object;");
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+
+    writeHeader(out, thisClass, superClass, instantiatorClass);
+
+    out.writeShort(0);
+
+    out.writeShort(2);
+    writeMethod(out, initName, initDescriptor, code, 1, 1, init);
+    writeMethod(
+      out, instantiateName, instantiateDescriptor, code, constructor.getParameterTypes().length + 4, 2, instantiate
+    );
+
+    out.writeShort(0);
+    out.flush();
+
+    return bytes.toByteArray();
+  }
+
+  private void writeHeader(DataOutputStream out, int thisClass, int superClass, int interfaceClass)
+    throws IOException {
+
+    out.writeInt(0xCAFEBABE);
+    out.writeShort(0);
+    out.writeShort(CLASS_VERSION);
+
+    out.writeShort(poolCount);
+    poolOut.flush();
+    pool.writeTo(out);
+
+    out.writeShort(ACC_PUBLIC | ACC_FINAL | ACC_SUPER);
+    out.writeShort(thisClass);
+    out.writeShort(superClass);
+
+    out.writeShort(1);
+    out.writeShort(interfaceClass);
+  }
+
+  private byte[] writeClass() throws IOException {
+    int thisClass = classRef(className);
+    int superClass = classRef(OBJECT);
+    int factoryClass = classRef(FACTORY);
+    int argumentsName = utf8("arguments");
+    int argumentsDescriptor = utf8(FACTORY_ARRAY);
+    int argumentsField = memberRef(TAG_FIELDREF, className, "arguments", FACTORY_ARRAY);
+    int code = utf8("Code");
+
+    byte[] init = writeInit(argumentsField);
+    byte[] create = writeCreate(argumentsField);
+
+    int initName = utf8("<init>");
+    int initDescriptor = utf8("(" + FACTORY_ARRAY + ")V");
+    int createName = utf8("create");
+    int createDescriptor = utf8("()Ljava/lang/Object;");
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream out = new DataOutputStream(bytes);
+
+    writeHeader(out, thisClass, superClass, factoryClass);
+
+    out.writeShort(1);
+    out.writeShort(ACC_PRIVATE | ACC_FINAL);
+    out.writeShort(argumentsName);
+    out.writeShort(argumentsDescriptor);
+    out.writeShort(0);
+
+    out.writeShort(2);
+    writeMethod(out, initName, initDescriptor, code, 2, 2, init);
+    writeMethod(out, createName, createDescriptor, code, constructor.getParameterTypes().length + 4, 1, create);
+
+    out.writeShort(0);
+    out.flush();
+
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Writes a constructor that stores its argument in the given field, or only calls the super constructor if the
+   * field is negative.
+   */
+  private byte[] writeInit(int argumentsField) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream code = new DataOutputStream(bytes);
+
+    code.writeByte(ALOAD_0);
+    code.writeByte(INVOKESPECIAL);
+    code.writeShort(memberRef(TAG_METHODREF, OBJECT, "<init>", "()V"));
+
+    if (argumentsField >= 0) {
+      code.writeByte(ALOAD_0);
+      code.writeByte(ALOAD_1);
+      code.writeByte(PUTFIELD);
+      code.writeShort(argumentsField);
+    }
+
+    code.writeByte(RETURN);
+    code.flush();
+
+    return bytes.toByteArray();
+  }
+
+  private byte[] writeCreate(int argumentsField) throws IOException {
+    Class<?>[] parameterTypes = constructor.getParameterTypes();
+    String implementation = internalName(constructor.getDeclaringClass());
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream code = new DataOutputStream(bytes);
+
+    code.writeByte(NEW);
+    code.writeShort(classRef(implementation));
+    code.writeByte(DUP);
+
+    int create = memberRef(TAG_INTERFACE_METHODREF, FACTORY, "create", "()Ljava/lang/Object;");
+
+    for (int i = 0; i < parameterTypes.length; i++) {
+      code.writeByte(ALOAD_0);
+      code.writeByte(GETFIELD);
+      code.writeShort(argumentsField);
+      writeIndex(code, i);
+      code.writeByte(AALOAD);
+      code.writeByte(INVOKEINTERFACE);
+      code.writeShort(create);
+      code.writeByte(1);
+      code.writeByte(0);
+
+      if (parameterTypes[i] != Object.class) {
+        code.writeByte(CHECKCAST);
+        code.writeShort(classRef(internalName(parameterTypes[i])));
+      }
+    }
+
+    code.writeByte(INVOKESPECIAL);
+    code.writeShort(memberRef(TAG_METHODREF, implementation, "<init>", descriptor(parameterTypes)));
+    code.writeByte(ARETURN);
+    code.flush();
+
+    return bytes.toByteArray();
+  }
+
+  private byte[] writeInstantiate() throws IOException {
+    Class<?>[] parameterTypes = constructor.getParameterTypes();
+    String implementation = internalName(constructor.getDeclaringClass());
+
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    DataOutputStream code = new DataOutputStream(bytes);
+
+    code.writeByte(NEW);
+    code.writeShort(classRef(implementation));
+    code.writeByte(DUP);
+
+    for (int i = 0; i < parameterTypes.length; i++) {
+      code.writeByte(ALOAD_1);
+      writeIndex(code, i);
+      code.writeByte(AALOAD);
+
+      if (parameterTypes[i] != Object.class) {
+        code.writeByte(CHECKCAST);
+        code.writeShort(classRef(internalName(parameterTypes[i])));
+      }
+    }
+
+    code.writeByte(INVOKESPECIAL);
+    code.writeShort(memberRef(TAG_METHODREF, implementation, "<init>", descriptor(parameterTypes)));
+    code.writeByte(ARETURN);
+    code.flush();
+
+    return bytes.toByteArray();
+  }
+
+  private static void writeIndex(DataOutputStream code, int index) throws IOException {
+    if (index <= 5) {
+      code.writeByte(ICONST_0 + index);
+    } else if (index <= Byte.MAX_VALUE) {
+      code.writeByte(BIPUSH);
+      code.writeByte(index);
+    } else {
+      code.writeByte(SIPUSH);
+      code.writeShort(index);
+    }
+  }
+
+  private static void writeMethod(
+    DataOutputStream out,
+    int name,
+    int descriptor,
+    int codeAttribute,
+    int maxStack,
+    int maxLocals,
+    byte[] code) throws IOException {
+
+    out.writeShort(ACC_PUBLIC);
+    out.writeShort(name);
+    out.writeShort(descriptor);
+    out.writeShort(1);
+
+    out.writeShort(codeAttribute);
+    out.writeInt(12 + code.length);
+    out.writeShort(maxStack);
+    out.writeShort(maxLocals);
+    out.writeInt(code.length);
+    out.write(code);
+    out.writeShort(0);
+    out.writeShort(0);
+  }
+
+  private int utf8(String value) throws IOException {
+    String key = "U" + value;
+    Integer index = entries.get(key);
+
+    if (index == null) {
+      poolOut.writeByte(TAG_UTF8);
+      poolOut.writeUTF(value);
+      index = register(key);
+    }
+
+    return index;
+  }
+
+  private int classRef(String internalName) throws IOException {
+    String key = "C" + internalName;
+    Integer index = entries.get(key);
+
+    if (index == null) {
+      int name = utf8(internalName);
+
+      poolOut.writeByte(TAG_CLASS);
+      poolOut.writeShort(name);
+      index = register(key);
+    }
+
+    return index;
+  }
+
+  private int memberRef(int tag, String owner, String name, String descriptor) throws IOException {
+    String key = tag + owner + "." + name + descriptor;
+    Integer index = entries.get(key);
+
+    if (index == null) {
+      int ownerClass = classRef(owner);
+      int nameIndex = utf8(name);
+      int descriptorIndex = utf8(descriptor);
+
+      String natKey = "N" + name + descriptor;
+      Integer nameAndType = entries.get(natKey);
+
+      if (nameAndType == null) {
+        poolOut.writeByte(TAG_NAME_AND_TYPE);
+        poolOut.writeShort(nameIndex);
+        poolOut.writeShort(descriptorIndex);
+        nameAndType = register(natKey);
+      }
+
+      poolOut.writeByte(tag);
+      poolOut.writeShort(ownerClass);
+      poolOut.writeShort(nameAndType);
+      index = register(key);
+    }
+
+    return index;
+  }
+
+  private int register(String key) {
+    int index = poolCount++;
+    entries.put(key, index);
+
+    return index;
+  }
+
+  private static String internalName(Class<?> type) {
+    if (type.isArray()) {
+      return descriptor(type);
+    }
+
+    return type.getName().replace('.', '/');
+  }
+
+  private static String descriptor(Class<?>[] parameterTypes) {
+    StringBuilder builder = new StringBuilder("(");
+
+    for (Class<?> parameterType : parameterTypes) {
+      builder.append(descriptor(parameterType));
+    }
+
+    return builder.append(")V").toString();
+  }
+
+  private static String descriptor(Class<?> type) {
+    if (type.isArray()) {
+      return type.getName().replace('.', '/');
+    }
+
+    return "L" + type.getName().replace('.', '/') + ";";
+  }
+}
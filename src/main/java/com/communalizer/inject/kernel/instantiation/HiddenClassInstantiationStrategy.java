@@ -0,0 +1,129 @@
+package com.communalizer.inject.kernel.instantiation;
+
+import com.communalizer.inject.kernel.Factory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+
+/**
+ * Compiles every constructor into a small hidden class (see {@link MethodHandles.Lookup#defineHiddenClass}) whose
+ * {@code create()} directly calls {@code new FooImpl((Dep) arguments[0].create(), ...)}. When the arguments are
+ * themselves compiled factories, resolving a graph becomes a chain of monomorphic calls with no reflection at all.
+ * Nothing is written to disk, and the classes are unloaded together with the plans that use them.
+ *
+ * Constructors that the generated class cannot call directly (non-public types, types from a class loader this
+ * library cannot see, primitive parameters, or checked exceptions, which the generated class would let through
+ * unwrapped) are compiled by the {@link MethodHandleInstantiationStrategy} instead.
+ */
+public class HiddenClassInstantiationStrategy extends MethodHandleInstantiationStrategy {
+  private static final String CLASS_NAME =
+    HiddenClassInstantiationStrategy.class.getPackage().getName().replace('.', '/') + "/GeneratedFactory";
+
+  private static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(void.class, Factory[].class);
+  private static final MethodType NO_ARG_CONSTRUCTOR_TYPE = MethodType.methodType(void.class);
+
+  /**
+   * Binds the constructor to a generated {@link Instantiator} that passes the argument array straight to it.
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> Instantiator<T> bind(Constructor<T> constructor) {
+    if (constructor == null) {
+      throw new IllegalArgumentException("Parameter: constructor cannot be null.");
+    }
+
+    if (!canGenerate(constructor)) {
+      return super.bind(constructor);
+    }
+
+    byte[] bytes = new FactoryClassWriter(CLASS_NAME, constructor).writeInstantiator();
+
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+
+      return (Instantiator<T>) lookup.findConstructor(lookup.lookupClass(), NO_ARG_CONSTRUCTOR_TYPE).invoke();
+    } catch (Throwable t) {
+      throw new RuntimeException(
+        String.format("Could not generate an instantiator for: %s.", constructor.getDeclaringClass().getName()),
+        t
+      );
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> Factory<T> compile(Constructor<T> constructor, Factory<?>[] arguments) {
+    if (constructor == null) {
+      throw new IllegalArgumentException("Parameter: constructor cannot be null.");
+    }
+
+    if (arguments == null) {
+      throw new IllegalArgumentException("Parameter: arguments cannot be null.");
+    }
+
+    if (!canGenerate(constructor)) {
+      return super.compile(constructor, arguments);
+    }
+
+    byte[] bytes = new FactoryClassWriter(CLASS_NAME, constructor).write();
+
+    try {
+      MethodHandles.Lookup lookup = MethodHandles.lookup().defineHiddenClass(bytes, true);
+
+      return (Factory<T>) lookup.findConstructor(lookup.lookupClass(), CONSTRUCTOR_TYPE)
+        .invoke(arguments.clone());
+    } catch (Throwable t) {
+      throw new RuntimeException(
+        String.format("Could not generate a factory for: %s.", constructor.getDeclaringClass().getName()),
+        t
+      );
+    }
+  }
+
+  private static boolean canGenerate(Constructor<?> constructor) {
+    if (!Modifier.isPublic(constructor.getModifiers()) || !isVisible(constructor.getDeclaringClass())) {
+      return false;
+    }
+
+    for (Class<?> parameterType : constructor.getParameterTypes()) {
+      if (parameterType.isPrimitive() || !isVisible(parameterType)) {
+        return false;
+      }
+    }
+
+    for (Class<?> exceptionType : constructor.getExceptionTypes()) {
+      if (!RuntimeException.class.isAssignableFrom(exceptionType) && !Error.class.isAssignableFrom(exceptionType)) {
+        return false;
+      }
+    }
+
+    return true;
+  }
+
+  /**
+   * Whether the generated class, defined in this library's package and class loader, can link against a type.
+   */
+  private static boolean isVisible(Class<?> type) {
+    while (type.isArray()) {
+      type = type.getComponentType();
+    }
+
+    if (type.isPrimitive()) {
+      return true;
+    }
+
+    for (Class<?> c = type; c != null; c = c.getEnclosingClass()) {
+      if (!Modifier.isPublic(c.getModifiers())) {
+        return false;
+      }
+    }
+
+    try {
+      return Class.forName(type.getName(), false, HiddenClassInstantiationStrategy.class.getClassLoader()) == type;
+    } catch (ClassNotFoundException e) {
+      return false;
+    }
+  }
+}
@@ -0,0 +1,16 @@
+package com.communalizer.inject.kernel.instantiation;
+
+import com.communalizer.inject.kernel.Factory;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Binds a {@link Constructor} to an {@link Instantiator}, or compiles it together with the factories of its
+ * arguments into a single {@link Factory}. Both happen once, when a resolution plan is compiled, so strategies are
+ * free to do expensive preparation work here.
+ */
+public interface InstantiationStrategy {
+  <T> Instantiator<T> bind(Constructor<T> constructor);
+
+  <T> Factory<T> compile(Constructor<T> constructor, Factory<?>[] arguments);
+}
@@ -0,0 +1,10 @@
+package com.communalizer.inject.kernel.instantiation;
+
+/**
+ * Creates instances through a single, pre-bound constructor. Runtime exceptions and errors thrown by the constructor
+ * propagate as they are, while checked exceptions are wrapped in a {@link RuntimeException}, whatever the strategy
+ * that bound it.
+ */
+public interface Instantiator<T> {
+  T instantiate(Object[] args);
+}
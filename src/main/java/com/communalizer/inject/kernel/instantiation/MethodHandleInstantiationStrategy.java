@@ -0,0 +1,52 @@
+package com.communalizer.inject.kernel.instantiation;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+
+/**
+ * Instantiates components through a {@link MethodHandle} bound to the constructor once. The handle is adapted to
+ * take a spread argument array, which lets the JIT inline the constructor call instead of going through the
+ * access checks and exception wrapping of {@link Constructor#newInstance(Object...)}.
+ *
+ * Constructors that cannot be unreflected through the public lookup (e.g. public constructors of non-public
+ * classes) are handed to the {@link ReflectionInstantiationStrategy} instead.
+ */
+public class MethodHandleInstantiationStrategy extends AbstractInstantiationStrategy {
+  private static final MethodType SPREAD_TYPE = MethodType.methodType(Object.class, Object[].class);
+
+  private final InstantiationStrategy fallback = new ReflectionInstantiationStrategy();
+
+  @Override
+  public <T> Instantiator<T> bind(Constructor<T> constructor) {
+    if (constructor == null) {
+      throw new IllegalArgumentException("Parameter: constructor cannot be null.");
+    }
+
+    final MethodHandle handle;
+
+    try {
+      handle = MethodHandles.publicLookup()
+        .unreflectConstructor(constructor)
+        .asSpreader(Object[].class, constructor.getParameterTypes().length)
+        .asType(SPREAD_TYPE);
+    } catch (IllegalAccessException e) {
+      return fallback.bind(constructor);
+    }
+
+    return new Instantiator<T>() {
+      @Override
+      @SuppressWarnings("unchecked")
+      public T instantiate(Object[] args) {
+        try {
+          return (T) handle.invokeExact(args);
+        } catch (RuntimeException | Error e) {
+          throw e;
+        } catch (Throwable t) {
+          throw new RuntimeException(t);
+        }
+      }
+    };
+  }
+}
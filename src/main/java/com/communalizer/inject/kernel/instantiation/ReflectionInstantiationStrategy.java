@@ -0,0 +1,40 @@
+package com.communalizer.inject.kernel.instantiation;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Instantiates components through {@link Constructor#newInstance(Object...)}. Exceptions thrown by the constructor
+ * are unwrapped from the {@link InvocationTargetException} it reports them in.
+ */
+public class ReflectionInstantiationStrategy extends AbstractInstantiationStrategy {
+  @Override
+  public <T> Instantiator<T> bind(final Constructor<T> constructor) {
+    if (constructor == null) {
+      throw new IllegalArgumentException("Parameter: constructor cannot be null.");
+    }
+
+    return new Instantiator<T>() {
+      @Override
+      public T instantiate(Object[] args) {
+        try {
+          return constructor.newInstance(args);
+        } catch (InvocationTargetException e) {
+          Throwable cause = e.getCause();
+
+          if (cause instanceof RuntimeException) {
+            throw (RuntimeException) cause;
+          }
+
+          if (cause instanceof Error) {
+            throw (Error) cause;
+          }
+
+          throw new RuntimeException(cause);
+        } catch (ReflectiveOperationException e) {
+          throw new RuntimeException(e);
+        }
+      }
+    };
+  }
+}
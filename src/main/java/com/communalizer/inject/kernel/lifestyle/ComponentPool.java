@@ -0,0 +1,120 @@
+package com.communalizer.inject.kernel.lifestyle;
+
+import com.communalizer.inject.kernel.Factory;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, lock-free pool of idle instances of a POOLED component. Every slot holds either an idle instance or
+ * null, and instances are taken and returned with a single compare-and-set on a slot. Each thread starts probing at
+ * a different slot, so threads working the pool concurrently rarely compete for the same one.
+ *
+ * When the pool is empty a new instance is created, and when it is full a returned instance is discarded, so the
+ * pool never blocks. Discarded instances that implement {@link AutoCloseable} are closed.
+ */
+public class ComponentPool<T> {
+  /**
+   * The size of pools registered without an explicit size.
+   */
+  public static final int DEFAULT_SIZE = Runtime.getRuntime().availableProcessors() * 2;
+
+  private final AtomicReferenceArray<T> slots;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder returns = new LongAdder();
+  private final LongAdder discards = new LongAdder();
+
+  public ComponentPool(int size) {
+    if (size < 1) {
+      throw new IllegalArgumentException("Parameter: size must be at least 1.");
+    }
+
+    this.slots = new AtomicReferenceArray<>(size);
+  }
+
+  /**
+   * Takes an idle instance, or creates a new one through the factory if there is none.
+   */
+  public T acquire(Factory<T> factory) {
+    T instance = poll();
+
+    return (instance != null) ? instance : factory.create();
+  }
+
+  /**
+   * Takes an idle instance, or returns null if there is none.
+   */
+  public T poll() {
+    int size = slots.length();
+    int index = probe(size);
+
+    for (int i = 0; i < size; i++) {
+      T instance = slots.get(index);
+
+      if (instance != null && slots.compareAndSet(index, instance, null)) {
+        hits.increment();
+        return instance;
+      }
+
+      index = (index + 1 < size) ? index + 1 : 0;
+    }
+
+    misses.increment();
+    return null;
+  }
+
+  /**
+   * Returns an instance to the pool. Returns false if the pool was full and the instance was discarded. An
+   * instance must not be used after it has been released, nor be released twice.
+   */
+  public boolean release(T instance) {
+    if (instance == null) {
+      throw new IllegalArgumentException("Parameter: instance cannot be null.");
+    }
+
+    int size = slots.length();
+    int index = probe(size);
+
+    for (int i = 0; i < size; i++) {
+      if (slots.get(index) == null && slots.compareAndSet(index, null, instance)) {
+        returns.increment();
+        return true;
+      }
+
+      index = (index + 1 < size) ? index + 1 : 0;
+    }
+
+    discards.increment();
+
+    if (instance instanceof AutoCloseable) {
+      try {
+        ((AutoCloseable) instance).close();
+      } catch (Exception e) {
+        throw new RuntimeException("Failed to dispose pooled instance.", e);
+      }
+    }
+
+    return false;
+  }
+
+  public int getSize() {
+    return slots.length();
+  }
+
+  public PoolStatistics getStatistics() {
+    int idle = 0;
+
+    for (int i = 0; i < slots.length(); i++) {
+      if (slots.get(i) != null) {
+        idle++;
+      }
+    }
+
+    return new PoolStatistics(slots.length(), idle, hits.sum(), misses.sum(), returns.sum(), discards.sum());
+  }
+
+  private static int probe(int size) {
+    return (int) (Thread.currentThread().getId() % size);
+  }
+}
@@ -0,0 +1,53 @@
+package com.communalizer.inject.kernel.lifestyle;
+
+import com.communalizer.inject.kernel.Factory;
+
+/**
+ * Holds a lazily created instance. Once the instance exists, {@link #get(Factory)} is a single volatile read;
+ * until then, concurrent callers are serialized so that the instance is only ever created once. A closed holder no
+ * longer creates its instance, so an instance cannot be created after its scope has disposed of the others.
+ */
+public class InstanceHolder<T> {
+  private volatile T instance;
+
+  // Guarded by this.
+  private boolean closed;
+
+  public T get(Factory<T> factory) {
+    T current = instance;
+
+    if (current == null) {
+      synchronized (this) {
+        current = instance;
+
+        if (current == null) {
+          if (closed) {
+            throw new IllegalStateException("The scope has been closed.");
+          }
+
+          current = factory.create();
+          instance = current;
+        }
+      }
+    }
+
+    return current;
+  }
+
+  /**
+   * Returns the instance if it has been created, or null.
+   */
+  public T peek() {
+    return instance;
+  }
+
+  /**
+   * Closes the holder and returns its instance, or null if it has none. If the instance is being created, waits
+   * for it, so that it is returned as well.
+   */
+  public synchronized T close() {
+    closed = true;
+
+    return instance;
+  }
+}
@@ -0,0 +1,9 @@
+package com.communalizer.inject.kernel.lifestyle;
+
+public enum Lifestyle {
+  TRANSIENT,
+  SINGLETON,
+  PER_THREAD,
+  SCOPED,
+  POOLED
+}
@@ -0,0 +1,82 @@
+package com.communalizer.inject.kernel.lifestyle;
+
+import com.communalizer.inject.kernel.Factory;
+import com.communalizer.inject.kernel.Registration;
+
+/**
+ * Wraps the compiled {@link Factory} of a registration so that it honours the registration's {@link Lifestyle}.
+ */
+public class Lifestyles {
+  private Lifestyles() {
+  }
+
+  public static <T> Factory<T> apply(
+    final Registration<T, ?> registration,
+    final Factory<T> factory,
+    final Scope root) {
+
+    if (registration == null) {
+      throw new IllegalArgumentException("Parameter: registration cannot be null.");
+    }
+
+    if (factory == null) {
+      throw new IllegalArgumentException("Parameter: factory cannot be null.");
+    }
+
+    if (root == null) {
+      throw new IllegalArgumentException("Parameter: root cannot be null.");
+    }
+
+    switch (registration.getLifestyle()) {
+      case SINGLETON:
+        final InstanceHolder<T> holder = root.getHolder(registration);
+
+        return new Factory<T>() {
+          @Override
+          public T create() {
+            return holder.get(factory);
+          }
+        };
+
+      case PER_THREAD:
+        final ThreadLocal<T> local = root.getThreadLocal(registration);
+
+        return new Factory<T>() {
+          @Override
+          public T create() {
+            T instance = local.get();
+
+            if (instance == null) {
+              instance = factory.create();
+              local.set(instance);
+            }
+
+            return instance;
+          }
+        };
+
+      case SCOPED:
+        return new Factory<T>() {
+          @Override
+          public T create() {
+            Scope scope = Scope.current();
+
+            return (scope != null ? scope : root).getHolder(registration).get(factory);
+          }
+        };
+
+      case POOLED:
+        final ComponentPool<T> pool = root.getPool(registration);
+
+        return new Factory<T>() {
+          @Override
+          public T create() {
+            return pool.acquire(factory);
+          }
+        };
+
+      default:
+        return factory;
+    }
+  }
+}
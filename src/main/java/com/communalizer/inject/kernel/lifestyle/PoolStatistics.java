@@ -0,0 +1,75 @@
+package com.communalizer.inject.kernel.lifestyle;
+
+/**
+ * The usage of a {@link ComponentPool}, copied at a point in time.
+ */
+public class PoolStatistics {
+  private final int size;
+  private final int idle;
+  private final long hits;
+  private final long misses;
+  private final long returns;
+  private final long discards;
+
+  public PoolStatistics(int size, int idle, long hits, long misses, long returns, long discards) {
+    this.size = size;
+    this.idle = idle;
+    this.hits = hits;
+    this.misses = misses;
+    this.returns = returns;
+    this.discards = discards;
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Instances waiting in the pool.
+   */
+  public int getIdle() {
+    return idle;
+  }
+
+  /**
+   * Resolutions served by an idle instance.
+   */
+  public long getHits() {
+    return hits;
+  }
+
+  /**
+   * Resolutions that had to create a new instance.
+   */
+  public long getMisses() {
+    return misses;
+  }
+
+  /**
+   * Released instances kept for reuse.
+   */
+  public long getReturns() {
+    return returns;
+  }
+
+  /**
+   * Released instances dropped because the pool was full.
+   */
+  public long getDiscards() {
+    return discards;
+  }
+
+  public double getHitRate() {
+    long total = hits + misses;
+
+    return (total == 0) ? 0 : (double) hits / total;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+      "size=%d idle=%d hits=%d misses=%d returns=%d discards=%d",
+      size, idle, hits, misses, returns, discards
+    );
+  }
+}
@@ -0,0 +1,273 @@
+package com.communalizer.inject.kernel.lifestyle;
+
+import com.communalizer.inject.kernel.Factory;
+import com.communalizer.inject.kernel.Registration;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Storage for the instances of registrations whose lifestyle ties them to a scope. A container's root scope lives
+ * as long as the container and also stores its SINGLETON and PER_THREAD state, so that instances survive the
+ * registry being republished.
+ *
+ * SCOPED instances are looked up in the scope that is current on the resolving thread, or in the root scope when
+ * no scope has been entered.
+ */
+public class Scope {
+  private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+  // The maps are allocated on first use, so creating a short-lived scope that never stores anything is cheap.
+  private volatile ConcurrentMap<Registration<?, ?>, InstanceHolder<?>> holders;
+  private volatile ConcurrentMap<Registration<?, ?>, ThreadLocal<?>> threadLocals;
+  private volatile ConcurrentMap<Registration<?, ?>, ComponentPool<?>> pools;
+  private volatile boolean closed;
+
+  @SuppressWarnings("unchecked")
+  public <T> InstanceHolder<T> getHolder(Registration<T, ?> registration) {
+    if (closed) {
+      throw new IllegalStateException("The scope has been closed.");
+    }
+
+    ConcurrentMap<Registration<?, ?>, InstanceHolder<?>> holders = this.holders;
+
+    if (holders == null) {
+      synchronized (this) {
+        if (closed) {
+          throw new IllegalStateException("The scope has been closed.");
+        }
+
+        holders = this.holders;
+
+        if (holders == null) {
+          holders = new ConcurrentHashMap<>();
+          this.holders = holders;
+        }
+      }
+    }
+
+    InstanceHolder<T> holder = (InstanceHolder<T>) holders.get(registration);
+
+    if (holder == null) {
+      InstanceHolder<T> created = new InstanceHolder<>();
+
+      holder = (InstanceHolder<T>) holders.putIfAbsent(registration, created);
+      if (holder == null) {
+        holder = created;
+      }
+
+      // A holder added after close() started draining the holders would never be closed.
+      if (closed) {
+        throw new IllegalStateException("The scope has been closed.");
+      }
+    }
+
+    return holder;
+  }
+
+  @SuppressWarnings("unchecked")
+  public <T> ThreadLocal<T> getThreadLocal(Registration<T, ?> registration) {
+    ConcurrentMap<Registration<?, ?>, ThreadLocal<?>> threadLocals = this.threadLocals;
+
+    if (threadLocals == null) {
+      synchronized (this) {
+        threadLocals = this.threadLocals;
+
+        if (threadLocals == null) {
+          threadLocals = new ConcurrentHashMap<>();
+          this.threadLocals = threadLocals;
+        }
+      }
+    }
+
+    ThreadLocal<T> local = (ThreadLocal<T>) threadLocals.get(registration);
+
+    if (local == null) {
+      ThreadLocal<T> created = new ThreadLocal<>();
+
+      local = (ThreadLocal<T>) threadLocals.putIfAbsent(registration, created);
+      if (local == null) {
+        local = created;
+      }
+    }
+
+    return local;
+  }
+
+  /**
+   * Returns the pool of a POOLED registration, creating it with the registration's pool size on first use.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> ComponentPool<T> getPool(Registration<T, ?> registration) {
+    ConcurrentMap<Registration<?, ?>, ComponentPool<?>> pools = this.pools;
+
+    if (pools == null) {
+      synchronized (this) {
+        pools = this.pools;
+
+        if (pools == null) {
+          pools = new ConcurrentHashMap<>();
+          this.pools = pools;
+        }
+      }
+    }
+
+    ComponentPool<T> pool = (ComponentPool<T>) pools.get(registration);
+
+    if (pool == null) {
+      int size = (registration.getPoolSize() > 0) ? registration.getPoolSize() : ComponentPool.DEFAULT_SIZE;
+      ComponentPool<T> created = new ComponentPool<>(size);
+
+      pool = (ComponentPool<T>) pools.putIfAbsent(registration, created);
+      if (pool == null) {
+        pool = created;
+      }
+    }
+
+    return pool;
+  }
+
+  /**
+   * Returns the pools created so far, keyed by registration.
+   */
+  public Map<Registration<?, ?>, ComponentPool<?>> getPools() {
+    ConcurrentMap<Registration<?, ?>, ComponentPool<?>> pools = this.pools;
+
+    return (pools != null)
+      ? Collections.unmodifiableMap(pools)
+      : Collections.<Registration<?, ?>, ComponentPool<?>>emptyMap();
+  }
+
+  /**
+   * The number of registrations the scope holds an instance for, or is creating one for.
+   */
+  public int getHolderCount() {
+    ConcurrentMap<Registration<?, ?>, InstanceHolder<?>> holders = this.holders;
+
+    return (holders != null) ? holders.size() : 0;
+  }
+
+  /**
+   * Forgets the instance, thread-local and pool of a registration, without disposing anything, since the factories
+   * compiled before may still hand them out. Resolving the registration again afterwards starts over.
+   */
+  public void release(Registration<?, ?> registration) {
+    ConcurrentMap<Registration<?, ?>, InstanceHolder<?>> holders = this.holders;
+    ConcurrentMap<Registration<?, ?>, ThreadLocal<?>> threadLocals = this.threadLocals;
+    ConcurrentMap<Registration<?, ?>, ComponentPool<?>> pools = this.pools;
+
+    if (holders != null) {
+      holders.remove(registration);
+    }
+
+    if (threadLocals != null) {
+      threadLocals.remove(registration);
+    }
+
+    if (pools != null) {
+      pools.remove(registration);
+    }
+  }
+
+  public boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Closes the scope and disposes every instance it created that implements {@link AutoCloseable}. Instances are
+   * all closed even if some of them fail; the first failure is rethrown with the others suppressed. An instance that
+   * is being created while the scope closes is disposed once it has been created, and none are created afterwards.
+   */
+  public void close() {
+    if (closed) {
+      return;
+    }
+
+    closed = true;
+
+    ConcurrentMap<Registration<?, ?>, InstanceHolder<?>> holders;
+    synchronized (this) {
+      holders = this.holders;
+      this.holders = null;
+    }
+
+    if (holders == null) {
+      return;
+    }
+
+    RuntimeException failure = null;
+
+    for (InstanceHolder<?> holder : holders.values()) {
+      Object instance = holder.close();
+
+      if (instance instanceof AutoCloseable) {
+        try {
+          ((AutoCloseable) instance).close();
+        } catch (Exception e) {
+          if (failure == null) {
+            failure = new RuntimeException("Failed to dispose scoped instances.", e);
+          } else {
+            failure.addSuppressed(e);
+          }
+        }
+      }
+    }
+
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Returns the scope entered on the current thread, or null.
+   */
+  public static Scope current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Makes a scope current on this thread and returns the previously current scope, which must be handed back to
+   * {@link #exit(Scope)}.
+   */
+  public static Scope enter(Scope scope) {
+    Scope previous = CURRENT.get();
+    CURRENT.set(scope);
+
+    return previous;
+  }
+
+  public static void exit(Scope previous) {
+    if (previous == null) {
+      CURRENT.remove();
+    } else {
+      CURRENT.set(previous);
+    }
+  }
+
+  /**
+   * Returns a {@link Factory} that creates its instances within the scope that is current now, whichever thread
+   * calls it later. Without a current scope, the factory itself is returned.
+   */
+  public static <T> Factory<T> bindCurrent(final Factory<T> factory) {
+    final Scope scope = CURRENT.get();
+
+    if (scope == null) {
+      return factory;
+    }
+
+    return new Factory<T>() {
+      @Override
+      public T create() {
+        Scope previous = enter(scope);
+
+        try {
+          return factory.create();
+        } finally {
+          exit(previous);
+        }
+      }
+    };
+  }
+}
@@ -0,0 +1,25 @@
+package com.communalizer.inject.kernel.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The live counters of a single registration.
+ */
+class ComponentMetrics {
+  final LongAdder resolutions = new LongAdder();
+  final LongAdder constructions = new LongAdder();
+  final LatencyHistogram constructionTime = new LatencyHistogram();
+  final LongAdder dependencyTime = new LongAdder();
+  final LongAdder allocatedBytes = new LongAdder();
+
+  ComponentStatistics getStatistics(String key) {
+    return new ComponentStatistics(
+      key,
+      resolutions.sum(),
+      constructions.sum(),
+      constructionTime.snapshot(),
+      dependencyTime.sum(),
+      allocatedBytes.sum()
+    );
+  }
+}
@@ -0,0 +1,88 @@
+package com.communalizer.inject.kernel.metrics;
+
+/**
+ * What a {@link ResolutionMetrics} recorded for a single registration, copied at a point in time.
+ */
+public class ComponentStatistics {
+  private final String key;
+  private final long resolutions;
+  private final long constructions;
+  private final HistogramSnapshot constructionTime;
+  private final long dependencyTime;
+  private final long allocatedBytes;
+
+  ComponentStatistics(
+    String key,
+    long resolutions,
+    long constructions,
+    HistogramSnapshot constructionTime,
+    long dependencyTime,
+    long allocatedBytes) {
+
+    this.key = key;
+    this.resolutions = resolutions;
+    this.constructions = constructions;
+    this.constructionTime = constructionTime;
+    this.dependencyTime = dependencyTime;
+    this.allocatedBytes = allocatedBytes;
+  }
+
+  /**
+   * The registration key.
+   */
+  public String getKey() {
+    return key;
+  }
+
+  /**
+   * How often the component was handed out, either resolved directly or injected into another component.
+   */
+  public long getResolutions() {
+    return resolutions;
+  }
+
+  /**
+   * How often a new instance was created. Lower than the number of resolutions when the lifestyle shares instances,
+   * and always zero for INSTANCE components.
+   */
+  public long getConstructions() {
+    return constructions;
+  }
+
+  /**
+   * Construction latencies, including the construction of the dependencies created along with the component.
+   */
+  public HistogramSnapshot getConstructionTime() {
+    return constructionTime;
+  }
+
+  /**
+   * Total nanoseconds spent constructing dependencies while constructing this component.
+   */
+  public long getDependencyTime() {
+    return dependencyTime;
+  }
+
+  /**
+   * Total nanoseconds spent in the component's own constructor or factory.
+   */
+  public long getSelfTime() {
+    return constructionTime.getTotal() - dependencyTime;
+  }
+
+  /**
+   * Total bytes allocated by the component's own constructor or factory, excluding its dependencies. Zero unless
+   * the metrics track allocations.
+   */
+  public long getAllocatedBytes() {
+    return allocatedBytes;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+      "%s: resolutions=%d constructions=%d self=%dns dependencies=%dns allocated=%dB [%s]",
+      key, resolutions, constructions, getSelfTime(), dependencyTime, allocatedBytes, constructionTime
+    );
+  }
+}
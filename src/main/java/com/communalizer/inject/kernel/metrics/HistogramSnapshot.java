@@ -0,0 +1,79 @@
+package com.communalizer.inject.kernel.metrics;
+
+/**
+ * An immutable copy of a {@link LatencyHistogram}. All values are in nanoseconds.
+ */
+public class HistogramSnapshot {
+  private final long[] counts;
+  private final long count;
+  private final long total;
+  private final long max;
+
+  HistogramSnapshot(long[] counts, long total, long max) {
+    long count = 0;
+
+    for (long bucket : counts) {
+      count += bucket;
+    }
+
+    this.counts = counts;
+    this.count = count;
+    this.total = total;
+    this.max = max;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * The sum of all recorded values.
+   */
+  public long getTotal() {
+    return total;
+  }
+
+  public long getMax() {
+    return max;
+  }
+
+  public double getMean() {
+    return (count == 0) ? 0 : (double) total / count;
+  }
+
+  /**
+   * Returns the value that the given percentage of recorded values are less than or equal to, e.g. 99 for the 99th
+   * percentile. The result is the upper bound of the bucket the percentile falls into, but never more than the
+   * largest recorded value.
+   */
+  public long getValueAtPercentile(double percentile) {
+    if (percentile < 0 || percentile > 100) {
+      throw new IllegalArgumentException("Parameter: percentile must be between 0 and 100.");
+    }
+
+    if (count == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+    long seen = 0;
+
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+
+      if (seen >= rank) {
+        return Math.min(LatencyHistogram.highestValueOf(i), max);
+      }
+    }
+
+    return max;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+      "count=%d mean=%.0fns p50=%dns p99=%dns max=%dns",
+      count, getMean(), getValueAtPercentile(50), getValueAtPercentile(99), max
+    );
+  }
+}
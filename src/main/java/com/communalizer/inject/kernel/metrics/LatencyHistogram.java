@@ -0,0 +1,98 @@
+package com.communalizer.inject.kernel.metrics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * A concurrent histogram of durations in nanoseconds with log-linear buckets, in the manner of an HDR histogram.
+ * Values below 32 ns are counted exactly; above that every power of two is split into 16 buckets, which bounds the
+ * relative error of a reported value to 1/16. Values of 2^37 ns (about 137 s) and more share the last bucket.
+ *
+ * Each bucket is a {@link LongAdder} that is only allocated the first time a value falls into it, so recording from
+ * many threads doesn't contend on a single cache line, and a histogram only pays for the buckets it uses.
+ */
+public class LatencyHistogram {
+  static final int SUB_BUCKET_BITS = 4;
+  static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  static final int LINEAR_BUCKETS = SUB_BUCKETS * 2;
+  static final int MAX_EXPONENT = 36;
+  static final int BUCKETS = LINEAR_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+  private static final LongBinaryOperator MAX = new LongBinaryOperator() {
+    @Override
+    public long applyAsLong(long left, long right) {
+      return Math.max(left, right);
+    }
+  };
+
+  private final AtomicReferenceArray<LongAdder> buckets = new AtomicReferenceArray<>(BUCKETS);
+  private final LongAdder total = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(MAX, 0);
+
+  public void record(long nanos) {
+    long value = Math.max(nanos, 0);
+    int index = indexOf(value);
+
+    LongAdder bucket = buckets.get(index);
+
+    if (bucket == null) {
+      LongAdder created = new LongAdder();
+
+      bucket = buckets.compareAndSet(index, null, created) ? created : buckets.get(index);
+    }
+
+    bucket.increment();
+    total.add(value);
+    max.accumulate(value);
+  }
+
+  /**
+   * Copies the current counts. Values recorded while the copy is taken may or may not be included.
+   */
+  public HistogramSnapshot snapshot() {
+    long[] counts = new long[BUCKETS];
+
+    for (int i = 0; i < BUCKETS; i++) {
+      LongAdder bucket = buckets.get(i);
+
+      if (bucket != null) {
+        counts[i] = bucket.sum();
+      }
+    }
+
+    return new HistogramSnapshot(counts, total.sum(), max.get());
+  }
+
+  static int indexOf(long value) {
+    if (value < LINEAR_BUCKETS) {
+      return (int) value;
+    }
+
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+
+    if (exponent > MAX_EXPONENT) {
+      return BUCKETS - 1;
+    }
+
+    int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) - SUB_BUCKETS;
+
+    return LINEAR_BUCKETS + (exponent - SUB_BUCKET_BITS - 1) * SUB_BUCKETS + subBucket;
+  }
+
+  /**
+   * The largest value that falls into the bucket at the given index.
+   */
+  static long highestValueOf(int index) {
+    if (index < LINEAR_BUCKETS) {
+      return index;
+    }
+
+    int exponent = (index - LINEAR_BUCKETS) / SUB_BUCKETS + SUB_BUCKET_BITS + 1;
+    int subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+    int shift = exponent - SUB_BUCKET_BITS;
+
+    return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+  }
+}
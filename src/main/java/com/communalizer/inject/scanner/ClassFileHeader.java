@@ -0,0 +1,190 @@
+package com.communalizer.inject.scanner;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The part of a class file that says what a class is: its name, access flags, superclass and interfaces. Reading it
+ * only means skipping over the constant pool, so a class can be matched against the scanner's conventions without
+ * being loaded, or even read past its interfaces.
+ *
+ * Names are binary names, e.g. "com.acme.Outer$Inner".
+ */
+final class ClassFileHeader {
+  private static final int ACC_PUBLIC = 0x0001;
+  private static final int ACC_INTERFACE = 0x0200;
+  private static final int ACC_ABSTRACT = 0x0400;
+  private static final int ACC_SYNTHETIC = 0x1000;
+  private static final int ACC_ANNOTATION = 0x2000;
+  private static final int ACC_ENUM = 0x4000;
+  private static final int ACC_MODULE = 0x8000;
+
+  private static final int MAGIC = 0xCAFEBABE;
+
+  private static final int TAG_UTF8 = 1;
+  private static final int TAG_INTEGER = 3;
+  private static final int TAG_FLOAT = 4;
+  private static final int TAG_LONG = 5;
+  private static final int TAG_DOUBLE = 6;
+  private static final int TAG_CLASS = 7;
+  private static final int TAG_STRING = 8;
+  private static final int TAG_FIELDREF = 9;
+  private static final int TAG_METHODREF = 10;
+  private static final int TAG_INTERFACE_METHODREF = 11;
+  private static final int TAG_NAME_AND_TYPE = 12;
+  private static final int TAG_METHOD_HANDLE = 15;
+  private static final int TAG_METHOD_TYPE = 16;
+  private static final int TAG_DYNAMIC = 17;
+  private static final int TAG_INVOKE_DYNAMIC = 18;
+  private static final int TAG_MODULE = 19;
+  private static final int TAG_PACKAGE = 20;
+
+  private static final String[] NO_INTERFACES = new String[0];
+
+  private final String name;
+  private final int access;
+  private final String superName;
+  private final String[] interfaces;
+
+  private ClassFileHeader(String name, int access, String superName, String[] interfaces) {
+    this.name = name;
+    this.access = access;
+    this.superName = superName;
+    this.interfaces = interfaces;
+  }
+
+  /**
+   * Reads the header of the class file in the buffer, from its current position.
+   */
+  static ClassFileHeader read(ByteBuffer buffer) {
+    try {
+      return readHeader(buffer);
+    } catch (BufferUnderflowException | IndexOutOfBoundsException e) {
+      throw new IllegalArgumentException("The class file is truncated.", e);
+    }
+  }
+
+  private static ClassFileHeader readHeader(ByteBuffer buffer) {
+    if (buffer.getInt() != MAGIC) {
+      throw new IllegalArgumentException("Not a class file.");
+    }
+
+    // Minor and major version.
+    buffer.getInt();
+
+    int poolCount = buffer.getShort() & 0xFFFF;
+
+    // The offset of every Utf8 entry, and the name index of every Class entry.
+    int[] utf8Offsets = new int[poolCount];
+    int[] classNames = new int[poolCount];
+
+    for (int i = 1; i < poolCount; i++) {
+      int tag = buffer.get();
+
+      switch (tag) {
+        case TAG_UTF8:
+          utf8Offsets[i] = buffer.position();
+          skip(buffer, buffer.getShort() & 0xFFFF);
+          break;
+
+        case TAG_CLASS:
+          classNames[i] = buffer.getShort() & 0xFFFF;
+          break;
+
+        case TAG_STRING:
+        case TAG_METHOD_TYPE:
+        case TAG_MODULE:
+        case TAG_PACKAGE:
+          skip(buffer, 2);
+          break;
+
+        case TAG_METHOD_HANDLE:
+          skip(buffer, 3);
+          break;
+
+        case TAG_INTEGER:
+        case TAG_FLOAT:
+        case TAG_FIELDREF:
+        case TAG_METHODREF:
+        case TAG_INTERFACE_METHODREF:
+        case TAG_NAME_AND_TYPE:
+        case TAG_DYNAMIC:
+        case TAG_INVOKE_DYNAMIC:
+          skip(buffer, 4);
+          break;
+
+        case TAG_LONG:
+        case TAG_DOUBLE:
+          // Eight byte constants take up two entries.
+          skip(buffer, 8);
+          i++;
+          break;
+
+        default:
+          throw new IllegalArgumentException(String.format("Unknown constant pool tag: %d.", tag));
+      }
+    }
+
+    int access = buffer.getShort() & 0xFFFF;
+    String name = className(buffer, utf8Offsets, classNames, buffer.getShort() & 0xFFFF);
+    String superName = className(buffer, utf8Offsets, classNames, buffer.getShort() & 0xFFFF);
+
+    int interfaceCount = buffer.getShort() & 0xFFFF;
+    String[] interfaces = (interfaceCount > 0) ? new String[interfaceCount] : NO_INTERFACES;
+
+    for (int i = 0; i < interfaceCount; i++) {
+      interfaces[i] = className(buffer, utf8Offsets, classNames, buffer.getShort() & 0xFFFF);
+    }
+
+    return new ClassFileHeader(name, access, superName, interfaces);
+  }
+
+  private static void skip(ByteBuffer buffer, int bytes) {
+    buffer.position(buffer.position() + bytes);
+  }
+
+  /**
+   * The binary name of the class a constant pool Class entry refers to, or null for index 0, which is the
+   * superclass of java.lang.Object and module-info.
+   */
+  private static String className(ByteBuffer buffer, int[] utf8Offsets, int[] classNames, int index) {
+    if (index == 0) {
+      return null;
+    }
+
+    int offset = utf8Offsets[classNames[index]];
+    int length = buffer.getShort(offset) & 0xFFFF;
+    byte[] bytes = new byte[length];
+
+    for (int i = 0; i < length; i++) {
+      bytes[i] = buffer.get(offset + 2 + i);
+    }
+
+    // Class names are in modified UTF-8, which only differs from UTF-8 for characters that can't appear in them.
+    return new String(bytes, StandardCharsets.UTF_8).replace('/', '.');
+  }
+
+  String getName() {
+    return name;
+  }
+
+  /**
+   * The binary name of the superclass, or null if there is none.
+   */
+  String getSuperName() {
+    return superName;
+  }
+
+  String[] getInterfaces() {
+    return interfaces;
+  }
+
+  /**
+   * Whether the class is public, concrete and written by hand, so that it can be constructed by the container.
+   */
+  boolean isConstructible() {
+    return (access & ACC_PUBLIC) != 0 &&
+      (access & (ACC_INTERFACE | ACC_ABSTRACT | ACC_SYNTHETIC | ACC_ANNOTATION | ACC_ENUM | ACC_MODULE)) == 0;
+  }
+}
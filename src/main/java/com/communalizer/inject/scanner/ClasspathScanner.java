@@ -0,0 +1,492 @@
+package com.communalizer.inject.scanner;
+
+import com.communalizer.inject.Container;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.Registration;
+import com.communalizer.inject.kernel.RegistrationBuilder;
+import com.communalizer.inject.kernel.TypeHelper;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+
+/**
+ * Registers components by convention: every public, concrete class in the scanned directories and jars that
+ * implements one of the configured types is registered as that type. An implementation is registered without a name
+ * if it is the only one of its type, and named after its class otherwise, so that they can all be resolved with
+ * {@link Container#resolveAll}.
+ *
+ * Class files are read in parallel, and only their headers are parsed. The classes that match are the only ones
+ * that are loaded, and they are not initialized. Since nothing else is loaded, a class is only found to implement a
+ * type through the supertypes that are in the scanned directories and jars themselves.
+ */
+public class ClasspathScanner {
+  // The number of class files in a directory that are read by a single task.
+  private static final int FILES_PER_TASK = 64;
+
+  // The size above which a class file is mapped into memory instead of read into a buffer.
+  private static final int MAP_THRESHOLD = 1 << 20;
+
+  private final ClassLoader classLoader;
+  private final Map<String, Class<?>> serviceTypes = new LinkedHashMap<>();
+  private final List<String> packagePrefixes = new ArrayList<>();
+  private Lifestyle lifestyle = Lifestyle.TRANSIENT;
+
+  public ClasspathScanner() {
+    this(defaultClassLoader());
+  }
+
+  /**
+   * Creates a scanner that loads the classes it registers with the given class loader.
+   */
+  public ClasspathScanner(ClassLoader classLoader) {
+    if (classLoader == null) {
+      throw new IllegalArgumentException("Parameter: classLoader cannot be null.");
+    }
+
+    this.classLoader = classLoader;
+  }
+
+  private static ClassLoader defaultClassLoader() {
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+
+    return (loader != null) ? loader : ClasspathScanner.class.getClassLoader();
+  }
+
+  /**
+   * Adds the types to register implementations of. A generic type is registered as an open generic by the
+   * implementations that are generic themselves, and as the parameterization they implement by the others.
+   */
+  public ClasspathScanner implementationsOf(Class<?>... types) {
+    if (types == null) {
+      throw new IllegalArgumentException("Parameter: types cannot be null.");
+    }
+
+    for (Class<?> type : types) {
+      if (type == null) {
+        throw new IllegalArgumentException("Parameter: types cannot contain null.");
+      }
+
+      serviceTypes.put(type.getName(), type);
+    }
+
+    return this;
+  }
+
+  /**
+   * Only registers the classes in the package, or in its subpackages. Every package is scanned if none is given.
+   */
+  public ClasspathScanner inPackage(String packageName) {
+    if (packageName == null) {
+      throw new IllegalArgumentException("Parameter: packageName cannot be null.");
+    }
+
+    packagePrefixes.add(packageName.isEmpty() ? "" : packageName + ".");
+
+    return this;
+  }
+
+  /**
+   * The lifestyle of every registration, TRANSIENT by default.
+   */
+  public ClasspathScanner lifestyle(Lifestyle lifestyle) {
+    if (lifestyle == null) {
+      throw new IllegalArgumentException("Parameter: lifestyle cannot be null.");
+    }
+
+    this.lifestyle = lifestyle;
+
+    return this;
+  }
+
+  /**
+   * Scans the directories and jars on the class path of the JVM.
+   */
+  public List<Registration<?, ?>> scanClasspath() {
+    List<Path> roots = new ArrayList<>();
+
+    for (String entry : System.getProperty("java.class.path", "").split(File.pathSeparator)) {
+      if (!entry.isEmpty()) {
+        roots.add(Paths.get(entry));
+      }
+    }
+
+    return scan(ForkJoinPool.commonPool(), roots.toArray(new Path[roots.size()]));
+  }
+
+  public List<Registration<?, ?>> scan(Path... roots) {
+    return scan(ForkJoinPool.commonPool(), roots);
+  }
+
+  /**
+   * Scans directories of class files and jars, reading them on the executor, and returns the registrations of the
+   * implementations found, ordered by class name. Roots that don't exist are skipped.
+   */
+  public List<Registration<?, ?>> scan(Executor executor, Path... roots) {
+    if (executor == null) {
+      throw new IllegalArgumentException("Parameter: executor cannot be null.");
+    }
+
+    if (roots == null) {
+      throw new IllegalArgumentException("Parameter: roots cannot be null.");
+    }
+
+    if (serviceTypes.isEmpty()) {
+      throw new IllegalStateException("No types to register implementations of, see implementationsOf.");
+    }
+
+    List<FutureTask<List<ClassFileHeader>>> tasks = new ArrayList<>();
+
+    for (Path root : roots) {
+      if (Files.isDirectory(root)) {
+        List<Path> files = listClassFiles(root);
+
+        for (int i = 0; i < files.size(); i += FILES_PER_TASK) {
+          tasks.add(schedule(executor, readFiles(files.subList(i, Math.min(i + FILES_PER_TASK, files.size())))));
+        }
+      } else if (Files.isRegularFile(root)) {
+        tasks.add(schedule(executor, readJar(root)));
+      }
+    }
+
+    Map<String, ClassFileHeader> headers = new HashMap<>();
+
+    for (FutureTask<List<ClassFileHeader>> task : tasks) {
+      for (ClassFileHeader header : await(task)) {
+        // The first root that has a class wins, as it would on a class path.
+        if (!headers.containsKey(header.getName())) {
+          headers.put(header.getName(), header);
+        }
+      }
+    }
+
+    return createRegistrations(headers);
+  }
+
+  /**
+   * Scans the roots and registers the implementations found with a single registration, so that the container
+   * is only rebuilt once. Returns the number of components registered.
+   */
+  @SuppressWarnings("unchecked")
+  public int scanInto(Container container, Path... roots) {
+    if (container == null) {
+      throw new IllegalArgumentException("Parameter: container cannot be null.");
+    }
+
+    List<Registration<?, ?>> registrations = scan(roots);
+
+    if (!registrations.isEmpty()) {
+      container.register(registrations.toArray(new Registration[registrations.size()]));
+    }
+
+    return registrations.size();
+  }
+
+  private static FutureTask<List<ClassFileHeader>> schedule(Executor executor, Callable<List<ClassFileHeader>> read) {
+    FutureTask<List<ClassFileHeader>> task = new FutureTask<>(read);
+
+    try {
+      executor.execute(task);
+    } catch (RejectedExecutionException e) {
+      task.run();
+    }
+
+    return task;
+  }
+
+  private static List<ClassFileHeader> await(FutureTask<List<ClassFileHeader>> task) {
+    try {
+      return task.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException("Interrupted while scanning the classpath.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+
+      throw new RuntimeException("Failed to scan the classpath.", e.getCause());
+    }
+  }
+
+  private static List<Path> listClassFiles(Path root) {
+    final List<Path> files = new ArrayList<>();
+
+    try {
+      Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+        @Override
+        public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+          if (attributes.isRegularFile() && isClassFile(file.getFileName().toString())) {
+            files.add(file);
+          }
+
+          return FileVisitResult.CONTINUE;
+        }
+      });
+    } catch (IOException e) {
+      throw new RuntimeException(String.format("Failed to list the class files in: %s.", root), e);
+    }
+
+    return files;
+  }
+
+  private static boolean isClassFile(String name) {
+    return name.endsWith(".class") && !name.endsWith("module-info.class") && !name.endsWith("package-info.class");
+  }
+
+  /**
+   * Reads each file into a buffer that is reused across the files, and parses its header there. Only files larger
+   * than {@link #MAP_THRESHOLD} are mapped into memory instead, since a mapping is only released once it is garbage
+   * collected.
+   */
+  private static Callable<List<ClassFileHeader>> readFiles(final List<Path> files) {
+    return new Callable<List<ClassFileHeader>>() {
+      @Override
+      public List<ClassFileHeader> call() {
+        List<ClassFileHeader> headers = new ArrayList<>(files.size());
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+
+        for (Path file : files) {
+          try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+
+            if (size > MAP_THRESHOLD) {
+              headers.add(ClassFileHeader.read(channel.map(FileChannel.MapMode.READ_ONLY, 0, size)));
+              continue;
+            }
+
+            buffer = readFully(channel, buffer, (int) size);
+            headers.add(ClassFileHeader.read(buffer));
+          } catch (IOException | IllegalArgumentException e) {
+            throw new RuntimeException(String.format("Failed to read class file: %s.", file), e);
+          }
+        }
+
+        return headers;
+      }
+    };
+  }
+
+  /**
+   * Parses the header of every class in a jar. Its entries are compressed, so they are inflated into a buffer
+   * rather than mapped.
+   */
+  private static Callable<List<ClassFileHeader>> readJar(final Path jar) {
+    return new Callable<List<ClassFileHeader>>() {
+      @Override
+      public List<ClassFileHeader> call() {
+        List<ClassFileHeader> headers = new ArrayList<>();
+
+        try (ZipFile zip = new ZipFile(jar.toFile())) {
+          byte[] buffer = new byte[8192];
+          Enumeration<? extends ZipEntry> entries = zip.entries();
+
+          while (entries.hasMoreElements()) {
+            ZipEntry entry = entries.nextElement();
+
+            // Skips the classes of other Java versions in multi-release jars.
+            if (entry.isDirectory() || !isClassFile(entry.getName()) || entry.getName().startsWith("META-INF/")) {
+              continue;
+            }
+
+            try (InputStream input = zip.getInputStream(entry)) {
+              buffer = readFully(input, buffer, entry.getSize());
+              headers.add(ClassFileHeader.read(ByteBuffer.wrap(buffer)));
+            } catch (IllegalArgumentException e) {
+              throw new RuntimeException(
+                String.format("Failed to read class file: %s in: %s.", entry.getName(), jar), e
+              );
+            }
+          }
+        } catch (IOException e) {
+          throw new RuntimeException(String.format("Failed to read jar: %s.", jar), e);
+        }
+
+        return headers;
+      }
+    };
+  }
+
+  /**
+   * Reads a file of the given size into the buffer, growing it if the file doesn't fit, and returns the buffer read
+   * into, flipped for reading.
+   */
+  private static ByteBuffer readFully(FileChannel channel, ByteBuffer buffer, int size) throws IOException {
+    if (size > buffer.capacity()) {
+      buffer = ByteBuffer.allocate(size);
+    }
+
+    buffer.clear().limit(size);
+
+    while (buffer.hasRemaining() && channel.read(buffer) != -1) {
+      continue;
+    }
+
+    return buffer.flip();
+  }
+
+  /**
+   * Reads a stream into the buffer, growing it if the stream doesn't fit, and returns the buffer read into.
+   */
+  private static byte[] readFully(InputStream input, byte[] buffer, long size) throws IOException {
+    if (size > buffer.length) {
+      buffer = new byte[(int) size];
+    }
+
+    int length = 0;
+    int read;
+
+    while ((read = input.read(buffer, length, buffer.length - length)) != -1) {
+      length += read;
+
+      if (length == buffer.length) {
+        buffer = Arrays.copyOf(buffer, buffer.length * 2);
+      }
+    }
+
+    return buffer;
+  }
+
+  private List<Registration<?, ?>> createRegistrations(Map<String, ClassFileHeader> headers) {
+    List<String> names = new ArrayList<>(headers.keySet());
+    Collections.sort(names);
+
+    // The implementations of each type, in order of their names.
+    Map<Class<?>, List<String>> implementations = new LinkedHashMap<>();
+
+    for (Class<?> type : serviceTypes.values()) {
+      implementations.put(type, new ArrayList<String>());
+    }
+
+    for (String name : names) {
+      ClassFileHeader header = headers.get(name);
+
+      if (!header.isConstructible() || !isInPackage(name)) {
+        continue;
+      }
+
+      for (String supertype : getSupertypes(header, headers)) {
+        Class<?> type = serviceTypes.get(supertype);
+
+        if (type != null) {
+          implementations.get(type).add(name);
+        }
+      }
+    }
+
+    List<Registration<?, ?>> registrations = new ArrayList<>();
+
+    for (Map.Entry<Class<?>, List<String>> entry : implementations.entrySet()) {
+      List<String> implementationNames = entry.getValue();
+
+      for (String name : implementationNames) {
+        RegistrationBuilder builder = createBuilder(entry.getKey(), load(name)).lifestyle(lifestyle);
+
+        if (implementationNames.size() > 1) {
+          builder.named(name);
+        }
+
+        registrations.add(builder.build());
+      }
+    }
+
+    return registrations;
+  }
+
+  private boolean isInPackage(String name) {
+    if (packagePrefixes.isEmpty()) {
+      return true;
+    }
+
+    for (String prefix : packagePrefixes) {
+      if (name.startsWith(prefix)) {
+        return true;
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * The names of every class and interface a class extends or implements, as far as the scanned classes tell.
+   */
+  private static Set<String> getSupertypes(ClassFileHeader header, Map<String, ClassFileHeader> headers) {
+    Set<String> supertypes = new HashSet<>();
+    Deque<ClassFileHeader> pending = new ArrayDeque<>();
+    pending.push(header);
+
+    while (!pending.isEmpty()) {
+      ClassFileHeader current = pending.pop();
+
+      if (current.getSuperName() != null) {
+        visit(current.getSuperName(), supertypes, pending, headers);
+      }
+
+      for (String name : current.getInterfaces()) {
+        visit(name, supertypes, pending, headers);
+      }
+    }
+
+    return supertypes;
+  }
+
+  private static void visit(
+    String name,
+    Set<String> supertypes,
+    Deque<ClassFileHeader> pending,
+    Map<String, ClassFileHeader> headers) {
+
+    if (supertypes.add(name)) {
+      ClassFileHeader header = headers.get(name);
+
+      if (header != null) {
+        pending.push(header);
+      }
+    }
+  }
+
+  private Class<?> load(String name) {
+    try {
+      return Class.forName(name, false, classLoader);
+    } catch (ClassNotFoundException | LinkageError e) {
+      throw new RuntimeException(String.format("Failed to load scanned class: %s.", name), e);
+    }
+  }
+
+  private static RegistrationBuilder createBuilder(Class<?> type, Class<?> implementation) {
+    if (type.getTypeParameters().length == 0) {
+      return registration().component(Component.of(type, implementation));
+    }
+
+    if (implementation.getTypeParameters().length > 0) {
+      return registration().openGeneric(type, implementation);
+    }
+
+    // The parameterization the implementation implements, e.g. Repository<String>.
+    Type supertype = TypeHelper.getGenericSupertype(implementation, type);
+
+    return registration().component(Component.of(supertype, implementation));
+  }
+}
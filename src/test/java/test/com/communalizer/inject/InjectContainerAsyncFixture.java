@@ -0,0 +1,187 @@
+package test.com.communalizer.inject;
+
+import com.communalizer.inject.Container;
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.ScopedContainer;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.Factory;
+import com.communalizer.inject.kernel.TypeToken;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import test.testclasses.*;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+import static org.fest.assertions.Assertions.assertThat;
+
+public class InjectContainerAsyncFixture {
+  private ExecutorService executor;
+
+  @BeforeClass
+  public void createExecutor() {
+    executor = Executors.newFixedThreadPool(4);
+  }
+
+  @AfterClass
+  public void shutdownExecutor() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void ResolveAsync_TransientGraph_ConstructsEveryDependency() throws Exception {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {}),
+      registration()
+        .component(new Component<Quux, QuuxImpl>() {})
+    );
+
+    // Act
+    Quux actual = container.resolveAsync(new TypeToken<Quux>() {}, executor).get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertThat(((QuuxImpl) actual).getFoo1()).isInstanceOf(FooImpl.class);
+    assertThat(((QuuxImpl) actual).getFoo2()).isNotSameAs(((QuuxImpl) actual).getFoo1());
+  }
+
+  @Test
+  public void ResolveAsync_IndependentDependencies_ConstructsThemConcurrently() throws Exception {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<LeftBranch, LeftBranch>() {}),
+      registration()
+        .component(new Component<RightBranch, RightBranch>() {}),
+      registration()
+        .component(new Component<Branches, Branches>() {})
+    );
+
+    // Act
+    Branches actual = container.resolveAsync(new TypeToken<Branches>() {}, executor).get(10, TimeUnit.SECONDS);
+
+    // Assert
+    assertThat(actual.getLeft()).isNotNull();
+    assertThat(actual.getRight()).isNotNull();
+  }
+
+  @Test
+  public void ResolveAsync_SingletonDependency_SharesTheInstance() throws Exception {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .lifestyle(Lifestyle.SINGLETON),
+      registration()
+        .component(new Component<Quux, QuuxImpl>() {})
+    );
+
+    // Act
+    QuuxImpl actual = (QuuxImpl) container.resolveAsync(new TypeToken<Quux>() {}, executor).get(5, TimeUnit.SECONDS);
+
+    // Assert
+    assertThat(actual.getFoo1()).isSameAs(actual.getFoo2());
+    assertThat(actual.getFoo1()).isSameAs(container.resolve(new TypeToken<Foo>() {}));
+  }
+
+  @Test
+  public void ResolveAsync_SeveralFailingDependencies_FailsWithTheFailureOfTheFirstParameter() throws Exception {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<LeftBranch, LeftBranch>() {})
+        .factory(new Factory<LeftBranch>() {
+          @Override
+          public LeftBranch create() {
+            try {
+              Thread.sleep(50);
+            } catch (InterruptedException e) {
+              throw new RuntimeException(e);
+            }
+
+            throw new RuntimeException("left");
+          }
+        }),
+      registration()
+        .component(new Component<RightBranch, RightBranch>() {})
+        .factory(new Factory<RightBranch>() {
+          @Override
+          public RightBranch create() {
+            throw new RuntimeException("right");
+          }
+        }),
+      registration()
+        .component(new Component<Branches, Branches>() {})
+    );
+
+    // Act
+    Throwable actual = null;
+
+    try {
+      container.resolveAsync(new TypeToken<Branches>() {}, executor).get(5, TimeUnit.SECONDS);
+    } catch (ExecutionException e) {
+      actual = e.getCause();
+    }
+
+    // Assert
+    assertThat(actual).isNotNull();
+    assertThat(actual.getMessage()).contains(Branches.class.getName());
+    assertThat(actual.getCause().getMessage()).isEqualTo("left");
+    assertThat(actual.getSuppressed()).hasSize(1);
+    assertThat(actual.getSuppressed()[0].getMessage()).isEqualTo("right");
+  }
+
+  @Test
+  public void ResolveAsync_WithinScope_ResolvesScopedComponentsInTheScope() throws Exception {
+    // Arrange
+    InjectContainer container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .lifestyle(Lifestyle.SCOPED),
+      registration()
+        .component(new Component<Quux, QuuxImpl>() {})
+    );
+
+    try (ScopedContainer scope = container.createScope()) {
+      // Act
+      QuuxImpl actual = (QuuxImpl) scope.resolveAsync(new TypeToken<Quux>() {}, executor).get(5, TimeUnit.SECONDS);
+
+      // Assert
+      assertThat(actual.getFoo1()).isSameAs(scope.resolve(new TypeToken<Foo>() {}));
+      assertThat(actual.getFoo1()).isNotSameAs(container.resolve(new TypeToken<Foo>() {}));
+    }
+  }
+
+  @Test(expectedExceptions = RuntimeException.class)
+  public void ResolveAsync_UnregisteredType_Throws() {
+    // Arrange
+    Container container = new InjectContainer();
+
+    // Act
+    container.resolveAsync(new TypeToken<Foo>() {}, executor);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void ResolveAsync_WithNullExecutor_Throws() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+    );
+
+    // Act
+    container.resolveAsync(new TypeToken<Foo>() {}, null);
+  }
+}
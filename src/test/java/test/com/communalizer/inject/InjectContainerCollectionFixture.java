@@ -0,0 +1,149 @@
+package test.com.communalizer.inject;
+
+import com.communalizer.inject.Container;
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.TypeToken;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+import org.testng.annotations.Test;
+import test.testclasses.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+import static org.fest.assertions.Assertions.assertThat;
+
+public class InjectContainerCollectionFixture {
+  @Test
+  public void ResolveAll_MultipleRegistrations_ReturnsEveryOneInRegistrationOrder() {
+    // Arrange
+    Container container = getNewInjectContainer();
+
+    // Act
+    List<Foo> actual = container.resolveAll(new TypeToken<Foo>() {});
+
+    // Assert
+    assertThat(actual).hasSize(3);
+    assertThat(actual.get(0)).isInstanceOf(CountingFooImpl.class);
+    assertThat(actual.get(1)).isInstanceOf(FooImpl.class);
+    assertThat(actual.get(2)).isInstanceOf(CountingFooImpl.class);
+  }
+
+  @Test
+  public void ResolveAll_TypeThatIsNotRegistered_ReturnsAnEmptyList() {
+    // Arrange
+    Container container = getNewInjectContainer();
+
+    // Act
+    List<Bar> actual = container.resolveAll(new TypeToken<Bar>() {});
+
+    // Assert
+    assertThat(actual).isEmpty();
+  }
+
+  @Test
+  public void ResolveAll_SingletonRegistration_HonoursTheLifestyle() {
+    // Arrange
+    Container container = getNewInjectContainer();
+
+    // Act
+    List<Foo> actual1 = container.resolveAll(new TypeToken<Foo>() {});
+    List<Foo> actual2 = container.resolveAll(new TypeToken<Foo>() {});
+
+    // Assert
+    assertThat(actual1.get(0)).isNotSameAs(actual2.get(0));
+    assertThat(actual1.get(1)).isSameAs(actual2.get(1));
+  }
+
+  @Test
+  public void Resolve_ListParameter_InjectsEveryRegistration() {
+    // Arrange
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<FooListHolder, FooListHolder>() {})
+    );
+
+    // Act
+    FooListHolder actual = container.resolve(new TypeToken<FooListHolder>() {});
+
+    // Assert
+    assertThat(actual.getFoos()).hasSize(3);
+    assertThat(actual.getFoos().get(1)).isSameAs(container.resolve(new TypeToken<Foo>() {}, "singleton"));
+  }
+
+  @Test
+  public void Resolve_MapParameter_InjectsEveryRegistrationByName() {
+    // Arrange
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<FooMapHolder, FooMapHolder>() {})
+    );
+
+    // Act
+    FooMapHolder actual = container.resolve(new TypeToken<FooMapHolder>() {});
+
+    // Assert
+    Map<String, Foo> foos = actual.getFoos();
+    assertThat(new ArrayList<>(foos.keySet())).containsExactly("", "singleton", "other");
+    assertThat(foos.get("other")).isInstanceOf(CountingFooImpl.class);
+  }
+
+  @Test
+  public void Resolve_ArrayParameter_InjectsEveryRegistration() {
+    // Arrange
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<FooArrayHolder, FooArrayHolder>() {})
+    );
+
+    // Act
+    FooArrayHolder actual = container.resolve(new TypeToken<FooArrayHolder>() {});
+
+    // Assert
+    assertThat(actual.getFoos()).hasSize(3);
+    assertThat(actual.getFoos()[1]).isInstanceOf(FooImpl.class);
+  }
+
+  @Test
+  public void Resolve_RegisteredListType_IsPreferredOverTheRegistrationsOfItsElement() {
+    // Arrange
+    List<Foo> instance = new ArrayList<>();
+
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<List<Foo>, ArrayList<Foo>>() {})
+        .instance(instance),
+      registration()
+        .component(new Component<FooListHolder, FooListHolder>() {})
+    );
+
+    // Act
+    FooListHolder actual = container.resolve(new TypeToken<FooListHolder>() {});
+
+    // Assert
+    assertThat(actual.getFoos()).isSameAs(instance);
+  }
+
+  private static Container getNewInjectContainer() {
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, CountingFooImpl>() {}),
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .named("singleton")
+        .lifestyle(Lifestyle.SINGLETON),
+      registration()
+        .component(new Component<Foo, CountingFooImpl>() {})
+        .named("other")
+    );
+
+    return container;
+  }
+}
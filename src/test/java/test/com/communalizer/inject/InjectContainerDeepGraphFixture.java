@@ -0,0 +1,213 @@
+package test.com.communalizer.inject;
+
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.RegistrationBuilder;
+import com.communalizer.inject.kernel.TypeToken;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+import org.testng.annotations.Test;
+import test.testclasses.*;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+import static org.fest.assertions.Assertions.assertThat;
+
+public class InjectContainerDeepGraphFixture {
+  private static final TypeToken<Link> LINK = new TypeToken<Link>() {};
+
+  @Test
+  public void Resolve_ChainDeeperThanTheStack_ConstructsEveryLink() {
+    // Arrange
+    InjectContainer container = getNewInjectContainer(20000, -1);
+
+    // Act
+    Link actual = container.resolve(LINK, "link0");
+
+    // Assert
+    assertThat(length(actual)).isEqualTo(20000);
+  }
+
+  @Test
+  public void Resolve_DeepChainTwice_ConstructsNewLinks() {
+    // Arrange
+    InjectContainer container = getNewInjectContainer(200, -1);
+
+    // Act
+    Link actual1 = container.resolve(LINK, "link0");
+    Link actual2 = container.resolve(LINK, "link0");
+
+    // Assert
+    assertThat(actual1).isNotSameAs(actual2);
+    assertThat(nth(actual1, 150)).isNotSameAs(nth(actual2, 150));
+  }
+
+  @Test
+  public void Resolve_DeepChainWithSingletonLink_SharesTheSingletonsSubchain() {
+    // Arrange
+    InjectContainer container = getNewInjectContainer(200, 100);
+
+    // Act
+    Link actual1 = container.resolve(LINK, "link0");
+    Link actual2 = container.resolve(LINK, "link0");
+
+    // Assert
+    assertThat(length(actual1)).isEqualTo(200);
+    assertThat(nth(actual1, 99)).isNotSameAs(nth(actual2, 99));
+    assertThat(nth(actual1, 100)).isSameAs(nth(actual2, 100));
+  }
+
+  @Test
+  public void Resolve_SingletonChainDeeperThanTheStack_ConstructsEveryLinkOnce() {
+    // Arrange
+    InjectContainer container = getNewInjectContainer(20000, Lifestyle.SINGLETON);
+
+    // Act
+    Link actual1 = container.resolve(LINK, "link0");
+    Link actual2 = container.resolve(LINK, "link0");
+
+    // Assert
+    assertThat(length(actual1)).isEqualTo(20000);
+    assertThat(actual1).isSameAs(actual2);
+    assertThat(nth(actual1, 10000)).isSameAs(container.resolve(LINK, "link10000"));
+  }
+
+  @Test
+  public void Resolve_PerThreadChainDeeperThanTheStack_ConstructsEveryLink() {
+    // Arrange
+    InjectContainer container = getNewInjectContainer(20000, Lifestyle.PER_THREAD);
+
+    // Act
+    Link actual = container.resolve(LINK, "link0");
+
+    // Assert
+    assertThat(length(actual)).isEqualTo(20000);
+    assertThat(nth(actual, 10000)).isSameAs(container.resolve(LINK, "link10000"));
+  }
+
+  @Test
+  public void Resolve_DeepChainAlternatingTransientAndSingletonLinks_ConstructsEveryLink() {
+    // Arrange
+    InjectContainer container = new InjectContainer();
+    RegistrationBuilder[] builders = new RegistrationBuilder[20000];
+
+    for (int i = 0; i < builders.length - 1; i++) {
+      builders[i] = registration()
+        .component(new Component<Link, LinkImpl>() {})
+        .named("link" + i)
+        .dependsOn("next", LINK, "link" + (i + 1))
+        .lifestyle(i % 2 == 0 ? Lifestyle.TRANSIENT : Lifestyle.SINGLETON);
+    }
+
+    builders[builders.length - 1] = registration()
+      .component(new Component<Link, LinkEnd>() {})
+      .named("link" + (builders.length - 1));
+
+    container.register(builders);
+
+    // Act
+    Link actual1 = container.resolve(LINK, "link0");
+    Link actual2 = container.resolve(LINK, "link0");
+
+    // Assert
+    assertThat(length(actual1)).isEqualTo(20000);
+    assertThat(actual1).isNotSameAs(actual2);
+    assertThat(nth(actual1, 1)).isSameAs(nth(actual2, 1));
+  }
+
+  @Test
+  public void Resolve_DeepChainEndingInAnExplicitInstance_InjectsTheInstance() {
+    // Arrange
+    Link end = new LinkEnd();
+
+    InjectContainer container = new InjectContainer();
+    RegistrationBuilder[] builders = new RegistrationBuilder[100];
+
+    for (int i = 0; i < builders.length - 1; i++) {
+      builders[i] = registration()
+        .component(new Component<Link, LinkImpl>() {})
+        .named("link" + i)
+        .dependsOn("next", LINK, "link" + (i + 1));
+    }
+
+    builders[builders.length - 1] = registration()
+      .component(new Component<Link, LinkImpl>() {})
+      .named("link" + (builders.length - 1))
+      .dependsOn("next", end);
+
+    container.register(builders);
+
+    // Act
+    Link actual = container.resolve(LINK, "link0");
+
+    // Assert
+    assertThat(nth(actual, 100)).isSameAs(end);
+  }
+
+  /**
+   * A chain of links named link0 to link(depth - 1), each depending on the next, optionally with one SINGLETON.
+   */
+  private static InjectContainer getNewInjectContainer(int depth, int singleton) {
+    InjectContainer container = new InjectContainer();
+    RegistrationBuilder[] builders = new RegistrationBuilder[depth];
+
+    for (int i = 0; i < depth - 1; i++) {
+      builders[i] = registration()
+        .component(new Component<Link, LinkImpl>() {})
+        .named("link" + i)
+        .dependsOn("next", LINK, "link" + (i + 1))
+        .lifestyle(i == singleton ? Lifestyle.SINGLETON : Lifestyle.TRANSIENT);
+    }
+
+    builders[depth - 1] = registration()
+      .component(new Component<Link, LinkEnd>() {})
+      .named("link" + (depth - 1));
+
+    container.register(builders);
+
+    return container;
+  }
+
+  /**
+   * A chain of links named link0 to link(depth - 1), each depending on the next, all with the same lifestyle.
+   */
+  private static InjectContainer getNewInjectContainer(int depth, Lifestyle lifestyle) {
+    InjectContainer container = new InjectContainer();
+    RegistrationBuilder[] builders = new RegistrationBuilder[depth];
+
+    for (int i = 0; i < depth - 1; i++) {
+      builders[i] = registration()
+        .component(new Component<Link, LinkImpl>() {})
+        .named("link" + i)
+        .dependsOn("next", LINK, "link" + (i + 1))
+        .lifestyle(lifestyle);
+    }
+
+    builders[depth - 1] = registration()
+      .component(new Component<Link, LinkEnd>() {})
+      .named("link" + (depth - 1))
+      .lifestyle(lifestyle);
+
+    container.register(builders);
+
+    return container;
+  }
+
+  private static int length(Link link) {
+    int length = 0;
+
+    for (Link current = link; current != null; current = current.getNext()) {
+      length++;
+    }
+
+    return length;
+  }
+
+  private static Link nth(Link link, int n) {
+    Link current = link;
+
+    for (int i = 0; i < n; i++) {
+      current = current.getNext();
+    }
+
+    return current;
+  }
+}
@@ -0,0 +1,234 @@
+package test.com.communalizer.inject;
+
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.Factory;
+import com.communalizer.inject.kernel.TypeToken;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.testng.annotations.Test;
+import test.testclasses.*;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+import static org.fest.assertions.Assertions.assertThat;
+
+public class InjectContainerEventsFixture {
+  @Test
+  public void Resolve_WhileRecording_EmitsResolveAndConstructionEvents() throws Exception {
+    // Arrange
+    InjectContainer container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .factory(new Factory<Foo>() {
+          @Override
+          public Foo create() {
+            return new FooImpl();
+          }
+        }),
+      registration()
+        .component(new Component<Bar, BarImpl>() {})
+        .named("bar")
+    );
+
+    Recording recording = startRecording();
+
+    // Act
+    container.resolve(new TypeToken<Bar>() {}, "bar");
+
+    // Assert
+    List<RecordedEvent> resolves = stopRecording(recording, "com.communalizer.inject.Resolve");
+    assertThat(resolves).hasSize(1);
+    assertThat(resolves.get(0).getString("typeKey")).isEqualTo("test.testclasses.Bar");
+    assertThat(resolves.get(0).getString("name")).isEqualTo("bar");
+
+    List<RecordedEvent> constructions = readEvents(recording, "com.communalizer.inject.Construction");
+    assertThat(constructions).hasSize(2);
+
+    RecordedEvent foo = find(constructions, "test.testclasses.Foo");
+    assertThat(foo.getString("componentType")).isEqualTo("FACTORY");
+    assertThat(foo.getInt("depth")).isEqualTo(1);
+
+    RecordedEvent bar = find(constructions, "test.testclasses.Bar");
+    assertThat(bar.getString("componentType")).isEqualTo("REFLECTION");
+    assertThat(bar.getString("implementation")).isEqualTo("test.testclasses.BarImpl");
+    assertThat(bar.getInt("depth")).isEqualTo(0);
+  }
+
+  @Test
+  public void Resolve_RecordingStartedAfterFirstResolve_EmitsConstructionEvents() throws Exception {
+    // Arrange
+    InjectContainer container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {}),
+      registration()
+        .component(new Component<Bar, BarImpl>() {})
+    );
+
+    container.resolve(new TypeToken<Bar>() {});
+    Recording recording = startRecording();
+
+    // Act
+    container.resolve(new TypeToken<Bar>() {});
+
+    // Assert
+    List<RecordedEvent> constructions = stopRecording(recording, "com.communalizer.inject.Construction");
+    assertThat(constructions).hasSize(2);
+    assertThat(find(constructions, "test.testclasses.Bar").getInt("depth")).isEqualTo(0);
+    assertThat(find(constructions, "test.testclasses.Foo").getInt("depth")).isEqualTo(1);
+  }
+
+  @Test
+  public void Resolve_RecordingStartedWithTheJvm_EmitsConstructionEvents() throws Exception {
+    // Arrange
+    Path file = Files.createTempFile("injector", ".jfr");
+    String classPath = System.getProperty("java.class.path") + File.pathSeparator +
+      getLocation(InjectContainer.class) + File.pathSeparator +
+      getLocation(ResolvingMain.class);
+
+    ProcessBuilder builder = new ProcessBuilder(
+      Paths.get(System.getProperty("java.home"), "bin", "java").toString(),
+      "-XX:StartFlightRecording:dumponexit=true,filename=" + file,
+      "-cp", classPath,
+      ResolvingMain.class.getName()
+    );
+
+    // Act
+    Process process = builder.redirectErrorStream(true).redirectOutput(ProcessBuilder.Redirect.DISCARD).start();
+    boolean exited = process.waitFor(60, TimeUnit.SECONDS);
+
+    // Assert
+    assertThat(exited).isTrue();
+    assertThat(process.exitValue()).isEqualTo(0);
+
+    int constructions = 0;
+
+    for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+      if (event.getEventType().getName().equals("com.communalizer.inject.Construction")) {
+        constructions++;
+      }
+    }
+
+    Files.delete(file);
+
+    assertThat(constructions).isEqualTo(2 * ResolvingMain.RESOLVES);
+  }
+
+  @Test
+  public void Create_TypedFactoryWhileRecording_EmitsAConstructionEventPerProduct() throws Exception {
+    // Arrange
+    InjectContainer container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {}),
+      registration()
+        .typedFactory(TenantFactory.class, TenantImpl.class)
+    );
+
+    TenantFactory factory = container.resolve(new TypeToken<TenantFactory>() {});
+    Recording recording = startRecording();
+
+    // Act
+    factory.create("acme");
+
+    // Assert
+    List<RecordedEvent> constructions = stopRecording(recording, "com.communalizer.inject.Construction");
+    assertThat(constructions).hasSize(2);
+
+    RecordedEvent tenant = find(constructions, "test.testclasses.TenantFactory");
+    assertThat(tenant.getString("componentType")).isEqualTo("TYPED_FACTORY");
+    assertThat(tenant.getString("implementation")).isEqualTo("test.testclasses.TenantImpl");
+    assertThat(find(constructions, "test.testclasses.Foo").getInt("depth")).isEqualTo(1);
+  }
+
+  @Test
+  public void Verify_WhileRecording_EmitsConstructorSelectionAndBindingEvents() throws Exception {
+    // Arrange
+    InjectContainer container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {}),
+      registration()
+        .component(new Component<Quux, QuuxImpl>() {})
+        .dependsOn("foo1", new FooImpl())
+    );
+
+    Recording recording = startRecording();
+
+    // Act
+    container.verify();
+
+    // Assert
+    List<RecordedEvent> selections = stopRecording(recording, "com.communalizer.inject.ConstructorSelection");
+    assertThat(selections).hasSize(2);
+
+    RecordedEvent quux = find(selections, "test.testclasses.Quux");
+    assertThat(quux.getString("constructor")).contains("QuuxImpl(test.testclasses.Foo,test.testclasses.Foo)");
+    assertThat(quux.getString("problem")).isNull();
+
+    List<RecordedEvent> bindings = readEvents(recording, "com.communalizer.inject.DependencyBinding");
+    assertThat(bindings).hasSize(1);
+    assertThat(bindings.get(0).getString("parameter")).isEqualTo("foo1");
+    assertThat(bindings.get(0).getString("providerType")).isEqualTo("INSTANCE");
+  }
+
+  private static RecordedEvent find(List<RecordedEvent> events, String typeKey) {
+    for (RecordedEvent event : events) {
+      if (typeKey.equals(event.getString("typeKey"))) {
+        return event;
+      }
+    }
+
+    throw new AssertionError("No event for " + typeKey);
+  }
+
+  private static String getLocation(Class<?> type) throws Exception {
+    return Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+  }
+
+  private static Recording startRecording() {
+    Recording recording = new Recording();
+
+    for (String name : new String[] { "Resolve", "Construction", "ConstructorSelection", "DependencyBinding" }) {
+      recording.enable("com.communalizer.inject." + name).withThreshold(Duration.ZERO);
+    }
+
+    recording.start();
+
+    return recording;
+  }
+
+  private static List<RecordedEvent> stopRecording(Recording recording, String name) throws Exception {
+    recording.stop();
+
+    return readEvents(recording, name);
+  }
+
+  private static List<RecordedEvent> readEvents(Recording recording, String name) throws Exception {
+    Path file = Files.createTempFile("injector", ".jfr");
+    recording.dump(file);
+
+    List<RecordedEvent> events = new ArrayList<>();
+
+    for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+      if (event.getEventType().getName().equals(name)) {
+        events.add(event);
+      }
+    }
+
+    Files.delete(file);
+
+    return events;
+  }
+}
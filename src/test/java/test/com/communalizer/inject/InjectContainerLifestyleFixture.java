@@ -0,0 +1,203 @@
+package test.com.communalizer.inject;
+
+import com.communalizer.inject.Container;
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.Factory;
+import com.communalizer.inject.kernel.TypeToken;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+import org.testng.annotations.Test;
+import test.testclasses.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+import static org.fest.assertions.Assertions.assertThat;
+
+public class InjectContainerLifestyleFixture {
+  @Test
+  public void Resolve_TransientComponent_ReturnsANewInstanceEveryTime() {
+    // Arrange
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .lifestyle(Lifestyle.TRANSIENT)
+    );
+
+    // Act
+    Foo actual1 = container.resolve(new TypeToken<Foo>() {});
+    Foo actual2 = container.resolve(new TypeToken<Foo>() {});
+
+    // Assert
+    assertThat(actual1).isNotSameAs(actual2);
+  }
+
+  @Test
+  public void Resolve_SingletonComponent_ReturnsTheSameInstanceEveryTime() {
+    // Arrange
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .lifestyle(Lifestyle.SINGLETON),
+      registration()
+        .component(new Component<Bar, BarImpl>() {})
+    );
+
+    // Act
+    Foo actual = container.resolve(new TypeToken<Foo>() {});
+    Bar bar1 = container.resolve(new TypeToken<Bar>() {});
+    Bar bar2 = container.resolve(new TypeToken<Bar>() {});
+
+    // Assert
+    assertThat(bar1).isNotSameAs(bar2);
+    assertThat(bar1.getFoo()).isSameAs(actual);
+    assertThat(bar2.getFoo()).isSameAs(actual);
+  }
+
+  @Test
+  public void Resolve_SingletonComponentAfterRegisteringMoreComponents_StillReturnsTheSameInstance() {
+    // Arrange
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .lifestyle(Lifestyle.SINGLETON)
+    );
+
+    Foo expected = container.resolve(new TypeToken<Foo>() {});
+
+    container.register(
+      registration()
+        .component(new Component<Bar, BarImpl>() {})
+    );
+
+    // Act
+    Foo actual = container.resolve(new TypeToken<Foo>() {});
+
+    // Assert
+    assertThat(actual).isSameAs(expected);
+  }
+
+  @Test
+  public void Resolve_SingletonFactoryComponent_CallsTheFactoryOnce() {
+    // Arrange
+    final List<Foo> created = new ArrayList<>();
+    Factory<Foo> factory = new Factory<Foo>() {
+      @Override
+      public Foo create() {
+        Foo foo = new FooImpl();
+        created.add(foo);
+
+        return foo;
+      }
+    };
+
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .factory(factory)
+        .lifestyle(Lifestyle.SINGLETON)
+    );
+
+    // Act
+    container.resolve(new TypeToken<Foo>() {});
+    container.resolve(new TypeToken<Foo>() {});
+
+    // Assert
+    assertThat(created.size()).isEqualTo(1);
+  }
+
+  @Test
+  public void Resolve_SingletonComponentFromManyThreadsAtOnce_IsConstructedOnce() throws Exception {
+    // Arrange
+    final Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, CountingFooImpl>() {})
+        .lifestyle(Lifestyle.SINGLETON)
+    );
+
+    int before = CountingFooImpl.INSTANCES.get();
+    final CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Future<Foo>> results = new ArrayList<>();
+
+    for (int i = 0; i < 8; i++) {
+      results.add(executor.submit(new Callable<Foo>() {
+        @Override
+        public Foo call() throws Exception {
+          start.await();
+
+          return container.resolve(new TypeToken<Foo>() {});
+        }
+      }));
+    }
+
+    // Act
+    start.countDown();
+
+    // Assert
+    Foo first = results.get(0).get();
+    for (Future<Foo> result : results) {
+      assertThat(result.get()).isSameAs(first);
+    }
+
+    executor.shutdown();
+    assertThat(CountingFooImpl.INSTANCES.get() - before).isEqualTo(1);
+  }
+
+  @Test
+  public void Resolve_PerThreadComponent_ReturnsOneInstancePerThread() throws Exception {
+    // Arrange
+    final Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .lifestyle(Lifestyle.PER_THREAD)
+    );
+
+    Foo actual1 = container.resolve(new TypeToken<Foo>() {});
+    Foo actual2 = container.resolve(new TypeToken<Foo>() {});
+
+    // Act
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    Foo other = executor.submit(new Callable<Foo>() {
+      @Override
+      public Foo call() {
+        return container.resolve(new TypeToken<Foo>() {});
+      }
+    }).get();
+    executor.shutdown();
+
+    // Assert
+    assertThat(actual1).isSameAs(actual2);
+    assertThat(other).isNotSameAs(actual1);
+  }
+
+  @Test
+  public void Resolve_ScopedComponentOutsideOfAnyScope_BehavesLikeASingleton() {
+    // Arrange
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .lifestyle(Lifestyle.SCOPED)
+    );
+
+    // Act
+    Foo actual1 = container.resolve(new TypeToken<Foo>() {});
+    Foo actual2 = container.resolve(new TypeToken<Foo>() {});
+
+    // Assert
+    assertThat(actual1).isSameAs(actual2);
+  }
+
+  private static Container getNewInjectContainer() {
+    return new InjectContainer();
+  }
+}
@@ -0,0 +1,167 @@
+package test.com.communalizer.inject;
+
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.Factory;
+import com.communalizer.inject.kernel.TypeToken;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+import com.communalizer.inject.kernel.metrics.ComponentStatistics;
+import com.communalizer.inject.kernel.metrics.ResolutionMetrics;
+import org.testng.annotations.Test;
+import test.testclasses.*;
+
+import java.util.Map;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+import static org.fest.assertions.Assertions.assertThat;
+
+public class InjectContainerMetricsFixture {
+  private static final String FOO = "test.testclasses.Foo->test.testclasses.FooImpl";
+  private static final String BAR = "test.testclasses.Bar->test.testclasses.BarImpl";
+
+  @Test
+  public void Resolve_MetricsEnabled_CountsResolutionsAndConstructions() {
+    // Arrange
+    InjectContainer container = new InjectContainer(new ResolutionMetrics());
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .lifestyle(Lifestyle.SINGLETON),
+      registration()
+        .component(new Component<Bar, BarImpl>() {})
+    );
+
+    // Act
+    for (int i = 0; i < 3; i++) {
+      container.resolve(new TypeToken<Bar>() {});
+    }
+
+    // Assert
+    Map<String, ComponentStatistics> actual = container.getMetrics().snapshot();
+
+    ComponentStatistics foo = actual.get(FOO);
+    assertThat(foo.getResolutions()).isEqualTo(3);
+    assertThat(foo.getConstructions()).isEqualTo(1);
+
+    ComponentStatistics bar = actual.get(BAR);
+    assertThat(bar.getResolutions()).isEqualTo(3);
+    assertThat(bar.getConstructions()).isEqualTo(3);
+    assertThat(bar.getConstructionTime().getCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void Resolve_MetricsEnabled_SeparatesDependencyTimeFromSelfTime() {
+    // Arrange
+    InjectContainer container = new InjectContainer(new ResolutionMetrics());
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .factory(new Factory<Foo>() {
+          @Override
+          public Foo create() {
+            try {
+              Thread.sleep(20);
+            } catch (InterruptedException e) {
+              throw new RuntimeException(e);
+            }
+
+            return new FooImpl();
+          }
+        }),
+      registration()
+        .component(new Component<Bar, BarImpl>() {})
+    );
+
+    // Act
+    container.resolve(new TypeToken<Bar>() {});
+
+    // Assert
+    Map<String, ComponentStatistics> actual = container.getMetrics().snapshot();
+
+    ComponentStatistics bar = actual.get(BAR);
+    ComponentStatistics foo = actual.get(FOO);
+
+    assertThat(bar.getDependencyTime()).isEqualTo(foo.getConstructionTime().getTotal());
+    assertThat(bar.getDependencyTime()).isGreaterThanOrEqualTo(20000000L);
+    assertThat(bar.getSelfTime()).isLessThan(bar.getDependencyTime());
+    assertThat(foo.getDependencyTime()).isEqualTo(0);
+  }
+
+  @Test
+  public void Resolve_InstanceComponent_IsNeverConstructed() {
+    // Arrange
+    InjectContainer container = new InjectContainer(new ResolutionMetrics());
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .instance(new FooImpl())
+    );
+
+    // Act
+    container.resolve(new TypeToken<Foo>() {});
+
+    // Assert
+    ComponentStatistics actual = container.getMetrics().snapshot().get(FOO);
+    assertThat(actual.getResolutions()).isEqualTo(1);
+    assertThat(actual.getConstructions()).isEqualTo(0);
+  }
+
+  @Test
+  public void Resolve_MetricsTrackingAllocations_RecordsAllocatedBytes() {
+    // Arrange
+    ResolutionMetrics metrics = new ResolutionMetrics(true);
+
+    InjectContainer container = new InjectContainer(metrics);
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+    );
+
+    // Act
+    container.resolve(new TypeToken<Foo>() {});
+
+    // Assert
+    if (metrics.isTrackingAllocations()) {
+      assertThat(metrics.snapshot().get(FOO).getAllocatedBytes()).isGreaterThan(0);
+    }
+  }
+
+  @Test
+  public void Resolve_MetricsSurviveRepublishing_KeepCounting() {
+    // Arrange
+    InjectContainer container = new InjectContainer(new ResolutionMetrics());
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+    );
+
+    container.resolve(new TypeToken<Foo>() {});
+    container.register(
+      registration()
+        .component(new Component<Bar, BarImpl>() {})
+    );
+
+    // Act
+    container.resolve(new TypeToken<Foo>() {});
+
+    // Assert
+    assertThat(container.getMetrics().snapshot().get(FOO).getResolutions()).isEqualTo(2);
+  }
+
+  @Test
+  public void Resolve_MetricsDisabled_RecordsNothing() {
+    // Arrange
+    InjectContainer container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+    );
+
+    // Act
+    container.resolve(new TypeToken<Foo>() {});
+
+    // Assert
+    assertThat(container.getMetrics().isEnabled()).isFalse();
+    assertThat(container.getMetrics().snapshot()).isEmpty();
+  }
+}
@@ -0,0 +1,196 @@
+package test.com.communalizer.inject;
+
+import com.communalizer.inject.Container;
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.compiler.ContainerSourceGenerator;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.Factory;
+import com.communalizer.inject.kernel.TypeToken;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+import org.testng.annotations.Test;
+import test.testclasses.*;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+import static org.fest.assertions.Assertions.assertThat;
+
+public class InjectContainerOpenGenericFixture {
+  @Test
+  public void Resolve_ParameterizationOfOpenGeneric_ClosesTheImplementationAndItsDependencies() {
+    // Arrange
+    Container container = getNewInjectContainer();
+
+    // Act
+    Repository<String> actual = container.resolve(new TypeToken<Repository<String>>() {});
+
+    // Assert
+    assertThat(actual).isInstanceOf(RepositoryImpl.class);
+    assertThat(actual.getDao()).isInstanceOf(DaoImpl.class);
+  }
+
+  @Test
+  public void Resolve_DifferentParameterizations_ResolveIndependently() {
+    // Arrange
+    Container container = getNewInjectContainer();
+
+    // Act
+    Repository<String> actual1 = container.resolve(new TypeToken<Repository<String>>() {});
+    Repository<Integer> actual2 = container.resolve(new TypeToken<Repository<Integer>>() {});
+
+    // Assert
+    assertThat(actual1).isNotSameAs(actual2);
+    assertThat(actual1.getDao()).isNotSameAs(actual2.getDao());
+  }
+
+  @Test
+  public void Resolve_ClosedRegistrationOfTheSameType_TakesPrecedenceOverTheOpenGeneric() {
+    // Arrange
+    Container container = getNewInjectContainer();
+    Repository<Long> instance = new RepositoryImpl<>(new DaoImpl<Long>());
+
+    container.register(
+      registration()
+        .component(new Component<Repository<Long>, RepositoryImpl<Long>>() {})
+        .instance(instance)
+    );
+
+    // Act
+    Repository<Long> actual = container.resolve(new TypeToken<Repository<Long>>() {});
+
+    // Assert
+    assertThat(actual).isSameAs(instance);
+  }
+
+  @Test
+  public void Resolve_SingletonOpenGeneric_SharesOneInstancePerParameterization() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .openGeneric(Repository.class, RepositoryImpl.class)
+        .lifestyle(Lifestyle.SINGLETON),
+      registration()
+        .openGeneric(Dao.class, DaoImpl.class)
+    );
+
+    // Act
+    Repository<String> actual1 = container.resolve(new TypeToken<Repository<String>>() {});
+    Repository<String> actual2 = container.resolve(new TypeToken<Repository<String>>() {});
+    Repository<Integer> actual3 = container.resolve(new TypeToken<Repository<Integer>>() {});
+
+    // Assert
+    assertThat(actual1).isSameAs(actual2);
+    assertThat(actual1).isNotSameAs(actual3);
+  }
+
+  @Test
+  public void Resolve_NamedOpenGeneric_ClosesTheNamedRegistration() {
+    // Arrange
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .openGeneric(Repository.class, RepositoryImpl.class)
+        .named("named")
+        .lifestyle(Lifestyle.SINGLETON)
+    );
+
+    // Act
+    Repository<String> actual1 = container.resolve(new TypeToken<Repository<String>>() {}, "named");
+    Repository<String> actual2 = container.resolve(new TypeToken<Repository<String>>() {});
+
+    // Assert
+    assertThat(actual1).isSameAs(container.resolve(new TypeToken<Repository<String>>() {}, "named"));
+    assertThat(actual1).isNotSameAs(actual2);
+  }
+
+  @Test
+  public void Resolve_ComponentDependingOnAParameterization_InjectsTheClosedGeneric() {
+    // Arrange
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<RepositoryConsumer, RepositoryConsumer>() {})
+    );
+
+    // Act
+    RepositoryConsumer actual = container.resolve(new TypeToken<RepositoryConsumer>() {});
+
+    // Assert
+    assertThat(actual.getRepository()).isInstanceOf(RepositoryImpl.class);
+    assertThat(actual.getRepository().getDao()).isInstanceOf(DaoImpl.class);
+  }
+
+  @Test
+  public void Verify_ComponentDependingOnAParameterization_Succeeds() {
+    // Arrange
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<RepositoryConsumer, RepositoryConsumer>() {})
+    );
+
+    // Act
+    container.verify();
+  }
+
+  @Test(expectedExceptions = RuntimeException.class)
+  public void Resolve_OpenGenericWithUnregisteredDependency_Throws() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .openGeneric(Repository.class, RepositoryImpl.class)
+    );
+
+    // Act
+    container.resolve(new TypeToken<Repository<String>>() {});
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void Register_OpenGenericOfNonGenericType_Throws() {
+    // Act
+    registration()
+      .openGeneric(Foo.class, FooImpl.class);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void Register_OpenGenericOfIncompatibleTypes_Throws() {
+    // Act
+    registration()
+      .openGeneric(Repository.class, DaoImpl.class);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void Register_OpenGenericWithFactory_Throws() {
+    // Act
+    registration()
+      .openGeneric(Repository.class, RepositoryImpl.class)
+      .factory(new Factory<Object>() {
+        @Override
+        public Object create() {
+          return null;
+        }
+      })
+      .build();
+  }
+
+  @Test(expectedExceptions = RuntimeException.class)
+  public void Generate_ContainerWithOpenGeneric_Throws() {
+    // Arrange
+    InjectContainer container = getNewInjectContainer();
+
+    // Act
+    new ContainerSourceGenerator(container.getSnapshot()).generate("test.generated.OpenGenericContainer");
+  }
+
+  private static InjectContainer getNewInjectContainer() {
+    InjectContainer container = new InjectContainer();
+    container.register(
+      registration()
+        .openGeneric(Repository.class, RepositoryImpl.class),
+      registration()
+        .openGeneric(Dao.class, DaoImpl.class)
+    );
+
+    return container;
+  }
+}
@@ -0,0 +1,168 @@
+package test.com.communalizer.inject;
+
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.ScopedContainer;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.TypeToken;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+import com.communalizer.inject.kernel.lifestyle.PoolStatistics;
+import org.testng.annotations.Test;
+import test.testclasses.*;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+import static org.fest.assertions.Assertions.assertThat;
+
+public class InjectContainerPoolFixture {
+  @Test
+  public void Resolve_PooledComponentNotReleased_CreatesANewInstance() {
+    // Arrange
+    InjectContainer container = getNewInjectContainer();
+
+    // Act
+    Foo actual1 = container.resolve(new TypeToken<Foo>() {});
+    Foo actual2 = container.resolve(new TypeToken<Foo>() {});
+
+    // Assert
+    assertThat(actual1).isNotSameAs(actual2);
+  }
+
+  @Test
+  public void Resolve_PooledComponentReleased_ReusesTheInstance() {
+    // Arrange
+    InjectContainer container = getNewInjectContainer();
+
+    Foo instance = container.resolve(new TypeToken<Foo>() {});
+    container.release(new TypeToken<Foo>() {}, instance);
+
+    // Act
+    Foo actual = container.resolve(new TypeToken<Foo>() {});
+
+    // Assert
+    assertThat(actual).isSameAs(instance);
+  }
+
+  @Test
+  public void Resolve_PooledDependency_IsTakenFromThePool() {
+    // Arrange
+    InjectContainer container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Bar, BarImpl>() {})
+    );
+
+    Foo instance = container.resolve(new TypeToken<Foo>() {});
+    container.release(new TypeToken<Foo>() {}, instance);
+
+    // Act
+    Bar actual = container.resolve(new TypeToken<Bar>() {});
+
+    // Assert
+    assertThat(actual.getFoo()).isSameAs(instance);
+  }
+
+  @Test
+  public void Release_NamedPooledComponent_ReturnsItToItsOwnPool() {
+    // Arrange
+    InjectContainer container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, CountingFooImpl>() {})
+        .named("counting")
+        .lifestyle(Lifestyle.POOLED)
+    );
+
+    Foo instance = container.resolve(new TypeToken<Foo>() {}, "counting");
+
+    // Act
+    container.release(new TypeToken<Foo>() {}, "counting", instance);
+
+    // Assert
+    assertThat(container.resolve(new TypeToken<Foo>() {}, "counting")).isSameAs(instance);
+    assertThat(container.resolve(new TypeToken<Foo>() {})).isNotSameAs(instance);
+  }
+
+  @Test
+  public void Release_FullPool_DisposesTheInstance() {
+    // Arrange
+    InjectContainer container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, DisposableFooImpl>() {})
+        .pooled(1)
+    );
+
+    DisposableFooImpl first = (DisposableFooImpl) container.resolve(new TypeToken<Foo>() {});
+    DisposableFooImpl second = (DisposableFooImpl) container.resolve(new TypeToken<Foo>() {});
+
+    // Act
+    container.release(new TypeToken<Foo>() {}, first);
+    container.release(new TypeToken<Foo>() {}, second);
+
+    // Assert
+    assertThat(first.isClosed()).isFalse();
+    assertThat(second.isClosed()).isTrue();
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void Release_ComponentThatIsNotPooled_Throws() {
+    // Arrange
+    InjectContainer container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+    );
+
+    Foo instance = container.resolve(new TypeToken<Foo>() {});
+
+    // Act
+    container.release(new TypeToken<Foo>() {}, instance);
+  }
+
+  @Test
+  public void Release_ThroughScope_ReturnsToTheContainersPool() {
+    // Arrange
+    InjectContainer container = getNewInjectContainer();
+    Foo instance;
+
+    try (ScopedContainer scope = container.createScope()) {
+      instance = scope.resolve(new TypeToken<Foo>() {});
+
+      // Act
+      scope.release(new TypeToken<Foo>() {}, instance);
+    }
+
+    // Assert
+    assertThat(container.resolve(new TypeToken<Foo>() {})).isSameAs(instance);
+  }
+
+  @Test
+  public void GetPoolStatistics_AfterResolving_CountsHitsAndMisses() {
+    // Arrange
+    InjectContainer container = getNewInjectContainer();
+
+    Foo instance = container.resolve(new TypeToken<Foo>() {});
+    container.release(new TypeToken<Foo>() {}, instance);
+    container.resolve(new TypeToken<Foo>() {});
+
+    // Act
+    PoolStatistics actual = container.getPoolStatistics().get("test.testclasses.Foo->test.testclasses.FooImpl");
+
+    // Assert
+    assertThat(actual.getSize()).isEqualTo(2);
+    assertThat(actual.getHits()).isEqualTo(1);
+    assertThat(actual.getMisses()).isEqualTo(1);
+    assertThat(actual.getReturns()).isEqualTo(1);
+    assertThat(actual.getHitRate()).isEqualTo(0.5);
+  }
+
+  private static InjectContainer getNewInjectContainer() {
+    InjectContainer container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .pooled(2)
+    );
+
+    return container;
+  }
+}
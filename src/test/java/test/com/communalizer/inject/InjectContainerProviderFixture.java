@@ -0,0 +1,125 @@
+package test.com.communalizer.inject;
+
+import com.communalizer.inject.Container;
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.ScopedContainer;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.TypeToken;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+import org.testng.annotations.Test;
+import test.testclasses.*;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+import static org.fest.assertions.Assertions.assertThat;
+
+public class InjectContainerProviderFixture {
+  @Test
+  public void Resolve_LazyDependency_IsConstructedOnFirstUseOnly() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, CountingFooImpl>() {}),
+      registration()
+        .component(new Component<Bar, LazyBarImpl>() {})
+    );
+
+    int before = CountingFooImpl.INSTANCES.get();
+
+    // Act
+    Bar bar = container.resolve(new TypeToken<Bar>() {});
+    int resolved = CountingFooImpl.INSTANCES.get();
+    Foo actual1 = bar.getFoo();
+    Foo actual2 = bar.getFoo();
+
+    // Assert
+    assertThat(resolved).isEqualTo(before);
+    assertThat(CountingFooImpl.INSTANCES.get()).isEqualTo(before + 1);
+    assertThat(actual1).isSameAs(actual2);
+  }
+
+  @Test
+  public void Resolve_FactoryDependency_ResolvesOnEveryCall() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {}),
+      registration()
+        .component(new Component<Bar, FactoryBarImpl>() {})
+    );
+
+    Bar bar = container.resolve(new TypeToken<Bar>() {});
+
+    // Act
+    Foo actual1 = bar.getFoo();
+    Foo actual2 = bar.getFoo();
+
+    // Assert
+    assertThat(actual1).isInstanceOf(FooImpl.class);
+    assertThat(actual1).isNotSameAs(actual2);
+  }
+
+  @Test
+  public void Resolve_FactoryDependencyOnSingleton_HonoursTheLifestyle() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .lifestyle(Lifestyle.SINGLETON),
+      registration()
+        .component(new Component<Bar, FactoryBarImpl>() {})
+    );
+
+    Bar bar = container.resolve(new TypeToken<Bar>() {});
+
+    // Act
+    Foo actual = bar.getFoo();
+
+    // Assert
+    assertThat(actual).isSameAs(container.resolve(new TypeToken<Foo>() {}));
+  }
+
+  @Test
+  public void Resolve_CycleThroughLazyDependency_Resolves() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Alpha, LazyAlphaImpl>() {}),
+      registration()
+        .component(new Component<Beta, BetaImpl>() {})
+    );
+
+    // Act
+    container.verify();
+    LazyAlphaImpl alpha = (LazyAlphaImpl) container.resolve(new TypeToken<Alpha>() {});
+
+    // Assert
+    assertThat(alpha.getBeta()).isInstanceOf(BetaImpl.class);
+  }
+
+  @Test
+  public void Resolve_LazyScopedDependency_ResolvesInTheScopeItWasInjectedIn() {
+    // Arrange
+    InjectContainer container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .lifestyle(Lifestyle.SCOPED),
+      registration()
+        .component(new Component<Bar, LazyBarImpl>() {})
+    );
+
+    ScopedContainer scope = container.createScope();
+    Bar bar = scope.resolve(new TypeToken<Bar>() {});
+
+    // Act
+    Foo actual = bar.getFoo();
+
+    // Assert
+    assertThat(actual).isSameAs(scope.resolve(new TypeToken<Foo>() {}));
+    assertThat(actual).isNotSameAs(container.resolve(new TypeToken<Foo>() {}));
+  }
+}
@@ -5,11 +5,21 @@ import com.communalizer.inject.InjectContainer;
 import com.communalizer.inject.kernel.Component;
 import com.communalizer.inject.kernel.Registration;
 import com.communalizer.inject.kernel.TypeProvider;
+import com.communalizer.inject.kernel.TypeToken;
 import org.testng.annotations.Test;
+import test.testclasses.Bar;
+import test.testclasses.BarImpl;
+import test.testclasses.Foo;
+import test.testclasses.FooImpl;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
 import static org.fest.assertions.Assertions.assertThat;
@@ -132,6 +142,93 @@ public class InjectContainerRegistrationFixture {
 
   }
 
+  @Test(expectedExceptions = UnsupportedOperationException.class)
+  public void GetRegistry_AfterFreeze_IsReadOnly() {
+    // Arrange
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Object, String>() {})
+    );
+
+    container.freeze();
+
+    // Act
+    container.getRegistry().clear();
+  }
+
+  @Test
+  public void Register_AfterFreeze_PublishesANewRegistrySnapshot() {
+    // Arrange
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Object, String>() {})
+    );
+
+    container.freeze();
+    Map<String, TypeProvider<?>> frozen = container.getRegistry();
+
+    // Act
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+    );
+
+    // Assert
+    assertThat(frozen.size()).isEqualTo(1);
+    assertThat(container.getRegistry().size()).isEqualTo(2);
+    assertThat(container.resolve(new TypeToken<Foo>() {})).isInstanceOf(FooImpl.class);
+  }
+
+  @Test
+  public void Register_WhileOtherThreadsResolve_NeverBreaksResolution() throws Exception {
+    // Arrange
+    final Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {}),
+      registration()
+        .component(new Component<Bar, BarImpl>() {})
+    );
+
+    final AtomicBoolean registering = new AtomicBoolean(true);
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    for (int i = 0; i < 4; i++) {
+      executor.execute(new Runnable() {
+        @Override
+        public void run() {
+          try {
+            while (registering.get()) {
+              container.resolve(new TypeToken<Bar>() {}).getFoo().toString();
+            }
+          } catch (Throwable t) {
+            failure.set(t);
+          }
+        }
+      });
+    }
+
+    // Act
+    for (int i = 0; i < 200; i++) {
+      container.register(
+        registration()
+          .component(new Component<Object, String>() {})
+          .named("s" + i)
+      );
+    }
+
+    registering.set(false);
+    executor.shutdown();
+    executor.awaitTermination(10, TimeUnit.SECONDS);
+
+    // Assert
+    assertThat(failure.get()).isNull();
+    assertThat(container.getRegistry().get("java.lang.Object").getRegistry().size()).isEqualTo(200);
+  }
+
   private static Container getNewInjectContainer() {
     return new InjectContainer();
   }
@@ -5,6 +5,8 @@ import com.communalizer.inject.InjectContainer;
 import com.communalizer.inject.kernel.Component;
 import com.communalizer.inject.kernel.Factory;
 import com.communalizer.inject.kernel.TypeToken;
+import com.communalizer.inject.kernel.instantiation.ReflectionInstantiationStrategy;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
 import org.testng.annotations.Test;
 import test.testclasses.*;
 
@@ -109,6 +111,56 @@ public class InjectContainerResolutionFixture {
     assertThat(actual instanceof String);
   }
 
+  @Test
+  public void Resolve_UsingNameThatIsNotRegistered_ThrowsNamingTheTypeAndTheName() {
+    // Arrange
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .named("foo")
+    );
+
+    // Act
+    String message = null;
+
+    try {
+      container.resolve(new TypeToken<Foo>() {}, "bar");
+    } catch (RuntimeException e) {
+      message = e.getMessage();
+    }
+
+    // Assert
+    assertThat(message).isEqualTo(
+      "Could not find a registration matching type token: test.testclasses.Foo named 'bar'."
+    );
+  }
+
+  @Test
+  public void Resolve_WithoutNameWhenOnlyNamedRegistrationsExist_ThrowsNamingTheType() {
+    // Arrange
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .named("foo")
+    );
+
+    // Act
+    String message = null;
+
+    try {
+      container.resolve(new TypeToken<Foo>() {});
+    } catch (RuntimeException e) {
+      message = e.getMessage();
+    }
+
+    // Assert
+    assertThat(message).isEqualTo(
+      "Could not find an unnamed registration matching type token: test.testclasses.Foo."
+    );
+  }
+
   @Test
   public void Resolve_PlainTypeWithNoDependenciesThroughReflection_ReturnsNewInstance() {
     // Arrange
@@ -344,6 +396,126 @@ public class InjectContainerResolutionFixture {
     assertThat(actual.getFoo2()).isNotSameAs(instance);
   }
 
+  @Test
+  public void Resolve_ReflectionComponentResolvedRepeatedly_ReturnsNewInstancesWithNewDependencies() {
+    // Arrange
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Bar, BarImpl>() {}),
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+    );
+
+    // Act
+    Bar actual1 = container.resolve(new TypeToken<Bar>() {});
+    Bar actual2 = container.resolve(new TypeToken<Bar>() {});
+
+    // Assert
+    assertThat(actual1).isNotSameAs(actual2);
+    assertThat(actual1.getFoo()).isNotSameAs(actual2.getFoo());
+  }
+
+  @Test
+  public void Resolve_AfterRegisteringAPreviouslyMissingDependency_RecompilesAndResolves() {
+    // Arrange
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Bar, BarImpl>() {})
+    );
+
+    try {
+      container.resolve(new TypeToken<Bar>() {});
+    } catch (RuntimeException expected) {
+      // Foo is not registered yet.
+    }
+
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+    );
+
+    // Act
+    Bar actual = container.resolve(new TypeToken<Bar>() {});
+
+    // Assert
+    assertThat(actual).isNotNull();
+    assertThat(actual.getFoo()).isInstanceOf(FooImpl.class);
+  }
+
+  @Test
+  public void Resolve_WithReflectionInstantiationStrategy_CreatesANewInstanceAndInjectsTheDependency() {
+    // Arrange
+    Container container = new InjectContainer(new ReflectionInstantiationStrategy());
+    container.register(
+      registration()
+        .component(new Component<Bar, BarImpl>() {}),
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+    );
+
+    // Act
+    Bar actual = container.resolve(new TypeToken<Bar>() {});
+
+    // Assert
+    assertThat(actual).isInstanceOf(BarImpl.class);
+    assertThat(actual.getFoo()).isInstanceOf(FooImpl.class);
+  }
+
+  @Test
+  public void Resolve_WithTokenCreatedFromAClass_ResolvesTheSameRegistrationAsADeclaredToken() {
+    // Arrange
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .lifestyle(Lifestyle.SINGLETON)
+    );
+
+    Foo expected = container.resolve(new TypeToken<Foo>() {});
+
+    // Act
+    Foo actual = container.resolve(TypeToken.getToken(Foo.class));
+
+    // Assert
+    assertThat(actual).isSameAs(expected);
+  }
+
+  @Test
+  public void Resolve_ComponentWithNoArgAndOneArgConstructors_SelectsTheOneArgConstructor() {
+    // Arrange
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {}),
+      registration()
+        .component(new Component<OptionalFooHolder, OptionalFooHolder>() {})
+    );
+
+    // Act
+    OptionalFooHolder actual = container.resolve(new TypeToken<OptionalFooHolder>() {});
+
+    // Assert
+    assertThat(actual.getFoo()).isInstanceOf(FooImpl.class);
+  }
+
+  @Test
+  public void Resolve_ComponentWithUnsatisfiableOneArgConstructor_SelectsTheNoArgConstructor() {
+    // Arrange
+    Container container = getNewInjectContainer();
+    container.register(
+      registration()
+        .component(new Component<OptionalFooHolder, OptionalFooHolder>() {})
+    );
+
+    // Act
+    OptionalFooHolder actual = container.resolve(new TypeToken<OptionalFooHolder>() {});
+
+    // Assert
+    assertThat(actual.getFoo()).isNull();
+  }
+
   private static Container getNewInjectContainer() {
     return new InjectContainer();
   }
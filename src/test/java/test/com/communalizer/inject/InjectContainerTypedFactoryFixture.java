@@ -0,0 +1,251 @@
+package test.com.communalizer.inject;
+
+import com.communalizer.inject.Container;
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.TypeToken;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+import com.communalizer.inject.kernel.metrics.ComponentStatistics;
+import com.communalizer.inject.kernel.metrics.ResolutionMetrics;
+import org.testng.annotations.Test;
+import test.testclasses.*;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+import static org.fest.assertions.Assertions.assertThat;
+
+public class InjectContainerTypedFactoryFixture {
+  private static final String TENANT_FACTORY = "test.testclasses.TenantFactory->test.testclasses.TenantImpl";
+
+  @Test
+  public void Create_TypedFactory_PassesTheArgumentAndResolvesTheOtherDependencies() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {}),
+      registration()
+        .typedFactory(TenantFactory.class, TenantImpl.class)
+    );
+
+    TenantFactory factory = container.resolve(new TypeToken<TenantFactory>() {});
+
+    // Act
+    Tenant actual = factory.create("acme");
+
+    // Assert
+    assertThat(actual).isInstanceOf(TenantImpl.class);
+    assertThat(actual.getName()).isEqualTo("acme");
+    assertThat(actual.getFoo()).isInstanceOf(FooImpl.class);
+  }
+
+  @Test
+  public void Create_CalledTwice_ConstructsAnInstanceEachTime() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {}),
+      registration()
+        .typedFactory(TenantFactory.class, TenantImpl.class)
+    );
+
+    TenantFactory factory = container.resolve(new TypeToken<TenantFactory>() {});
+
+    // Act
+    Tenant first = factory.create("acme");
+    Tenant second = factory.create("initech");
+
+    // Assert
+    assertThat(first).isNotSameAs(second);
+    assertThat(second.getName()).isEqualTo("initech");
+  }
+
+  @Test
+  public void Create_SingletonDependency_IsSharedByEveryProduct() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .lifestyle(Lifestyle.SINGLETON),
+      registration()
+        .typedFactory(TenantFactory.class, TenantImpl.class)
+    );
+
+    TenantFactory factory = container.resolve(new TypeToken<TenantFactory>() {});
+
+    // Act
+    Tenant first = factory.create("acme");
+    Tenant second = factory.create("initech");
+
+    // Assert
+    assertThat(first.getFoo()).isSameAs(second.getFoo());
+  }
+
+  @Test
+  public void Create_MetricsEnabled_CountsEachProductAsAConstruction() {
+    // Arrange
+    InjectContainer container = new InjectContainer(new ResolutionMetrics());
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {}),
+      registration()
+        .typedFactory(TenantFactory.class, TenantImpl.class)
+    );
+
+    TenantFactory factory = container.resolve(new TypeToken<TenantFactory>() {});
+
+    // Act
+    factory.create("acme");
+    factory.create("initech");
+
+    // Assert
+    ComponentStatistics actual = container.getMetrics().snapshot().get(TENANT_FACTORY);
+    assertThat(actual.getResolutions()).isEqualTo(1);
+    assertThat(actual.getConstructions()).isEqualTo(2);
+    assertThat(actual.getConstructionTime().getCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void Create_MetricsEnabled_PassesEachCallItsOwnArguments() {
+    // Arrange
+    InjectContainer container = new InjectContainer(new ResolutionMetrics());
+    container.register(
+      registration()
+        .typedFactory(GreetingFactory.class, Greeting.class)
+    );
+
+    GreetingFactory factory = container.resolve(new TypeToken<GreetingFactory>() {});
+
+    // Act
+    Greeting first = factory.create("World", "Hello");
+    Greeting second = factory.create("There", "Hi");
+
+    // Assert
+    assertThat(first.toString()).isEqualTo("Hello, World");
+    assertThat(second.toString()).isEqualTo("Hi, There");
+  }
+
+  @Test
+  public void Create_DefaultMethod_CallsTheInterfaceImplementation() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {}),
+      registration()
+        .typedFactory(TenantFactory.class, TenantImpl.class)
+    );
+
+    // Act
+    Tenant actual = container.resolve(new TypeToken<TenantFactory>() {}).createDefault();
+
+    // Assert
+    assertThat(actual.getName()).isEqualTo("default");
+  }
+
+  @Test
+  public void Create_ArgumentsOfTheSameType_AreBoundByName() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .typedFactory(GreetingFactory.class, Greeting.class)
+    );
+
+    // Act
+    Greeting actual = container.resolve(new TypeToken<GreetingFactory>() {}).create("World", "Hello");
+
+    // Assert
+    assertThat(actual.toString()).isEqualTo("Hello, World");
+  }
+
+  @Test
+  public void Resolve_ComponentDependingOnTypedFactory_InjectsTheFactory() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {}),
+      registration()
+        .typedFactory(TenantFactory.class, TenantImpl.class),
+      registration()
+        .component(new Component<TenantDirectory, TenantDirectory>() {})
+    );
+
+    // Act
+    TenantDirectory actual = container.resolve(new TypeToken<TenantDirectory>() {});
+
+    // Assert
+    assertThat(actual.getTenant("acme").getName()).isEqualTo("acme");
+  }
+
+  @Test
+  public void Verify_ProductWithUnregisteredDependency_Throws() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .typedFactory(TenantFactory.class, TenantImpl.class)
+    );
+
+    // Act
+    String message = null;
+
+    try {
+      container.verify();
+    } catch (RuntimeException e) {
+      message = e.getMessage();
+    }
+
+    // Assert
+    assertThat(message).isNotNull();
+    assertThat(message).contains("'test.testclasses.Foo' is not registered");
+  }
+
+  @Test
+  public void Verify_ArgumentsMatchingNoSingleParameter_Throws() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .typedFactory(AmbiguousGreetingFactory.class, Greeting.class)
+    );
+
+    // Act
+    String message = null;
+
+    try {
+      container.verify();
+    } catch (RuntimeException e) {
+      message = e.getMessage();
+    }
+
+    // Assert
+    assertThat(message).isNotNull();
+    assertThat(message).contains("cannot bind");
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void TypedFactory_WithClassInsteadOfInterface_Throws() {
+    // Act
+    registration()
+      .typedFactory(TenantImpl.class, TenantImpl.class);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void TypedFactory_WithProductNotReturnedByTheMethods_Throws() {
+    // Act
+    registration()
+      .typedFactory(TenantFactory.class, Greeting.class);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void Build_TypedFactoryWithInstance_Throws() {
+    // Act
+    registration()
+      .typedFactory(GreetingFactory.class, Greeting.class)
+      .instance(new Greeting("Hello", "World"))
+      .build();
+  }
+}
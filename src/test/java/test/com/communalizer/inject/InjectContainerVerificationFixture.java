@@ -0,0 +1,256 @@
+package test.com.communalizer.inject;
+
+import com.communalizer.inject.Container;
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.DependencyGraph;
+import com.communalizer.inject.kernel.Registration;
+import com.communalizer.inject.kernel.TypeToken;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+import org.testng.annotations.Test;
+import test.testclasses.*;
+
+import java.util.List;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+import static org.fest.assertions.Assertions.assertThat;
+
+public class InjectContainerVerificationFixture {
+  @Test
+  public void Verify_AllComponentsResolvable_DoesNotThrow() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {}),
+      registration()
+        .component(new Component<Bar, BarImpl>() {}),
+      registration()
+        .component(new Component<Quux, QuuxImpl>() {})
+    );
+
+    // Act
+    container.verify();
+  }
+
+  @Test
+  public void Verify_MissingDependencies_ReportsEveryUnresolvableComponent() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Bar, BarImpl>() {}),
+      registration()
+        .component(new Component<Quux, QuuxImpl>() {})
+    );
+
+    // Act
+    String message = verify(container);
+
+    // Assert
+    assertThat(message).contains("Component 'test.testclasses.Bar->test.testclasses.BarImpl' has unregistered");
+    assertThat(message).contains("Component 'test.testclasses.Quux->test.testclasses.QuuxImpl' has unregistered");
+  }
+
+  @Test
+  public void Verify_MissingNamedDependency_ReportsTheName() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {}),
+      registration()
+        .component(new Component<Bar, BarImpl>() {})
+        .dependsOn("foo", new TypeToken<Foo>() {}, "missing")
+    );
+
+    // Act
+    String message = verify(container);
+
+    // Assert
+    assertThat(message).contains("depends on 'test.testclasses.Foo' named 'missing', which is not registered.");
+  }
+
+  @Test
+  public void Verify_ConstructorCycle_ReportsEveryComponentInTheCycle() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Alpha, AlphaImpl>() {}),
+      registration()
+        .component(new Component<Beta, BetaImpl>() {})
+    );
+
+    // Act
+    String message = verify(container);
+
+    // Assert
+    assertThat(message).contains(
+      "Component 'test.testclasses.Alpha->test.testclasses.AlphaImpl' is part of a dependency cycle"
+    );
+    assertThat(message).contains(
+      "Component 'test.testclasses.Beta->test.testclasses.BetaImpl' is part of a dependency cycle"
+    );
+  }
+
+  @Test
+  public void Verify_DependencyOnUnresolvableComponent_ReportsTheDependent() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Alpha, AlphaImpl>() {}),
+      registration()
+        .component(new Component<Beta, BetaImpl>() {}),
+      registration()
+        .component(new Component<Gamma, GammaImpl>() {})
+    );
+
+    // Act
+    String message = verify(container);
+
+    // Assert
+    assertThat(message).contains(
+      "Component 'test.testclasses.Gamma->test.testclasses.GammaImpl' depends on " +
+        "'test.testclasses.Alpha->test.testclasses.AlphaImpl', which cannot be resolved."
+    );
+  }
+
+  @Test
+  public void Verify_UnresolvableComponent_DoesNotReportOtherComponents() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .named("other"),
+      registration()
+        .component(new Component<Bar, BarImpl>() {})
+        .dependsOn("foo", new TypeToken<Foo>() {}, "other"),
+      registration()
+        .component(new Component<Baz, BazImpl>() {})
+    );
+
+    // Act
+    String message = verify(container);
+
+    // Assert
+    assertThat(message).doesNotContain("test.testclasses.Bar->");
+    assertThat(message).contains("Component 'test.testclasses.Baz->test.testclasses.BazImpl' has unregistered");
+  }
+
+  @Test
+  public void Verify_SingletonDependingOnScopedComponent_ReportsTheCaptiveDependency() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .lifestyle(Lifestyle.SCOPED),
+      registration()
+        .component(new Component<Bar, BarImpl>() {})
+        .lifestyle(Lifestyle.SINGLETON)
+    );
+
+    // Act
+    String message = verify(container);
+
+    // Assert
+    assertThat(message).contains(
+      "Component 'test.testclasses.Bar->test.testclasses.BarImpl' is a SINGLETON, but depends on " +
+        "'test.testclasses.Foo->test.testclasses.FooImpl', which is SCOPED and would be captured by it."
+    );
+  }
+
+  @Test
+  public void Verify_SingletonDependingOnPerThreadComponentThroughTransientOne_ReportsTheCaptiveDependency() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Dao<String>, DaoImpl<String>>() {})
+        .lifestyle(Lifestyle.PER_THREAD),
+      registration()
+        .component(new Component<Repository<String>, RepositoryImpl<String>>() {})
+        .lifestyle(Lifestyle.TRANSIENT),
+      registration()
+        .component(new Component<RepositoryConsumer, RepositoryConsumer>() {})
+        .lifestyle(Lifestyle.SINGLETON)
+    );
+
+    // Act
+    String message = verify(container);
+
+    // Assert
+    assertThat(message).contains(
+      "Component 'test.testclasses.RepositoryConsumer->test.testclasses.RepositoryConsumer' is a SINGLETON"
+    );
+    assertThat(message).contains("which is PER_THREAD and would be captured by it.");
+  }
+
+  @Test
+  public void Verify_SingletonDependingOnFactoryOfScopedComponent_DoesNotThrow() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .lifestyle(Lifestyle.SCOPED),
+      registration()
+        .component(new Component<Bar, FactoryBarImpl>() {})
+        .lifestyle(Lifestyle.SINGLETON)
+    );
+
+    // Act
+    container.verify();
+  }
+
+  @Test(expectedExceptions = RuntimeException.class)
+  public void Resolve_ConstructorCycle_ThrowsInsteadOfOverflowingTheStack() {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Alpha, AlphaImpl>() {}),
+      registration()
+        .component(new Component<Beta, BetaImpl>() {})
+    );
+
+    // Act
+    container.resolve(new TypeToken<Alpha>() {});
+  }
+
+  @Test
+  public void GetOrder_DependencyGraph_PlacesDependenciesBeforeDependents() {
+    // Arrange
+    InjectContainer container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Quux, QuuxImpl>() {}),
+      registration()
+        .component(new Component<Bar, BarImpl>() {}),
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+    );
+
+    // Act
+    DependencyGraph graph = container.getSnapshot().getGraph();
+    List<Registration<?, ?>> order = graph.getOrder();
+
+    // Assert
+    assertThat(graph.isValid()).isTrue();
+    assertThat(order).hasSize(3);
+    assertThat(order.get(0).getComponent().getReferencedType()).isEqualTo(FooImpl.class);
+  }
+
+  private static String verify(Container container) {
+    try {
+      container.verify();
+    } catch (RuntimeException e) {
+      return e.getMessage();
+    }
+
+    return null;
+  }
+}
@@ -0,0 +1,155 @@
+package test.com.communalizer.inject;
+
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.Factory;
+import com.communalizer.inject.kernel.TypeToken;
+import com.communalizer.inject.kernel.WarmUpReport;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+import org.testng.annotations.Test;
+import test.testclasses.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+import static org.fest.assertions.Assertions.assertThat;
+
+public class InjectContainerWarmUpFixture {
+  private static final Executor CALLER = new Executor() {
+    @Override
+    public void execute(Runnable command) {
+      command.run();
+    }
+  };
+
+  @Test
+  public void WarmUp_SingletonComponent_IsConstructedBeforeItIsResolved() {
+    // Arrange
+    InjectContainer container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, CountingFooImpl>() {})
+        .lifestyle(Lifestyle.SINGLETON)
+    );
+
+    int before = CountingFooImpl.INSTANCES.get();
+
+    // Act
+    container.warmUp(CALLER);
+    int warmed = CountingFooImpl.INSTANCES.get();
+    container.resolve(new TypeToken<Foo>() {});
+
+    // Assert
+    assertThat(warmed).isEqualTo(before + 1);
+    assertThat(CountingFooImpl.INSTANCES.get()).isEqualTo(warmed);
+  }
+
+  @Test
+  public void WarmUp_TransientComponent_IsNotConstructed() {
+    // Arrange
+    InjectContainer container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, CountingFooImpl>() {})
+    );
+
+    int before = CountingFooImpl.INSTANCES.get();
+
+    // Act
+    WarmUpReport report = container.warmUp(CALLER);
+
+    // Assert
+    assertThat(CountingFooImpl.INSTANCES.get()).isEqualTo(before);
+    assertThat(report.getConstructionTimes()).isEmpty();
+  }
+
+  @Test
+  public void WarmUp_DependentSingletons_ConstructsDependenciesFirst() throws Exception {
+    // Arrange
+    InjectContainer container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .lifestyle(Lifestyle.SINGLETON),
+      registration()
+        .component(new Component<Bar, BarImpl>() {}),
+      registration()
+        .component(new Component<Quux, QuuxImpl>() {})
+        .lifestyle(Lifestyle.SINGLETON)
+    );
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    // Act
+    WarmUpReport report;
+
+    try {
+      report = container.warmUp(executor);
+    } finally {
+      executor.shutdown();
+    }
+
+    // Assert
+    assertThat(new ArrayList<>(report.getConstructionTimes().keySet())).isEqualTo(
+      Arrays.asList(
+        "test.testclasses.Foo->test.testclasses.FooImpl",
+        "test.testclasses.Quux->test.testclasses.QuuxImpl"
+      )
+    );
+
+    Quux quux = container.resolve(new TypeToken<Quux>() {});
+    assertThat(((QuuxImpl) quux).getFoo1()).isSameAs(container.resolve(new TypeToken<Foo>() {}));
+  }
+
+  @Test
+  public void WarmUp_FailingSingleton_ThrowsAndSkipsItsDependents() {
+    // Arrange
+    InjectContainer container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .factory(new Factory<Foo>() {
+          @Override
+          public Foo create() {
+            throw new IllegalStateException("Connection refused.");
+          }
+        })
+        .lifestyle(Lifestyle.SINGLETON),
+      registration()
+        .component(new Component<Bar, BarImpl>() {})
+        .lifestyle(Lifestyle.SINGLETON)
+    );
+
+    // Act
+    RuntimeException failure = null;
+
+    try {
+      container.warmUp(CALLER);
+    } catch (RuntimeException e) {
+      failure = e;
+    }
+
+    // Assert
+    assertThat(failure).isNotNull();
+    assertThat(failure.getCause().getMessage()).contains("test.testclasses.Foo->test.testclasses.FooImpl");
+    assertThat(failure.getSuppressed()).isEmpty();
+  }
+
+  @Test(expectedExceptions = RuntimeException.class)
+  public void WarmUp_UnresolvableComponent_Throws() {
+    // Arrange
+    InjectContainer container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Bar, BarImpl>() {})
+        .lifestyle(Lifestyle.SINGLETON)
+    );
+
+    // Act
+    container.warmUp(CALLER);
+  }
+}
@@ -0,0 +1,157 @@
+package test.com.communalizer.inject;
+
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.ScopedContainer;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.TypeToken;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+import org.testng.annotations.Test;
+import test.testclasses.*;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+import static org.fest.assertions.Assertions.assertThat;
+
+public class ScopedContainerFixture {
+  @Test
+  public void Resolve_ScopedComponentWithinOneScope_ReturnsTheSameInstance() {
+    // Arrange
+    InjectContainer container = getNewInjectContainer(Lifestyle.SCOPED);
+    ScopedContainer scope = container.createScope();
+
+    // Act
+    Foo actual1 = scope.resolve(new TypeToken<Foo>() {});
+    Foo actual2 = scope.resolve(new TypeToken<Foo>() {});
+
+    // Assert
+    assertThat(actual1).isSameAs(actual2);
+  }
+
+  @Test
+  public void Resolve_ScopedComponentInDifferentScopes_ReturnsDifferentInstances() {
+    // Arrange
+    InjectContainer container = getNewInjectContainer(Lifestyle.SCOPED);
+
+    // Act
+    Foo actual1 = container.createScope().resolve(new TypeToken<Foo>() {});
+    Foo actual2 = container.createScope().resolve(new TypeToken<Foo>() {});
+    Foo root = container.resolve(new TypeToken<Foo>() {});
+
+    // Assert
+    assertThat(actual1).isNotSameAs(actual2);
+    assertThat(root).isNotSameAs(actual1);
+    assertThat(root).isNotSameAs(actual2);
+  }
+
+  @Test
+  public void Resolve_ScopedDependencyOfTransientComponent_IsSharedWithinTheScope() {
+    // Arrange
+    InjectContainer container = getNewInjectContainer(Lifestyle.SCOPED);
+    container.register(
+      registration()
+        .component(new Component<Bar, BarImpl>() {})
+    );
+
+    ScopedContainer scope = container.createScope();
+
+    // Act
+    Bar actual1 = scope.resolve(new TypeToken<Bar>() {});
+    Bar actual2 = scope.resolve(new TypeToken<Bar>() {});
+
+    // Assert
+    assertThat(actual1).isNotSameAs(actual2);
+    assertThat(actual1.getFoo()).isSameAs(actual2.getFoo());
+  }
+
+  @Test
+  public void Resolve_SingletonDependingOnScopedComponentThroughAScope_Throws() {
+    // Arrange
+    InjectContainer container = getNewInjectContainer(Lifestyle.SCOPED);
+    container.register(
+      registration()
+        .component(new Component<Bar, BarImpl>() {})
+        .lifestyle(Lifestyle.SINGLETON)
+    );
+
+    ScopedContainer scope = container.createScope();
+    String message = null;
+
+    // Act
+    try {
+      scope.resolve(new TypeToken<Bar>() {});
+    } catch (RuntimeException e) {
+      message = e.getMessage();
+    }
+
+    // Assert
+    assertThat(message).contains(
+      "Component 'test.testclasses.Bar->test.testclasses.BarImpl' is a SINGLETON, but depends on " +
+        "'test.testclasses.Foo->test.testclasses.FooImpl', which is SCOPED and would be captured by it."
+    );
+  }
+
+  @Test
+  public void Resolve_SingletonComponentThroughAScope_ReturnsTheParentsInstance() {
+    // Arrange
+    InjectContainer container = getNewInjectContainer(Lifestyle.SINGLETON);
+
+    // Act
+    Foo actual = container.createScope().resolve(new TypeToken<Foo>() {});
+
+    // Assert
+    assertThat(actual).isSameAs(container.resolve(new TypeToken<Foo>() {}));
+  }
+
+  @Test
+  public void Close_WithDisposableScopedInstance_DisposesIt() {
+    // Arrange
+    InjectContainer container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, DisposableFooImpl>() {})
+        .lifestyle(Lifestyle.SCOPED)
+    );
+
+    ScopedContainer scope = container.createScope();
+    DisposableFooImpl actual = (DisposableFooImpl) scope.resolve(new TypeToken<Foo>() {});
+
+    // Act
+    scope.close();
+
+    // Assert
+    assertThat(actual.isClosed()).isTrue();
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void Resolve_AfterClose_Throws() {
+    // Arrange
+    InjectContainer container = getNewInjectContainer(Lifestyle.SCOPED);
+    ScopedContainer scope = container.createScope();
+    scope.close();
+
+    // Act
+    scope.resolve(new TypeToken<Foo>() {});
+  }
+
+  @Test(expectedExceptions = UnsupportedOperationException.class)
+  public void Register_OnAScope_Throws() {
+    // Arrange
+    InjectContainer container = getNewInjectContainer(Lifestyle.SCOPED);
+
+    // Act
+    container.createScope().register(
+      registration()
+        .component(new Component<Bar, BarImpl>() {})
+    );
+  }
+
+  private static InjectContainer getNewInjectContainer(Lifestyle fooLifestyle) {
+    InjectContainer container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+        .lifestyle(fooLifestyle)
+    );
+
+    return container;
+  }
+}
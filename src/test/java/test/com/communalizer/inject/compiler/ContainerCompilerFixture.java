@@ -0,0 +1,353 @@
+package test.com.communalizer.inject.compiler;
+
+import com.communalizer.inject.Container;
+import com.communalizer.inject.ContainerModule;
+import com.communalizer.inject.compiler.ContainerCompiler;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.Factory;
+import com.communalizer.inject.kernel.TypeToken;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+import org.testng.annotations.Test;
+import test.testclasses.*;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+import static org.fest.assertions.Assertions.assertThat;
+
+public class ContainerCompilerFixture {
+  @Test
+  public void Compile_ReflectionComponents_GeneratesConstructorCalls() {
+    // Arrange
+    ContainerModule module = new ContainerModule() {
+      @Override
+      public void configure(Container container) {
+        container.register(
+          registration()
+            .component(new Component<Foo, FooImpl>() {}),
+          registration()
+            .component(new Component<Bar, BarImpl>() {})
+        );
+      }
+    };
+
+    // Act
+    String actual = ContainerCompiler.compile("generated.CompiledContainer", module);
+
+    // Assert
+    assertThat(actual).contains("package generated;");
+    assertThat(actual).contains("public final class CompiledContainer implements Container");
+    assertThat(actual).contains("new test.testclasses.FooImpl()");
+    assertThat(actual).contains("new test.testclasses.BarImpl((test.testclasses.Foo) get");
+    assertThat(actual).doesNotContain("reflect");
+  }
+
+  @Test
+  public void Compile_SameModuleTwice_GeneratesTheSameSource() {
+    // Arrange
+    ContainerModule module = new ContainerModule() {
+      @Override
+      public void configure(Container container) {
+        container.register(
+          registration()
+            .component(new Component<Foo, FooImpl>() {}),
+          registration()
+            .component(new Component<Foo, FooImpl>() {})
+            .named("other"),
+          registration()
+            .component(new Component<Bar, BarImpl>() {})
+        );
+      }
+    };
+
+    // Act
+    String actual1 = ContainerCompiler.compile("generated.CompiledContainer", module);
+    String actual2 = ContainerCompiler.compile("generated.CompiledContainer", module);
+
+    // Assert
+    assertThat(actual1).isEqualTo(actual2);
+  }
+
+  @Test
+  public void Compile_RuntimeOnlyRegistrations_ThrowsListingEveryProblem() {
+    // Arrange
+    ContainerModule module = new ContainerModule() {
+      @Override
+      public void configure(Container container) {
+        container.register(
+          registration()
+            .component(new Component<Foo, FooImpl>() {})
+            .instance(new FooImpl()),
+          registration()
+            .component(new Component<Bar, BarImpl>() {})
+            .factory(new Factory<Bar>() {
+              @Override
+              public Bar create() {
+                return new BarImpl(new FooImpl());
+              }
+            }),
+          registration()
+            .component(new Component<Quux, QuuxImpl>() {})
+            .dependsOn("foo1", new FooImpl()),
+          registration()
+            .typedFactory(TenantFactory.class, TenantImpl.class),
+          registration()
+            .component(new Component<Baz, BazImpl>() {})
+            .lifestyle(Lifestyle.SCOPED)
+        );
+      }
+    };
+
+    // Act
+    String message = null;
+
+    try {
+      ContainerCompiler.compile("generated.CompiledContainer", module);
+    } catch (RuntimeException e) {
+      message = e.getMessage();
+    }
+
+    // Assert
+    assertThat(message).isNotNull();
+    assertThat(message).contains("'test.testclasses.Foo->test.testclasses.FooImpl' is an INSTANCE component");
+    assertThat(message).contains("'test.testclasses.Bar->test.testclasses.BarImpl' is provided by factory");
+    assertThat(message).contains("explicit instance or factory dependency for parameter 0");
+    assertThat(message).contains("'test.testclasses.TenantFactory->test.testclasses.TenantImpl' is a typed factory");
+    assertThat(message).contains("'test.testclasses.Baz->test.testclasses.BazImpl' is SCOPED");
+  }
+
+  @Test
+  public void Resolve_CompiledContainer_ResolvesTheSameGraph() throws Exception {
+    // Arrange
+    ContainerModule module = new ContainerModule() {
+      @Override
+      public void configure(Container container) {
+        container.register(
+          registration()
+            .component(new Component<Foo, FooImpl>() {})
+            .lifestyle(Lifestyle.SINGLETON),
+          registration()
+            .component(new Component<Foo, FooImpl>() {})
+            .factory(new FooFactory())
+            .named("factory"),
+          registration()
+            .component(new Component<Bar, BarImpl>() {}),
+          registration()
+            .component(new Component<Quux, QuuxImpl>() {})
+            .dependsOn("foo2", new TypeToken<Foo>() {}, "factory")
+        );
+      }
+    };
+
+    Container container = compileAndLoad(module);
+
+    // Act
+    Bar bar = container.resolve(new TypeToken<Bar>() {});
+    Quux quux = container.resolve(new TypeToken<Quux>() {});
+    Foo named = container.resolve(new TypeToken<Foo>() {}, "factory");
+
+    // Assert
+    assertThat(bar).isInstanceOf(BarImpl.class);
+    assertThat(bar.getFoo()).isSameAs(container.resolve(new TypeToken<Foo>() {}));
+    assertThat(((QuuxImpl) quux).getFoo1()).isSameAs(bar.getFoo());
+    assertThat(((QuuxImpl) quux).getFoo2()).isNotSameAs(bar.getFoo());
+    assertThat(named).isInstanceOf(FooImpl.class);
+  }
+
+  @Test
+  public void Resolve_CompiledContainerWithProviders_DefersConstruction() throws Exception {
+    // Arrange
+    ContainerModule module = new ContainerModule() {
+      @Override
+      public void configure(Container container) {
+        container.register(
+          registration()
+            .component(new Component<Foo, FooImpl>() {}),
+          registration()
+            .component(new Component<Bar, LazyBarImpl>() {}),
+          registration()
+            .component(new Component<Bar, FactoryBarImpl>() {})
+            .named("factory")
+        );
+      }
+    };
+
+    Container container = compileAndLoad(module);
+
+    // Act
+    Bar lazy = container.resolve(new TypeToken<Bar>() {});
+    Bar factory = container.resolve(new TypeToken<Bar>() {}, "factory");
+
+    // Assert
+    assertThat(lazy.getFoo()).isSameAs(lazy.getFoo());
+    assertThat(factory.getFoo()).isNotSameAs(factory.getFoo());
+  }
+
+  @Test
+  public void Resolve_CompiledContainerWithCollections_InjectsEveryRegistration() throws Exception {
+    // Arrange
+    ContainerModule module = new ContainerModule() {
+      @Override
+      public void configure(Container container) {
+        container.register(
+          registration()
+            .component(new Component<Foo, FooImpl>() {}),
+          registration()
+            .component(new Component<Foo, CountingFooImpl>() {})
+            .named("counting"),
+          registration()
+            .component(new Component<FooListHolder, FooListHolder>() {}),
+          registration()
+            .component(new Component<FooMapHolder, FooMapHolder>() {}),
+          registration()
+            .component(new Component<FooArrayHolder, FooArrayHolder>() {})
+        );
+      }
+    };
+
+    Container container = compileAndLoad(module);
+
+    // Act
+    List<Foo> all = container.resolveAll(new TypeToken<Foo>() {});
+    FooListHolder list = container.resolve(new TypeToken<FooListHolder>() {});
+    FooMapHolder map = container.resolve(new TypeToken<FooMapHolder>() {});
+    FooArrayHolder array = container.resolve(new TypeToken<FooArrayHolder>() {});
+
+    // Assert
+    assertThat(all).hasSize(2);
+    assertThat(all.get(1)).isInstanceOf(CountingFooImpl.class);
+    assertThat(list.getFoos()).hasSize(2);
+    assertThat(map.getFoos().get("counting")).isInstanceOf(CountingFooImpl.class);
+    assertThat(map.getFoos().get("")).isInstanceOf(FooImpl.class);
+    assertThat(array.getFoos()).hasSize(2);
+  }
+
+  @Test
+  public void Resolve_CompiledContainerWithPooledComponent_ReusesReleasedInstances() throws Exception {
+    // Arrange
+    ContainerModule module = new ContainerModule() {
+      @Override
+      public void configure(Container container) {
+        container.register(
+          registration()
+            .component(new Component<Foo, FooImpl>() {})
+            .pooled(1),
+          registration()
+            .component(new Component<Bar, BarImpl>() {})
+        );
+      }
+    };
+
+    Container container = compileAndLoad(module);
+
+    Foo instance = container.resolve(new TypeToken<Foo>() {});
+    Foo other = container.resolve(new TypeToken<Foo>() {});
+
+    // Act
+    container.release(new TypeToken<Foo>() {}, instance);
+    container.release(new TypeToken<Foo>() {}, other);
+
+    // Assert
+    assertThat(other).isNotSameAs(instance);
+    assertThat(container.resolve(new TypeToken<Bar>() {}).getFoo()).isSameAs(instance);
+    assertThat(container.resolve(new TypeToken<Foo>() {})).isNotSameAs(instance);
+  }
+
+  @Test
+  public void ResolveAsync_CompiledContainer_CompletesWithTheComponent() throws Exception {
+    // Arrange
+    ContainerModule module = new ContainerModule() {
+      @Override
+      public void configure(Container container) {
+        container.register(
+          registration()
+            .component(new Component<Foo, FooImpl>() {}),
+          registration()
+            .component(new Component<Bar, BarImpl>() {})
+        );
+      }
+    };
+
+    Container container = compileAndLoad(module);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    try {
+      // Act
+      Bar actual = container.resolveAsync(new TypeToken<Bar>() {}, executor).get(5, TimeUnit.SECONDS);
+
+      // Assert
+      assertThat(actual.getFoo()).isInstanceOf(FooImpl.class);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void Release_CompiledContainerComponentThatIsNotPooled_Throws() throws Exception {
+    // Arrange
+    ContainerModule module = new ContainerModule() {
+      @Override
+      public void configure(Container container) {
+        container.register(
+          registration()
+            .component(new Component<Foo, FooImpl>() {})
+        );
+      }
+    };
+
+    Container container = compileAndLoad(module);
+
+    // Act
+    container.release(new TypeToken<Foo>() {}, new FooImpl());
+  }
+
+  @Test(expectedExceptions = UnsupportedOperationException.class)
+  public void Register_CompiledContainer_Throws() throws Exception {
+    // Arrange
+    ContainerModule module = new ContainerModule() {
+      @Override
+      public void configure(Container container) {
+        container.register(
+          registration()
+            .component(new Component<Foo, FooImpl>() {})
+        );
+      }
+    };
+
+    Container container = compileAndLoad(module);
+
+    // Act
+    container.register(
+      registration()
+        .component(new Component<Bar, BarImpl>() {})
+    );
+  }
+
+  private static Container compileAndLoad(ContainerModule module) throws Exception {
+    File directory = Files.createTempDirectory("compiled-container").toFile();
+    File source = ContainerCompiler.compile(directory, "generated.CompiledContainer", module);
+
+    String classPath =
+      new File(Container.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath() +
+        File.pathSeparator +
+        new File(Foo.class.getProtectionDomain().getCodeSource().getLocation().toURI()).getPath();
+
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    int result = compiler.run(null, null, null, "-cp", classPath, "-d", directory.getPath(), source.getPath());
+    assertThat(result).isEqualTo(0);
+
+    ClassLoader loader =
+      new URLClassLoader(new URL[] { directory.toURI().toURL() }, ContainerCompilerFixture.class.getClassLoader());
+
+    return (Container) loader.loadClass("generated.CompiledContainer").getConstructor().newInstance();
+  }
+}
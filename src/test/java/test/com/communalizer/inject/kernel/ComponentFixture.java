@@ -237,4 +237,35 @@ public class ComponentFixture {
     assertThat(token).isNotNull();
     assertThat(token.getKey()).isEqualTo(expectedKey);
   }
+
+  @Test
+  public void Component_SameSubclassCreatedTwice_SharesTheExtractedTypes() {
+    // Act
+    Component<List<String>, ArrayList<String>> actual1 = createListComponent();
+    Component<List<String>, ArrayList<String>> actual2 = createListComponent();
+
+    // Assert
+    assertThat(actual1).isNotSameAs(actual2);
+    assertThat(actual1.getBaseType()).isSameAs(actual2.getBaseType());
+    assertThat(actual1.getBaseTypeKey()).isSameAs(actual2.getBaseTypeKey());
+  }
+
+  @Test
+  public void Component_WithIncompatibleTypesCreatedTwice_ThrowsBothTimes() {
+    for (int i = 0; i < 2; i++) {
+      try {
+        // Act
+        new Component<String, Integer>() {};
+      } catch (IllegalArgumentException e) {
+        // Assert
+        continue;
+      }
+
+      throw new AssertionError("Expected an IllegalArgumentException.");
+    }
+  }
+
+  private static Component<List<String>, ArrayList<String>> createListComponent() {
+    return new Component<List<String>, ArrayList<String>>() {};
+  }
 }
@@ -0,0 +1,83 @@
+package test.com.communalizer.inject.kernel;
+
+import com.communalizer.inject.kernel.LruCache;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class LruCacheFixture {
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void Create_WithZeroCapacity_Throws() {
+    // Act
+    new LruCache<String, String>(0);
+  }
+
+  @Test
+  public void PutIfAbsent_KeyAlreadyCached_KeepsAndReturnsTheCachedValue() {
+    // Arrange
+    LruCache<String, String> cache = new LruCache<>(2);
+    cache.putIfAbsent("a", "1");
+
+    // Act
+    String actual = cache.putIfAbsent("a", "2");
+
+    // Assert
+    assertThat(actual).isEqualTo("1");
+    assertThat(cache.get("a")).isEqualTo("1");
+  }
+
+  @Test
+  public void PutIfAbsent_BeyondCapacity_EvictsTheLeastRecentlyUsedEntry() {
+    // Arrange
+    LruCache<String, String> cache = new LruCache<>(2);
+    cache.putIfAbsent("a", "1");
+    cache.putIfAbsent("b", "2");
+    cache.get("a");
+
+    // Act
+    cache.putIfAbsent("c", "3");
+
+    // Assert
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.get("a")).isEqualTo("1");
+    assertThat(cache.get("b")).isNull();
+    assertThat(cache.get("c")).isEqualTo("3");
+  }
+
+  @Test
+  public void PutIfAbsent_ManyMoreKeysThanCapacity_StaysWithinCapacity() {
+    // Arrange
+    LruCache<Integer, Integer> cache = new LruCache<>(16);
+
+    // Act
+    for (int i = 0; i < 1000; i++) {
+      cache.putIfAbsent(i, i);
+    }
+
+    // Assert
+    assertThat(cache.size()).isEqualTo(16);
+    assertThat(cache.get(999)).isEqualTo(999);
+  }
+
+  @Test
+  public void PutIfAbsent_BeyondCapacity_TellsTheListenerWhichEntryWasEvicted() {
+    // Arrange
+    final List<String> evicted = new ArrayList<>();
+    LruCache<String, String> cache = new LruCache<>(1, new LruCache.EvictionListener<String, String>() {
+      @Override
+      public void evicted(String key, String value) {
+        evicted.add(key + "=" + value);
+      }
+    });
+    cache.putIfAbsent("a", "1");
+
+    // Act
+    cache.putIfAbsent("b", "2");
+
+    // Assert
+    assertThat(evicted).containsExactly("a=1");
+  }
+}
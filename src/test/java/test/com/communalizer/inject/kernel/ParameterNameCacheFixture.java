@@ -0,0 +1,59 @@
+package test.com.communalizer.inject.kernel;
+
+import com.communalizer.inject.kernel.ParameterNameCache;
+import org.testng.annotations.Test;
+import test.testclasses.FooImpl;
+import test.testclasses.QuuxImpl;
+
+import java.lang.reflect.Constructor;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class ParameterNameCacheFixture {
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void GetParameterNames_WithNullConstructor_Throws() {
+    // Act
+    new ParameterNameCache().getParameterNames(null);
+  }
+
+  @Test
+  public void GetParameterNames_ForConstructorWithParameters_ReturnsNamesInDeclarationOrder() {
+    // Arrange
+    ParameterNameCache cache = new ParameterNameCache();
+    Constructor constructor = QuuxImpl.class.getConstructors()[0];
+
+    // Act
+    String[] actual = cache.getParameterNames(constructor);
+
+    // Assert
+    assertThat(actual).containsOnly("foo1", "foo2");
+    assertThat(actual[0]).isEqualTo("foo1");
+  }
+
+  @Test
+  public void GetParameterNames_ForParameterlessConstructor_ReturnsEmptyArray() {
+    // Arrange
+    ParameterNameCache cache = new ParameterNameCache();
+    Constructor constructor = FooImpl.class.getConstructors()[0];
+
+    // Act
+    String[] actual = cache.getParameterNames(constructor);
+
+    // Assert
+    assertThat(actual).isEmpty();
+  }
+
+  @Test
+  public void GetParameterNames_CalledRepeatedly_ReturnsTheCachedNames() {
+    // Arrange
+    ParameterNameCache cache = new ParameterNameCache();
+    Constructor constructor = QuuxImpl.class.getConstructors()[0];
+
+    // Act
+    String[] actual1 = cache.getParameterNames(constructor);
+    String[] actual2 = cache.getParameterNames(constructor);
+
+    // Assert
+    assertThat(actual1).isSameAs(actual2);
+  }
+}
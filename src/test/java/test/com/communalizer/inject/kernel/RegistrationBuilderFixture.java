@@ -7,6 +7,7 @@ import com.communalizer.inject.kernel.TypeToken;
 import com.communalizer.inject.kernel.dependencies.ExplicitDependency;
 import com.communalizer.inject.kernel.dependencies.ParameterDependency;
 import com.communalizer.inject.kernel.dependencies.TypeDependency;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
 import org.testng.annotations.Test;
 
 import java.util.ArrayList;
@@ -162,5 +163,50 @@ public class RegistrationBuilderFixture {
     assertThat(dep.getInstance()).isSameAs(anyInstance);
   }
 
+  @Test
+  public void RegistrationBuilder_WithoutLifestyle_DefaultsToTransient() {
+    // Act
+    Registration reg =
+      registration()
+        .component(new Component<Object, String>() {})
+        .build();
+
+    // Assert
+    assertThat(reg.getLifestyle()).isEqualTo(Lifestyle.TRANSIENT);
+  }
+
+  @Test
+  public void RegistrationBuilder_CanSetLifestyle() {
+    // Act
+    Registration reg =
+      registration()
+        .component(new Component<Object, String>() {})
+        .lifestyle(Lifestyle.SINGLETON)
+        .build();
+
+    // Assert
+    assertThat(reg.getLifestyle()).isEqualTo(Lifestyle.SINGLETON);
+  }
+
+  @Test
+  public void RegistrationBuilder_Pooled_SetsLifestyleAndPoolSize() {
+    // Act
+    Registration reg =
+      registration()
+        .component(new Component<Object, String>() {})
+        .pooled(8)
+        .build();
 
+    // Assert
+    assertThat(reg.getLifestyle()).isEqualTo(Lifestyle.POOLED);
+    assertThat(reg.getPoolSize()).isEqualTo(8);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void RegistrationBuilder_PooledWithSizeZero_Throws() {
+    // Act
+    registration()
+      .component(new Component<Object, String>() {})
+      .pooled(0);
+  }
 }
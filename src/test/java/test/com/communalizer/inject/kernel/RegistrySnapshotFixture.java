@@ -0,0 +1,124 @@
+package test.com.communalizer.inject.kernel;
+
+import com.communalizer.inject.kernel.ParameterNameCache;
+import com.communalizer.inject.kernel.Registration;
+import com.communalizer.inject.kernel.RegistrySnapshot;
+import com.communalizer.inject.kernel.TypeHelper;
+import com.communalizer.inject.kernel.TypeKey;
+import com.communalizer.inject.kernel.TypeProvider;
+import com.communalizer.inject.kernel.TypeToken;
+import com.communalizer.inject.kernel.instantiation.ReflectionInstantiationStrategy;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+import com.communalizer.inject.kernel.lifestyle.Scope;
+import com.communalizer.inject.kernel.metrics.ResolutionMetrics;
+import org.testng.annotations.Test;
+import test.testclasses.Dao;
+import test.testclasses.DaoImpl;
+import test.testclasses.Repository;
+import test.testclasses.RepositoryImpl;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+import static org.fest.assertions.Assertions.assertThat;
+
+public class RegistrySnapshotFixture {
+  // The number of closed plans a snapshot keeps, see RegistrySnapshot.CLOSED_PLAN_CAPACITY.
+  private static final int CLOSED_PLAN_CAPACITY = 1024;
+  private static final int CLOSED_TYPES = 1200;
+
+  @Test
+  public void GetPlan_MoreClosedTypesThanAreCached_ReleasesTheStateOfEvictedTypes() {
+    // Arrange
+    Scope scope = new Scope();
+    ResolutionMetrics metrics = new ResolutionMetrics();
+    RegistrySnapshot snapshot = getNewSnapshot(scope, metrics);
+
+    TypeToken<?> first = TypeToken.getToken(getRepositoryOf(0));
+    snapshot.getPlan(first, null).create();
+
+    WeakReference<TypeKey> firstKey = new WeakReference<>(first.getTypeKey());
+    WeakReference<TypeToken<?>> firstToken = new WeakReference<TypeToken<?>>(first);
+    first = null;
+
+    // Act
+    for (int i = 1; i < CLOSED_TYPES; i++) {
+      snapshot.getPlan(TypeToken.getToken(getRepositoryOf(i)), null).create();
+    }
+
+    for (int i = 0; i < 50 && (firstKey.get() != null || firstToken.get() != null); i++) {
+      System.gc();
+    }
+
+    // Assert
+    assertThat(scope.getHolderCount()).isLessThanOrEqualTo(CLOSED_PLAN_CAPACITY);
+    assertThat(metrics.snapshot().size()).isLessThanOrEqualTo(CLOSED_PLAN_CAPACITY);
+    assertThat(firstKey.get()).isNull();
+    assertThat(firstToken.get()).isNull();
+  }
+
+  @Test
+  public void GetPlan_ClosedSingletonStillCached_SharesItsInstance() {
+    // Arrange
+    RegistrySnapshot snapshot = getNewSnapshot(new Scope(), new ResolutionMetrics());
+    TypeToken<?> token = TypeToken.getToken(getRepositoryOf(0));
+
+    // Act
+    Object actual1 = snapshot.getPlan(token, null).create();
+    Object actual2 = snapshot.getPlan(token, null).create();
+
+    // Assert
+    assertThat(actual1).isSameAs(actual2);
+  }
+
+  private static RegistrySnapshot getNewSnapshot(Scope scope, ResolutionMetrics metrics) {
+    Map<TypeKey, TypeProvider<?>> openGenerics = new HashMap<>();
+    addOpenGeneric(openGenerics, registration()
+      .openGeneric(Repository.class, RepositoryImpl.class)
+      .lifestyle(Lifestyle.SINGLETON)
+      .build());
+    addOpenGeneric(openGenerics, registration()
+      .openGeneric(Dao.class, DaoImpl.class)
+      .build());
+
+    return new RegistrySnapshot(
+      Collections.<TypeKey, TypeProvider<?>>emptyMap(),
+      openGenerics,
+      new ParameterNameCache(),
+      new ReflectionInstantiationStrategy(),
+      scope,
+      metrics
+    );
+  }
+
+  @SuppressWarnings("unchecked")
+  private static void addOpenGeneric(Map<TypeKey, TypeProvider<?>> openGenerics, Registration registration) {
+    TypeProvider provider = new TypeProvider(registration.getComponent().getBaseTypeToken());
+    provider.addRegistration(registration);
+
+    openGenerics.put(registration.getTypeKey(), provider);
+  }
+
+  /**
+   * Repository of a distinct array type for every index, e.g. Repository<int[]> or Repository<long[][]>.
+   */
+  private static Type getRepositoryOf(int index) {
+    Class<?>[] elements = { int.class, long.class, short.class, byte.class, char.class, float.class, double.class };
+    Class<?> argument = elements[index % elements.length];
+
+    for (int i = 0; i <= index / elements.length; i++) {
+      argument = Array.newInstance(argument, 0).getClass();
+    }
+
+    Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+    bindings.put(RepositoryImpl.class.getTypeParameters()[0], argument);
+
+    return TypeHelper.substitute(RepositoryImpl.class.getGenericInterfaces()[0], bindings);
+  }
+}
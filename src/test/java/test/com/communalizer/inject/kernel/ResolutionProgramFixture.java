@@ -0,0 +1,60 @@
+package test.com.communalizer.inject.kernel;
+
+import com.communalizer.inject.kernel.Factory;
+import com.communalizer.inject.kernel.ResolutionProgram;
+import com.communalizer.inject.kernel.instantiation.Instantiator;
+import org.testng.annotations.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class ResolutionProgramFixture {
+  @Test
+  @SuppressWarnings("unchecked")
+  public void Create_NestedSteps_PassesArgumentsInOrder() {
+    // Arrange
+    Factory<String> a = constant("a");
+    Factory<String> b = constant("b");
+    Factory<String> c = constant("c");
+
+    Instantiator<List<Object>> list = new Instantiator<List<Object>>() {
+      @Override
+      public List<Object> instantiate(Object[] args) {
+        return Arrays.asList(args);
+      }
+    };
+
+    // list(a, list(b, c), list())
+    ResolutionProgram<List<Object>> program = new ResolutionProgram<>(
+      new Factory<?>[] { a, b, c, null, null, null },
+      new Instantiator<?>[] { null, null, null, list, list, list },
+      new int[] { -1, -1, -1, 2, 0, 3 },
+      4
+    );
+
+    // Act
+    List<Object> actual = program.create();
+
+    // Assert
+    assertThat(actual.get(0)).isEqualTo("a");
+    assertThat(actual.get(1)).isEqualTo(Arrays.asList("b", "c"));
+    assertThat((List<Object>) actual.get(2)).isEmpty();
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void Constructor_MismatchedSteps_Throws() {
+    // Act
+    new ResolutionProgram<Object>(new Factory<?>[1], new Instantiator<?>[2], new int[1], 1);
+  }
+
+  private static Factory<String> constant(final String value) {
+    return new Factory<String>() {
+      @Override
+      public String create() {
+        return value;
+      }
+    };
+  }
+}
@@ -0,0 +1,136 @@
+package test.com.communalizer.inject.kernel;
+
+import com.communalizer.inject.Container;
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.StartupIndex;
+import com.communalizer.inject.kernel.TypeToken;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import test.testclasses.*;
+
+import java.lang.reflect.Constructor;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+import static org.fest.assertions.Assertions.assertThat;
+
+public class StartupIndexFixture {
+  private Path path;
+
+  @BeforeMethod
+  public void createPath() throws Exception {
+    path = Files.createTempFile("startup", ".idx");
+    Files.delete(path);
+  }
+
+  @AfterMethod
+  public void deletePath() throws Exception {
+    Files.deleteIfExists(path);
+  }
+
+  @Test
+  public void Open_MissingFile_OpensAnEmptyIndex() {
+    // Act
+    StartupIndex index = StartupIndex.open(path);
+
+    // Assert
+    assertThat(index.size()).isEqualTo(0);
+    assertThat(index.getParameterNames(QuuxImpl.class.getConstructors()[0])).isNull();
+  }
+
+  @Test
+  public void Open_FileThatIsNotAnIndex_OpensAnEmptyIndex() throws Exception {
+    // Arrange
+    Files.write(path, new byte[] { 1, 2, 3 });
+
+    // Act
+    StartupIndex index = StartupIndex.open(path);
+
+    // Assert
+    assertThat(index.size()).isEqualTo(0);
+  }
+
+  @Test
+  public void Open_SavedIndex_FindsTheRecordedParameterNames() {
+    // Arrange
+    Constructor<?> constructor = QuuxImpl.class.getConstructors()[0];
+
+    StartupIndex saved = StartupIndex.open(path);
+    saved.putParameterNames(constructor, new String[] { "foo1", "foo2" });
+    saved.save();
+
+    // Act
+    StartupIndex index = StartupIndex.open(path);
+    String[] actual = index.getParameterNames(constructor);
+
+    // Assert
+    assertThat(index.size()).isEqualTo(1);
+    assertThat(actual).containsOnly("foo1", "foo2");
+    assertThat(actual[0]).isEqualTo("foo1");
+    assertThat(index.getHits()).isEqualTo(1);
+  }
+
+  @Test
+  public void Save_IndexOpenedFromAFile_KeepsTheClassesThatWereNotLookedUp() {
+    // Arrange
+    StartupIndex first = StartupIndex.open(path);
+    first.putParameterNames(QuuxImpl.class.getConstructors()[0], new String[] { "foo1", "foo2" });
+    first.save();
+
+    StartupIndex second = StartupIndex.open(path);
+    second.putParameterNames(GammaImpl.class.getConstructors()[0], new String[] { "alpha" });
+
+    // Act
+    second.save();
+
+    // Assert
+    StartupIndex actual = StartupIndex.open(path);
+    assertThat(actual.size()).isEqualTo(2);
+    assertThat(actual.getParameterNames(QuuxImpl.class.getConstructors()[0])).isNotNull();
+    assertThat(actual.getParameterNames(GammaImpl.class.getConstructors()[0])).containsOnly("alpha");
+  }
+
+  @Test
+  public void GetParameterNames_FromDisabledIndex_ReturnsNull() {
+    // Arrange
+    Constructor<?> constructor = QuuxImpl.class.getConstructors()[0];
+    StartupIndex index = StartupIndex.disabled();
+    index.putParameterNames(constructor, new String[] { "foo1", "foo2" });
+
+    // Act
+    String[] actual = index.getParameterNames(constructor);
+
+    // Assert
+    assertThat(actual).isNull();
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void PutParameterNames_WithTooFewNames_Throws() {
+    // Act
+    StartupIndex.open(path).putParameterNames(QuuxImpl.class.getConstructors()[0], new String[] { "foo1" });
+  }
+
+  @Test
+  public void Resolve_WithContainerUsingAStartupIndex_InjectsDependencies() {
+    // Arrange
+    StartupIndex index = StartupIndex.open(path);
+    Container container = new InjectContainer(index);
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {}),
+      registration()
+        .component(new Component<Quux, QuuxImpl>() {})
+    );
+
+    // Act
+    QuuxImpl actual = (QuuxImpl) container.resolve(new TypeToken<Quux>() {});
+    index.save();
+
+    // Assert
+    assertThat(actual.getFoo1()).isInstanceOf(FooImpl.class);
+    assertThat(Files.exists(path)).isTrue();
+  }
+}
@@ -2,7 +2,10 @@ package test.com.communalizer.inject.kernel;
 
 import com.communalizer.inject.kernel.Component;
 import com.communalizer.inject.kernel.TypeHelper;
+import com.communalizer.inject.kernel.TypeToken;
 import org.testng.annotations.Test;
+import test.testclasses.GenericClass;
+import test.testclasses.GenericInterface;
 
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
@@ -10,6 +13,8 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
+import static org.fest.assertions.Assertions.assertThat;
+
 public class TypeHelperFixture {
   @Test(expectedExceptions = IllegalArgumentException.class)
   public void TypeHelper_CheckClassCompatibilityWithIncompatibleClasses_Throws() {
@@ -52,4 +57,31 @@ public class TypeHelperFixture {
     // Act
     TypeHelper.checkGenericTypeCompatibility((ParameterizedType) t1, (ParameterizedType) t2);
   }
+
+  @Test
+  public void TypeHelper_CloseImplementationOverParameterizedSupertype_BindsItsTypeParameters() {
+    // Arrange
+    ParameterizedType base = (ParameterizedType) new TypeToken<GenericInterface<String>>() {}.getType();
+    Type expected = new TypeToken<GenericClass<String>>() {}.getType();
+
+    // Act
+    ParameterizedType actual = TypeHelper.closeImplementation(GenericClass.class, base);
+
+    // Assert
+    assertThat(actual).isEqualTo(expected);
+    assertThat(actual.hashCode()).isEqualTo(expected.hashCode());
+    assertThat(actual.toString()).isEqualTo(expected.toString());
+  }
+
+  @Test
+  public void TypeHelper_CloseImplementationOverUnrelatedType_ReturnsNull() {
+    // Arrange
+    ParameterizedType base = (ParameterizedType) new TypeToken<List<String>>() {}.getType();
+
+    // Act
+    ParameterizedType actual = TypeHelper.closeImplementation(GenericClass.class, base);
+
+    // Assert
+    assertThat(actual).isNull();
+  }
 }
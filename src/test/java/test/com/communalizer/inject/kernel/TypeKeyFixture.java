@@ -0,0 +1,200 @@
+package test.com.communalizer.inject.kernel;
+
+import com.communalizer.inject.kernel.TypeHelper;
+import com.communalizer.inject.kernel.TypeIndex;
+import com.communalizer.inject.kernel.TypeKey;
+import com.communalizer.inject.kernel.TypeToken;
+import org.testng.annotations.Test;
+import test.testclasses.BazImpl;
+
+import java.lang.ref.WeakReference;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class TypeKeyFixture {
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void Of_WithNullType_Throws() {
+    // Act
+    TypeKey.of(null);
+  }
+
+  @Test
+  public void Of_SameClassTwice_ReturnsTheSameInstance() {
+    // Act
+    TypeKey actual1 = TypeKey.of(String.class);
+    TypeKey actual2 = TypeKey.of(String.class);
+
+    // Assert
+    assertThat(actual1).isSameAs(actual2);
+  }
+
+  @Test
+  public void Of_EqualParameterizedTypesFromDifferentSources_ReturnsTheSameInstance() {
+    // Arrange
+    Type fromToken = new TypeToken<List<String>>() {}.getType();
+    Type fromConstructor = BazImpl.class.getConstructors()[0].getGenericParameterTypes()[0];
+
+    // Act
+    TypeKey actual1 = TypeKey.of(fromToken);
+    TypeKey actual2 = TypeKey.of(fromConstructor);
+
+    // Assert
+    assertThat(fromToken).isNotSameAs(fromConstructor);
+    assertThat(actual1).isSameAs(actual2);
+  }
+
+  @Test
+  public void Of_TypesThatAreNotEqualButHaveEqualKeys_ReturnsTheSameInstance() {
+    // Arrange
+    Type listElement = List.class.getTypeParameters()[0];
+    Type collectionElement = Collection.class.getTypeParameters()[0];
+
+    // Act
+    TypeKey actual1 = TypeKey.of(listElement);
+    TypeKey actual2 = TypeKey.of(collectionElement);
+
+    // Assert
+    assertThat(listElement).isNotEqualTo(collectionElement);
+    assertThat(actual1).isSameAs(actual2);
+  }
+
+  @Test
+  public void Of_SameNewTypeFromManyThreads_ReturnsTheSameInstance() throws Exception {
+    // Arrange
+    ParameterizedType list = (ParameterizedType) new TypeToken<List<Map<Byte, Character>>>() {}.getType();
+    final Type type = TypeHelper.closeImplementation(ArrayList.class, list);
+    final TypeKey[] actual = new TypeKey[8];
+    Thread[] threads = new Thread[actual.length];
+
+    for (int i = 0; i < threads.length; i++) {
+      final int index = i;
+
+      threads[i] = new Thread(new Runnable() {
+        @Override
+        public void run() {
+          actual[index] = TypeKey.of(type);
+        }
+      });
+    }
+
+    // Act
+    for (Thread thread : threads) {
+      thread.start();
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    // Assert
+    for (TypeKey key : actual) {
+      assertThat(key).isSameAs(actual[0]);
+    }
+  }
+
+  @Test
+  public void Of_ParameterizedTypesWithDifferentArguments_AreNotEqual() {
+    // Act
+    TypeKey actual1 = new TypeToken<List<String>>() {}.getTypeKey();
+    TypeKey actual2 = new TypeToken<List<Integer>>() {}.getTypeKey();
+
+    // Assert
+    assertThat(actual1).isNotEqualTo(actual2);
+    assertThat(actual1.getRawType()).isEqualTo(List.class);
+    assertThat(actual1.getTypeArguments()[0]).isSameAs(TypeKey.of(String.class));
+  }
+
+  @Test
+  public void ToString_ForParameterizedType_MatchesTheTypeTokenKey() {
+    // Arrange
+    TypeToken<List<String>> token = new TypeToken<List<String>>() {};
+
+    // Act
+    String actual = TypeKey.of(token.getType()).toString();
+
+    // Assert
+    assertThat(actual).isEqualTo("java.util.List<java.lang.String>");
+  }
+
+  @Test
+  public void GetId_ForTokenCreatedFromAType_MatchesTheIdOfTheDeclaredToken() {
+    // Arrange
+    TypeIndex index = new TypeIndex();
+    TypeToken<List<Long>> declared = new TypeToken<List<Long>>() {};
+    index.register(declared.getTypeKey());
+
+    // Act
+    TypeToken<List<Long>> dynamic = TypeToken.getToken(declared.getType());
+
+    // Assert
+    assertThat(index.getId(dynamic.getTypeKey())).isEqualTo(index.getId(declared.getTypeKey()));
+  }
+
+  @Test
+  public void Register_DifferentTypes_NumbersThemDenselyFromZero() {
+    // Arrange
+    TypeIndex index = new TypeIndex();
+
+    // Act
+    int actual1 = index.register(TypeKey.of(Short.class));
+    int actual2 = index.register(TypeKey.of(Byte.class));
+    int actual3 = index.register(TypeKey.of(Short.class));
+
+    // Assert
+    assertThat(actual1).isEqualTo(0);
+    assertThat(actual2).isEqualTo(1);
+    assertThat(actual3).isEqualTo(0);
+    assertThat(index.size()).isEqualTo(2);
+  }
+
+  @Test
+  public void Register_SameTypeInTwoIndexes_NumbersItIndependently() {
+    // Arrange
+    TypeIndex first = new TypeIndex();
+    TypeIndex second = new TypeIndex();
+    first.register(TypeKey.of(Byte.class));
+
+    // Act
+    first.register(TypeKey.of(Short.class));
+    second.register(TypeKey.of(Short.class));
+
+    // Assert
+    assertThat(first.getId(TypeKey.of(Short.class))).isEqualTo(1);
+    assertThat(second.getId(TypeKey.of(Short.class))).isEqualTo(0);
+    assertThat(first.getId(TypeKey.of(Short.class))).isEqualTo(1);
+  }
+
+  @Test
+  public void GetId_ForTypeThatIsNotRegistered_ReturnsMinusOne() {
+    // Arrange
+    TypeIndex index = new TypeIndex();
+    index.register(TypeKey.of(Short.class));
+
+    // Act
+    int actual = index.getId(TypeKey.of(Byte.class));
+
+    // Assert
+    assertThat(actual).isEqualTo(-1);
+  }
+
+  @Test
+  public void Of_TypeThatIsNoLongerReferenced_IsReleased() {
+    // Arrange
+    ParameterizedType list = (ParameterizedType) new TypeToken<List<Map<Short, Character>>>() {}.getType();
+    WeakReference<TypeKey> key = new WeakReference<>(TypeKey.of(TypeHelper.closeImplementation(ArrayList.class, list)));
+
+    // Act
+    for (int i = 0; i < 50 && key.get() != null; i++) {
+      System.gc();
+    }
+
+    // Assert
+    assertThat(key.get()).isNull();
+  }
+}
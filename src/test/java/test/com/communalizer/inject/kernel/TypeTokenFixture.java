@@ -57,4 +57,18 @@ public class TypeTokenFixture {
     assertThat(token).isNotNull();
     assertThat(token.getKey()).isEqualTo(expectedKey);
   }
+
+  @Test
+  public void TypeToken_GetTokenForEqualTypes_ReturnsTheSameInstance() {
+    // Arrange
+    Type fromConstructor = BazImpl.class.getConstructors()[0].getGenericParameterTypes()[0];
+    Type fromToken = new TypeToken<List<String>>() {}.getType();
+
+    // Act
+    TypeToken<List<String>> actual1 = TypeToken.getToken(fromConstructor);
+    TypeToken<List<String>> actual2 = TypeToken.getToken(fromToken);
+
+    // Assert
+    assertThat(actual1).isSameAs(actual2);
+  }
 }
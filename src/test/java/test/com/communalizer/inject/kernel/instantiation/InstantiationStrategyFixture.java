@@ -0,0 +1,229 @@
+package test.com.communalizer.inject.kernel.instantiation;
+
+import com.communalizer.inject.kernel.Factory;
+import com.communalizer.inject.kernel.instantiation.HiddenClassInstantiationStrategy;
+import com.communalizer.inject.kernel.instantiation.InstantiationStrategy;
+import com.communalizer.inject.kernel.instantiation.Instantiator;
+import com.communalizer.inject.kernel.instantiation.MethodHandleInstantiationStrategy;
+import com.communalizer.inject.kernel.instantiation.ReflectionInstantiationStrategy;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import test.testclasses.*;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class InstantiationStrategyFixture {
+  @DataProvider(name = "strategies")
+  public Object[][] strategies() {
+    return new Object[][] {
+      { new ReflectionInstantiationStrategy() },
+      { new MethodHandleInstantiationStrategy() },
+      { new HiddenClassInstantiationStrategy() }
+    };
+  }
+
+  @Test(dataProvider = "strategies", expectedExceptions = IllegalArgumentException.class)
+  public void Bind_WithNullConstructor_Throws(InstantiationStrategy strategy) {
+    // Act
+    strategy.bind(null);
+  }
+
+  @Test(dataProvider = "strategies")
+  public void Instantiate_ParameterlessConstructor_ReturnsNewInstances(InstantiationStrategy strategy) throws Exception {
+    // Arrange
+    Instantiator<FooImpl> instantiator = strategy.bind(FooImpl.class.getConstructor());
+
+    // Act
+    FooImpl actual1 = instantiator.instantiate(new Object[0]);
+    FooImpl actual2 = instantiator.instantiate(new Object[0]);
+
+    // Assert
+    assertThat(actual1).isNotNull();
+    assertThat(actual1).isNotSameAs(actual2);
+  }
+
+  @Test(dataProvider = "strategies")
+  public void Instantiate_ConstructorWithParameters_PassesTheArgumentsInOrder(InstantiationStrategy strategy)
+    throws Exception {
+    // Arrange
+    Foo foo1 = new FooImpl();
+    Foo foo2 = new FooImpl();
+    Instantiator<QuuxImpl> instantiator = strategy.bind(QuuxImpl.class.getConstructor(Foo.class, Foo.class));
+
+    // Act
+    QuuxImpl actual = instantiator.instantiate(new Object[] { foo1, foo2 });
+
+    // Assert
+    assertThat(actual.getFoo1()).isSameAs(foo1);
+    assertThat(actual.getFoo2()).isSameAs(foo2);
+  }
+
+  @Test(dataProvider = "strategies")
+  public void Instantiate_ConstructorThrowingRuntimeException_RethrowsItUnwrapped(InstantiationStrategy strategy)
+    throws Exception {
+    // Arrange
+    Instantiator<FailingComponent> instantiator = strategy.bind(FailingComponent.class.getConstructor());
+    Throwable actual = null;
+
+    // Act
+    try {
+      instantiator.instantiate(new Object[0]);
+    } catch (RuntimeException e) {
+      actual = e;
+    }
+
+    // Assert
+    assertThat(actual).isInstanceOf(IllegalStateException.class);
+    assertThat(actual.getMessage()).isEqualTo("Failed to construct.");
+  }
+
+  @Test(dataProvider = "strategies")
+  public void Compile_ConstructorThrowingRuntimeException_RethrowsItUnwrapped(InstantiationStrategy strategy)
+    throws Exception {
+    // Arrange
+    Factory<FailingComponent> factory = strategy.compile(FailingComponent.class.getConstructor(), new Factory<?>[0]);
+    Throwable actual = null;
+
+    // Act
+    try {
+      factory.create();
+    } catch (RuntimeException e) {
+      actual = e;
+    }
+
+    // Assert
+    assertThat(actual).isInstanceOf(IllegalStateException.class);
+    assertThat(actual.getMessage()).isEqualTo("Failed to construct.");
+  }
+
+  @Test(dataProvider = "strategies")
+  public void Compile_ConstructorThrowingCheckedException_WrapsItInARuntimeException(InstantiationStrategy strategy)
+    throws Exception {
+    // Arrange
+    Factory<CheckedFailingComponent> factory =
+      strategy.compile(CheckedFailingComponent.class.getConstructor(), new Factory<?>[0]);
+    Throwable actual = null;
+
+    // Act
+    try {
+      factory.create();
+    } catch (RuntimeException e) {
+      actual = e;
+    }
+
+    // Assert
+    assertThat(actual.getClass()).isEqualTo(RuntimeException.class);
+    assertThat(actual.getCause()).isInstanceOf(IOException.class);
+    assertThat(actual.getCause().getMessage()).isEqualTo("Failed to construct.");
+  }
+
+  @Test(dataProvider = "strategies")
+  @SuppressWarnings("unchecked")
+  public void Instantiate_PublicConstructorOfNonPublicClass_StillCreatesAnInstance(InstantiationStrategy strategy)
+    throws Exception {
+    // Arrange
+    Class<?> clazz = Class.forName("test.testclasses.PackagePrivateFooImpl");
+    Constructor<Foo> constructor = (Constructor<Foo>) clazz.getConstructors()[0];
+    constructor.setAccessible(true);
+
+    Instantiator<Foo> instantiator = strategy.bind(constructor);
+
+    // Act
+    Foo actual = instantiator.instantiate(new Object[0]);
+
+    // Assert
+    assertThat(actual).isNotNull();
+  }
+
+  @Test(dataProvider = "strategies", expectedExceptions = RuntimeException.class)
+  public void Instantiate_WithMismatchingArgumentTypes_Throws(InstantiationStrategy strategy) throws Exception {
+    // Arrange
+    Instantiator<BarImpl> instantiator = strategy.bind(BarImpl.class.getConstructor(Foo.class));
+
+    // Act
+    instantiator.instantiate(new Object[] { "not a foo" });
+  }
+
+  @Test(dataProvider = "strategies")
+  public void Compile_ConstructorWithParameters_CallsTheArgumentFactoriesOnEveryCreate(InstantiationStrategy strategy)
+    throws Exception {
+    // Arrange
+    final Foo foo = new FooImpl();
+    Factory<?>[] arguments = new Factory<?>[] {
+      new Factory<Foo>() {
+        @Override
+        public Foo create() {
+          return new FooImpl();
+        }
+      },
+      new Factory<Foo>() {
+        @Override
+        public Foo create() {
+          return foo;
+        }
+      }
+    };
+
+    Factory<QuuxImpl> factory = strategy.compile(QuuxImpl.class.getConstructor(Foo.class, Foo.class), arguments);
+
+    // Act
+    QuuxImpl actual1 = factory.create();
+    QuuxImpl actual2 = factory.create();
+
+    // Assert
+    assertThat(actual1).isNotSameAs(actual2);
+    assertThat(actual1.getFoo1()).isNotSameAs(actual2.getFoo1());
+    assertThat(actual1.getFoo2()).isSameAs(foo);
+    assertThat(actual2.getFoo2()).isSameAs(foo);
+  }
+
+  @Test
+  public void Compile_WithHiddenClassStrategyAndAccessibleConstructor_GeneratesAHiddenClass() throws Exception {
+    // Arrange
+    HiddenClassInstantiationStrategy strategy = new HiddenClassInstantiationStrategy();
+
+    // Act
+    Factory<FooImpl> factory = strategy.compile(FooImpl.class.getConstructor(), new Factory<?>[0]);
+
+    // Assert
+    assertThat(factory.getClass().isHidden()).isTrue();
+    assertThat(factory.create()).isInstanceOf(FooImpl.class);
+  }
+
+  @Test
+  public void Bind_WithHiddenClassStrategyAndAccessibleConstructor_GeneratesAHiddenClass() throws Exception {
+    // Arrange
+    HiddenClassInstantiationStrategy strategy = new HiddenClassInstantiationStrategy();
+    Foo foo = new FooImpl();
+
+    // Act
+    Instantiator<QuuxImpl> instantiator = strategy.bind(QuuxImpl.class.getConstructor(Foo.class, Foo.class));
+    QuuxImpl actual = instantiator.instantiate(new Object[] { foo, foo });
+
+    // Assert
+    assertThat(instantiator.getClass().isHidden()).isTrue();
+    assertThat(actual.getFoo1()).isSameAs(foo);
+    assertThat(actual.getFoo2()).isSameAs(foo);
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void Compile_WithHiddenClassStrategyAndNonPublicClass_FallsBackToAReflectiveFactory() throws Exception {
+    // Arrange
+    HiddenClassInstantiationStrategy strategy = new HiddenClassInstantiationStrategy();
+
+    Class<?> clazz = Class.forName("test.testclasses.PackagePrivateFooImpl");
+    Constructor<Foo> constructor = (Constructor<Foo>) clazz.getConstructors()[0];
+    constructor.setAccessible(true);
+
+    // Act
+    Factory<Foo> factory = strategy.compile(constructor, new Factory<?>[0]);
+
+    // Assert
+    assertThat(factory.getClass().isHidden()).isFalse();
+    assertThat(factory.create()).isInstanceOf(clazz);
+  }
+}
@@ -0,0 +1,132 @@
+package test.com.communalizer.inject.kernel.lifestyle;
+
+import com.communalizer.inject.kernel.Factory;
+import com.communalizer.inject.kernel.lifestyle.ComponentPool;
+import com.communalizer.inject.kernel.lifestyle.PoolStatistics;
+import org.testng.annotations.Test;
+import test.testclasses.DisposableFooImpl;
+import test.testclasses.Foo;
+import test.testclasses.FooImpl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class ComponentPoolFixture {
+  private static final Factory<Foo> FACTORY = new Factory<Foo>() {
+    @Override
+    public Foo create() {
+      return new FooImpl();
+    }
+  };
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void Constructor_SizeZero_Throws() {
+    // Act
+    new ComponentPool<Foo>(0);
+  }
+
+  @Test
+  public void Acquire_EmptyPool_CreatesANewInstance() {
+    // Arrange
+    ComponentPool<Foo> pool = new ComponentPool<>(2);
+
+    // Act
+    Foo actual1 = pool.acquire(FACTORY);
+    Foo actual2 = pool.acquire(FACTORY);
+
+    // Assert
+    assertThat(actual1).isNotSameAs(actual2);
+    assertThat(pool.getStatistics().getMisses()).isEqualTo(2);
+  }
+
+  @Test
+  public void Acquire_AfterRelease_ReusesTheInstance() {
+    // Arrange
+    ComponentPool<Foo> pool = new ComponentPool<>(2);
+    Foo instance = pool.acquire(FACTORY);
+    pool.release(instance);
+
+    // Act
+    Foo actual = pool.acquire(FACTORY);
+
+    // Assert
+    assertThat(actual).isSameAs(instance);
+
+    PoolStatistics statistics = pool.getStatistics();
+    assertThat(statistics.getHits()).isEqualTo(1);
+    assertThat(statistics.getMisses()).isEqualTo(1);
+    assertThat(statistics.getReturns()).isEqualTo(1);
+    assertThat(statistics.getIdle()).isEqualTo(0);
+  }
+
+  @Test
+  public void Release_FullPool_DiscardsAndDisposesTheInstance() {
+    // Arrange
+    ComponentPool<Foo> pool = new ComponentPool<>(1);
+    DisposableFooImpl kept = new DisposableFooImpl();
+    DisposableFooImpl discarded = new DisposableFooImpl();
+
+    // Act
+    boolean actual1 = pool.release(kept);
+    boolean actual2 = pool.release(discarded);
+
+    // Assert
+    assertThat(actual1).isTrue();
+    assertThat(actual2).isFalse();
+    assertThat(kept.isClosed()).isFalse();
+    assertThat(discarded.isClosed()).isTrue();
+    assertThat(pool.getStatistics().getDiscards()).isEqualTo(1);
+  }
+
+  @Test
+  public void Acquire_ConcurrentThreads_NeverShareAnInstance() throws Exception {
+    // Arrange
+    final ComponentPool<AtomicBoolean> pool = new ComponentPool<>(4);
+    final AtomicInteger shared = new AtomicInteger();
+    final Factory<AtomicBoolean> factory = new Factory<AtomicBoolean>() {
+      @Override
+      public AtomicBoolean create() {
+        return new AtomicBoolean();
+      }
+    };
+
+    List<Thread> threads = new ArrayList<>();
+
+    for (int i = 0; i < 8; i++) {
+      threads.add(new Thread(new Runnable() {
+        @Override
+        public void run() {
+          for (int j = 0; j < 10000; j++) {
+            AtomicBoolean inUse = pool.acquire(factory);
+
+            if (!inUse.compareAndSet(false, true)) {
+              shared.incrementAndGet();
+            }
+
+            inUse.set(false);
+            pool.release(inUse);
+          }
+        }
+      }));
+    }
+
+    // Act
+    for (Thread thread : threads) {
+      thread.start();
+    }
+
+    for (Thread thread : threads) {
+      thread.join();
+    }
+
+    // Assert
+    PoolStatistics statistics = pool.getStatistics();
+    assertThat(shared.get()).isEqualTo(0);
+    assertThat(statistics.getHits() + statistics.getMisses()).isEqualTo(80000);
+    assertThat(statistics.getIdle()).isLessThanOrEqualTo(4);
+  }
+}
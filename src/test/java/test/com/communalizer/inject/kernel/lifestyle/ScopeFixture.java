@@ -0,0 +1,102 @@
+package test.com.communalizer.inject.kernel.lifestyle;
+
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.Factory;
+import com.communalizer.inject.kernel.Registration;
+import com.communalizer.inject.kernel.lifestyle.InstanceHolder;
+import com.communalizer.inject.kernel.lifestyle.Scope;
+import org.testng.annotations.Test;
+import test.testclasses.DisposableFooImpl;
+import test.testclasses.Foo;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class ScopeFixture {
+  private static final Factory<Foo> FACTORY = new Factory<Foo>() {
+    @Override
+    public Foo create() {
+      return new DisposableFooImpl();
+    }
+  };
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void GetHolder_AfterClose_Throws() {
+    // Arrange
+    Scope scope = new Scope();
+    scope.close();
+
+    // Act
+    scope.getHolder(new Registration<>(new Component<Foo, DisposableFooImpl>() {}));
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void Get_HolderObtainedBeforeClose_ThrowsInsteadOfCreatingTheInstance() {
+    // Arrange
+    Scope scope = new Scope();
+    InstanceHolder<Foo> holder = scope.getHolder(new Registration<>(new Component<Foo, DisposableFooImpl>() {}));
+    scope.close();
+
+    // Act
+    holder.get(FACTORY);
+  }
+
+  @Test
+  public void Close_WhileInstanceIsBeingCreated_DisposesItOnceCreated() throws Exception {
+    // Arrange
+    final Scope scope = new Scope();
+    final InstanceHolder<Foo> holder = scope.getHolder(new Registration<>(new Component<Foo, DisposableFooImpl>() {}));
+    final CountDownLatch creating = new CountDownLatch(1);
+    final CountDownLatch release = new CountDownLatch(1);
+    final AtomicReference<Foo> created = new AtomicReference<>();
+
+    Thread resolver = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        created.set(holder.get(new Factory<Foo>() {
+          @Override
+          public Foo create() {
+            creating.countDown();
+
+            try {
+              release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+              throw new RuntimeException(e);
+            }
+
+            return new DisposableFooImpl();
+          }
+        }));
+      }
+    });
+
+    resolver.start();
+    creating.await(5, TimeUnit.SECONDS);
+
+    // Act
+    Thread closer = new Thread(new Runnable() {
+      @Override
+      public void run() {
+        scope.close();
+      }
+    });
+
+    closer.start();
+
+    // Let the scope start closing before the instance is done.
+    while (closer.isAlive() && closer.getState() != Thread.State.BLOCKED) {
+      Thread.yield();
+    }
+
+    release.countDown();
+    resolver.join(5000);
+    closer.join(5000);
+
+    // Assert
+    assertThat(created.get()).isNotNull();
+    assertThat(((DisposableFooImpl) created.get()).isClosed()).isTrue();
+  }
+}
@@ -0,0 +1,78 @@
+package test.com.communalizer.inject.kernel.metrics;
+
+import com.communalizer.inject.kernel.metrics.HistogramSnapshot;
+import com.communalizer.inject.kernel.metrics.LatencyHistogram;
+import org.testng.annotations.Test;
+
+import static org.fest.assertions.Assertions.assertThat;
+
+public class LatencyHistogramFixture {
+  @Test
+  public void Snapshot_NothingRecorded_IsEmpty() {
+    // Arrange
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    // Act
+    HistogramSnapshot actual = histogram.snapshot();
+
+    // Assert
+    assertThat(actual.getCount()).isEqualTo(0);
+    assertThat(actual.getValueAtPercentile(99)).isEqualTo(0);
+  }
+
+  @Test
+  public void Snapshot_SmallValues_AreCountedExactly() {
+    // Arrange
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    for (long i = 1; i <= 10; i++) {
+      histogram.record(i);
+    }
+
+    // Act
+    HistogramSnapshot actual = histogram.snapshot();
+
+    // Assert
+    assertThat(actual.getCount()).isEqualTo(10);
+    assertThat(actual.getTotal()).isEqualTo(55);
+    assertThat(actual.getValueAtPercentile(50)).isEqualTo(5);
+    assertThat(actual.getValueAtPercentile(100)).isEqualTo(10);
+  }
+
+  @Test
+  public void Snapshot_LargeValues_ArePreciseWithinOneSixteenth() {
+    // Arrange
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    for (long i = 1; i <= 1000; i++) {
+      histogram.record(i * 1000);
+    }
+
+    // Act
+    HistogramSnapshot actual = histogram.snapshot();
+
+    // Assert
+    assertThat(actual.getValueAtPercentile(50)).isGreaterThanOrEqualTo(500000).isLessThanOrEqualTo(531250);
+    assertThat(actual.getValueAtPercentile(99)).isGreaterThanOrEqualTo(990000).isLessThanOrEqualTo(1051875);
+    assertThat(actual.getValueAtPercentile(100)).isEqualTo(1000000);
+    assertThat(actual.getMax()).isEqualTo(1000000);
+  }
+
+  @Test
+  public void Record_HugeValue_IsKeptInTheLastBucket() {
+    // Arrange
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    // Act
+    histogram.record(Long.MAX_VALUE);
+
+    // Assert
+    assertThat(histogram.snapshot().getValueAtPercentile(50)).isEqualTo((1L << 37) - 1);
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void GetValueAtPercentile_OutOfRange_Throws() {
+    // Act
+    new LatencyHistogram().snapshot().getValueAtPercentile(101);
+  }
+}
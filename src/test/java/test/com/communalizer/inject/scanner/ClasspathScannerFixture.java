@@ -0,0 +1,198 @@
+package test.com.communalizer.inject.scanner;
+
+import com.communalizer.inject.Container;
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.Registration;
+import com.communalizer.inject.kernel.TypeToken;
+import com.communalizer.inject.kernel.lifestyle.Lifestyle;
+import com.communalizer.inject.scanner.ClasspathScanner;
+import org.testng.annotations.Test;
+import test.testclasses.*;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+import static org.fest.assertions.Assertions.assertThat;
+
+public class ClasspathScannerFixture {
+  @Test
+  public void Scan_SeveralImplementations_RegistersEachPublicOneNamedAfterItsClass() throws Exception {
+    // Arrange
+    ClasspathScanner scanner = new ClasspathScanner()
+      .implementationsOf(Foo.class)
+      .inPackage("test.testclasses");
+
+    // Act
+    List<Registration<?, ?>> actual = scanner.scan(getTestClasses());
+
+    // Assert
+    assertThat(getNames(actual)).containsExactly(
+      CountingFooImpl.class.getName(), DisposableFooImpl.class.getName(), FooImpl.class.getName()
+    );
+    assertThat(actual.get(2).getComponent().getReferencedType()).isEqualTo(FooImpl.class);
+  }
+
+  @Test
+  public void Scan_SingleImplementation_RegistersItWithoutAName() throws Exception {
+    // Arrange
+    ClasspathScanner scanner = new ClasspathScanner()
+      .implementationsOf(Quux.class)
+      .lifestyle(Lifestyle.SINGLETON);
+
+    // Act
+    List<Registration<?, ?>> actual = scanner.scan(getTestClasses());
+
+    // Assert
+    assertThat(actual).hasSize(1);
+    assertThat(actual.get(0).getName()).isNull();
+    assertThat(actual.get(0).getLifestyle()).isEqualTo(Lifestyle.SINGLETON);
+    assertThat(actual.get(0).getComponent().getReferencedType()).isEqualTo(QuuxImpl.class);
+  }
+
+  @Test
+  public void Scan_GenericImplementationOfGenericType_RegistersAnOpenGeneric() throws Exception {
+    // Arrange
+    ClasspathScanner scanner = new ClasspathScanner()
+      .implementationsOf(Repository.class);
+
+    // Act
+    List<Registration<?, ?>> actual = scanner.scan(getTestClasses());
+
+    // Assert
+    assertThat(actual).hasSize(1);
+    assertThat(actual.get(0).getComponent().isOpenGeneric()).isTrue();
+  }
+
+  @Test
+  public void Scan_PackageWithoutImplementations_ReturnsNoRegistrations() throws Exception {
+    // Arrange
+    ClasspathScanner scanner = new ClasspathScanner()
+      .implementationsOf(Foo.class)
+      .inPackage("test.com.communalizer.inject.scanner");
+
+    // Act
+    List<Registration<?, ?>> actual = scanner.scan(getTestClasses());
+
+    // Assert
+    assertThat(actual).isEmpty();
+  }
+
+  @Test
+  public void Scan_Jar_ReadsTheClassFilesInIt() throws Exception {
+    // Arrange
+    Path jar = Files.createTempFile("scanned", ".jar");
+
+    try {
+      try (JarOutputStream output = new JarOutputStream(Files.newOutputStream(jar))) {
+        writeClass(output, FooImpl.class);
+      }
+
+      ClasspathScanner scanner = new ClasspathScanner()
+        .implementationsOf(Foo.class);
+
+      // Act
+      List<Registration<?, ?>> actual = scanner.scan(jar);
+
+      // Assert
+      assertThat(actual).hasSize(1);
+      assertThat(actual.get(0).getComponent().getReferencedType()).isEqualTo(FooImpl.class);
+    } finally {
+      Files.delete(jar);
+    }
+  }
+
+  @Test
+  public void Scan_DirectoryWithLargeClassFile_ReadsItAsWellAsTheSmallOnes() throws Exception {
+    // Arrange
+    Path directory = Files.createTempDirectory("scanned");
+    Path small = copyClass(directory, CountingFooImpl.class);
+    Path large = copyClass(directory, FooImpl.class);
+
+    try {
+      // Pads the class file past the size above which it is mapped rather than read into a buffer.
+      Files.write(large, new byte[2 << 20], StandardOpenOption.APPEND);
+
+      ClasspathScanner scanner = new ClasspathScanner()
+        .implementationsOf(Foo.class);
+
+      // Act
+      List<Registration<?, ?>> actual = scanner.scan(directory);
+
+      // Assert
+      assertThat(getNames(actual)).containsExactly(CountingFooImpl.class.getName(), FooImpl.class.getName());
+    } finally {
+      Files.delete(small);
+      Files.delete(large);
+
+      for (Path path = small.getParent(); !path.equals(directory.getParent()); path = path.getParent()) {
+        Files.delete(path);
+      }
+    }
+  }
+
+  @Test
+  public void ScanInto_Container_RegistersTheImplementationsFound() throws Exception {
+    // Arrange
+    Container container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {})
+    );
+
+    ClasspathScanner scanner = new ClasspathScanner()
+      .implementationsOf(Repository.class, Dao.class, Quux.class)
+      .inPackage("test.testclasses");
+
+    // Act
+    int registered = scanner.scanInto(container, getTestClasses());
+
+    // Assert
+    assertThat(registered).isEqualTo(3);
+    assertThat(container.resolve(new TypeToken<Repository<String>>() {}).getDao()).isInstanceOf(DaoImpl.class);
+    assertThat(container.resolve(new TypeToken<Quux>() {})).isInstanceOf(QuuxImpl.class);
+  }
+
+  @Test(expectedExceptions = IllegalStateException.class)
+  public void Scan_WithoutTypes_Throws() throws Exception {
+    // Act
+    new ClasspathScanner().scan(getTestClasses());
+  }
+
+  private static Path getTestClasses() throws Exception {
+    return Paths.get(Foo.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+  }
+
+  private static List<String> getNames(List<Registration<?, ?>> registrations) {
+    List<String> names = new ArrayList<>();
+
+    for (Registration<?, ?> registration : registrations) {
+      names.add(registration.getName());
+    }
+
+    return names;
+  }
+
+  private static Path copyClass(Path directory, Class<?> type) throws Exception {
+    String name = type.getName().replace('.', '/') + ".class";
+    Path target = directory.resolve(name);
+    Files.createDirectories(target.getParent());
+
+    return Files.copy(getTestClasses().resolve(name), target);
+  }
+
+  private static void writeClass(JarOutputStream output, Class<?> type) throws Exception {
+    String name = type.getName().replace('.', '/') + ".class";
+    output.putNextEntry(new JarEntry(name));
+    Files.copy(getTestClasses().resolve(name), (OutputStream) output);
+    output.closeEntry();
+  }
+}
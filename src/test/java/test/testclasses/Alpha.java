@@ -0,0 +1,4 @@
+package test.testclasses;
+
+public interface Alpha {
+}
@@ -0,0 +1,9 @@
+package test.testclasses;
+
+public class AlphaImpl implements Alpha {
+  private final Beta beta;
+
+  public AlphaImpl(Beta beta) {
+    this.beta = beta;
+  }
+}
@@ -0,0 +1,5 @@
+package test.testclasses;
+
+public interface AmbiguousGreetingFactory {
+  Greeting create(String first, String second);
+}
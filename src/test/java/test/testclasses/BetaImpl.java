@@ -0,0 +1,9 @@
+package test.testclasses;
+
+public class BetaImpl implements Beta {
+  private final Alpha alpha;
+
+  public BetaImpl(Alpha alpha) {
+    this.alpha = alpha;
+  }
+}
@@ -0,0 +1,19 @@
+package test.testclasses;
+
+public class Branches {
+  private final LeftBranch left;
+  private final RightBranch right;
+
+  public Branches(LeftBranch left, RightBranch right) {
+    this.left = left;
+    this.right = right;
+  }
+
+  public LeftBranch getLeft() {
+    return left;
+  }
+
+  public RightBranch getRight() {
+    return right;
+  }
+}
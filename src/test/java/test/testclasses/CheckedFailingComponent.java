@@ -0,0 +1,9 @@
+package test.testclasses;
+
+import java.io.IOException;
+
+public class CheckedFailingComponent {
+  public CheckedFailingComponent() throws IOException {
+    throw new IOException("Failed to construct.");
+  }
+}
@@ -0,0 +1,11 @@
+package test.testclasses;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class CountingFooImpl implements Foo {
+  public static final AtomicInteger INSTANCES = new AtomicInteger();
+
+  public CountingFooImpl() {
+    INSTANCES.incrementAndGet();
+  }
+}
@@ -0,0 +1,4 @@
+package test.testclasses;
+
+public interface Dao<T> {
+}
@@ -0,0 +1,5 @@
+package test.testclasses;
+
+public class DaoImpl<T> implements Dao<T> {
+
+}
@@ -0,0 +1,14 @@
+package test.testclasses;
+
+public class DisposableFooImpl implements Foo, AutoCloseable {
+  private boolean closed;
+
+  public boolean isClosed() {
+    return closed;
+  }
+
+  @Override
+  public void close() {
+    closed = true;
+  }
+}
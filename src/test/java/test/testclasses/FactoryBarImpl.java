@@ -0,0 +1,16 @@
+package test.testclasses;
+
+import com.communalizer.inject.kernel.Factory;
+
+public class FactoryBarImpl implements Bar {
+  private final Factory<Foo> foo;
+
+  public FactoryBarImpl(Factory<Foo> foo) {
+    this.foo = foo;
+  }
+
+  @Override
+  public Foo getFoo() {
+    return foo.create();
+  }
+}
@@ -0,0 +1,7 @@
+package test.testclasses;
+
+public class FailingComponent {
+  public FailingComponent() {
+    throw new IllegalStateException("Failed to construct.");
+  }
+}
@@ -0,0 +1,13 @@
+package test.testclasses;
+
+public class FooArrayHolder {
+  private final Foo[] foos;
+
+  public FooArrayHolder(Foo[] foos) {
+    this.foos = foos;
+  }
+
+  public Foo[] getFoos() {
+    return foos;
+  }
+}
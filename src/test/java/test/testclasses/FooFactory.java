@@ -0,0 +1,10 @@
+package test.testclasses;
+
+import com.communalizer.inject.kernel.Factory;
+
+public class FooFactory implements Factory<Foo> {
+  @Override
+  public Foo create() {
+    return new FooImpl();
+  }
+}
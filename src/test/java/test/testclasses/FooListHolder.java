@@ -0,0 +1,15 @@
+package test.testclasses;
+
+import java.util.List;
+
+public class FooListHolder {
+  private final List<Foo> foos;
+
+  public FooListHolder(List<Foo> foos) {
+    this.foos = foos;
+  }
+
+  public List<Foo> getFoos() {
+    return foos;
+  }
+}
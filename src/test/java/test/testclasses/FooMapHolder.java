@@ -0,0 +1,15 @@
+package test.testclasses;
+
+import java.util.Map;
+
+public class FooMapHolder {
+  private final Map<String, Foo> foos;
+
+  public FooMapHolder(Map<String, Foo> foos) {
+    this.foos = foos;
+  }
+
+  public Map<String, Foo> getFoos() {
+    return foos;
+  }
+}
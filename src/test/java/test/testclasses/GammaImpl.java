@@ -0,0 +1,9 @@
+package test.testclasses;
+
+public class GammaImpl implements Gamma {
+  private final Alpha alpha;
+
+  public GammaImpl(Alpha alpha) {
+    this.alpha = alpha;
+  }
+}
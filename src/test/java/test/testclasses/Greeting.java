@@ -0,0 +1,16 @@
+package test.testclasses;
+
+public class Greeting {
+  private final String salutation;
+  private final String name;
+
+  public Greeting(String salutation, String name) {
+    this.salutation = salutation;
+    this.name = name;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("%s, %s", salutation, name);
+  }
+}
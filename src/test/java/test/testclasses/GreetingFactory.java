@@ -0,0 +1,5 @@
+package test.testclasses;
+
+public interface GreetingFactory {
+  Greeting create(String name, String salutation);
+}
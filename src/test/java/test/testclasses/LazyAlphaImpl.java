@@ -0,0 +1,15 @@
+package test.testclasses;
+
+import com.communalizer.inject.kernel.Lazy;
+
+public class LazyAlphaImpl implements Alpha {
+  private final Lazy<Beta> beta;
+
+  public LazyAlphaImpl(Lazy<Beta> beta) {
+    this.beta = beta;
+  }
+
+  public Beta getBeta() {
+    return beta.get();
+  }
+}
@@ -0,0 +1,16 @@
+package test.testclasses;
+
+import com.communalizer.inject.kernel.Lazy;
+
+public class LazyBarImpl implements Bar {
+  private final Lazy<Foo> foo;
+
+  public LazyBarImpl(Lazy<Foo> foo) {
+    this.foo = foo;
+  }
+
+  @Override
+  public Foo getFoo() {
+    return foo.get();
+  }
+}
@@ -0,0 +1,7 @@
+package test.testclasses;
+
+public class LeftBranch {
+  public LeftBranch() {
+    Rendezvous.arrive();
+  }
+}
@@ -0,0 +1,5 @@
+package test.testclasses;
+
+public interface Link {
+  Link getNext();
+}
@@ -0,0 +1,8 @@
+package test.testclasses;
+
+public class LinkEnd implements Link {
+  @Override
+  public Link getNext() {
+    return null;
+  }
+}
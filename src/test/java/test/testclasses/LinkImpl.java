@@ -0,0 +1,14 @@
+package test.testclasses;
+
+public class LinkImpl implements Link {
+  private final Link next;
+
+  public LinkImpl(Link next) {
+    this.next = next;
+  }
+
+  @Override
+  public Link getNext() {
+    return next;
+  }
+}
@@ -0,0 +1,17 @@
+package test.testclasses;
+
+public class OptionalFooHolder {
+  private final Foo foo;
+
+  public OptionalFooHolder(Foo foo) {
+    this.foo = foo;
+  }
+
+  public OptionalFooHolder() {
+    this(null);
+  }
+
+  public Foo getFoo() {
+    return foo;
+  }
+}
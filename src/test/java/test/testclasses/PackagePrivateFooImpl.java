@@ -0,0 +1,6 @@
+package test.testclasses;
+
+class PackagePrivateFooImpl implements Foo {
+  public PackagePrivateFooImpl() {
+  }
+}
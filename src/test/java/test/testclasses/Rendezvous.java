@@ -0,0 +1,26 @@
+package test.testclasses;
+
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Makes the constructors of {@link LeftBranch} and {@link RightBranch} wait for each other, so that they can only
+ * be constructed concurrently.
+ */
+public class Rendezvous {
+  private static final CyclicBarrier BARRIER = new CyclicBarrier(2);
+
+  private Rendezvous() {
+  }
+
+  public static void arrive() {
+    try {
+      BARRIER.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException | BrokenBarrierException | TimeoutException e) {
+      BARRIER.reset();
+      throw new RuntimeException("The other branch was not constructed concurrently.", e);
+    }
+  }
+}
@@ -0,0 +1,5 @@
+package test.testclasses;
+
+public interface Repository<T> {
+  Dao<T> getDao();
+}
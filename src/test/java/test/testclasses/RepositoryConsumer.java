@@ -0,0 +1,13 @@
+package test.testclasses;
+
+public class RepositoryConsumer {
+  private final Repository<String> repository;
+
+  public RepositoryConsumer(Repository<String> repository) {
+    this.repository = repository;
+  }
+
+  public Repository<String> getRepository() {
+    return repository;
+  }
+}
@@ -0,0 +1,14 @@
+package test.testclasses;
+
+public class RepositoryImpl<T> implements Repository<T> {
+  private final Dao<T> dao;
+
+  public RepositoryImpl(Dao<T> dao) {
+    this.dao = dao;
+  }
+
+  @Override
+  public Dao<T> getDao() {
+    return dao;
+  }
+}
@@ -0,0 +1,28 @@
+package test.testclasses;
+
+import com.communalizer.inject.InjectContainer;
+import com.communalizer.inject.kernel.Component;
+import com.communalizer.inject.kernel.TypeToken;
+
+import static com.communalizer.inject.kernel.RegistrationBuilder.registration;
+
+/**
+ * Resolves a Bar and its Foo a few times, for tests that need to observe a container from a separate JVM.
+ */
+public class ResolvingMain {
+  public static final int RESOLVES = 10;
+
+  public static void main(String[] args) {
+    InjectContainer container = new InjectContainer();
+    container.register(
+      registration()
+        .component(new Component<Foo, FooImpl>() {}),
+      registration()
+        .component(new Component<Bar, BarImpl>() {})
+    );
+
+    for (int i = 0; i < RESOLVES; i++) {
+      container.resolve(new TypeToken<Bar>() {});
+    }
+  }
+}
@@ -0,0 +1,7 @@
+package test.testclasses;
+
+public class RightBranch {
+  public RightBranch() {
+    Rendezvous.arrive();
+  }
+}
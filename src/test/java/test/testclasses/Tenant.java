@@ -0,0 +1,7 @@
+package test.testclasses;
+
+public interface Tenant {
+  String getName();
+
+  Foo getFoo();
+}
@@ -0,0 +1,13 @@
+package test.testclasses;
+
+public class TenantDirectory {
+  private final TenantFactory factory;
+
+  public TenantDirectory(TenantFactory factory) {
+    this.factory = factory;
+  }
+
+  public Tenant getTenant(String name) {
+    return factory.create(name);
+  }
+}
@@ -0,0 +1,9 @@
+package test.testclasses;
+
+public interface TenantFactory {
+  Tenant create(String name);
+
+  default Tenant createDefault() {
+    return create("default");
+  }
+}
@@ -0,0 +1,21 @@
+package test.testclasses;
+
+public class TenantImpl implements Tenant {
+  private final String name;
+  private final Foo foo;
+
+  public TenantImpl(String name, Foo foo) {
+    this.name = name;
+    this.foo = foo;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public Foo getFoo() {
+    return foo;
+  }
+}